@@ -0,0 +1,255 @@
+package mars;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs a batch of MIPS programs, each with its own standard input, expected
+ * standard output and maximum step count, and writes a results file with one line
+ * per case.  Used by the "batch" command line option.
+ * <p>
+ * Cases are run in parallel by a fixed pool of worker threads, one per processor.
+ * Each worker owns a SimulationContext and runs its cases one after another in it,
+ * so MARS starts up once per worker rather than once per case.
+ * <p>
+ * The cases come from either a manifest file or a directory.  A manifest has one
+ * case per line: the program file, then optionally its standard input file, its
+ * expected standard output file and its maximum step count, separated by white
+ * space.  Use "-" for any that is not needed.  Blank lines and lines starting with
+ * "#" are ignored, and relative file names are relative to the manifest's directory.
+ * A directory provides one case per MIPS source file in it; standard input and
+ * expected output are taken from files with the same base name and extension
+ * ".in" and ".out" respectively, if they exist.
+ * <p>
+ * The results file is comma separated, with a header line and then one line per case
+ * in manifest (or file name) order: program, MARS exit code, number of instructions
+ * executed, wall clock time in milliseconds, and "pass", "fail" or "none" (no expected
+ * output given).  A program passes if its standard output matches the expected output,
+ * ignoring differences in line terminators.
+ */
+
+class BatchRunner {
+
+    private static final String NOT_GIVEN = "-";
+    private static final String INPUT_EXTENSION = ".in";
+    private static final String EXPECTED_OUTPUT_EXTENSION = ".out";
+
+    private final List<String> options;
+    private final List<String> programArguments;
+    private final PrintStream out;
+
+    /**
+     * Create a batch runner.
+     *
+     * @param options          command line options to use for every case.  MARS messages are
+     *                         always sent to standard error, so the standard output of each case is
+     *                         just the output of its program.
+     * @param programArguments program arguments to pass to every case, as given by the "pa"
+     *                         option, or null if none
+     * @param out              stream for progress and summary messages
+     */
+    BatchRunner(List<String> options, List<String> programArguments, PrintStream out) {
+        this.options = new ArrayList<>(options);
+        this.options.add("nc");
+        this.options.add("me");
+        this.programArguments = (programArguments == null) ? new ArrayList<>() : new ArrayList<>(programArguments);
+        this.out = out;
+    }
+
+    /**
+     * Run all cases and write the results file.
+     *
+     * @param source  manifest file or directory of cases
+     * @param results name of results file to write
+     * @return number of cases that did not pass: those that failed or could not be run.
+     * Cases without expected output are not counted.
+     * @throws IOException if the cases cannot be read or the results cannot be written
+     */
+    int run(File source, File results) throws IOException {
+        List<Case> cases = source.isDirectory() ? readDirectory(source) : readManifest(source);
+        int workers = Math.max(1, Math.min(cases.size(), Runtime.getRuntime().availableProcessors()));
+        ThreadLocal<SimulationContext> contexts = ThreadLocal.withInitial(SimulationContext::new);
+        ExecutorService pool = Executors.newFixedThreadPool(workers, task -> {
+            Thread thread = new Thread(task, "MARS batch worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long startTime = System.nanoTime();
+        List<Future<Result>> futures = new ArrayList<>(cases.size());
+        try {
+            for (Case c : cases) {
+                futures.add(pool.submit(() -> c.run(contexts.get())));
+            }
+            int failures = 0;
+            int passes = 0;
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(results.toPath(), StandardCharsets.UTF_8))) {
+                writer.println("program,exit code,instructions,time ms,result");
+                for (int i = 0; i < cases.size(); i++) {
+                    Result result;
+                    try {
+                        result = futures.get(i).get();
+                    } catch (ExecutionException e) {
+                        out.println("Batch case " + cases.get(i).program + " could not be run: " + e.getCause());
+                        result = new Result(-1, 0, 0, "fail");
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Batch run interrupted");
+                    }
+                    writer.println(csv(cases.get(i).program.getPath()) + "," + result.exitCode + ","
+                            + result.instructions + "," + result.milliseconds + "," + result.verdict);
+                    if (result.verdict.equals("fail")) {
+                        failures++;
+                    } else if (result.verdict.equals("pass")) {
+                        passes++;
+                    }
+                }
+            }
+            out.println("Batch of " + cases.size() + " cases run by " + workers + " workers in "
+                    + (System.nanoTime() - startTime) / 1000000 + " ms: " + passes + " passed, "
+                    + failures + " failed.  Results are in " + results);
+            return failures;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<Case> readManifest(File manifest) throws IOException {
+        File directory = manifest.getAbsoluteFile().getParentFile();
+        List<Case> cases = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8)) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split("\\s+");
+            if (fields.length > 4) {
+                throw new IOException(manifest + " line " + lineNumber + ": too many fields");
+            }
+            fields = Arrays.copyOf(fields, 4);
+            Integer maxSteps = null;
+            if (given(fields[3])) {
+                try {
+                    maxSteps = Integer.decode(fields[3]);
+                } catch (NumberFormatException e) {
+                    throw new IOException(manifest + " line " + lineNumber + ": invalid maximum step count " + fields[3]);
+                }
+            }
+            cases.add(new Case(resolve(directory, fields[0]), resolve(directory, fields[1]),
+                    resolve(directory, fields[2]), maxSteps));
+        }
+        return cases;
+    }
+
+    private List<Case> readDirectory(File directory) throws IOException {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            throw new IOException("Cannot list directory " + directory);
+        }
+        Arrays.sort(files);
+        List<Case> cases = new ArrayList<>();
+        for (File file : files) {
+            String name = file.getName();
+            int dot = name.lastIndexOf('.');
+            if (!file.isFile() || dot < 0 || !Globals.fileExtensions.contains(name.substring(dot + 1))) {
+                continue;
+            }
+            String base = name.substring(0, dot);
+            File input = new File(directory, base + INPUT_EXTENSION);
+            File expected = new File(directory, base + EXPECTED_OUTPUT_EXTENSION);
+            cases.add(new Case(file, input.isFile() ? input : null, expected.isFile() ? expected : null, null));
+        }
+        return cases;
+    }
+
+    private static boolean given(String field) {
+        return field != null && !field.equals(NOT_GIVEN);
+    }
+
+    private static File resolve(File directory, String name) {
+        if (!given(name)) {
+            return null;
+        }
+        File file = new File(name);
+        return file.isAbsolute() ? file : new File(directory, name);
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String normalizeLineTerminators(String text) {
+        return text.replace("\r\n", "\n").replace('\r', '\n');
+    }
+
+    /**
+     * One program to run, with its optional input, expected output and step limit.
+     */
+    private class Case {
+        private final File program;
+        private final File input;
+        private final File expected;
+        private final Integer maxSteps;
+
+        private Case(File program, File input, File expected, Integer maxSteps) {
+            this.program = program;
+            this.input = input;
+            this.expected = expected;
+            this.maxSteps = maxSteps;
+        }
+
+        private Result run(SimulationContext context) throws IOException {
+            List<String> args = new ArrayList<>(options);
+            if (maxSteps != null) {
+                args.add(maxSteps.toString());
+            }
+            args.add(program.getPath());
+            if (!programArguments.isEmpty()) {
+                args.add("pa");
+                args.addAll(programArguments);
+            }
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            PrintStream standardOut = new PrintStream(output, true, "UTF-8");
+            PrintStream standardErr = new PrintStream(new ByteArrayOutputStream(), true, "UTF-8");
+            long startTime = System.nanoTime();
+            int exitCode;
+            try (InputStream standardIn = (input == null) ? new ByteArrayInputStream(new byte[0]) : new FileInputStream(input)) {
+                exitCode = context.runCommandLine(args.toArray(new String[0]), standardIn, standardOut, standardErr);
+            }
+            long milliseconds = (System.nanoTime() - startTime) / 1000000;
+            String verdict = "none";
+            if (expected != null) {
+                String expectedOutput = new String(Files.readAllBytes(expected.toPath()), StandardCharsets.UTF_8);
+                verdict = normalizeLineTerminators(expectedOutput)
+                        .equals(normalizeLineTerminators(output.toString("UTF-8"))) ? "pass" : "fail";
+            }
+            return new Result(exitCode, context.getInstructionsExecuted(), milliseconds, verdict);
+        }
+    }
+
+    private static class Result {
+        private final int exitCode;
+        private final int instructions;
+        private final long milliseconds;
+        private final String verdict;
+
+        private Result(int exitCode, int instructions, long milliseconds, String verdict) {
+            this.exitCode = exitCode;
+            this.instructions = instructions;
+            this.milliseconds = milliseconds;
+            this.verdict = verdict;
+        }
+    }
+}
@@ -57,7 +57,19 @@ public class Globals {
     /** Simulated MIPS memory component. */
     public static Memory memory;
 
-    /** Lock variable used at head of synchronized block to guard MIPS memory and registers */
+    /**
+     * Guards MIPS memory and registers.  The simulation thread changes them without locking
+     * while a program runs; everyone else reads and writes them through this.
+     */
+    public static final SeqLock memoryAndRegisters = new SeqLock();
+
+    /**
+     * Lock variable formerly used at head of synchronized block to guard MIPS memory and registers.
+     *
+     * @deprecated The simulator no longer takes this lock, so it guards nothing.  Use
+     * {@link #memoryAndRegisters} instead.
+     */
+    @Deprecated
     public static final Object memoryAndRegistersLock = new Object();
 
     /** Flag to determine whether or not to produce internal debugging information. */
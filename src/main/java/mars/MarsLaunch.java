@@ -54,6 +54,27 @@ public class MarsLaunch {
     private boolean startAtMain;        // Whether to start execution at statement labeled 'main'
     private boolean countInstructions;  // Whether to count and report number of instructions executed
     private boolean selfModifyingCode;  // Whether to allow self-modifying code (e.g. write to text segment)
+    private boolean turbo;              // Whether to use the headless turbo run loop
+    private boolean reportSpeed;        // Whether to report instructions executed per second
+    private String batchSource;         // Manifest file or directory of batch cases, or null if not a batch run
+    private String batchResults;        // File to write batch results to
+    private ArrayList<String> batchOptions; // Options that apply to every batch case
+    private String saveFile;            // File to save a checkpoint of the machine state to, or null
+    private String restoreFile;         // File to restore a checkpoint of the machine state from, or null
+    private String cacheDirectory;      // Assembled program cache directory, or null for the default
+    private String traceFile;           // File to record a trace of memory accesses to, or null
+    private boolean compressTrace;      // Whether to compress the trace file
+    private static int instructionsExecutedByLastRun; // See runCommandLine()
+    // Image of the last program assembled for simulation, with the key identifying the contents
+    // of the program files and the options it was assembled with.  A later run with the same key
+    // forks the image instead of assembling again, which makes repeated runs of one program (e.g.
+    // in a batch, against many inputs) cheap.  Only kept for runs through runCommandLine(), since
+    // a run from the constructor is the only one in its JVM.  See runCommand().
+    private boolean keepImage;
+    private static String lastImageKey;
+    private static ProgramImage lastImage;
+    private static MipsProgram lastImageProgram;
+    private static String lastImageWarnings;
     private static final String rangeSeparator = "-";
     private static final int memoryWordsPerLine = 4;    // display 4 memory words, tab separated, per line
     private static final int DECIMAL = 0;               // memory and register display format
@@ -66,6 +87,7 @@ public class MarsLaunch {
     private int maxSteps;
     private int instructionCount;
     private PrintStream out;                        // stream for display of command line output
+    private PrintStream err;                        // stream to use for command line output if "me" is given
     private ArrayList<String[]> dumpTriples = null; // each element holds 3 arguments for dump option
     private ArrayList<String> programArgumentList;  // optional program args for MIPS program (becomes argc, argv)
     private int assembleErrorExitCode;              // MARS command exit code to return if assemble error occurs
@@ -82,7 +104,16 @@ public class MarsLaunch {
      * ad    -- both a and d.
      * ae<n> -- terminate MARS with integer exit code <n> if an assemble error occurs.
      * ascii -- display memory or register contents interpreted as ASCII.
-     * b     -- brief - do not display register/memory address along with contents.
+     * b     -- brief - do not display register/memory address along with contents
+     * batch -- run a batch of programs in parallel and write a results file.
+     *    Option has 2 arguments, e.g. {@code batch <cases> <results>}, where:
+     *    <cases> is a manifest file or a directory of cases (see BatchRunner), and
+     *    <results> is the name of the file to write results to..  Other options, including
+     *    program arguments given by "pa", apply to every case.
+     * cache -- keep assembled programs in a cache directory, and load a program from it
+     *    instead of assembling it if the program has not changed.
+     *    Option has 1 argument, e.g. {@code cache <dir>}.  The default is the directory given
+     *    by system property mars.cache, if set; otherwise there is no cache.
      * d     -- print debugging statements.
      * da    -- both a and d.
      * db    -- MIPS delayed branching is enabled.
@@ -95,11 +126,14 @@ public class MarsLaunch {
      * h     -- display help. Use by itself and with no filename.
      * hex   -- display memory or register contents in hexadecimal. (default)
      * ic    -- display count of MIPS basic instructions 'executed'.
+     * ips   -- display instructions executed, run time and instructions per second.
      * mc    -- set memory configuration.
      *    Option has 1 argument, e.g. {@code mc <config>}, where:
      *    <config> is {@code Default} for the MARS default 32-bit address space,
      *    {@code CompactDataAtZero} for a 32KB address space with data segment at address 0,
-     *    {@code CompactTextAtZero} for a 32KB address space with text segment at address 0.
+     *    {@code CompactTextAtZero} for a 32KB address space with text segment at address 0,
+     *    {@code Large} for the default addresses with 1GB of data and heap and 1GB of stack,
+     *    {@code LargeHeap} for the default addresses with 1.9GB of data and heap and 128MB of stack.
      * me    -- display MARS messages to standard err instead of standard out. Can separate via redirection.
      * nc    -- do not display copyright notice (for cleaner redirected/piped output).
      * np    -- No Pseudo-instructions allowed ("ne" will work also).
@@ -107,6 +141,7 @@ public class MarsLaunch {
      * se<n> -- terminate MARS with integer exit code <n> if a simulation (run) error occurs.
      * sm    -- Start execution at Main - Execution will start at program statement globally labeled main.
      * smc   -- Self Modifying Code - Program can write and branch to either text or data segment.
+     * turbo -- use the headless turbo run loop, which skips per-instruction checks needed only by the IDE.
      * we    -- assembler Warnings will be considered Errors.
      * <n>   -- where <n> is an integer maximum count of steps to simulate.
      *    If 0, negative or not specified, there is no maximum.
@@ -117,6 +152,15 @@ public class MarsLaunch {
      * <m>-<n>  -- memory address range from <m> to <n> whose contents to
      *             display at end of run. <m> and <n> may be hex or decimal,
      *             <m> <= <n>, both must be on word boundary. Option may be repeated.
+     * restore -- restore the machine state from a checkpoint file before simulating.
+     *    Option has 1 argument, e.g. {@code restore <file>}.  The program is assembled first,
+     *    so the checkpoint should be from the same program.
+     * save  -- save the machine state to a checkpoint file at the end of the run.
+     *    Option has 1 argument, e.g. {@code save <file>}.  Useful with a maximum step count
+     *    to split a long simulation into several runs.
+     * trace -- record every instruction fetch, load and store to a binary trace file.
+     *    Option has 1 argument, e.g. {@code trace <file>}.  {@code tracez <file>} also
+     *    compresses it.  See {@link AccessTraceWriter}.
      * pa    -- Program Arguments follow in a space-separated list.
      *    This option must be placed AFTER ALL FILE NAMES, because everything
      *    that follows it is interpreted as a program argument to be made
@@ -130,11 +174,51 @@ public class MarsLaunch {
         if (gui) {
             launchIDE();
         } else {
-            runFromCommandLine(args);
+            System.exit(runFromCommandLine(args, System.out, System.err));
         }
     }
 
-    private void runFromCommandLine(String[] args) {
+    private MarsLaunch() {
+        keepImage = true;
+    }
+
+    /**
+     * Run MARS with the given command line arguments without terminating the JVM,
+     * for embedding MARS in another program.  Arguments are as for the
+     * {@link #MarsLaunch(String[]) constructor} except that at least one is required.
+     * MIPS program console I/O and MARS messages use the given streams rather than
+     * the System streams.  Machine state left over from a previous run is reset,
+     * so runs may follow one another.  Runs may not overlap, since MARS keeps the
+     * machine state in static fields; see SimulationContext for running in parallel.
+     *
+     * @param args command line arguments
+     * @param in   standard input of the MIPS program
+     * @param out  standard output of the MIPS program and for MARS messages
+     * @param err  standard error of the MIPS program, and for MARS messages if "me" is given
+     * @return the exit code MARS would have terminated with.
+     */
+    public static int runCommandLine(String[] args, InputStream in, PrintStream out, PrintStream err) {
+        Globals.initialize(false);
+        SystemIO.setStandardStreams(in, out, err);
+        RegisterFile.resetRegisters();
+        Coprocessor1.resetRegisters();
+        Coprocessor0.resetRegisters();
+        Globals.exitCode = 0;
+        instructionsExecutedByLastRun = 0;
+        return new MarsLaunch().runFromCommandLine(args, out, err);
+    }
+
+    /**
+     * Returns the number of MIPS instructions executed by the most recent call to
+     * {@link #runCommandLine(String[], InputStream, PrintStream, PrintStream)}.
+     *
+     * @return number of instructions executed, 0 if the program was not simulated.
+     */
+    public static int getInstructionsExecutedByLastRun() {
+        return instructionsExecutedByLastRun;
+    }
+
+    private int runFromCommandLine(String[] args, PrintStream standardOut, PrintStream standardErr) {
         // assure command mode works in headless environment (generates exception if not)
         System.setProperty("java.awt.headless", "true");
         simulate = true;
@@ -147,6 +231,8 @@ public class MarsLaunch {
         startAtMain = false;
         countInstructions = false;
         selfModifyingCode = false;
+        turbo = false;
+        reportSpeed = false;
         instructionCount = 0;
         assembleErrorExitCode = 0;
         simulateErrorExitCode = 0;
@@ -157,16 +243,46 @@ public class MarsLaunch {
         // do NOT use Globals.program for command line MARS -- it triggers 'backstep' log.
         code = new MipsProgram();
         maxSteps = -1;
-        out = System.out;
+        out = standardOut;
+        err = standardErr;
+        batchSource = null;
+        batchOptions = new ArrayList<>();
+        saveFile = null;
+        restoreFile = null;
+        cacheDirectory = null;
+        traceFile = null;
+        compressTrace = false;
         if (parseCommandArgs(args)) {
-            if (runCommand()) {
+            if (batchSource != null) {
+                runBatch();
+            } else if (runCommand()) {
                 displayMiscellaneousPostMortem();
                 displayRegistersPostMortem();
                 displayMemoryPostMortem();
             }
             dumpSegments();
         }
-        System.exit(Globals.exitCode);
+        out.flush();
+        return Globals.exitCode;
+    }
+
+    /**
+     * Run the cases given by the "batch" option.  All other options apply to each case.
+     * The exit code is 1 if any case did not pass.
+     */
+    private void runBatch() {
+        if (!filenameList.isEmpty()) {
+            out.println("Batch command line argument cannot be combined with file names.");
+            Globals.exitCode = 1;
+            return;
+        }
+        try {
+            int failures = new BatchRunner(batchOptions, programArgumentList, out).run(new File(batchSource), new File(batchResults));
+            Globals.exitCode = (failures > 0) ? 1 : 0;
+        } catch (IOException e) {
+            out.println("Error in batch run: " + e.getMessage());
+            Globals.exitCode = 1;
+        }
     }
 
     /**
@@ -305,8 +421,51 @@ public class MarsLaunch {
                 }
                 continue;
             }
+            if (args[i].equalsIgnoreCase("batch")) {
+                if (args.length <= (i + 2)) {
+                    out.println("Batch command line argument requires a manifest file or directory and a results file name.");
+                    argsOK = false;
+                } else {
+                    batchSource = args[++i];
+                    batchResults = args[++i];
+                }
+                continue;
+            }
+            if (args[i].equalsIgnoreCase("save") || args[i].equalsIgnoreCase("restore")) {
+                if (args.length <= (i + 1)) {
+                    out.println("Checkpoint " + args[i].toLowerCase() + " command line argument requires a file name.");
+                    argsOK = false;
+                } else if (args[i].equalsIgnoreCase("save")) {
+                    saveFile = args[++i];
+                } else {
+                    restoreFile = args[++i];
+                }
+                continue;
+            }
+            if (args[i].equalsIgnoreCase("trace") || args[i].equalsIgnoreCase("tracez")) {
+                if (args.length <= (i + 1)) {
+                    out.println("Trace command line argument requires a file name.");
+                    argsOK = false;
+                } else {
+                    compressTrace = args[i].equalsIgnoreCase("tracez");
+                    traceFile = args[++i];
+                }
+                continue;
+            }
+            batchOptions.add(args[i]);
+            if (args[i].equalsIgnoreCase("cache")) {
+                if (args.length <= (i + 1)) {
+                    out.println("Cache command line argument requires a directory name.");
+                    argsOK = false;
+                } else {
+                    cacheDirectory = args[++i];
+                    batchOptions.add(cacheDirectory);
+                }
+                continue;
+            }
             if (args[i].equalsIgnoreCase("mc")) {
                 String configName = args[++i];
+                batchOptions.add(configName);
                 MemoryConfiguration config = MemoryConfigurations.getConfigurationByName(configName);
                 if (config == null) {
                     out.println("Invalid memory configuration: " + configName);
@@ -394,6 +553,14 @@ public class MarsLaunch {
                 countInstructions = true;
                 continue;
             }
+            if (args[i].equalsIgnoreCase("ips")) {
+                reportSpeed = true;
+                continue;
+            }
+            if (args[i].equalsIgnoreCase("turbo")) {
+                turbo = true;
+                continue;
+            }
 
 
             if (args[i].indexOf("$") == 0) {
@@ -476,34 +643,101 @@ public class MarsLaunch {
             } else {
                 filesToAssemble = FilenameFinder.getFilenameList(filenameList, FilenameFinder.MATCH_ALL_EXTENSIONS);
             }
-            if (Globals.debug) {
-                out.println("--------  TOKENIZING BEGINS  -----------");
-            }
-            ArrayList<MipsProgram> MipsProgramsToAssemble =
-                    code.prepareFilesForAssembly(filesToAssemble, mainFile.getAbsolutePath(), null);
-            if (Globals.debug) {
-                out.println("--------  ASSEMBLY BEGINS  -----------");
-            }
-            // Added logic to check for warnings and print if any.
-            ErrorList warnings = code.assemble(MipsProgramsToAssemble, pseudo, warningsAreErrors);
-            if (warnings != null && warnings.warningsOccurred()) {
-                out.println(warnings.generateWarningReport());
+            String imageKey = (simulate && keepImage) ? programImageKey(filesToAssemble) : null;
+            if (imageKey != null && imageKey.equals(lastImageKey)) {
+                // Same program and options as the previous run, so start from its image.
+                code = lastImageProgram;
+                if (lastImageWarnings != null) {
+                    out.println(lastImageWarnings);
+                }
+                lastImage.fork();
+            } else {
+                lastImageKey = null;
+                lastImage = null;
+                lastImageProgram = null;
+                lastImageWarnings = null;
+                if (Globals.debug) {
+                    out.println("--------  TOKENIZING BEGINS  -----------");
+                }
+                code.setProgramCache((cacheDirectory == null)
+                        ? ProgramCache.getDefault() : new ProgramCache(new File(cacheDirectory)));
+                ArrayList<MipsProgram> MipsProgramsToAssemble =
+                        code.prepareFilesForAssembly(filesToAssemble, mainFile.getAbsolutePath(), null);
+                if (Globals.debug) {
+                    out.println("--------  ASSEMBLY BEGINS  -----------");
+                }
+                // Added logic to check for warnings and print if any.
+                ErrorList warnings = code.assemble(MipsProgramsToAssemble, pseudo, warningsAreErrors);
+                String warningReport = null;
+                if (warnings != null && warnings.warningsOccurred()) {
+                    warningReport = warnings.generateWarningReport();
+                    out.println(warningReport);
+                }
+                RegisterFile.initializeProgramCounter(startAtMain);
+                if (simulate) {
+                    // store program args (if any) in MIPS memory
+                    new ProgramArgumentList(programArgumentList).storeProgramArguments();
+                    if (imageKey != null) {
+                        lastImage = ProgramImage.capture();
+                        lastImageKey = imageKey;
+                        lastImageProgram = code;
+                        lastImageWarnings = warningReport;
+                    }
+                }
             }
-            RegisterFile.initializeProgramCounter(startAtMain);
             if (simulate) {
-                // store program args (if any) in MIPS memory
-                new ProgramArgumentList(programArgumentList).storeProgramArguments();
+                if (restoreFile != null) {
+                    try {
+                        Checkpoint.restore(new File(restoreFile));
+                    } catch (IOException e) {
+                        out.println("Error while attempting to restore checkpoint: " + e.getMessage());
+                        Globals.exitCode = simulateErrorExitCode;
+                        return programRan;
+                    }
+                }
+                AccessTraceWriter trace = null;
+                if (traceFile != null) {
+                    try {
+                        trace = new AccessTraceWriter(new File(traceFile), compressTrace);
+                    } catch (IOException e) {
+                        out.println("Error while attempting to create trace: " + e.getMessage());
+                        Globals.exitCode = simulateErrorExitCode;
+                        return programRan;
+                    }
+                    Globals.memory.addObserver(trace);
+                }
                 // establish observer if specified
                 establishObserver();
                 if (Globals.debug) {
                     out.println("--------  SIMULATION BEGINS  -----------");
                 }
                 programRan = true;
-                boolean done = code.simulate(maxSteps);
+                Simulator.getInstance().setTurboModeEnabled(turbo);
+                boolean done;
+                try {
+                    done = code.simulate(maxSteps);
+                } finally {
+                    instructionsExecutedByLastRun = Simulator.getInstance().getInstructionsExecuted();
+                    if (trace != null) {
+                        Globals.memory.deleteObserver(trace);
+                        try {
+                            trace.close();
+                        } catch (IOException e) {
+                            out.println("Error while attempting to write trace: " + e.getMessage());
+                        }
+                    }
+                }
                 if (!done) {
                     out.println("\nProgram terminated when maximum step limit " + maxSteps + " reached.");
                 }
             }
+            if (saveFile != null) {
+                try {
+                    Checkpoint.save(new File(saveFile));
+                } catch (IOException e) {
+                    out.println("Error while attempting to save checkpoint: " + e.getMessage());
+                }
+            }
             if (Globals.debug) {
                 out.println("\n--------  ALL PROCESSING COMPLETE  -----------");
             }
@@ -515,6 +749,28 @@ public class MarsLaunch {
         return programRan;
     }
 
+    /**
+     * Identify the program files and the options that determine the program's image
+     * after assembly and program argument setup.  Files are identified by a hash of
+     * their names and contents, so an edited file is assembled again.  Returns null if
+     * a file cannot be read.
+     */
+    private String programImageKey(ArrayList<String> filesToAssemble) {
+        String sources = ProgramCache.hashSources(filesToAssemble);
+        if (sources == null) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(sources).append('\n');
+        key.append(MemoryConfigurations.getCurrentConfiguration().getConfigurationIdentifier())
+                .append(" pseudo=").append(pseudo)
+                .append(" db=").append(delayedBranching)
+                .append(" we=").append(warningsAreErrors)
+                .append(" sm=").append(startAtMain)
+                .append(" smc=").append(selfModifyingCode)
+                .append(" pa=").append(programArgumentList);
+        return key.toString();
+    }
+
     /**
      * Check for memory address subrange.  Has to be two integers separated
      * by "-"; no embedded spaces.  e.g. 0x00400000-0x00400010
@@ -544,9 +800,13 @@ public class MarsLaunch {
 
     /**
      * Required for counting instructions executed, if that option is specified.
+     * Not needed in turbo mode, where the simulator counts the instruction fetches an
+     * observer would see; an observer would also keep the turbo run loop from being
+     * used.  Except with self-modifying code, whose reads of the text segment the
+     * observer also sees.
      */
     private void establishObserver() {
-        if (countInstructions) {
+        if (countingObserver()) {
             Observer instructionCounter =
                     new Observer() {
                         private int lastAddress = 0;
@@ -575,12 +835,24 @@ public class MarsLaunch {
         }
     }
 
+    // Whether instructions are counted by an observer rather than by the simulator.
+    private boolean countingObserver() {
+        return countInstructions
+                && (!turbo || selfModifyingCode);
+    }
+
     /**
      * Displays any specified runtime properties. Initially just instruction count
      */
     private void displayMiscellaneousPostMortem() {
         if (countInstructions) {
-            out.println("\n" + instructionCount);
+            out.println("\n" + (countingObserver() ? instructionCount : Simulator.getInstance().getInstructionFetches()));
+        }
+        if (reportSpeed) {
+            int executed = Simulator.getInstance().getInstructionsExecuted();
+            long nanoseconds = Math.max(1, Simulator.getInstance().getElapsedNanoseconds());
+            out.println("\n" + executed + " instructions in " + (nanoseconds / 1000000) + " ms, "
+                    + Math.round(executed * 1.0e9 / nanoseconds) + " instructions/second");
         }
     }
 
@@ -711,7 +983,7 @@ public class MarsLaunch {
     private void processDisplayMessagesToErrSwitch(String[] args, String displayMessagesToErrSwitch) {
         for (String arg : args) {
             if (arg.toLowerCase().equals(displayMessagesToErrSwitch)) {
-                out = System.err;
+                out = err;
                 return;
             }
         }
@@ -755,6 +1027,19 @@ public class MarsLaunch {
         out.println("  ae<n>  -- terminate MARS with integer exit code <n> if an assemble error occurs.");
         out.println("  ascii  -- display memory or register contents interpreted as ASCII codes.");
         out.println("      b  -- brief - do not display register/memory address along with contents");
+        out.println("  batch <cases> <results>  -- run a batch of programs in parallel.  <cases> is");
+        out.println("            a manifest file with one case per line: program file, then optional");
+        out.println("            standard input file, expected standard output file and maximum step");
+        out.println("            count (\"-\" if not needed).  Or it is a directory; each MIPS source file");
+        out.println("            in it is a case, with input and expected output in files of the same");
+        out.println("            name with extension .in and .out.  Other options, including program");
+        out.println("            arguments given by pa, apply to every case.");
+        out.println("            Writes comma separated exit code, instruction count, time and");
+        out.println("            pass/fail of each case to file <results>.  MARS messages go to");
+        out.println("            standard err.  Exit code is 1 if any case fails.");
+        out.println("  cache <dir>  -- keep assembled programs in cache directory <dir>, and load a");
+        out.println("            program from it instead of assembling it if the program and options");
+        out.println("            have not changed.  Default is system property mars.cache, if set.");
         out.println("      d  -- display MARS debugging statements");
         out.println("     db  -- MIPS delayed branching is enabled");
         out.println("    dec  -- display memory or register contents in decimal.");
@@ -767,11 +1052,14 @@ public class MarsLaunch {
         out.println("      h  -- display this help.  Use by itself with no filename.");
         out.println("    hex  -- display memory or register contents in hexadecimal (default)");
         out.println("     ic  -- display count of MIPS basic instructions 'executed'");
+        out.println("    ips  -- display instructions executed, run time and instructions per second");
         out.println("     mc <config>  -- set memory configuration.  Argument <config> is");
         out.println("            case-sensitive and possible values are: Default for the default");
         out.println("            32-bit address space, CompactDataAtZero for a 32KB memory with");
-        out.println("            data segment at address 0, or CompactTextAtZero for a 32KB");
-        out.println("            memory with text segment at address 0.");
+        out.println("            data segment at address 0, CompactTextAtZero for a 32KB");
+        out.println("            memory with text segment at address 0, Large for the default");
+        out.println("            addresses with 1GB of data and heap and 1GB of stack, or");
+        out.println("            LargeHeap for 1.9GB of data and heap and 128MB of stack.");
         out.println("     me  -- display MARS messages to standard err instead of standard out. ");
         out.println("            Can separate messages from program output using redirection");
         out.println("     nc  -- do not display copyright notice (for cleaner redirected/piped output).");
@@ -780,6 +1068,8 @@ public class MarsLaunch {
         out.println("  se<n>  -- terminate MARS with integer exit code <n> if a simulation (run) error occurs.");
         out.println("     sm  -- start execution at statement with global label main, if defined");
         out.println("    smc  -- Self Modifying Code - Program can write and branch to either text or data segment");
+        out.println("  turbo  -- use the headless turbo run loop.  Skips the per-instruction checks");
+        out.println("            needed only by the IDE (run speed, breakpoints, backstepping, observers).");
         out.println("    <n>  -- where <n> is an integer maximum count of steps to simulate.");
         out.println("            If 0, negative or not specified, there is no maximum.");
         out.println(" $<reg>  -- where <reg> is number or name (e.g. 5, t3, f10) of register whose ");
@@ -790,6 +1080,12 @@ public class MarsLaunch {
         out.println("<m>-<n>  -- memory address range from <m> to <n> whose contents to");
         out.println("            display at end of run. <m> and <n> may be hex or decimal,");
         out.println("            must be on word boundary, <m> <= <n>.  Option may be repeated.");
+        out.println("  restore <file>  -- restore machine state from checkpoint <file> before simulating.");
+        out.println("            The program is assembled first, so the checkpoint should be of the same program.");
+        out.println("   save <file>  -- save machine state to checkpoint <file> at end of run, e.g. when");
+        out.println("            the maximum step count is reached.  Continue later using 'restore'.");
+        out.println("  trace <file>  -- record every instruction fetch, load and store of the run to");
+        out.println("            binary trace <file>.  tracez <file> compresses the trace.");
         out.println("     pa  -- Program Arguments follow in a space-separated list.  This");
         out.println("            option must be placed AFTER ALL FILE NAMES, because everything");
         out.println("            that follows it is interpreted as a program argument to be");
@@ -52,10 +52,12 @@ public class MipsProgram {
     private ArrayList<ProgramStatement> parsedList;
     private ArrayList<ProgramStatement> machineList;
     private BackStepper backStepper;
+    private TimeTravel timeTravel;
     private SymbolTable localSymbolTable;
     private MacroPool macroPool;
     private ArrayList<SourceLine> sourceLineList;
     private Tokenizer tokenizer;
+    private ProgramCache programCache;
 
     /**
      * Produces list of source statements that comprise the program.
@@ -110,6 +112,15 @@ public class MipsProgram {
         return tokenList;
     }
 
+    /**
+     * Lets go of the token lists and parsed statements of this program once it has been
+     * assembled.  Assembling it again tokenizes it again.
+     */
+    public void releaseTokenLists() {
+        tokenList = null;
+        parsedList = null;
+    }
+
     /**
      * Retrieves Tokenizer for this program
      *
@@ -162,6 +173,27 @@ public class MipsProgram {
         return backStepper;
     }
 
+    /**
+     * Returns TimeTravel associated with this program, which records its runs so it can
+     * be taken back to any point of them.  It is created upon successful assembly in the
+     * IDE, where there is someone to take the program back.
+     *
+     * @return TimeTravel object, null if there is none.
+     */
+    public TimeTravel getTimeTravel() {
+        return timeTravel;
+    }
+
+    /**
+     * Records the runs of this assembled program from now on, as is done for a program
+     * assembled in the IDE, so it can be taken back with {@link #getTimeTravel()}.
+     */
+    public void enableTimeTravel() {
+        if (timeTravel == null) {
+            timeTravel = new TimeTravel();
+        }
+    }
+
     /**
      * Returns SymbolTable associated with this program.  It is created at assembly time,
      * and stores local labels (those not declared using .globl directive).
@@ -222,15 +254,55 @@ public class MipsProgram {
         }
     }
 
+    /**
+     * Set the assembled program cache to use when this program is assembled.  If there
+     * is one, prepareFilesForAssembly() only reads the source files, and assemble()
+     * loads the assembled program from the cache if it is there, tokenizing and
+     * assembling it only if it is not.
+     *
+     * @param programCache cache to use, or null (the default) for none.  Must be set before
+     *                     prepareFilesForAssembly() is called.
+     */
+    public void setProgramCache(ProgramCache programCache) {
+        this.programCache = programCache;
+    }
+
+    /**
+     * Set up this program as if it had been assembled, with the given results of assembly.
+     * Used when an assembled program is loaded from the cache.
+     *
+     * @param localSymbolTable symbol table for labels local to this file
+     * @param machineList      machine statements of the whole program, or null if this
+     *                         is not the lead file
+     */
+    void setAssembled(SymbolTable localSymbolTable, ArrayList<ProgramStatement> machineList) {
+        this.localSymbolTable = localSymbolTable;
+        this.machineList = machineList;
+        this.backStepper = new BackStepper();
+        this.timeTravel = (Globals.getGui() == null) ? null : new TimeTravel();
+    }
+
+    /**
+     * Set the name of the source file this program represents, without reading it.
+     * Used for included files of a program loaded from the cache.
+     *
+     * @param filename name of source file
+     */
+    void setFilename(String filename) {
+        this.filename = filename;
+    }
+
     /**
      * Tokenizes the MIPS source program. Program must have already been read from file.
      *
      * @throws ProcessingException Will throw exception if errors occurred while tokenizing.
      */
     public void tokenize() throws ProcessingException {
+        long start = SimulatorMetrics.startPhase();
         this.tokenizer = new Tokenizer();
         this.tokenList = tokenizer.tokenize(this);
         this.localSymbolTable = new SymbolTable(this.filename); // prepare for assembly
+        SimulatorMetrics.endPhase(SimulatorMetrics.TOKENIZE, start);
     }
 
     /**
@@ -258,7 +330,9 @@ public class MipsProgram {
         for (String filename : filenames) {
             MipsProgram preparee = (filename.equals(leadFilename)) ? this : new MipsProgram();
             preparee.readSource(filename);
-            preparee.tokenize();
+            if (programCache == null) {
+                preparee.tokenize();
+            }
             // I want "this" MipsProgram to be the first in the list...except for exception handler
             if (preparee == this && MIPSprogramsToAssemble.size() > 0) {
                 MIPSprogramsToAssemble.add(leadFilePosition, preparee);
@@ -299,9 +373,27 @@ public class MipsProgram {
     public ErrorList assemble(ArrayList<MipsProgram> MipsProgramsToAssemble, boolean extendedAssemblerEnabled,
                               boolean warningsAreErrors) throws ProcessingException {
         this.backStepper = null;
+        this.timeTravel = null;
+        String cacheKey = null;
+        if (programCache != null) {
+            cacheKey = programCache.getKey(MipsProgramsToAssemble, extendedAssemblerEnabled, warningsAreErrors);
+            ErrorList warnings = programCache.load(cacheKey, this, MipsProgramsToAssemble);
+            if (warnings != null) {
+                return warnings;
+            }
+        }
+        for (MipsProgram program : MipsProgramsToAssemble) {
+            if (program.tokenList == null) { // not tokenized by prepareFilesForAssembly()
+                program.tokenize();
+            }
+        }
         Assembler asm = new Assembler();
         this.machineList = asm.assemble(MipsProgramsToAssemble, extendedAssemblerEnabled, warningsAreErrors);
         this.backStepper = new BackStepper();
+        this.timeTravel = (Globals.getGui() == null) ? null : new TimeTravel();
+        if (programCache != null) {
+            programCache.store(cacheKey, this, MipsProgramsToAssemble, asm.getErrorList());
+        }
         return asm.getErrorList();
     }
 
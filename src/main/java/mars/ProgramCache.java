@@ -0,0 +1,378 @@
+package mars;
+
+import mars.assembler.Symbol;
+import mars.assembler.SymbolTable;
+import mars.mips.hardware.AddressErrorException;
+import mars.mips.hardware.MemoryConfigurations;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * On-disk cache of assembled programs, so a program that has not changed since it
+ * was last assembled is loaded instead of being tokenized and assembled again.
+ * See {@link MipsProgram#setProgramCache(ProgramCache)}.
+ * <p>
+ * Each assembled program is one file in the cache directory, named by a SHA-256 hash
+ * of everything that determines the result of assembly: the contents of the source
+ * files and any files they include, the assembler settings and the memory configuration.
+ * A file holds the machine statements with their operands and source information, the global and
+ * local symbol tables, any assembler warnings and the contents of memory after assembly.
+ * <p>
+ * The cache is safe to share between processes.  Files are written under a temporary
+ * name and then renamed, and a file that cannot be read is ignored.  Old files are
+ * never removed; delete the directory to empty the cache.
+ */
+public class ProgramCache {
+
+    /**
+     * System property giving the cache directory used by default, when none is
+     * given on the command line.
+     */
+    public static final String DIRECTORY_PROPERTY = "mars.cache";
+
+    private static final int MAGIC = 0x4D415341; // "MASA"
+    private static final int VERSION = 3;
+    private static final String FILE_EXTENSION = ".masm";
+    // Matches a .include directive, possibly after a label, as the tokenizer would find it.
+    private static final Pattern INCLUDE = Pattern.compile(
+            "^\\s*(?:[\\w.$]+\\s*:\\s*)?\\.include\\s+\"([^\"]*)\"", Pattern.CASE_INSENSITIVE);
+
+    private final File directory;
+
+    /**
+     * Create a cache that keeps its files in the given directory.  The directory is
+     * created when the first program is stored.
+     *
+     * @param directory cache directory
+     */
+    public ProgramCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the cache in the directory given by the {@value #DIRECTORY_PROPERTY}
+     * system property.
+     *
+     * @return the cache, or null if the property is not set.
+     */
+    public static ProgramCache getDefault() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        return (directory == null || directory.isEmpty()) ? null : new ProgramCache(new File(directory));
+    }
+
+    /**
+     * Compute the cache key of a program.
+     *
+     * @param programs                 programs to assemble, as passed to the assembler
+     * @param extendedAssemblerEnabled whether pseudo instructions are permitted
+     * @param warningsAreErrors        whether assembler warnings are errors
+     * @return the key, or null if a source file cannot be read.  The program
+     * cannot be cached in that case.
+     */
+    String getKey(ArrayList<MipsProgram> programs, boolean extendedAssemblerEnabled, boolean warningsAreErrors) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digestString(digest, "MARS " + Globals.version + " cache " + VERSION);
+            digestString(digest, MemoryConfigurations.getCurrentConfiguration().getConfigurationIdentifier());
+            digestString(digest, extendedAssemblerEnabled + " " + warningsAreErrors + " "
+                    + Globals.getSettings().getBooleanSetting(Settings.DELAYED_BRANCHING_ENABLED));
+            for (MipsProgram program : programs) {
+                digestFile(digest, program.getFilename(), new HashSet<>());
+            }
+            return toHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Compute a SHA-256 hash of the names and contents of the given source files and
+     * of the files they include, as used in the cache key.
+     *
+     * @param filenames names of the source files
+     * @return the hash, or null if a source file cannot be read
+     */
+    static String hashSources(List<String> filenames) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String filename : filenames) {
+                digestFile(digest, filename, new HashSet<>());
+            }
+            return toHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Load an assembled program from the cache into memory and the symbol tables, as
+     * {@link MipsProgram#assemble(ArrayList, boolean, boolean)} would.
+     *
+     * @param key      key returned by getKey()
+     * @param lead     program that will hold the machine statements
+     * @param programs programs to assemble
+     * @return assembler warnings, or null if the program is not in the cache
+     */
+    ErrorList load(String key, MipsProgram lead, ArrayList<MipsProgram> programs) {
+        if (key == null) {
+            return null;
+        }
+        File file = new File(directory, key + FILE_EXTENSION);
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            ByteBuffer in;
+            try (FileChannel channel = new FileInputStream(file).getChannel()) {
+                in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                return null;
+            }
+            // Source files of the program, then of included files.
+            String[] filenames = new String[in.getInt()];
+            MipsProgram[] sources = new MipsProgram[filenames.length];
+            for (int i = 0; i < filenames.length; i++) {
+                filenames[i] = readString(in);
+                if (i < programs.size()) {
+                    if (!filenames[i].equals(programs.get(i).getFilename())) {
+                        return null;
+                    }
+                    sources[i] = programs.get(i);
+                } else {
+                    sources[i] = new MipsProgram();
+                    sources[i].setFilename(filenames[i]);
+                }
+            }
+            SymbolTable[] localSymbolTables = new SymbolTable[programs.size()];
+            for (int i = 0; i < localSymbolTables.length; i++) {
+                localSymbolTables[i] = readSymbolTable(in, filenames[i]);
+            }
+            SymbolTable globalSymbolTable = readSymbolTable(in, "(global)");
+            ErrorList warnings = new ErrorList();
+            for (int count = in.getInt(); count > 0; count--) {
+                warnings.add(readMessage(in));
+            }
+            ArrayList<ProgramStatement> machineList = new ArrayList<>();
+            for (int count = in.getInt(); count > 0; count--) {
+                int source = in.getInt();
+                int sourceLine = in.getInt();
+                int address = in.getInt();
+                int binary = in.getInt();
+                int[] operands = null;
+                int numOperands = in.getInt();
+                if (numOperands >= 0) {
+                    operands = new int[in.getInt()];
+                    for (int i = 0; i < operands.length; i++) {
+                        operands[i] = in.getInt();
+                    }
+                }
+                machineList.add(new ProgramStatement((source < 0) ? null : sources[source], readString(in),
+                        sourceLine, readString(in), readString(in), binary, address, operands, numOperands));
+            }
+            // Memory contents are read last, directly into memory.  If they turn out to be
+            // malformed the load fails, and the program is assembled as if it were not cached.
+            Globals.symbolTable.clear();
+            for (Symbol symbol : globalSymbolTable.getAllSymbols()) {
+                Globals.symbolTable.addSymbol(symbol);
+            }
+            Globals.memory.clear();
+            Globals.memory.restoreState(Globals.memory.readState(in));
+            for (ProgramStatement statement : machineList) {
+                Globals.memory.setStatement(statement.getAddress(), statement);
+            }
+            for (int i = 0; i < programs.size(); i++) {
+                programs.get(i).setAssembled(localSymbolTables[i], (programs.get(i) == lead) ? machineList : null);
+            }
+            if (!programs.contains(lead)) {
+                lead.setAssembled(new SymbolTable(lead.getFilename()), machineList);
+            }
+            return warnings;
+        } catch (IOException | AddressErrorException | BufferUnderflowException | IndexOutOfBoundsException
+                 | NegativeArraySizeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Store an assembled program in the cache.  Failure to store it is ignored.
+     *
+     * @param key      key returned by getKey() before assembly
+     * @param lead     program holding the machine statements
+     * @param programs programs that were assembled
+     * @param warnings assembler warnings
+     */
+    void store(String key, MipsProgram lead, ArrayList<MipsProgram> programs, ErrorList warnings) {
+        if (key == null) {
+            return;
+        }
+        File file = new File(directory, key + FILE_EXTENSION);
+        File temporary = null;
+        try {
+            Files.createDirectories(directory.toPath());
+            temporary = File.createTempFile(key, ".tmp", directory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                ArrayList<MipsProgram> sources = new ArrayList<>(programs);
+                ArrayList<ProgramStatement> machineList = lead.getMachineList();
+                for (ProgramStatement statement : machineList) {
+                    MipsProgram source = statement.getSourceMIPSprogram();
+                    if (source != null && !sources.contains(source)) {
+                        sources.add(source);
+                    }
+                }
+                out.writeInt(sources.size());
+                for (MipsProgram source : sources) {
+                    writeString(out, source.getFilename());
+                }
+                for (MipsProgram program : programs) {
+                    writeSymbolTable(out, program.getLocalSymbolTable());
+                }
+                writeSymbolTable(out, Globals.symbolTable);
+                ArrayList<ErrorMessage> messages = warnings.getErrorMessages();
+                out.writeInt(messages.size());
+                for (ErrorMessage message : messages) {
+                    writeMessage(out, message);
+                }
+                out.writeInt(machineList.size());
+                for (ProgramStatement statement : machineList) {
+                    out.writeInt(sources.indexOf(statement.getSourceMIPSprogram()));
+                    out.writeInt(statement.getSourceLine());
+                    out.writeInt(statement.getAddress());
+                    out.writeInt(statement.getBinaryStatement());
+                    // Operands as assembled.
+                    int[] operands = statement.getOperands();
+                    if (operands == null) {
+                        out.writeInt(-1);
+                    } else {
+                        out.writeInt(statement.getNumOperands());
+                        out.writeInt(operands.length);
+                        for (int operand : operands) {
+                            out.writeInt(operand);
+                        }
+                    }
+                    writeString(out, statement.getSource());
+                    writeString(out, statement.getBasicAssemblyStatement());
+                    writeString(out, statement.getMachineStatement());
+                }
+                Globals.memory.writeState(out);
+            }
+            Files.move(temporary.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (temporary != null) {
+                temporary.delete();
+            }
+        }
+    }
+
+    // Digest the name and contents of a source file and of the files it includes,
+    // resolving included file names the way the tokenizer does.
+    private static void digestFile(MessageDigest digest, String filename, Set<String> included) throws IOException {
+        byte[] contents = Files.readAllBytes(new File(filename).toPath());
+        digestString(digest, filename);
+        digest.update(ByteBuffer.allocate(4).putInt(contents.length).array());
+        digest.update(contents);
+        if (!included.add(filename)) {
+            return; // recursive include; the assembler will report it
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(contents), Charset.defaultCharset()));
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            Matcher matcher = INCLUDE.matcher(line);
+            if (matcher.find()) {
+                String includeName = matcher.group(1);
+                if (!new File(includeName).isAbsolute()) {
+                    includeName = new File(filename).getParent() + File.separator + includeName;
+                }
+                digestFile(digest, includeName, included);
+            }
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : hash) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private static void digestString(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(4).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static void writeSymbolTable(DataOutputStream out, SymbolTable table) throws IOException {
+        ArrayList<Symbol> symbols = (table == null) ? new ArrayList<>() : table.getAllSymbols();
+        out.writeInt(symbols.size());
+        for (Symbol symbol : symbols) {
+            writeString(out, symbol.getName());
+            out.writeInt(symbol.getAddress());
+            out.writeBoolean(symbol.getType());
+        }
+    }
+
+    private static SymbolTable readSymbolTable(ByteBuffer in, String filename) {
+        SymbolTable table = new SymbolTable(filename);
+        for (int count = in.getInt(); count > 0; count--) {
+            String name = readString(in);
+            int address = in.getInt();
+            table.addSymbol(new Symbol(name, address, in.get() != 0));
+        }
+        return table;
+    }
+
+    private static void writeMessage(DataOutputStream out, ErrorMessage message) throws IOException {
+        out.writeBoolean(message.isWarning());
+        writeString(out, message.getFilename());
+        out.writeInt(message.getLine());
+        out.writeInt(message.getPosition());
+        writeString(out, message.getMessage());
+        writeString(out, message.getMacroExpansionHistory());
+    }
+
+    @SuppressWarnings("deprecation")
+    private static ErrorMessage readMessage(ByteBuffer in) {
+        boolean isWarning = in.get() != 0;
+        String filename = readString(in);
+        int line = in.getInt();
+        int position = in.getInt();
+        return new ErrorMessage(isWarning, filename, line, position, readString(in), readString(in));
+    }
+
+    // Strings are written as their length in UTF-8 bytes, or -1 if null, then the bytes.
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
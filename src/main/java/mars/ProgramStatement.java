@@ -126,7 +126,10 @@ public class ProgramStatement {
                     int k0 = 31 - fmt.lastIndexOf(code);
                     int k1 = 31 - j;
                     int opand = (binaryStatement >> k0) & ((1 << (k1 - k0 + 1)) - 1);
-                    if (instrFormat.equals(BasicInstructionFormat.I_BRANCH_FORMAT) && numOps == 2) {
+                    // Branch offsets and signed immediates are sign-extended, as the assembler
+                    // stores them, so a decoded statement has the operands it was assembled with.
+                    if (k1 - k0 + 1 == 16 && (instrFormat.equals(BasicInstructionFormat.I_BRANCH_FORMAT)
+                            || instr.isSignedOperand(numOps))) {
                         opand = opand << 16 >> 16;
                     } else if (instrFormat.equals(BasicInstructionFormat.J_FORMAT) && numOps == 0) {
                         opand |= (textAddress >> 2) & 0x3C000000;
@@ -138,7 +141,38 @@ public class ProgramStatement {
             this.numOperands = numOps;
         }
         this.altered = false;
-        this.basicStatementList = buildBasicStatementListFromBinaryCode(binaryStatement, instr, operands, numOperands);
+        // Built when first displayed, as most statements decoded from binary code are
+        // only ever executed.
+        this.basicStatementList = null;
+    }
+
+    /**
+     * Constructor for ProgramStatement for a binary machine instruction loaded from the
+     * assembled program cache, with the source information it had when it was assembled.
+     *
+     * @param sourceMipsProgram      The MipsProgram object that contains this statement, or null.
+     * @param source                 The corresponding MIPS source statement.
+     * @param sourceLine             Line number of the MIPS source statement.
+     * @param basicAssemblyStatement The statement in basic assembly format, or null.
+     * @param machineStatement       The statement in binary machine code format, as a string, or null.
+     * @param binaryStatement        The 32-bit machine code.
+     * @param textAddress            The Text Segment address in memory where the binary machine code for this
+     *                               statement is stored.
+     * @param operands               Operand values as assembled, or null to decode them from the machine code.
+     * @param numOperands            Number of operand values in use.
+     */
+    public ProgramStatement(MipsProgram sourceMipsProgram, String source, int sourceLine, String basicAssemblyStatement,
+                            String machineStatement, int binaryStatement, int textAddress, int[] operands, int numOperands) {
+        this(binaryStatement, textAddress);
+        if (operands != null && this.operands != null) {
+            this.operands = operands;
+            this.numOperands = numOperands;
+        }
+        this.sourceMipsProgram = sourceMipsProgram;
+        this.source = source;
+        this.sourceLine = sourceLine;
+        this.basicAssemblyStatement = basicAssemblyStatement;
+        this.machineStatement = machineStatement;
     }
 
     /**
@@ -373,6 +407,18 @@ public class ProgramStatement {
         return result.toString();
     }
 
+    /**
+     * Lets go of the token lists and the intermediate forms of this statement once it
+     * has been assembled, as they are needed only to assemble it.  The basic statement
+     * for display and the machine statement string are built again from the binary
+     * machine code when asked for.
+     */
+    public void releaseTokenLists() {
+        originalTokenList = strippedTokenList = null;
+        basicStatementList = null;
+        machineStatement = null;
+    }
+
     /**
      * Assigns given String to be Basic Assembly statement equivalent to this source line.
      *
@@ -466,6 +512,11 @@ public class ProgramStatement {
      * @return The Basic Assembly statement.
      */
     public String getPrintableBasicAssemblyStatement() {
+        if (basicStatementList == null) {
+            // Operands are null if the binary code matched no basic instruction.
+            basicStatementList = buildBasicStatementListFromBinaryCode(binaryStatement,
+                    (operands == null) ? null : (BasicInstruction) instruction, operands, numOperands);
+        }
         return basicStatementList.toString();
     }
 
@@ -475,7 +526,7 @@ public class ProgramStatement {
      * @return The String version of 32-bit binary machine code.
      */
     public String getMachineStatement() {
-        return machineStatement;
+        return (machineStatement == null) ? Binary.intToBinaryString(binaryStatement) : machineStatement;
     }
 
     /**
@@ -533,6 +584,15 @@ public class ProgramStatement {
         return operands;
     }
 
+    /**
+     * Produces the number of operand values in use.
+     *
+     * @return number of operand values in the array returned by getOperands().
+     */
+    public int getNumOperands() {
+        return numOperands;
+    }
+
     /**
      * Produces operand value from given array position (first operand is position 0).
      *
@@ -611,6 +671,10 @@ public class ProgramStatement {
                     String marker = (tokenType.toString().contains("FP_REGISTER")) ? "$f" : "$";
                     statementList.addString(marker + operands[i]);
                     notOperand = false;
+                } else if (instr.getInstructionFormat() == BasicInstructionFormat.J_FORMAT) {
+                    // The operand is the word address of the target, shown as the assembler does.
+                    statementList.addAddress(operands[i] << 2);
+                    notOperand = false;
                 } else {
                     statementList.addValue(operands[i]);
                     notOperand = false;
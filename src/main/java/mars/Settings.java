@@ -372,7 +372,9 @@ public class Settings extends Observable {
      * on defaults stored in this class.
      *
      * @param gui true if running the graphical IDE, false if running from command line.
-     *            Ignored as of release 3.6 but retained for compatability.
+     *            From the command line the saved values are neither read nor written:
+     *            settings come from Settings.properties alone, and changes last only
+     *            for the run.
      */
 
     public Settings(boolean gui) {
@@ -385,7 +387,9 @@ public class Settings extends Observable {
         // This determines where the values are actually stored.  Actual implementation
         // is platform-dependent.  For Windows, they are stored in Registry.  To see,
         // run regedit and browse to: HKEY_CURRENT_USER\Software\JavaSoft\Prefs\mars
-        preferences = Preferences.userNodeForPackage(this.getClass());
+        // The command line does not touch them, since opening them takes a noticeable part of
+        // its startup, and a command line run should not depend on how the IDE was last set.
+        preferences = gui ? Preferences.userNodeForPackage(this.getClass()) : null;
         // The gui parameter, formerly passed to initialize(), is no longer needed
         // because I removed (1/21/09) the call to generate the Font object for the text editor.
         // Font objects are now generated only on demand so the "if (gui)" guard
@@ -413,7 +417,8 @@ public class Settings extends Observable {
      * Reset settings to default values, as described in the constructor comments.
      *
      * @param gui true if running from GUI IDE and false if running from command mode.
-     *            Ignored as of release 3.6 but retained for compatibility.
+     *            Ignored: whether saved values are used was decided when this object
+     *            was created.
      */
     public void reset(boolean gui) {
         initialize();
@@ -445,6 +450,7 @@ public class Settings extends Observable {
 
 
     public void setEditorSyntaxStyleByPosition(int index, SyntaxStyle syntaxStyle) {
+        initializeEditorSyntaxStylesIfNeeded();
         syntaxStyleColorSettingsValues[index] = syntaxStyle.getColorAsHexString();
         syntaxStyleItalicSettingsValues[index] = syntaxStyle.isItalic();
         syntaxStyleBoldSettingsValues[index] = syntaxStyle.isBold();
@@ -452,18 +458,23 @@ public class Settings extends Observable {
     }
 
     public SyntaxStyle getEditorSyntaxStyleByPosition(int index) {
+        initializeEditorSyntaxStylesIfNeeded();
         return new SyntaxStyle(getColorValueByPosition(index, syntaxStyleColorSettingsValues),
                 syntaxStyleItalicSettingsValues[index],
                 syntaxStyleBoldSettingsValues[index]);
     }
 
     public SyntaxStyle getDefaultEditorSyntaxStyleByPosition(int index) {
+        initializeEditorSyntaxStylesIfNeeded();
         return new SyntaxStyle(getColorValueByPosition(index, defaultSyntaxStyleColorSettingsValues),
                 defaultSyntaxStyleItalicSettingsValues[index],
                 defaultSyntaxStyleBoldSettingsValues[index]);
     }
 
     private void saveEditorSyntaxStyle(int index) {
+        if (preferences == null) {
+            return;
+        }
         try {
             preferences.put(syntaxStyleColorSettingsKeys[index], syntaxStyleColorSettingsValues[index]);
             preferences.putBoolean(syntaxStyleBoldSettingsKeys[index], syntaxStyleBoldSettingsValues[index]);
@@ -509,6 +520,17 @@ public class Settings extends Observable {
         }
     }
 
+    // The syntax styles are set up only when first used, which is only in the IDE,
+    // since getting their defaults loads the AWT color classes.
+    private void initializeEditorSyntaxStylesIfNeeded() {
+        if (syntaxStyleColorSettingsValues == null) {
+            initializeEditorSyntaxStyles();
+            if (preferences != null) {
+                getEditorSyntaxStyleSettingsFromPreferences();
+            }
+        }
+    }
+
     private void getEditorSyntaxStyleSettingsFromPreferences() {
         for (int i = 0; i < syntaxStyleColorSettingsKeys.length; i++) {
             syntaxStyleColorSettingsValues[i] = preferences.get(syntaxStyleColorSettingsKeys[i], syntaxStyleColorSettingsValues[i]);
@@ -1332,7 +1354,9 @@ public class Settings extends Observable {
         if (!readSettingsFromPropertiesFile(settingsFile)) {
             System.out.println("MARS System error: unable to read Settings.properties defaults. Using built-in defaults.");
         }
-        getSettingsFromPreferences();
+        if (preferences != null) {
+            getSettingsFromPreferences();
+        }
     }
 
     // Default values.  Will be replaced if available from property file or Preferences object.
@@ -1351,7 +1375,7 @@ public class Settings extends Observable {
         for (int i = 0; i < colorSettingsValues.length; i++) {
             colorSettingsValues[i] = defaultColorSettingsValues[i];
         }
-        initializeEditorSyntaxStyles();
+        syntaxStyleColorSettingsValues = null;
     }
 
     // Used by all the boolean setting "setter" methods.
@@ -1426,7 +1450,7 @@ public class Settings extends Observable {
     // defaultXSettingsValues arrays (x=boolean,string,color).  The latter will overwrite the
     // last-resort default values hardcoded into the arrays above.
     //
-    // NOTE: If there is NO ENTRY for the specified property, Globals.getPropertyEntry() returns
+    // NOTE: If there is NO ENTRY for the specified property, Properties.getProperty() returns
     // null.  This is no cause for alarm.  It will occur during system development or upon the
     // first use of a new MARS release in which new settings have been defined.
     // In that case, this method will NOT make an assignment to the settings array!
@@ -1435,30 +1459,31 @@ public class Settings extends Observable {
     private boolean readSettingsFromPropertiesFile(String filename) {
         String settingValue;
         try {
+            Properties properties = PropertiesFile.loadPropertiesFromFile(filename);
             for (int i = 0; i < booleanSettingsKeys.length; i++) {
-                settingValue = Globals.getPropertyEntry(filename, booleanSettingsKeys[i]);
+                settingValue = properties.getProperty(booleanSettingsKeys[i]);
                 if (settingValue != null) {
                     booleanSettingsValues[i] = defaultBooleanSettingsValues[i] = Boolean.parseBoolean(settingValue);
                 }
             }
             for (int i = 0; i < stringSettingsKeys.length; i++) {
-                settingValue = Globals.getPropertyEntry(filename, stringSettingsKeys[i]);
+                settingValue = properties.getProperty(stringSettingsKeys[i]);
                 if (settingValue != null)
                     stringSettingsValues[i] = defaultStringSettingsValues[i] = settingValue;
             }
             for (int i = 0; i < fontFamilySettingsValues.length; i++) {
-                settingValue = Globals.getPropertyEntry(filename, fontFamilySettingsKeys[i]);
+                settingValue = properties.getProperty(fontFamilySettingsKeys[i]);
                 if (settingValue != null)
                     fontFamilySettingsValues[i] = defaultFontFamilySettingsValues[i] = settingValue;
-                settingValue = Globals.getPropertyEntry(filename, fontStyleSettingsKeys[i]);
+                settingValue = properties.getProperty(fontStyleSettingsKeys[i]);
                 if (settingValue != null)
                     fontStyleSettingsValues[i] = defaultFontStyleSettingsValues[i] = settingValue;
-                settingValue = Globals.getPropertyEntry(filename, fontSizeSettingsKeys[i]);
+                settingValue = properties.getProperty(fontSizeSettingsKeys[i]);
                 if (settingValue != null)
                     fontSizeSettingsValues[i] = defaultFontSizeSettingsValues[i] = settingValue;
             }
             for (int i = 0; i < colorSettingsKeys.length; i++) {
-                settingValue = Globals.getPropertyEntry(filename, colorSettingsKeys[i]);
+                settingValue = properties.getProperty(colorSettingsKeys[i]);
                 if (settingValue != null)
                     colorSettingsValues[i] = defaultColorSettingsValues[i] = settingValue;
             }
@@ -1490,12 +1515,15 @@ public class Settings extends Observable {
         for (int i = 0; i < colorSettingsKeys.length; i++) {
             colorSettingsValues[i] = preferences.get(colorSettingsKeys[i], colorSettingsValues[i]);
         }
-        getEditorSyntaxStyleSettingsFromPreferences();
     }
 
 
     // Save the key-value pair in the Properties object and assure it is written to persisent storage.
+    // Nothing is saved from the command line, which has no Preferences object.
     private void saveBooleanSetting(int index) {
+        if (preferences == null) {
+            return;
+        }
         try {
             preferences.putBoolean(booleanSettingsKeys[index], booleanSettingsValues[index]);
             preferences.flush();
@@ -1509,6 +1537,9 @@ public class Settings extends Observable {
 
     // Save the key-value pair in the Properties object and assure it is written to persisent storage.
     private void saveStringSetting(int index) {
+        if (preferences == null) {
+            return;
+        }
         try {
             preferences.put(stringSettingsKeys[index], stringSettingsValues[index]);
             preferences.flush();
@@ -1522,6 +1553,9 @@ public class Settings extends Observable {
 
     // Save the key-value pair in the Properties object and assure it is written to persisent storage.
     private void saveFontSetting(int index, String[] settingsKeys, String[] settingsValues) {
+        if (preferences == null) {
+            return;
+        }
         try {
             preferences.put(settingsKeys[index], settingsValues[index]);
             preferences.flush();
@@ -1535,6 +1569,9 @@ public class Settings extends Observable {
 
     // Save the key-value pair in the Properties object and assure it is written to persisent storage.
     private void saveColorSetting(int index) {
+        if (preferences == null) {
+            return;
+        }
         try {
             preferences.put(colorSettingsKeys[index], colorSettingsValues[index]);
             preferences.flush();
@@ -0,0 +1,141 @@
+package mars;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.CodeSource;
+
+/**
+ * An isolated MARS machine, so several MIPS programs can be assembled and simulated
+ * at the same time in one JVM.
+ * <p>
+ * MARS keeps the machine state in static fields: memory, program and symbol
+ * table in Globals, the register files, delayed branch state, the open file table
+ * in SystemIO, the Simulator singleton and the settings.  Rather than thread a
+ * context object through every use of that state, each SimulationContext loads
+ * its own copy of the MARS classes through a separate class loader, so each has
+ * its own copy of all static state.  Only the JDK classes are shared.
+ * <p>
+ * A context pays the class loading and instruction set setup cost once, on its
+ * first run, and may then run any number of programs one after another.  Runs
+ * in different contexts may proceed in parallel on different threads.  Runs in
+ * the same context are serialized.
+ */
+public class SimulationContext {
+
+    private final ClassLoader loader;
+    private Method runCommandLine;
+    private Method getInstructionsExecuted;
+
+    /**
+     * Create a new context.  MARS classes are loaded lazily by its first run.
+     */
+    public SimulationContext() {
+        loader = new IsolatingClassLoader(SimulationContext.class);
+    }
+
+    /**
+     * Run MARS in this context with the given command line arguments, as
+     * {@link MarsLaunch#runCommandLine(String[], InputStream, PrintStream, PrintStream)} does.
+     *
+     * @param args command line arguments, at least one
+     * @param in   standard input of the MIPS program
+     * @param out  standard output of the MIPS program and for MARS messages
+     * @param err  standard error of the MIPS program, and for MARS messages if "me" is given
+     * @return the exit code MARS would have terminated with.
+     */
+    public synchronized int runCommandLine(String[] args, InputStream in, PrintStream out, PrintStream err) {
+        try {
+            if (runCommandLine == null) {
+                Class<?> marsLaunch = loader.loadClass(MarsLaunch.class.getName());
+                runCommandLine = marsLaunch.getMethod("runCommandLine",
+                        String[].class, InputStream.class, PrintStream.class, PrintStream.class);
+                getInstructionsExecuted = marsLaunch.getMethod("getInstructionsExecutedByLastRun");
+            }
+            return (Integer) runCommandLine.invoke(null, args, in, out, err);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("MARS classes could not be loaded into simulation context", e);
+        }
+    }
+
+    /**
+     * Returns the number of MIPS instructions executed by the most recent run in
+     * this context.
+     *
+     * @return number of instructions executed, 0 if there has been no run or the
+     * program was not simulated.
+     */
+    public synchronized int getInstructionsExecuted() {
+        if (getInstructionsExecuted == null) {
+            return 0;
+        }
+        try {
+            return (Integer) getInstructionsExecuted.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Loads the MARS classes from the same location as the given class, giving
+     * them precedence over the classes already loaded by the parent class loader.
+     * Everything else, including the JDK classes, comes from the parent.
+     */
+    private static class IsolatingClassLoader extends URLClassLoader {
+
+        static {
+            registerAsParallelCapable();
+        }
+
+        IsolatingClassLoader(Class<?> marsClass) {
+            super(new URL[]{codeLocation(marsClass)}, marsClass.getClassLoader());
+        }
+
+        private static URL codeLocation(Class<?> marsClass) {
+            CodeSource source = marsClass.getProtectionDomain().getCodeSource();
+            if (source == null) {
+                throw new IllegalStateException("Location of MARS classes is unknown");
+            }
+            return source.getLocation();
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!isMarsClass(name)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> c = findLoadedClass(name);
+                if (c == null) {
+                    try {
+                        c = findClass(name);
+                    } catch (ClassNotFoundException e) {
+                        c = super.loadClass(name, false);
+                    }
+                }
+                if (resolve) {
+                    resolveClass(c);
+                }
+                return c;
+            }
+        }
+
+        // The MARS classes are those of package "mars" and its subpackages, and
+        // the Mars class itself in the unnamed package.
+        private static boolean isMarsClass(String name) {
+            return name.startsWith("mars.") || name.equals("Mars");
+        }
+    }
+}
@@ -10,6 +10,7 @@ import mars.mips.hardware.Memory;
 import mars.mips.instructions.BasicInstruction;
 import mars.mips.instructions.ExtendedInstruction;
 import mars.mips.instructions.Instruction;
+import mars.simulator.SimulatorMetrics;
 import mars.util.Binary;
 import mars.util.SystemIO;
 
@@ -178,6 +179,7 @@ public class Assembler {
         this.errors = new ErrorList();
         if (Globals.debug)
             System.out.println("Assembler first pass begins:");
+        long start = SimulatorMetrics.startPhase();
         // PROCESS THE FIRST ASSEMBLY PASS FOR ALL SOURCE FILES BEFORE PROCEEDING
         // TO SECOND PASS. THIS ASSURES ALL SYMBOL TABLES ARE CORRECTLY BUILT.
         // THERE IS ONE GLOBAL SYMBOL TABLE (for identifiers declared .globl) PLUS
@@ -256,8 +258,10 @@ public class Assembler {
         if (errors.errorsOccurred()) {
             throw new ProcessingException(errors);
         }
+        SimulatorMetrics.endPhase(SimulatorMetrics.ASSEMBLER_PASS_1, start);
         if (Globals.debug)
             System.out.println("Assembler second pass begins");
+        start = SimulatorMetrics.startPhase();
         // SECOND PASS OF ASSEMBLER GENERATES BASIC ASSEMBLER THEN MACHINE CODE.
         // Generates basic assembler statements...
         for (MipsProgram tokenizedProgramFile : tokenizedProgramFiles) {
@@ -349,8 +353,10 @@ public class Assembler {
 
             } // end of assembler second pass.
         }
+        SimulatorMetrics.endPhase(SimulatorMetrics.ASSEMBLER_PASS_2, start);
         if (Globals.debug)
             System.out.println("Code generation begins");
+        start = SimulatorMetrics.startPhase();
         ///////////// THIRD MAJOR STEP IS PRODUCE MACHINE CODE FROM ASSEMBLY //////////
         // Generates machine code statements from the list of basic assembler statements
         // and writes the statement to memory.
@@ -388,6 +394,15 @@ public class Assembler {
         if (errors.errorsOccurred() || errors.warningsOccurred() && warningsAreErrors) {
             throw new ProcessingException(errors);
         }
+        // The token lists are needed only to assemble, and would otherwise be kept as long
+        // as the program, which for a large program is most of the memory it takes.
+        for (MipsProgram programFile : tokenizedProgramFiles) {
+            programFile.releaseTokenLists();
+        }
+        for (ProgramStatement programStatement : this.machineList) {
+            programStatement.releaseTokenLists();
+        }
+        SimulatorMetrics.endPhase(SimulatorMetrics.ASSEMBLER_PASS_3, start);
         return this.machineList;
     }
 
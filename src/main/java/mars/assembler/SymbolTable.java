@@ -81,6 +81,17 @@ public class SymbolTable {
     }
 
 
+    /**
+     * Adds the given Symbol object to the table.  Unlike the other addSymbol method, this
+     * does not check whether its label is already defined.  Used to rebuild a symbol table
+     * saved in the assembled program cache.
+     *
+     * @param symbol The Symbol to add.
+     */
+    public void addSymbol(Symbol symbol) {
+        table.add(symbol);
+    }
+
     /**
      * Removes a symbol from the Symbol table.  If not found, it does nothing.
      * This will rarely happen (only when variable is declared .globl after already
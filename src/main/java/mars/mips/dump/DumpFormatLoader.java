@@ -1,9 +1,8 @@
 package mars.mips.dump;
 
-import mars.util.FilenameFinder;
-
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 
 /*
 Copyright (c) 2003-2008,  Pete Sanderson and Kenneth Vollmar
@@ -36,46 +35,36 @@ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
 
 /****************************************************************************/
 /* This class provides functionality to bring external memory dump format definitions
- * into MARS.  This is adapted from the ToolLoader class, which is in turn adapted
- * from Bret Barker's GameServer class from the book "Developing Games In Java".
+ * into MARS.  The built-in formats are listed here, like the tools in ToolLoader.
+ * Others are found with ServiceLoader: a jar on the class path names them in
+ * META-INF/services/mars.mips.dump.DumpFormat.
  */
 
 public class DumpFormatLoader {
 
-    private static final String CLASS_PREFIX = "mars.mips.dump.";
-    private static final String DUMP_DIRECTORY_PATH = "mars/mips/dump";
-    private static final String SYSCALL_INTERFACE = "DumpFormat.class";
-    private static final String CLASS_EXTENSION = "class";
-
     private static ArrayList<DumpFormat> formatList = null;
 
     /**
-     * Dynamically loads dump formats into an ArrayList.  This method is adapted from
-     * the loadGameControllers() method in Bret Barker's GameServer class.
-     * Barker (bret@hypefiend.com) is co-author of the book "Developing Games
-     * in Java".  Also see the ToolLoader and SyscallLoader classes elsewhere in MARS.
+     * Loads the built-in dump formats and any external ones into an ArrayList.  To add
+     * a new built-in format just add an instance of it to the list.
      */
 
     public ArrayList<DumpFormat> loadDumpFormats() {
         // The list will be populated only the first time this method is called.
         if (formatList == null) {
             formatList = new ArrayList<>();
-            // grab all class files in the dump directory
-            ArrayList<String> candidates = FilenameFinder.getFilenameList(this.getClass().getClassLoader(),
-                    DUMP_DIRECTORY_PATH, CLASS_EXTENSION);
-            for (String file : candidates) {
-                try {
-                    // grab the class, make sure it implements DumpFormat, instantiate, add to list
-                    String formatClassName = CLASS_PREFIX + file.substring(0, file.indexOf(CLASS_EXTENSION) - 1);
-                    Class<?> clas = Class.forName(formatClassName);
-                    if (DumpFormat.class.isAssignableFrom(clas) &&
-                            !Modifier.isAbstract(clas.getModifiers()) &&
-                            !Modifier.isInterface(clas.getModifiers())) {
-                        formatList.add((DumpFormat) clas.newInstance());
-                    }
-                } catch (Exception e) {
-                    System.out.println("Error instantiating DumpFormat from file " + file + ": " + e);
+            formatList.add(new AsciiTextDumpFormat());
+            formatList.add(new BinaryDumpFormat());
+            formatList.add(new BinaryTextDumpFormat());
+            formatList.add(new HexTextDumpFormat());
+            formatList.add(new IntelHexDumpFormat());
+            formatList.add(new SegmentWindowDumpFormat());
+            try {
+                for (DumpFormat format : ServiceLoader.load(DumpFormat.class)) {
+                    formatList.add(format);
                 }
+            } catch (ServiceConfigurationError e) {
+                System.out.println("Error instantiating DumpFormat: " + e);
             }
         }
         return formatList;
@@ -42,8 +42,8 @@ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  */
 
 // NOT READY FOR PRIME TIME.  WHEN IT IS, UNCOMMENT THE "extends" CLAUSE
-// AND THE SUPERCLASS CONSTRUCTOR CALL SO THE FORMAT LOADER WILL ACCEPT IT 
-// AND IT WILL BE ADDED TO THE LIST.
+// AND THE SUPERCLASS CONSTRUCTOR CALL, AND ADD IT TO THE LIST IN
+// DumpFormatLoader.
 public class MIFDumpFormat { //extends AbstractDumpFormat {
 
     /**
@@ -52,11 +52,21 @@ public abstract class AccessNotice {
     private Thread thread;
 
     protected AccessNotice(int type) {
+        reset(type);
+    }
+
+    // Sets the access type, and the current thread as the one making the access.
+    void reset(int type) {
+        reset(type, Thread.currentThread());
+    }
+
+    // Sets the access type and the thread that made the access.
+    void reset(int type, Thread thread) {
         if (type != READ && type != WRITE) {
             throw new IllegalArgumentException();
         }
         accessType = type;
-        thread = Thread.currentThread();
+        this.thread = thread;
     }
 
     /**
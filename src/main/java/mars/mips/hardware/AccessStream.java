@@ -0,0 +1,271 @@
+package mars.mips.hardware;
+
+import java.util.Observable;
+import java.util.Observer;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Observer of memory and registers that hands their access notices to another thread.
+ * Register it like any other observer, with {@link Memory#addObserver(Observer, int, int)}
+ * or {@link Register#addObserver(Observer)}.  Each notice is copied into a fixed-size
+ * record of a ring buffer allocated up front, and a thread of the stream's own passes
+ * the records to a {@link Listener} in batches, so a slow consumer such as a Swing tool
+ * does not hold up the simulation thread.
+ * <p>
+ * When the ring is full, a {@link Delivery#LOSSY} stream drops the new record and counts
+ * it as lost, while a {@link Delivery#BACK_PRESSURE} stream makes the thread publishing
+ * it wait for room.  Only the latter ever slows down the simulation.
+ * <p>
+ * Records are published by one thread at a time: the simulation thread, or while no
+ * program is running, the thread holding {@link mars.Globals#memoryAndRegisters}.
+ */
+public class AccessStream implements Observer {
+    /**
+     * What to do with an access when the ring is full.
+     */
+    public enum Delivery {
+        /**
+         * Drop it, counting it in {@link #getLostCount()}.
+         */
+        LOSSY,
+        /**
+         * Wait for the listener to make room for it.
+         */
+        BACK_PRESSURE
+    }
+
+    /**
+     * Receives the records of a stream, on the stream's thread.
+     */
+    public interface Listener {
+        /**
+         * @param batch records published since the previous batch, valid only until
+         *              this method returns
+         */
+        void accessed(Batch batch);
+    }
+
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    // How long the stream's thread sleeps when the ring is empty, and a publisher
+    // waiting for room sleeps between checks.
+    private static final long IDLE_NANOS = 1000000;
+    private static final long WAIT_NANOS = 50000;
+
+    private final Delivery delivery;
+    private final Listener listener;
+    private final int mask;
+    // The records, one element of each array per record.
+    private final int[] types;
+    private final int[] addresses;
+    private final int[] lengths;
+    private final int[] values;
+    private final Observable[] sources;
+    private final Thread[] threads;
+    private final Batch batch = new Batch();
+    // Counts of records published and consumed so far; a record's slot is its count
+    // modulo the capacity.
+    private volatile long published;
+    private volatile long consumed;
+    // Publisher's last look at consumed, which only ever grows.
+    private long consumedSeen;
+    private volatile long lost;
+    private volatile boolean closed;
+
+    /**
+     * Creates a stream with room for {@link #DEFAULT_CAPACITY} records, and starts its thread.
+     */
+    public AccessStream(Delivery delivery, Listener listener) {
+        this(DEFAULT_CAPACITY, delivery, listener);
+    }
+
+    /**
+     * Creates a stream and starts its thread.
+     *
+     * @param capacity number of records the ring holds, rounded up to a power of 2
+     * @param delivery what to do with an access when the ring is full
+     * @param listener receives the records
+     */
+    public AccessStream(int capacity, Delivery delivery, Listener listener) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.delivery = delivery;
+        this.listener = listener;
+        mask = size - 1;
+        types = new int[size];
+        addresses = new int[size];
+        lengths = new int[size];
+        values = new int[size];
+        sources = new Observable[size];
+        threads = new Thread[size];
+        Thread consumer = new Thread(this::consume, "MARS access stream");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Publishes a memory or register access notice.  Called by the observed resource.
+     */
+    public void update(Observable source, Object notice) {
+        if (closed) {
+            return;
+        }
+        long next = published;
+        if (next - consumedSeen > mask) {
+            consumedSeen = consumed;
+            if (next - consumedSeen > mask) {
+                if (delivery == Delivery.LOSSY) {
+                    lost++;
+                    return;
+                }
+                while (next - consumedSeen > mask) {
+                    if (closed) {
+                        return;
+                    }
+                    LockSupport.parkNanos(WAIT_NANOS);
+                    consumedSeen = consumed;
+                }
+            }
+        }
+        int slot = (int) next & mask;
+        AccessNotice accessNotice = (AccessNotice) notice;
+        types[slot] = accessNotice.getAccessType();
+        threads[slot] = accessNotice.getThread();
+        sources[slot] = source;
+        if (notice instanceof MemoryAccessNotice) {
+            MemoryAccessNotice memoryNotice = (MemoryAccessNotice) notice;
+            addresses[slot] = memoryNotice.getAddress();
+            lengths[slot] = memoryNotice.getLength();
+            values[slot] = memoryNotice.getValue();
+        } else {
+            lengths[slot] = 0;
+        }
+        published = next + 1;
+    }
+
+    /**
+     * @return number of accesses dropped because the ring was full
+     */
+    public long getLostCount() {
+        return lost;
+    }
+
+    /**
+     * Stops the stream.  Records already published are still delivered, then the
+     * stream's thread ends.  Accesses published from now on are ignored.  Does not
+     * remove the stream as an observer.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    // Body of the stream's thread.
+    private void consume() {
+        while (true) {
+            long start = consumed;
+            long end = published;
+            if (start == end) {
+                if (closed) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_NANOS);
+                continue;
+            }
+            batch.start = start;
+            batch.size = (int) (end - start);
+            try {
+                listener.accessed(batch);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+            // Let go of the sources and threads, so nothing is kept from being collected.
+            for (long record = start; record < end; record++) {
+                sources[(int) record & mask] = null;
+                threads[(int) record & mask] = null;
+            }
+            consumed = end;
+        }
+    }
+
+    /**
+     * Records delivered to a {@link Listener} at one time, numbered from 0 in the order
+     * they were published.
+     */
+    public class Batch {
+        private long start;
+        private int size;
+        private final MemoryAccessNotice memoryNotice = new MemoryAccessNotice(AccessNotice.READ, 0, 0, 0);
+        private final RegisterAccessNotice registerNotice = new RegisterAccessNotice(AccessNotice.READ, null);
+
+        private Batch() {
+        }
+
+        private int slot(int record) {
+            if (record < 0 || record >= size) {
+                throw new IndexOutOfBoundsException("record " + record + " of " + size);
+            }
+            return (int) (start + record) & mask;
+        }
+
+        /**
+         * @return number of records in the batch
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return the memory delegate or register that sent the notice
+         */
+        public Observable getSource(int record) {
+            return sources[slot(record)];
+        }
+
+        /**
+         * @return true if the record is of a memory access, false if of a register access
+         */
+        public boolean isMemoryAccess(int record) {
+            return lengths[slot(record)] != 0;
+        }
+
+        /**
+         * @return AccessNotice.READ or AccessNotice.WRITE
+         */
+        public int getAccessType(int record) {
+            return types[slot(record)];
+        }
+
+        /**
+         * @return address of a memory access
+         */
+        public int getAddress(int record) {
+            return addresses[slot(record)];
+        }
+
+        /**
+         * @return length in bytes of a memory access
+         */
+        public int getLength(int record) {
+            return lengths[slot(record)];
+        }
+
+        /**
+         * @return value read or written by a memory access
+         */
+        public int getValue(int record) {
+            return values[slot(record)];
+        }
+
+        /**
+         * Returns the record as the notice the observer of the source would have been
+         * sent.  The same two notice objects, one for memory and one for registers, are
+         * returned for every record, so a notice is only valid until the next call.
+         */
+        public AccessNotice getNotice(int record) {
+            int slot = slot(record);
+            if (lengths[slot] != 0) {
+                return memoryNotice.reset(types[slot], threads[slot], addresses[slot], lengths[slot], values[slot]);
+            }
+            return registerNotice.reset(types[slot], threads[slot], ((Register) sources[slot]).getName());
+        }
+    }
+}
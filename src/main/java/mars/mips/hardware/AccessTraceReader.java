@@ -0,0 +1,234 @@
+package mars.mips.hardware;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a trace file written by {@link AccessTraceWriter}, one record at a time, or
+ * replays it to the observers of memory.  Replaying lets tools such as the cache and
+ * branch history table simulators analyze a long run again at disk speed, without
+ * simulating it again.
+ */
+public class AccessTraceReader implements Closeable {
+    private final FileChannel channel;
+    private final Inflater inflater;
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(8);
+    private ByteBuffer stored = ByteBuffer.allocate(0);
+    private byte[] records = new byte[AccessTraceWriter.BLOCK_BYTES];
+    private ByteBuffer block = ByteBuffer.allocate(0);
+    private int kind;
+    private int programCounter;
+    private int address;
+    private int length;
+    private int value;
+    private int lastFetch = -4;
+    private int lastData;
+
+    /**
+     * Opens a trace file and reads its header.
+     *
+     * @param file the trace file
+     * @throws IOException if the file cannot be read or is not a trace file
+     */
+    public AccessTraceReader(File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(AccessTraceWriter.MAGIC.length + 1);
+            if (!readFully(header)) {
+                throw new IOException("not a MARS trace file: " + file);
+            }
+            byte[] magic = new byte[AccessTraceWriter.MAGIC.length];
+            header.get(magic);
+            if (!Arrays.equals(magic, AccessTraceWriter.MAGIC)) {
+                throw new IOException("not a MARS trace file: " + file);
+            }
+            inflater = ((header.get() & AccessTraceWriter.DEFLATED) != 0) ? new Inflater() : null;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Moves on to the next record.
+     *
+     * @return false if there are no more records
+     * @throws IOException if the file cannot be read or is damaged
+     */
+    public boolean next() throws IOException {
+        if (!block.hasRemaining() && !readBlock()) {
+            return false;
+        }
+        try {
+            int header = block.get();
+            kind = header & 3;
+            int sizeCode = (header >> 2) & 3;
+            length = (sizeCode == 3) ? getVarint() : 1 << sizeCode;
+            if (kind == AccessTraceWriter.FETCH) {
+                address = lastFetch + Memory.WORD_LENGTH_BYTES + unzigzag(getVarint());
+                lastFetch = address;
+                value = block.getInt();
+            } else {
+                address = lastData + unzigzag(getVarint());
+                lastData = address;
+                value = unzigzag(getVarint());
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("damaged trace file", e);
+        }
+        programCounter = lastFetch;
+        return true;
+    }
+
+    /**
+     * @return kind of the current record: AccessTraceWriter.FETCH, READ or WRITE
+     */
+    public int getKind() {
+        return kind;
+    }
+
+    /**
+     * @return address of the instruction making the current record's access
+     */
+    public int getProgramCounter() {
+        return programCounter;
+    }
+
+    /**
+     * @return address accessed
+     */
+    public int getAddress() {
+        return address;
+    }
+
+    /**
+     * @return number of bytes accessed
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * @return value read or written; for a fetch, the instruction
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Sends the remaining records to the observers of the given memory, as the
+     * notices they would have been sent while the traced program ran.  Observers that
+     * only accept accesses made by the MIPS program (see
+     * {@link AccessNotice#accessIsFromMIPS()}) need this called on a thread whose name
+     * starts with "MIPS".  Tools that look up the instruction at an address need the
+     * traced program to be assembled.  No program may be running meanwhile.
+     *
+     * @param memory memory whose observers are sent the records
+     * @return number of records replayed
+     * @throws IOException if the file cannot be read or is damaged
+     */
+    public long replay(Memory memory) throws IOException {
+        long count = 0;
+        while (next()) {
+            memory.replayAccess((kind == AccessTraceWriter.WRITE) ? AccessNotice.WRITE : AccessNotice.READ,
+                    address, length, value);
+            count++;
+        }
+        return count;
+    }
+
+    public void close() throws IOException {
+        if (inflater != null) {
+            inflater.end();
+        }
+        channel.close();
+    }
+
+    // Reads the next block of records into block.  Returns false at the end of the file.
+    private boolean readBlock() throws IOException {
+        do {
+            blockHeader.clear();
+            if (!readFully(blockHeader)) {
+                return false;
+            }
+            int recordsLength = blockHeader.getInt();
+            int storedLength = blockHeader.getInt();
+            if (recordsLength < 0 || storedLength < 0) {
+                throw new IOException("damaged trace file");
+            }
+            if (stored.capacity() < storedLength) {
+                stored = ByteBuffer.allocate(storedLength);
+            }
+            stored.clear();
+            stored.limit(storedLength);
+            if (!readFully(stored)) {
+                throw new EOFException("trace file ends within a block");
+            }
+            if (inflater == null) {
+                block = ByteBuffer.wrap(stored.array(), 0, storedLength);
+            } else {
+                if (records.length < recordsLength) {
+                    records = new byte[recordsLength];
+                }
+                inflater.reset();
+                inflater.setInput(stored.array(), 0, storedLength);
+                try {
+                    int inflated = 0;
+                    while (inflated < recordsLength && !inflater.finished()) {
+                        int count = inflater.inflate(records, inflated, recordsLength - inflated);
+                        if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                            break;
+                        }
+                        inflated += count;
+                    }
+                    if (inflated != recordsLength) {
+                        throw new IOException("damaged trace file");
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException("damaged trace file", e);
+                }
+                block = ByteBuffer.wrap(records, 0, recordsLength);
+            }
+        } while (!block.hasRemaining());
+        return true;
+    }
+
+    // Fills the buffer from the file, and flips it.  Returns false if the file ended
+    // before any of it was read.
+    private boolean readFully(ByteBuffer buffer) throws IOException {
+        int start = buffer.position();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (buffer.position() == start) {
+                    return false;
+                }
+                throw new EOFException("trace file ends within a block");
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private int getVarint() {
+        int result = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = block.get();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,243 @@
+package mars.mips.hardware;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Observer of memory that records every access it is sent, instruction fetches
+ * included, to a compact binary trace file.  Register it for the whole address space
+ * with {@link Memory#addObserver(Observer)}; read the file back with
+ * {@link AccessTraceReader}.
+ * <p>
+ * Records are encoded into large buffers on the thread making the accesses, and written
+ * out by a thread of the writer's own through a file channel, optionally compressed.
+ * Only when the disk falls behind by several buffers does recording wait for it.
+ * <p>
+ * The file starts with the 8 bytes {@link #MAGIC} and a flags byte, {@link #DEFLATED} if
+ * blocks are compressed.  Blocks follow, each an int giving the length of its records,
+ * an int giving the number of bytes stored, and the records, deflated or not.  A record
+ * is a byte holding its kind ({@link #FETCH}, {@link #READ} or {@link #WRITE}) in bits 0-1
+ * and a size code in bits 2-3 (0, 1 and 2 for 1, 2 and 4 bytes, 3 for a length that
+ * follows as a varint), then its address and value.  The address is a signed varint:
+ * for a fetch, the distance from the address following the previous fetch; for a load
+ * or store, the distance from the address of the previous load or store.  A fetch's
+ * value, the instruction, follows as a 4 byte int; a load or store's value as a signed
+ * varint.  A load or store was made by the instruction last fetched, so the program
+ * counter of every record is known without being stored.
+ */
+public class AccessTraceWriter implements RangeAccessObserver, Closeable {
+    /**
+     * Record kind: read of an instruction from a text segment.
+     */
+    public static final int FETCH = 0;
+    /**
+     * Record kind: read of data.
+     */
+    public static final int READ = 1;
+    /**
+     * Record kind: write of data, or of instructions.
+     */
+    public static final int WRITE = 2;
+
+    static final byte[] MAGIC = {'M', 'A', 'R', 'S', 'T', 'R', 'C', '1'};
+    static final int DEFLATED = 1;
+    static final int BLOCK_BYTES = 1 << 20;
+    static final int MAX_RECORD_BYTES = 16;
+    private static final int BUFFERS = 4;
+    private static final ByteBuffer END = ByteBuffer.allocate(0);
+
+    private final FileChannel channel;
+    private final boolean compress;
+    private final BlockingQueue<ByteBuffer> full = new ArrayBlockingQueue<>(BUFFERS + 1);
+    private final BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(BUFFERS);
+    private final Thread writer;
+    private ByteBuffer block;
+    private int lastFetch = -4;
+    private int lastData;
+    private long records;
+    private boolean closed;
+    private volatile IOException failure;
+
+    /**
+     * Creates the trace file, replacing any file of that name, and starts the thread
+     * writing to it.
+     *
+     * @param file     the trace file
+     * @param compress whether to deflate each block of records
+     * @throws IOException if the file cannot be created
+     */
+    public AccessTraceWriter(File file, boolean compress) throws IOException {
+        this.compress = compress;
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 1);
+        header.put(MAGIC).put((byte) (compress ? DEFLATED : 0));
+        header.flip();
+        try {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        block = ByteBuffer.allocate(BLOCK_BYTES);
+        for (int i = 1; i < BUFFERS; i++) {
+            free.add(ByteBuffer.allocate(BLOCK_BYTES));
+        }
+        writer = new Thread(this::writeBlocks, "MARS trace writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Records a memory access.  Called by memory; notices of other kinds are ignored.
+     */
+    public void update(Observable source, Object notice) {
+        if (closed || !(notice instanceof MemoryAccessNotice)) {
+            return;
+        }
+        MemoryAccessNotice access = (MemoryAccessNotice) notice;
+        int address = access.getAddress();
+        int length = access.getLength();
+        int kind = (access.getAccessType() == AccessNotice.WRITE) ? WRITE
+                : (Memory.inTextSegment(address) || Memory.inKernelTextSegment(address)) ? FETCH : READ;
+        int sizeCode = (length == 1) ? 0 : (length == 2) ? 1 : (length == 4) ? 2 : 3;
+        if (block.remaining() < MAX_RECORD_BYTES) {
+            flush();
+        }
+        block.put((byte) (kind | sizeCode << 2));
+        if (sizeCode == 3) {
+            putVarint(length);
+        }
+        if (kind == FETCH) {
+            putVarint(zigzag(address - lastFetch - Memory.WORD_LENGTH_BYTES));
+            lastFetch = address;
+            block.putInt(access.getValue());
+        } else {
+            putVarint(zigzag(address - lastData));
+            lastData = address;
+            putVarint(zigzag(access.getValue()));
+        }
+        records++;
+    }
+
+    /**
+     * @return number of accesses recorded so far
+     */
+    public long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Writes out the records not yet written and closes the file.  Accesses sent
+     * afterwards are ignored.
+     *
+     * @throws IOException if writing the file failed, now or earlier
+     */
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (block.position() > 0) {
+                full.put(block);
+            }
+            full.put(END);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = new IOException("interrupted while writing trace");
+        } finally {
+            channel.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Hands the current block to the writer thread and takes an empty one, waiting for
+    // one if the disk is behind.
+    private void flush() {
+        try {
+            full.put(block);
+            block = free.take();
+        } catch (InterruptedException e) {
+            // Carry on in a new block.  Records may have been lost, which close() reports.
+            Thread.currentThread().interrupt();
+            block = ByteBuffer.allocate(BLOCK_BYTES);
+            failure = new IOException("interrupted while writing trace");
+        }
+    }
+
+    private void putVarint(int value) {
+        while ((value & ~0x7F) != 0) {
+            block.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        block.put((byte) value);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    // Body of the writer thread.  After a failure, blocks are still taken and returned,
+    // so that recording never waits forever.
+    private void writeBlocks() {
+        Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        byte[] deflated = compress ? new byte[BLOCK_BYTES + BLOCK_BYTES / 8 + 64] : null;
+        ByteBuffer header = ByteBuffer.allocate(8);
+        while (true) {
+            ByteBuffer records;
+            try {
+                records = full.take();
+            } catch (InterruptedException e) {
+                failure = new IOException("interrupted while writing trace");
+                return;
+            }
+            if (records == END) {
+                return;
+            }
+            if (failure == null) {
+                try {
+                    int length = records.position();
+                    ByteBuffer stored = ByteBuffer.wrap(records.array(), 0, length);
+                    if (deflater != null) {
+                        deflater.reset();
+                        deflater.setInput(records.array(), 0, length);
+                        deflater.finish();
+                        int storedLength = 0;
+                        while (!deflater.finished()) {
+                            storedLength += deflater.deflate(deflated, storedLength, deflated.length - storedLength);
+                        }
+                        stored = ByteBuffer.wrap(deflated, 0, storedLength);
+                    }
+                    header.clear();
+                    header.putInt(length).putInt(stored.remaining());
+                    header.flip();
+                    while (header.hasRemaining()) {
+                        channel.write(header);
+                    }
+                    while (stored.hasRemaining()) {
+                        channel.write(stored);
+                    }
+                } catch (IOException e) {
+                    failure = e;
+                }
+            }
+            records.clear();
+            free.offer(records);
+        }
+    }
+}
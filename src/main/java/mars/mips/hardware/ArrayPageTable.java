@@ -0,0 +1,223 @@
+package mars.mips.hardware;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Page table whose pages are int arrays on the Java heap, one int per raw word.
+ * This is the default storage of {@link Memory}.
+ */
+class ArrayPageTable extends PageTable {
+    private final int[][][] directory;
+
+    ArrayPageTable(boolean byteOrder) {
+        super(byteOrder);
+        directory = new int[PAGE_DIRECTORY_LENGTH][][]; // array of null page table references
+    }
+
+    // Copies the two upper levels, so pages can be replaced in the copy without
+    // affecting the original.  The pages themselves are shared.
+    private ArrayPageTable(ArrayPageTable original) {
+        super(original.byteOrder);
+        directory = original.directory.clone();
+        for (int i = 0; i < directory.length; i++) {
+            if (directory[i] != null) directory[i] = directory[i].clone();
+        }
+    }
+
+    // Returns the page holding the given address, or null if it has not been allocated.
+    private int[] page(int address) {
+        int[][] pageTable = directory[directoryIndex(address)];
+        return (pageTable == null) ? null : pageTable[tableIndex(address)];
+    }
+
+    // Returns the page holding the given address, ready to be written to.  It is
+    // allocated if this is the first write to it, or copied if it is still shared
+    // with the image.
+    private int[] writablePage(int address) {
+        int[][] pageTable = directory[directoryIndex(address)];
+        if (pageTable == null) {
+            pageTable = new int[PAGE_TABLE_LENGTH][];
+            directory[directoryIndex(address)] = pageTable;
+        }
+        int index = tableIndex(address);
+        int[] page = pageTable[index];
+        if (page == null) {
+            // First time writing to this page, so allocate the space.
+            page = new int[PAGE_LENGTH_WORDS];
+            pageTable[index] = page;
+        } else if (image != null && ((ArrayPageTable) image).page(address) == page) {
+            page = page.clone();
+            pageTable[index] = page;
+        }
+        return page;
+    }
+
+    boolean isAllocated(int address) {
+        return page(address) != null;
+    }
+
+    int fetchWord(int address) {
+        int[] page = page(address);
+        // If first reference to an address in this page, assume initialized to 0.
+        return (page == null) ? 0 : page[wordInPage(address)];
+    }
+
+    int storeWord(int address, int value) {
+        int[] page = writablePage(address);
+        int offset = wordInPage(address);
+        int oldValue = page[offset];
+        page[offset] = value;
+        return oldValue;
+    }
+
+    int fetchBytes(int address, int length) {
+        return storeOrFetchBytes(address, length, 0, false);
+    }
+
+    int storeBytes(int address, int length, int value) {
+        return storeOrFetchBytes(address, length, value, true);
+    }
+
+    // Works for either storing or fetching, little or big endian.  When storing/fetching
+    // bytes, most of the work is calculating the correct array element(s) and element
+    // byte(s).  For a store, returns the old values of the replaced bytes.
+    private int storeOrFetchBytes(int address, int length, int value, boolean store) {
+        int bytePositionInMemory, bytePositionInValue;
+        int oldValue = 0;
+        int loopStopper = 3 - length;
+        for (bytePositionInValue = 3; bytePositionInValue > loopStopper; bytePositionInValue--) {
+            int[] page;
+            if (store) {
+                page = writablePage(address);
+            } else {
+                page = page(address);
+                if (page == null) {
+                    // Byte of a page not yet allocated, so 0, but the others may be on allocated pages.
+                    address++;
+                    continue;
+                }
+            }
+            int offset = wordInPage(address);
+            bytePositionInMemory = address & 3;
+            if (byteOrder == Memory.LITTLE_ENDIAN) bytePositionInMemory = 3 - bytePositionInMemory;
+            if (store) {
+                oldValue = replaceByte(page[offset], bytePositionInMemory,
+                        oldValue, bytePositionInValue);
+                page[offset] = replaceByte(value, bytePositionInValue,
+                        page[offset], bytePositionInMemory);
+            } else {
+                value = replaceByte(page[offset], bytePositionInMemory,
+                        value, bytePositionInValue);
+            }
+            address++;
+        }
+        return store ? oldValue : value;
+    }
+
+    // Returns result of substituting specified byte of source value into specified byte
+    // of destination value. Byte positions are 0-1-2-3, listed from most to least
+    // significant.  No endian issues.
+    private static int replaceByte(int sourceValue, int bytePosInSource, int destValue, int bytePosInDest) {
+        return
+                // Set source byte value into destination byte position; set other 24 bits to 0's...
+                ((sourceValue >> (24 - (bytePosInSource << 3)) & 0xFF)
+                        << (24 - (bytePosInDest << 3)))
+                        // and bitwise-OR it with...
+                        |
+                        // Set 8 bits in destination byte position to 0's, other 24 bits are unchanged.
+                        (destValue & ~(0xFF << (24 - (bytePosInDest << 3))));
+    }
+
+    // Returns the distance in bits of the given address's byte from the low order end
+    // of its word.
+    private int byteShift(int address) {
+        int position = address & 3;
+        return ((byteOrder == Memory.LITTLE_ENDIAN) ? position : 3 - position) << 3;
+    }
+
+    void fetchBlock(int address, byte[] bytes, int offset, int length) {
+        int[] page = page(address);
+        if (page == null) {
+            Arrays.fill(bytes, offset, offset + length, (byte) 0);
+            return;
+        }
+        for (int i = 0; i < length; i++, address++) {
+            bytes[offset + i] = (byte) (page[wordInPage(address)] >>> byteShift(address));
+        }
+    }
+
+    void storeBlock(int address, byte[] bytes, int offset, int length) {
+        int[] page = writablePage(address);
+        for (int i = 0; i < length; i++, address++) {
+            int shift = byteShift(address);
+            int word = wordInPage(address);
+            page[word] = (page[word] & ~(0xFF << shift)) | ((bytes[offset + i] & 0xFF) << shift);
+        }
+    }
+
+    void fillBlock(int address, int length, byte value) {
+        int[] page = writablePage(address);
+        for (int i = 0; i < length; i++, address++) {
+            int shift = byteShift(address);
+            int word = wordInPage(address);
+            page[word] = (page[word] & ~(0xFF << shift)) | ((value & 0xFF) << shift);
+        }
+    }
+
+    int indexOfNull(int address, int length) {
+        int[] page = page(address);
+        if (page == null) {
+            return 0;
+        }
+        for (int i = 0; i < length; i++, address++) {
+            if (((page[wordInPage(address)] >>> byteShift(address)) & 0xFF) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    PageTable copy() {
+        return new ArrayPageTable(this);
+    }
+
+    int[] allocatedPages() {
+        int count = 0;
+        for (int[][] pageTable : directory) {
+            if (pageTable == null) continue;
+            for (int[] page : pageTable) {
+                if (page != null) count++;
+            }
+        }
+        int[] pages = new int[count];
+        count = 0;
+        for (int table = 0; table < PAGE_DIRECTORY_LENGTH; table++) {
+            if (directory[table] == null) continue;
+            for (int index = 0; index < PAGE_TABLE_LENGTH; index++) {
+                if (directory[table][index] != null) {
+                    pages[count++] = table * PAGE_TABLE_LENGTH + index;
+                }
+            }
+        }
+        return pages;
+    }
+
+    void writePage(int page, DataOutputStream out) throws IOException {
+        for (int word : page(page << PAGE_SHIFT)) {
+            out.writeInt(word);
+        }
+    }
+
+    void readPage(int page, ByteBuffer in) {
+        int[] words = new int[PAGE_LENGTH_WORDS];
+        in.asIntBuffer().get(words);
+        in.position(in.position() + PAGE_LENGTH_BYTES);
+        if (directory[page / PAGE_TABLE_LENGTH] == null) {
+            directory[page / PAGE_TABLE_LENGTH] = new int[PAGE_TABLE_LENGTH][];
+        }
+        directory[page / PAGE_TABLE_LENGTH][page % PAGE_TABLE_LENGTH] = words;
+    }
+}
@@ -0,0 +1,228 @@
+package mars.mips.hardware;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Page table whose pages are direct byte buffers, outside the Java heap.  Selected by
+ * starting the JVM with system property mars.memory.offHeap set to true, so that
+ * large memory configurations do not need a large heap and add nothing to garbage
+ * collection.  Direct buffers are costly to allocate one by one, so pages are cut from
+ * slabs of {@link #SLAB_PAGES} pages.
+ * <p>
+ * Each page holds the bytes of its addresses in address order, in the native byte order
+ * of the host so that an aligned word or halfword is read or written by a single get or
+ * put.  A raw word is byte-swapped on the way in and out when the memory byte order
+ * differs from the native one.
+ */
+class BufferPageTable extends PageTable {
+    private static final int SLAB_PAGES = 64;
+    private static final ByteOrder NATIVE_ORDER = ByteOrder.nativeOrder();
+    private static final boolean NATIVE_LITTLE_ENDIAN = NATIVE_ORDER == ByteOrder.LITTLE_ENDIAN;
+
+    private final ByteBuffer[][] directory;
+    private ByteBuffer slab;
+
+    BufferPageTable(boolean byteOrder) {
+        super(byteOrder);
+        directory = new ByteBuffer[PAGE_DIRECTORY_LENGTH][]; // array of null page table references
+    }
+
+    // Copies the two upper levels, so pages can be replaced in the copy without
+    // affecting the original.  The pages themselves are shared.
+    private BufferPageTable(BufferPageTable original) {
+        super(original.byteOrder);
+        directory = original.directory.clone();
+        for (int i = 0; i < directory.length; i++) {
+            if (directory[i] != null) directory[i] = directory[i].clone();
+        }
+    }
+
+    // Returns the page holding the given address, or null if it has not been allocated.
+    private ByteBuffer page(int address) {
+        ByteBuffer[] pageTable = directory[directoryIndex(address)];
+        return (pageTable == null) ? null : pageTable[tableIndex(address)];
+    }
+
+    // Returns the page holding the given address, ready to be written to.  It is
+    // allocated if this is the first write to it, or copied if it is still shared
+    // with the image.
+    private ByteBuffer writablePage(int address) {
+        ByteBuffer[] pageTable = directory[directoryIndex(address)];
+        if (pageTable == null) {
+            pageTable = new ByteBuffer[PAGE_TABLE_LENGTH];
+            directory[directoryIndex(address)] = pageTable;
+        }
+        int index = tableIndex(address);
+        ByteBuffer page = pageTable[index];
+        if (page == null) {
+            page = allocatePage();
+            pageTable[index] = page;
+        } else if (image != null && ((BufferPageTable) image).page(address) == page) {
+            ByteBuffer copy = allocatePage();
+            copy.put(page.duplicate());
+            copy.clear();
+            page = copy;
+            pageTable[index] = page;
+        }
+        return page;
+    }
+
+    // Returns a new zero-filled page, positioned at 0.
+    private ByteBuffer allocatePage() {
+        if (slab == null || !slab.hasRemaining()) {
+            slab = ByteBuffer.allocateDirect(SLAB_PAGES * PAGE_LENGTH_BYTES);
+        }
+        slab.limit(slab.position() + PAGE_LENGTH_BYTES);
+        ByteBuffer page = slab.slice().order(NATIVE_ORDER);
+        slab.position(slab.limit());
+        slab.limit(slab.capacity());
+        return page;
+    }
+
+    private int toRaw(int nativeWord) {
+        return (byteOrder == Memory.LITTLE_ENDIAN) == NATIVE_LITTLE_ENDIAN ? nativeWord : Integer.reverseBytes(nativeWord);
+    }
+
+    boolean isAllocated(int address) {
+        return page(address) != null;
+    }
+
+    int fetchWord(int address) {
+        ByteBuffer page = page(address);
+        // If first reference to an address in this page, assume initialized to 0.
+        return (page == null) ? 0 : toRaw(page.getInt(byteInPage(address)));
+    }
+
+    int storeWord(int address, int value) {
+        ByteBuffer page = writablePage(address);
+        int offset = byteInPage(address);
+        int oldValue = page.getInt(offset);
+        page.putInt(offset, toRaw(value));
+        return toRaw(oldValue);
+    }
+
+    int fetchBytes(int address, int length) {
+        if (length == 2 && (address & 1) == 0) {
+            ByteBuffer page = page(address);
+            if (page == null) {
+                return 0;
+            }
+            short half = page.getShort(byteInPage(address));
+            return (NATIVE_LITTLE_ENDIAN ? half : Short.reverseBytes(half)) & 0xFFFF;
+        }
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            ByteBuffer page = page(address + i);
+            if (page == null) {
+                // Byte of a page not yet allocated, so 0, but the others may be on allocated pages.
+                continue;
+            }
+            value |= (page.get((address + i) & (PAGE_LENGTH_BYTES - 1)) & 0xFF) << (i << 3);
+        }
+        return value;
+    }
+
+    int storeBytes(int address, int length, int value) {
+        if (length == 2 && (address & 1) == 0) {
+            ByteBuffer page = writablePage(address);
+            int offset = byteInPage(address);
+            short oldHalf = page.getShort(offset);
+            page.putShort(offset, NATIVE_LITTLE_ENDIAN ? (short) value : Short.reverseBytes((short) value));
+            return (NATIVE_LITTLE_ENDIAN ? oldHalf : Short.reverseBytes(oldHalf)) & 0xFFFF;
+        }
+        int oldValue = 0;
+        for (int i = 0; i < length; i++) {
+            ByteBuffer page = writablePage(address + i);
+            int offset = (address + i) & (PAGE_LENGTH_BYTES - 1);
+            oldValue |= (page.get(offset) & 0xFF) << (i << 3);
+            page.put(offset, (byte) (value >>> (i << 3)));
+        }
+        return oldValue;
+    }
+
+    void fetchBlock(int address, byte[] bytes, int offset, int length) {
+        ByteBuffer page = page(address);
+        if (page == null) {
+            Arrays.fill(bytes, offset, offset + length, (byte) 0);
+            return;
+        }
+        ByteBuffer block = page.duplicate();
+        block.position(byteInPage(address));
+        block.get(bytes, offset, length);
+    }
+
+    void storeBlock(int address, byte[] bytes, int offset, int length) {
+        ByteBuffer block = writablePage(address).duplicate();
+        block.position(byteInPage(address));
+        block.put(bytes, offset, length);
+    }
+
+    void fillBlock(int address, int length, byte value) {
+        ByteBuffer page = writablePage(address);
+        int start = byteInPage(address);
+        for (int index = start; index < start + length; index++) {
+            page.put(index, value);
+        }
+    }
+
+    int indexOfNull(int address, int length) {
+        ByteBuffer page = page(address);
+        if (page == null) {
+            return 0;
+        }
+        int start = byteInPage(address);
+        for (int i = 0; i < length; i++) {
+            if (page.get(start + i) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    PageTable copy() {
+        return new BufferPageTable(this);
+    }
+
+    int[] allocatedPages() {
+        int count = 0;
+        for (ByteBuffer[] pageTable : directory) {
+            if (pageTable == null) continue;
+            for (ByteBuffer page : pageTable) {
+                if (page != null) count++;
+            }
+        }
+        int[] pages = new int[count];
+        count = 0;
+        for (int table = 0; table < PAGE_DIRECTORY_LENGTH; table++) {
+            if (directory[table] == null) continue;
+            for (int index = 0; index < PAGE_TABLE_LENGTH; index++) {
+                if (directory[table][index] != null) {
+                    pages[count++] = table * PAGE_TABLE_LENGTH + index;
+                }
+            }
+        }
+        return pages;
+    }
+
+    void writePage(int page, DataOutputStream out) throws IOException {
+        ByteBuffer words = page(page << PAGE_SHIFT);
+        for (int offset = 0; offset < PAGE_LENGTH_BYTES; offset += Memory.WORD_LENGTH_BYTES) {
+            out.writeInt(toRaw(words.getInt(offset)));
+        }
+    }
+
+    void readPage(int page, ByteBuffer in) {
+        if (directory[page / PAGE_TABLE_LENGTH] == null) {
+            directory[page / PAGE_TABLE_LENGTH] = new ByteBuffer[PAGE_TABLE_LENGTH];
+        }
+        ByteBuffer words = allocatePage();
+        for (int offset = 0; offset < PAGE_LENGTH_BYTES; offset += Memory.WORD_LENGTH_BYTES) {
+            words.putInt(offset, toRaw(in.getInt()));
+        }
+        directory[page / PAGE_TABLE_LENGTH][page % PAGE_TABLE_LENGTH] = words;
+    }
+}
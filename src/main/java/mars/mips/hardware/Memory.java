@@ -4,10 +4,17 @@ import mars.Globals;
 import mars.ProgramStatement;
 import mars.Settings;
 import mars.mips.instructions.Instruction;
+import mars.simulator.BackStepper;
 import mars.simulator.Exceptions;
+import mars.simulator.SimulatorMetrics;
 import mars.util.Binary;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
 	
 	/*
 Copyright (c) 2003-2009,  Pete Sanderson and Kenneth Vollmar
@@ -38,7 +45,7 @@ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  */
 
 /**
- * Represents MIPS memory.  Different segments are represented by different data structs.
+ * Represents MIPS memory.  All segments are stored in pages found through one page table.
  *
  * @author Pete Sanderson
  * @version August 2003
@@ -140,86 +147,102 @@ public class Memory extends Observable {
     // This assures that observers are not bombarded with notices from memory
     // addresses they do not care about.
     //
-    // Would like a tree-like implementation, but that is complicated by this fact:
-    // key for insertion into the tree would be based on Comparable using both low 
-    // and high end of address range, but retrieval from the tree has to be based
-    // on target address being ANYWHERE IN THE RANGE (not an exact key match).
+    // The observables are also indexed by the pages they observe, the same way pages are
+    // found in the page table: the top 10 bits of an address select an array from
+    // observedPages, and the next 10 bits the observables of one page from that.  Entries
+    // are null where nothing is observed, so an access to an unobserved address costs an
+    // array check or two.  Pages observed by the same observables share one array, as
+    // do page tables.  When an observable is added or removed only the entries of the
+    // pages it observes are replaced, in a copy of the index that then replaces it as a
+    // whole, so that accesses read it without locking.
 
     Collection<MemoryObservable> observables = getNewMemoryObserversCollection();
-
-    // The data segment is allocated in blocks of 1024 ints (4096 bytes).  Each block is
-    // referenced by a "block table" entry, and the table has 1024 entries.  The capacity
-    // is thus 1024 entries * 4096 bytes = 4 MB.  Should be enough to cover most
-    // programs!!  Beyond that it would go to an "indirect" block (similar to Unix i-nodes),
-    // which is not implemented.
+    private volatile MemoryObservable[][][] observedPages = new MemoryObservable[PAGE_DIRECTORY_LENGTH][][];
+    // Notice delivered to observers, reused from one access to the next.  Null while in
+    // use, so that an access made by an observer while being notified gets its own.
+    private MemoryAccessNotice spareNotice;
+
+    // Memory is stored in pages of 1024 ints (4096 bytes), found through a two-level page
+    // table covering the whole 32-bit address space: the top 10 bits of an address select
+    // a page table from the page directory, the next 10 bits select a page from that table,
+    // and the next 10 bits the word within the page.  The data segment, stack, memory mapped
+    // I/O and kernel data segment share one directory; each address has exactly one home.
+    // The stack is stored in address order like everything else, even though it grows
+    // downward, so no segment needs special addressing.
     //
-    // Although this scheme is an array of arrays, it is relatively space-efficient since
-    // only the table is created initially. A 4096-byte block is not allocated until a value 
-    // is written to an address within it.  Thus most small programs will use only 8K bytes 
-    // of space (the table plus one block).  The index into both arrays is easily computed 
-    // from the address; access time is constant.
+    // This scheme is space-efficient since only the directory is created initially.  A page
+    // table is not allocated until an address within its 4 MB range is written, nor a page
+    // until an address within it is written.  Thus most small programs will use only a few
+    // pages and page tables.  Reading an address whose page has not been allocated yields 0.
     //
-    // SPIM stores statically allocated data (following first .data directive) starting
-    // at location 0x10010000.  This is the first Data Segment word beyond the reach of $gp
-    // used in conjunction with signed 16 bit immediate offset.  $gp has value 0x10008000
-    // and with the signed 16 bit offset can reach from 0x10008000 - 0xFFFF = 0x10000000 
-    // (Data Segment base) to 0x10008000 + 0x7FFF = 0x1000FFFF (the byte preceding 0x10010000).
+    // The pages are held by a PageTable.  By default they are int arrays on the Java heap;
+    // with system property mars.memory.offHeap set to true they are direct byte buffers
+    // outside it, which suits large memory configurations.
     //
-    // Using my scheme, 0x10010000 falls at the beginning of the 17'th block -- table entry 16.
-    // SPIM uses a heap base address of 0x10040000 which is not part of the MIPS specification.
-    // (I don't have a reference for that offhand...)  Using my scheme, 0x10040000 falls at
-    // the start of the 65'th block -- table entry 64.  That leaves (1024-64) * 4096 = 3,932,160
-    // bytes of space available without going indirect.
-
-    private static final int BLOCK_LENGTH_WORDS = 1024;  // allocated blocksize 1024 ints == 4K bytes
-    private static final int BLOCK_TABLE_LENGTH = 1024; // Each entry of table points to a block.
-    private int[][] dataBlockTable;
-    private int[][] kernelDataBlockTable;
-
-    // The stack is modeled similarly to the data segment.  It cannot share the same
-    // data structure because the stack base address is very large.  To store it in the
-    // same data structure would require implementation of indirect blocks, which has not
-    // been realized.  So the stack gets its own table of blocks using the same dimensions 
-    // and allocation scheme used for data segment.
+    // Loads and stores take no lock.  While a program runs, the simulation thread is the
+    // only one that changes memory, and other threads go through Globals.memoryAndRegisters.
     //
-    // The other major difference is the stack grows DOWNWARD from its base address, not
-    // upward.  I.e., the stack base is the largest stack address. This turns the whole 
-    // scheme for translating memory address to block-offset on its head!  The simplest
-    // solution is to calculate relative address (offset from base) by subtracting the 
-    // desired address from the stack base address (rather than subtracting base address 
-    // from desired address).  Thus as the address gets smaller the offset gets larger.
-    // Everything else works the same, so it shares some private helper methods with
-    // data segment algorithms.
-
-    private int[][] stackBlockTable;
-
-    // Memory mapped I/O is simulated with a separate table using the same structure and
-    // logic as data segment.  Memory is allocated in 4K byte blocks.  But since MMIO
-    // address range is limited to 0xffff0000 to 0xfffffffc, there are only 64K bytes 
-    // total.  Thus there will be a maximum of 16 blocks, and I suspect never more than
-    // one since only the first few addresses are typically used.  The only exception
-    // may be a rogue program generating such addresses in a loop.  Note that the
-    // MMIO addresses are interpreted by Java as negative numbers since it does not 
-    // have unsigned types.  As long as the absolute address is correctly translated
-    // into a table offset, this is of no concern.
-
-    private static final int MMIO_TABLE_LENGTH = 16; // Each entry of table points to a 4K block.
-    private int[][] memoryMapBlockTable;
-
-    // I use a similar scheme for storing instructions.  MIPS text segment ranges from
-    // 0x00400000 all the way to data segment (0x10000000) a range of about 250 MB!  So
-    // I'll provide table of blocks with similar capacity.  This differs from data segment
-    // somewhat in that the block entries do not contain int's, but instead contain
-    // references to ProgramStatement objects.  
-
-    private static final int TEXT_BLOCK_LENGTH_WORDS = 1024;  // allocated blocksize 1024 ints == 4K bytes
-    private static final int TEXT_BLOCK_TABLE_LENGTH = 1024; // Each entry of table points to a block.
-    private ProgramStatement[][] textBlockTable;
-    private ProgramStatement[][] kernelTextBlockTable;
+    // The text segments are stored the same way in a directory of their own, whose pages
+    // are TextPages: the binary machine code of each word, plus where the assembler
+    // took it from.  A ProgramStatement is built from those only once one is asked for.
+
+    private static final boolean OFF_HEAP = Boolean.getBoolean("mars.memory.offHeap");
+    private static final int PAGE_SHIFT = PageTable.PAGE_SHIFT;
+    private static final int PAGE_LENGTH_WORDS = PageTable.PAGE_LENGTH_WORDS;
+    private static final int PAGE_TABLE_LENGTH = PageTable.PAGE_TABLE_LENGTH;
+    private static final int PAGE_DIRECTORY_LENGTH = PageTable.PAGE_DIRECTORY_LENGTH;
+    private static final int PAGE_COUNT = 1 << (32 - PAGE_SHIFT);
+    private PageTable pages;
+    private TextPage[][] textDirectory;
+
+    // Each page of the address space has a kind, which tells a load or store what to do
+    // with an address in it without testing every segment.  The kinds are worked out from
+    // the segment addresses of the current memory configuration.  A page that holds parts
+    // of more than one segment (or of a segment and unmapped space) is MIXED, and each
+    // address in it is classified individually.  The data kinds are all >= DATA, as they
+    // are handled alike.
+    private static final byte UNMAPPED = 0;
+    private static final byte TEXT = 1;
+    private static final byte KERNEL_TEXT = 2;
+    private static final byte MIXED = 3;
+    private static final byte DATA = 4;
+    private static final byte STACK = 5;
+    private static final byte MEMORY_MAP = 6;
+    private static final byte KERNEL_DATA = 7;
+
+    // The segment limits below, and those of configurations with capped segments, are
+    // based on these sizes.  The data segment, stack and each text segment get 4 MB,
+    // and memory mapped I/O 64 KB.
+    private static final int BLOCK_LENGTH_WORDS = 1024;
+    private static final int BLOCK_TABLE_LENGTH = 1024;
+    private static final int MMIO_TABLE_LENGTH = 16;
+    private static final int TEXT_BLOCK_LENGTH_WORDS = 1024;
+    private static final int TEXT_BLOCK_TABLE_LENGTH = 1024;
+
+    // Incremented every time a statement is stored into either text segment.  The
+    // simulator caches decoded basic blocks, and compares against this count to
+    // find out whether self-modifying code has invalidated them.
+    private volatile int textModificationCount = 0;
+
+    // Write generation stamp of every page written to, in tables indexed like the page
+    // table, each allocated when a page it covers is first written to.  A page's stamp
+    // is the write generation that was current when the page was last written to; 0
+    // means never.  Lets the data segment display, dumps and snapshots find the pages
+    // that changed without comparing their contents.
+    private int[][] pageStamps;
+    private volatile int writeGeneration = 1;
+    // Write generation current when the contents of memory were last replaced as a
+    // whole, by clearing, forking or restoring them.
+    private int replacedGeneration;
+
+    // Image this memory was forked from or last frozen into, or null if none.  Pages
+    // still shared with the image are copied before their first write, so that the
+    // image itself never changes.
+    private Image image;
 
     // Set "top" address boundary to go with each "base" address.  This determines permissable
     // address range for user program.  Currently limit is 4MB, or 1024 * 1024 * 4 bytes based
-    // on the table structures described above (except memory mapped IO, limited to 64KB by range).
+    // on the sizes described above (except memory mapped IO, limited to 64KB by range).
 
     public static int dataSegmentLimitAddress = dataSegmentBaseAddress +
             BLOCK_LENGTH_WORDS * BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES;
@@ -233,6 +256,9 @@ public class Memory extends Observable {
             BLOCK_LENGTH_WORDS * BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES;
     public static int memoryMapLimitAddress = memoryMapBaseAddress +
             BLOCK_LENGTH_WORDS * MMIO_TABLE_LENGTH * WORD_LENGTH_BYTES;
+
+    private static byte[] pageKinds = mapPages();
+
     // This will be a Singleton class, only one instance is ever created.  Since I know the 
     // Memory object is always needed, I'll go ahead and create it at the time of class loading.
     // (greedy rather than lazy instantiation).  The constructor is private and getInstance()
@@ -287,24 +313,36 @@ public class Memory extends Observable {
         kernelDataBaseAddress = MemoryConfigurations.getCurrentConfiguration().getKernelDataBaseAddress(); //0x90000000;
         memoryMapBaseAddress = MemoryConfigurations.getCurrentConfiguration().getMemoryMapBaseAddress(); //0xffff0000;
         kernelHighAddress = MemoryConfigurations.getCurrentConfiguration().getKernelHighAddress(); //0xffffffff;
-        dataSegmentLimitAddress = Math.min(MemoryConfigurations.getCurrentConfiguration().getDataSegmentLimitAddress(),
-                dataSegmentBaseAddress +
-                        BLOCK_LENGTH_WORDS * BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES);
-        textLimitAddress = Math.min(MemoryConfigurations.getCurrentConfiguration().getTextLimitAddress(),
-                textBaseAddress +
-                        TEXT_BLOCK_LENGTH_WORDS * TEXT_BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES);
-        kernelDataSegmentLimitAddress = Math.min(MemoryConfigurations.getCurrentConfiguration().getKernelDataSegmentLimitAddress(),
-                kernelDataBaseAddress +
-                        BLOCK_LENGTH_WORDS * BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES);
-        kernelTextLimitAddress = Math.min(MemoryConfigurations.getCurrentConfiguration().getKernelTextLimitAddress(),
-                kernelTextBaseAddress +
-                        TEXT_BLOCK_LENGTH_WORDS * TEXT_BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES);
-        stackLimitAddress = Math.max(MemoryConfigurations.getCurrentConfiguration().getStackLimitAddress(),
-                stackBaseAddress -
-                        BLOCK_LENGTH_WORDS * BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES);
-        memoryMapLimitAddress = Math.min(MemoryConfigurations.getCurrentConfiguration().getMemoryMapLimitAddress(),
-                memoryMapBaseAddress +
-                        BLOCK_LENGTH_WORDS * MMIO_TABLE_LENGTH * WORD_LENGTH_BYTES);
+        dataSegmentLimitAddress = MemoryConfigurations.getCurrentConfiguration().getDataSegmentLimitAddress();
+        textLimitAddress = MemoryConfigurations.getCurrentConfiguration().getTextLimitAddress();
+        kernelDataSegmentLimitAddress = MemoryConfigurations.getCurrentConfiguration().getKernelDataSegmentLimitAddress();
+        kernelTextLimitAddress = MemoryConfigurations.getCurrentConfiguration().getKernelTextLimitAddress();
+        stackLimitAddress = MemoryConfigurations.getCurrentConfiguration().getStackLimitAddress();
+        memoryMapLimitAddress = MemoryConfigurations.getCurrentConfiguration().getMemoryMapLimitAddress();
+        // Segments are stored in sparse page tables covering the whole address space, so
+        // any size costs only the pages used.  The original configurations still stop
+        // each segment at the size it always had.
+        if (MemoryConfigurations.getCurrentConfiguration().hasCappedSegments()) {
+            dataSegmentLimitAddress = Math.min(dataSegmentLimitAddress,
+                    dataSegmentBaseAddress +
+                            BLOCK_LENGTH_WORDS * BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES);
+            textLimitAddress = Math.min(textLimitAddress,
+                    textBaseAddress +
+                            TEXT_BLOCK_LENGTH_WORDS * TEXT_BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES);
+            kernelDataSegmentLimitAddress = Math.min(kernelDataSegmentLimitAddress,
+                    kernelDataBaseAddress +
+                            BLOCK_LENGTH_WORDS * BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES);
+            kernelTextLimitAddress = Math.min(kernelTextLimitAddress,
+                    kernelTextBaseAddress +
+                            TEXT_BLOCK_LENGTH_WORDS * TEXT_BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES);
+            stackLimitAddress = Math.max(stackLimitAddress,
+                    stackBaseAddress -
+                            BLOCK_LENGTH_WORDS * BLOCK_TABLE_LENGTH * WORD_LENGTH_BYTES);
+            memoryMapLimitAddress = Math.min(memoryMapLimitAddress,
+                    memoryMapBaseAddress +
+                            BLOCK_LENGTH_WORDS * MMIO_TABLE_LENGTH * WORD_LENGTH_BYTES);
+        }
+        pageKinds = mapPages();
     }
 
 
@@ -321,18 +359,17 @@ public class Memory extends Observable {
 
     private void initialize() {
         heapAddress = heapBaseAddress;
-        textBlockTable = new ProgramStatement[TEXT_BLOCK_TABLE_LENGTH][];
-        dataBlockTable = new int[BLOCK_TABLE_LENGTH][]; // array of null int[] references
-        kernelTextBlockTable = new ProgramStatement[TEXT_BLOCK_TABLE_LENGTH][];
-        kernelDataBlockTable = new int[BLOCK_TABLE_LENGTH][];
-        stackBlockTable = new int[BLOCK_TABLE_LENGTH][];
-        memoryMapBlockTable = new int[MMIO_TABLE_LENGTH][];
+        pages = newPageTable(byteOrder);
+        textDirectory = new TextPage[PAGE_DIRECTORY_LENGTH][];
+        image = null;
+        replaced();
         System.gc(); // call garbage collector on any Table memory just deallocated.
     }
 
     /**
      * Returns the next available word-aligned heap address.  There is no recycling and
-     * no heap management!  There is however nearly 4MB of heap space available in Mars.
+     * no heap management!  There is however nearly 4MB of heap space available in Mars,
+     * and much more in the Large memory configurations.
      *
      * @param numBytes Number of bytes requested.  Should be multiple of 4, otherwise next higher multiple of 4 allocated.
      * @return address of allocated heap storage.
@@ -360,8 +397,10 @@ public class Memory extends Observable {
      *
      * @param order either LITTLE_ENDIAN or BIG_ENDIAN
      */
-    public void setByteOrder(boolean order) {
+    public synchronized void setByteOrder(boolean order) {
         byteOrder = order;
+        pages.byteOrder = order;
+        replaced();
     }
 
     /**
@@ -390,54 +429,60 @@ public class Memory extends Observable {
      * @return old value that was replaced by the set operation
      **/
 
-    // Allocates blocks if necessary.
+    // Allocates pages if necessary.
     public int set(int address, int value, int length) throws AddressErrorException {
+        return set(address, value, length, true);
+    }
+
+    // Does the real work, but includes option to NOT notify observers.
+    private int set(int address, int value, int length, boolean notify) throws AddressErrorException {
         int oldValue = 0;
         if (Globals.debug) System.out.println("memory[" + address + "] set to " + value + "(" + length + " bytes)");
-        int relativeByteAddress;
-        if (inDataSegment(address)) {
-            // in data segment.  Will write one byte at a time, w/o regard to boundaries.
-            relativeByteAddress = address - dataSegmentBaseAddress; // relative to data segment start, in bytes
-            oldValue = storeBytesInTable(dataBlockTable, relativeByteAddress, length, value);
-        } else if (address > stackLimitAddress && address <= stackBaseAddress) {
-            // in stack.  Handle similarly to data segment write, except relative byte
-            // address calculated "backward" because stack addresses grow down from base.
-            relativeByteAddress = stackBaseAddress - address;
-            oldValue = storeBytesInTable(stackBlockTable, relativeByteAddress, length, value);
-        } else if (inTextSegment(address)) {
-            // Burch Mod (Jan 2013): replace throw with call to setStatement
-            // DPS adaptation 5-Jul-2013: either throw or call, depending on setting
-
-            if (Globals.getSettings().getBooleanSetting(Settings.SELF_MODIFYING_CODE_ENABLED)) {
-                ProgramStatement oldStatement = getStatementNoNotify(address);
-                if (oldStatement != null) {
-                    oldValue = oldStatement.getBinaryStatement();
+        switch (kindOf(address)) {
+            case DATA:
+            case STACK:
+            case MEMORY_MAP:
+            case KERNEL_DATA:
+                if (length == WORD_LENGTH_BYTES && (address & 3) == 0) {
+                    // Whole word.  Same result as writing its bytes, see storeOrFetchBytes().
+                    oldValue = (byteOrder == LITTLE_ENDIAN)
+                            ? storeWord(address, value)
+                            : reverseBytes(storeWord(address, reverseBytes(value)));
+                } else {
+                    // Will write one byte at a time, w/o regard to boundaries.
+                    oldValue = storeBytes(address, length, value);
                 }
-                setStatement(address, new ProgramStatement(value, address));
-            } else {
+                break;
+            case TEXT:
+                // Burch Mod (Jan 2013): replace throw with call to setStatement
+                // DPS adaptation 5-Jul-2013: either throw or call, depending on setting
+                if (Globals.getSettings().getBooleanSetting(Settings.SELF_MODIFYING_CODE_ENABLED)) {
+                    if (address % length != 0 || (address & 3) + length > WORD_LENGTH_BYTES) {
+                        throw new AddressErrorException(
+                                "store address to text segment out of range or not aligned to word boundary ",
+                                Exceptions.ADDRESS_EXCEPTION_STORE, address);
+                    }
+                    // Stored as machine code, decoded into a statement only if it is executed.
+                    oldValue = (length == WORD_LENGTH_BYTES)
+                            ? storeCode(address, value)
+                            : storeCodeBytes(address, length, value);
+                } else {
+                    throw new AddressErrorException(
+                            "Cannot write directly to text segment!",
+                            Exceptions.ADDRESS_EXCEPTION_STORE, address);
+                }
+                break;
+            case KERNEL_TEXT:
+                // DEVELOPER: PLEASE USE setStatement() TO WRITE TO KERNEL TEXT SEGMENT...
                 throw new AddressErrorException(
-                        "Cannot write directly to text segment!",
+                        "DEVELOPER: You must use setStatement() to write to kernel text segment!",
+                        Exceptions.ADDRESS_EXCEPTION_STORE, address);
+            default:
+                // falls outside Mars addressing range
+                throw new AddressErrorException("address out of range ",
                         Exceptions.ADDRESS_EXCEPTION_STORE, address);
-            }
-        } else if (address >= memoryMapBaseAddress && address < memoryMapLimitAddress) {
-            // memory mapped I/O.
-            relativeByteAddress = address - memoryMapBaseAddress;
-            oldValue = storeBytesInTable(memoryMapBlockTable, relativeByteAddress, length, value);
-        } else if (inKernelDataSegment(address)) {
-            // in kernel data segment.  Will write one byte at a time, w/o regard to boundaries.
-            relativeByteAddress = address - kernelDataBaseAddress; // relative to data segment start, in bytes
-            oldValue = storeBytesInTable(kernelDataBlockTable, relativeByteAddress, length, value);
-        } else if (inKernelTextSegment(address)) {
-            // DEVELOPER: PLEASE USE setStatement() TO WRITE TO KERNEL TEXT SEGMENT...
-            throw new AddressErrorException(
-                    "DEVELOPER: You must use setStatement() to write to kernel text segment!",
-                    Exceptions.ADDRESS_EXCEPTION_STORE, address);
-        } else {
-            // falls outside Mars addressing range
-            throw new AddressErrorException("address out of range ",
-                    Exceptions.ADDRESS_EXCEPTION_STORE, address);
         }
-        notifyAnyObservers(AccessNotice.WRITE, address, length, value);
+        if (notify) notifyAnyObservers(AccessNotice.WRITE, address, length, value);
         return oldValue;
     }
 
@@ -454,51 +499,39 @@ public class Memory extends Observable {
      * @throws AddressErrorException If address is not on word boundary.
      **/
     public int setRawWord(int address, int value) throws AddressErrorException {
-        int relative, oldValue = 0;
+        int oldValue = 0;
         if (address % WORD_LENGTH_BYTES != 0) {
             throw new AddressErrorException("store address not aligned on word boundary ",
                     Exceptions.ADDRESS_EXCEPTION_STORE, address);
         }
-        if (inDataSegment(address)) {
-            // in data segment
-            relative = (address - dataSegmentBaseAddress) >> 2; // convert byte address to words
-            oldValue = storeWordInTable(dataBlockTable, relative, value);
-        } else if (address > stackLimitAddress && address <= stackBaseAddress) {
-            // in stack.  Handle similarly to data segment write, except relative
-            // address calculated "backward" because stack addresses grow down from base.
-            relative = (stackBaseAddress - address) >> 2; // convert byte address to words
-            oldValue = storeWordInTable(stackBlockTable, relative, value);
-        } else if (inTextSegment(address)) {
-            // Burch Mod (Jan 2013): replace throw with call to setStatement
-            // DPS adaptation 5-Jul-2013: either throw or call, depending on setting
-            if (Globals.getSettings().getBooleanSetting(Settings.SELF_MODIFYING_CODE_ENABLED)) {
-                ProgramStatement oldStatement = getStatementNoNotify(address);
-                if (oldStatement != null) {
-                    oldValue = oldStatement.getBinaryStatement();
+        switch (kindOf(address)) {
+            case DATA:
+            case STACK:
+            case MEMORY_MAP:
+            case KERNEL_DATA:
+                oldValue = storeWord(address, value);
+                break;
+            case TEXT:
+                // Burch Mod (Jan 2013): replace throw with call to setStatement
+                // DPS adaptation 5-Jul-2013: either throw or call, depending on setting
+                if (Globals.getSettings().getBooleanSetting(Settings.SELF_MODIFYING_CODE_ENABLED)) {
+                    // Stored as machine code, decoded into a statement only if it is executed.
+                    oldValue = storeCode(address, value);
+                } else {
+                    throw new AddressErrorException(
+                            "Cannot write directly to text segment!",
+                            Exceptions.ADDRESS_EXCEPTION_STORE, address);
                 }
-                setStatement(address, new ProgramStatement(value, address));
-            } else {
+                break;
+            case KERNEL_TEXT:
+                // DEVELOPER: PLEASE USE setStatement() TO WRITE TO KERNEL TEXT SEGMENT...
                 throw new AddressErrorException(
-                        "Cannot write directly to text segment!",
+                        "DEVELOPER: You must use setStatement() to write to kernel text segment!",
+                        Exceptions.ADDRESS_EXCEPTION_STORE, address);
+            default:
+                // falls outside Mars addressing range
+                throw new AddressErrorException("store address out of range ",
                         Exceptions.ADDRESS_EXCEPTION_STORE, address);
-            }
-        } else if (address >= memoryMapBaseAddress && address < memoryMapLimitAddress) {
-            // memory mapped I/O.
-            relative = (address - memoryMapBaseAddress) >> 2; // convert byte address to word
-            oldValue = storeWordInTable(memoryMapBlockTable, relative, value);
-        } else if (inKernelDataSegment(address)) {
-            // in data segment
-            relative = (address - kernelDataBaseAddress) >> 2; // convert byte address to words
-            oldValue = storeWordInTable(kernelDataBlockTable, relative, value);
-        } else if (inKernelTextSegment(address)) {
-            // DEVELOPER: PLEASE USE setStatement() TO WRITE TO KERNEL TEXT SEGMENT...
-            throw new AddressErrorException(
-                    "DEVELOPER: You must use setStatement() to write to kernel text segment!",
-                    Exceptions.ADDRESS_EXCEPTION_STORE, address);
-        } else {
-            // falls outside Mars addressing range
-            throw new AddressErrorException("store address out of range ",
-                    Exceptions.ADDRESS_EXCEPTION_STORE, address);
         }
         notifyAnyObservers(AccessNotice.WRITE, address, WORD_LENGTH_BYTES, value);
         if (Globals.getSettings().getBackSteppingEnabled()) {
@@ -593,8 +626,9 @@ public class Memory extends Observable {
      * Stores ProgramStatement in Text Segment.
      *
      * @param address   Starting address of Memory address to be set.  Must be word boundary.
-     * @param statement Machine code to be stored starting at that address -- for simulation
-     *                  purposes, actually stores reference to ProgramStatement instead of 32-bit machine code.
+     * @param statement Machine code to be stored starting at that address.  Only its binary
+     *                  machine code and source are kept; {@link #getStatement(int)} returns a
+     *                  statement built from them.
      * @throws AddressErrorException If address is not on word boundary or is outside Text Segment.
      * @see ProgramStatement
      **/
@@ -606,13 +640,282 @@ public class Memory extends Observable {
                     Exceptions.ADDRESS_EXCEPTION_STORE, address);
         }
         if (Globals.debug) System.out.println("memory[" + address + "] set to " + statement.getBinaryStatement());
-        if (inTextSegment(address)) {
-            storeProgramStatement(address, statement, textBaseAddress, textBlockTable);
+        textModificationCount++;
+        storeProgramStatement(address, statement);
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Starting at the given address, write bytes from the given array in address order.
+     * Same result as writing them one at a time with {@link #set(int, int, int)}, but
+     * data segment bytes are copied a page at a time.  Observers are sent a single
+     * notice for the whole range, with value 0, or a notice for each byte if they are
+     * not {@link RangeAccessObserver}s.
+     *
+     * @param address Starting address of Memory range to be set.
+     * @param bytes   Array holding the bytes to be stored.
+     * @param offset  Index in the array of the first byte.
+     * @param length  Number of bytes to be stored.
+     * @throws AddressErrorException If an address in the range cannot be written.  Bytes
+     *                               before it have been stored.
+     **/
+    public void set(int address, byte[] bytes, int offset, int length) throws AddressErrorException {
+        storeBlock(address, bytes, offset, length, (byte) 0, false);
+    }
+
+    /**
+     * Writes bytes from the given array starting at the given address, as
+     * {@link #set(int, byte[], int, int)} does, and records them for back-stepping.
+     *
+     * @param address Starting address of Memory range to be set.
+     * @param bytes   Array holding the bytes to be stored.
+     * @param offset  Index in the array of the first byte.
+     * @param length  Number of bytes to be stored.
+     * @throws AddressErrorException If an address in the range cannot be written.  Bytes
+     *                               before it have been stored.
+     **/
+    public void setBytes(int address, byte[] bytes, int offset, int length) throws AddressErrorException {
+        storeBlock(address, bytes, offset, length, (byte) 0, Globals.getSettings().getBackSteppingEnabled());
+    }
+
+    /**
+     * Writes the remaining bytes of the given buffer starting at the given address, as
+     * {@link #setBytes(int, byte[], int, int)} does.  The buffer position is advanced
+     * past them.
+     *
+     * @param address Starting address of Memory range to be set.
+     * @param buffer  Buffer holding the bytes to be stored.
+     * @throws AddressErrorException If an address in the range cannot be written.
+     **/
+    public void setBytes(int address, ByteBuffer buffer) throws AddressErrorException {
+        if (buffer.hasArray()) {
+            setBytes(address, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
         } else {
-            storeProgramStatement(address, statement, kernelTextBaseAddress, kernelTextBlockTable);
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            setBytes(address, bytes, 0, bytes.length);
+        }
+    }
+
+    /**
+     * Sets the given number of bytes starting at the given address to the low order
+     * 8 bits of the given value, and records them for back-stepping.  Observers are
+     * sent a single notice for the whole range, or a notice for each byte if they are
+     * not {@link RangeAccessObserver}s.
+     *
+     * @param address Starting address of Memory range to be set.
+     * @param length  Number of bytes to be set.
+     * @param value   Value to be stored in each byte.  Only low order 8 bits used.
+     * @throws AddressErrorException If an address in the range cannot be written.  Bytes
+     *                               before it have been set.
+     **/
+    public void fillBytes(int address, int length, int value) throws AddressErrorException {
+        storeBlock(address, null, 0, length, (byte) value, Globals.getSettings().getBackSteppingEnabled());
+    }
+
+    /**
+     * Returns the number of times a statement has been stored into the text or
+     * kernel text segment.  Clients that cache statements can compare two values
+     * of this count to determine whether the text segment has changed.
+     *
+     * @return current text segment modification count
+     */
+    public int getTextModificationCount() {
+        return textModificationCount;
+    }
+
+    /**
+     * Returns the number of memory blocks (4K byte pages) allocated so far in each segment.
+     * Memory is allocated a page at a time when first written to, so this reflects how much
+     * memory the program actually uses.  Meant for monitoring; the counts are not
+     * synchronized with a running simulation.
+     *
+     * @return number of allocated blocks keyed by segment name, in address order
+     */
+    public Map<String, Integer> getAllocatedBlockCounts() {
+        int[] counts = new int[KERNEL_DATA + 1];
+        for (int page : pages.allocatedPages()) {
+            counts[segmentOf(page << PAGE_SHIFT)]++;
+        }
+        for (int page = 0; page < PAGE_COUNT; page++) {
+            int address = page << PAGE_SHIFT;
+            if (textPage(address) != null) {
+                counts[inKernelTextSegment(address) ? KERNEL_TEXT : TEXT]++;
+            }
+        }
+        Map<String, Integer> segments = new LinkedHashMap<>();
+        segments.put("text", counts[TEXT]);
+        segments.put("data", counts[DATA] + counts[UNMAPPED]);
+        segments.put("stack", counts[STACK]);
+        segments.put("kernelText", counts[KERNEL_TEXT]);
+        segments.put("kernelData", counts[KERNEL_DATA]);
+        segments.put("memoryMappedIO", counts[MEMORY_MAP]);
+        return segments;
+    }
+
+    /**
+     * Starts a new write generation, and returns the one it replaces.  Pass the result
+     * to {@link #isWrittenSince(int, int, int)} or {@link #getPagesWrittenSince(int, int, int)}
+     * later to find out what has been written to since this call.  Pages written to
+     * shortly before the call may be reported as well, but a page written to after it
+     * is never missed.
+     *
+     * @return write generation to compare against
+     */
+    public synchronized int nextWriteGeneration() {
+        return writeGeneration++;
+    }
+
+    /**
+     * Tells whether any page holding part of the given address range may have been
+     * written to since the given write generation started, data and text alike.
+     *
+     * @param generation value returned by {@link #nextWriteGeneration()}
+     * @param address    address of the first byte of the range
+     * @param length     number of bytes in the range
+     * @return false if none of the range has changed since then
+     */
+    public boolean isWrittenSince(int generation, int address, int length) {
+        if (replacedGeneration >= generation) {
+            return true;
+        }
+        int firstPage = address >>> PAGE_SHIFT;
+        long lastAddress = Math.min((address & 0xFFFFFFFFL) + Math.max(length, 1) - 1, 0xFFFFFFFFL);
+        int lastPage = (int) (lastAddress >>> PAGE_SHIFT);
+        for (int page = firstPage; page <= lastPage; page++) {
+            if (stampOf(page) >= generation) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lists the pages of an address range, such as a segment, that may have been
+     * written to since the given write generation started.
+     *
+     * @param generation   value returned by {@link #nextWriteGeneration()}
+     * @param baseAddress  lowest address of the range
+     * @param limitAddress highest address of the range
+     * @return numbers (address &gt;&gt;&gt; 12) of the pages, in address order, or null if
+     * the contents of memory have been replaced as a whole since then, so any page may
+     * have changed
+     */
+    public int[] getPagesWrittenSince(int generation, int baseAddress, int limitAddress) {
+        if (replacedGeneration >= generation) {
+            return null;
+        }
+        int[][] stamps = pageStamps;
+        int firstPage = baseAddress >>> PAGE_SHIFT;
+        int lastPage = limitAddress >>> PAGE_SHIFT;
+        int[] written = new int[16];
+        int count = 0;
+        for (int page = firstPage; page <= lastPage; page++) {
+            int[] table = stamps[page >>> (PageTable.PAGE_TABLE_SHIFT - PAGE_SHIFT)];
+            if (table == null) {
+                // None of the pages this table would cover has been written to.
+                page |= PAGE_TABLE_LENGTH - 1;
+                continue;
+            }
+            if (table[page & (PAGE_TABLE_LENGTH - 1)] >= generation) {
+                if (count == written.length) written = Arrays.copyOf(written, 2 * count);
+                written[count++] = page;
+            }
+        }
+        return Arrays.copyOf(written, count);
+    }
+
+    /**
+     * Freezes the current contents of memory into an image, from which any number of
+     * copies can later be forked by {@link #forkImage(Image)}.  Nothing is copied: the
+     * image and memory share all allocated pages, and a shared page is copied only when
+     * memory first writes to it.  So creating an image and forking it are both cheap, and
+     * each fork holds only the pages its program has written to.
+     *
+     * @return image of the current contents of memory
+     */
+    public synchronized Image createImage() {
+        image = new Image(this);
+        pages.image = image.pages;
+        return image;
+    }
+
+    /**
+     * Replaces the contents of memory with those of the given image, as they were when
+     * it was created.  Pages are shared with the image until first written to.
+     * The memory configuration must be the one that was current when the image
+     * was created.  Observers are not notified.
+     *
+     * @param image image created by {@link #createImage()}
+     */
+    public synchronized void forkImage(Image image) {
+        byteOrder = image.byteOrder;
+        heapAddress = image.heapAddress;
+        pages = image.pages.copy();
+        pages.image = image.pages;
+        textDirectory = copyDirectory(image.textDirectory);
+        this.image = image;
+        textModificationCount++;
+        replaced();
+    }
+
+    /**
+     * Writes the contents of memory to the given stream, for a machine state snapshot.
+     * Only allocated pages are written.  Text segment statements are written as
+     * their binary machine code.
+     *
+     * @param out stream to write to
+     * @throws IOException if the stream cannot be written
+     * @see #readState(ByteBuffer)
+     */
+    public synchronized void writeState(DataOutputStream out) throws IOException {
+        out.writeBoolean(byteOrder);
+        out.writeInt(heapAddress);
+        writePages(out);
+        writeTextPages(out);
+    }
+
+    /**
+     * Reads memory contents written by {@link #writeState(DataOutputStream)}, without
+     * changing memory.  A restored text segment statement keeps its source code if the
+     * statement currently at its address has the same binary machine code, which is the
+     * case when the same program has been assembled.
+     *
+     * @param in buffer positioned at the start of the memory contents
+     * @return contents to pass to {@link #restoreState(State)}
+     * @throws IOException if the contents are malformed
+     */
+    public synchronized State readState(ByteBuffer in) throws IOException {
+        try {
+            boolean order = in.get() != 0;
+            int heap = in.getInt();
+            PageTable table = readPages(in, order);
+            TextPage[][] text = readTextPages(in);
+            return new State(order, heap, table, text);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("memory contents are malformed", e);
         }
     }
 
+    /**
+     * Replaces the contents of memory with contents read by {@link #readState(ByteBuffer)}.
+     * The memory configuration must be the one that was current when they were written.
+     * Observers are not notified.
+     *
+     * @param state contents to restore.  They are used by memory from now on, so restore them only once.
+     */
+    public synchronized void restoreState(State state) {
+        byteOrder = state.byteOrder;
+        heapAddress = state.heapAddress;
+        pages = state.pages;
+        textDirectory = state.textDirectory;
+        image = null;
+        textModificationCount++;
+        replaced();
+    }
+
     /**
      * Starting at the given word address, read the given number of bytes (max 4).
      * This one does not check for word boundaries, and copies one byte at a time.
@@ -630,43 +933,40 @@ public class Memory extends Observable {
     // Does the real work, but includes option to NOT notify observers.
     private int get(int address, int length, boolean notify) throws AddressErrorException {
         int value = 0;
-        int relativeByteAddress;
-        if (inDataSegment(address)) {
-            // in data segment.  Will read one byte at a time, w/o regard to boundaries.
-            relativeByteAddress = address - dataSegmentBaseAddress; // relative to data segment start, in bytes
-            value = fetchBytesFromTable(dataBlockTable, relativeByteAddress, length);
-        } else if (address > stackLimitAddress && address <= stackBaseAddress) {
-            // in stack. Similar to data, except relative address computed "backward"
-            relativeByteAddress = stackBaseAddress - address;
-            value = fetchBytesFromTable(stackBlockTable, relativeByteAddress, length);
-        } else if (address >= memoryMapBaseAddress && address < memoryMapLimitAddress) {
-            // memory mapped I/O.
-            relativeByteAddress = address - memoryMapBaseAddress;
-            value = fetchBytesFromTable(memoryMapBlockTable, relativeByteAddress, length);
-        } else if (inTextSegment(address)) {
-            // Burch Mod (Jan 2013): replace throw with calls to getStatementNoNotify & getBinaryStatement
-            // DPS adaptation 5-Jul-2013: either throw or call, depending on setting
-            if (Globals.getSettings().getBooleanSetting(Settings.SELF_MODIFYING_CODE_ENABLED)) {
-                ProgramStatement stmt = getStatementNoNotify(address);
-                value = stmt == null ? 0 : stmt.getBinaryStatement();
-            } else {
+        switch (kindOf(address)) {
+            case DATA:
+            case STACK:
+            case MEMORY_MAP:
+            case KERNEL_DATA:
+                if (length == WORD_LENGTH_BYTES && (address & 3) == 0) {
+                    // Whole word.  Same result as reading its bytes, see storeOrFetchBytes().
+                    value = (byteOrder == LITTLE_ENDIAN) ? fetchWord(address) : reverseBytes(fetchWord(address));
+                } else {
+                    // Will read one byte at a time, w/o regard to boundaries.
+                    value = fetchBytes(address, length);
+                }
+                break;
+            case TEXT:
+                // Burch Mod (Jan 2013): replace throw with calls to getStatementNoNotify & getBinaryStatement
+                // DPS adaptation 5-Jul-2013: either throw or call, depending on setting
+                if (Globals.getSettings().getBooleanSetting(Settings.SELF_MODIFYING_CODE_ENABLED)) {
+                    Integer code = fetchCodeOrNull(address);
+                    value = code == null ? 0 : code;
+                } else {
+                    throw new AddressErrorException(
+                            "Cannot read directly from text segment!",
+                            Exceptions.ADDRESS_EXCEPTION_LOAD, address);
+                }
+                break;
+            case KERNEL_TEXT:
+                // DEVELOPER: PLEASE USE getStatement() TO READ FROM KERNEL TEXT SEGMENT...
                 throw new AddressErrorException(
-                        "Cannot read directly from text segment!",
+                        "DEVELOPER: You must use getStatement() to read from kernel text segment!",
+                        Exceptions.ADDRESS_EXCEPTION_LOAD, address);
+            default:
+                // falls outside Mars addressing range
+                throw new AddressErrorException("address out of range ",
                         Exceptions.ADDRESS_EXCEPTION_LOAD, address);
-            }
-        } else if (inKernelDataSegment(address)) {
-            // in kernel data segment.  Will read one byte at a time, w/o regard to boundaries.
-            relativeByteAddress = address - kernelDataBaseAddress; // relative to data segment start, in bytes
-            value = fetchBytesFromTable(kernelDataBlockTable, relativeByteAddress, length);
-        } else if (inKernelTextSegment(address)) {
-            // DEVELOPER: PLEASE USE getStatement() TO READ FROM KERNEL TEXT SEGMENT...
-            throw new AddressErrorException(
-                    "DEVELOPER: You must use getStatement() to read from kernel text segment!",
-                    Exceptions.ADDRESS_EXCEPTION_LOAD, address);
-        } else {
-            // falls outside Mars addressing range
-            throw new AddressErrorException("address out of range ",
-                    Exceptions.ADDRESS_EXCEPTION_LOAD, address);
         }
         if (notify) notifyAnyObservers(AccessNotice.READ, address, length, value);
         return value;
@@ -692,47 +992,38 @@ public class Memory extends Observable {
     // I decided to keep the duplicate logic.
     public int getRawWord(int address) throws AddressErrorException {
         int value = 0;
-        int relative;
         if (address % WORD_LENGTH_BYTES != 0) {
             throw new AddressErrorException("address for fetch not aligned on word boundary",
                     Exceptions.ADDRESS_EXCEPTION_LOAD, address);
         }
-        if (inDataSegment(address)) {
-            // in data segment
-            relative = (address - dataSegmentBaseAddress) >> 2; // convert byte address to words
-            value = fetchWordFromTable(dataBlockTable, relative);
-        } else if (address > stackLimitAddress && address <= stackBaseAddress) {
-            // in stack. Similar to data, except relative address computed "backward"
-            relative = (stackBaseAddress - address) >> 2; // convert byte address to words
-            value = fetchWordFromTable(stackBlockTable, relative);
-        } else if (address >= memoryMapBaseAddress && address < memoryMapLimitAddress) {
-            // memory mapped I/O.
-            relative = (address - memoryMapBaseAddress) >> 2;
-            value = fetchWordFromTable(memoryMapBlockTable, relative);
-        } else if (inTextSegment(address)) {
-            // Burch Mod (Jan 2013): replace throw with calls to getStatementNoNotify & getBinaryStatement
-            // DPS adaptation 5-Jul-2013: either throw or call, depending on setting
-            if (Globals.getSettings().getBooleanSetting(Settings.SELF_MODIFYING_CODE_ENABLED)) {
-                ProgramStatement stmt = getStatementNoNotify(address);
-                value = stmt == null ? 0 : stmt.getBinaryStatement();
-            } else {
+        switch (kindOf(address)) {
+            case DATA:
+            case STACK:
+            case MEMORY_MAP:
+            case KERNEL_DATA:
+                value = fetchWord(address);
+                break;
+            case TEXT:
+                // Burch Mod (Jan 2013): replace throw with calls to getStatementNoNotify & getBinaryStatement
+                // DPS adaptation 5-Jul-2013: either throw or call, depending on setting
+                if (Globals.getSettings().getBooleanSetting(Settings.SELF_MODIFYING_CODE_ENABLED)) {
+                    Integer code = fetchCodeOrNull(address);
+                    value = code == null ? 0 : code;
+                } else {
+                    throw new AddressErrorException(
+                            "Cannot read directly from text segment!",
+                            Exceptions.ADDRESS_EXCEPTION_LOAD, address);
+                }
+                break;
+            case KERNEL_TEXT:
+                // DEVELOPER: PLEASE USE getStatement() TO READ FROM KERNEL TEXT SEGMENT...
                 throw new AddressErrorException(
-                        "Cannot read directly from text segment!",
+                        "DEVELOPER: You must use getStatement() to read from kernel text segment!",
+                        Exceptions.ADDRESS_EXCEPTION_LOAD, address);
+            default:
+                // falls outside Mars addressing range
+                throw new AddressErrorException("address out of range ",
                         Exceptions.ADDRESS_EXCEPTION_LOAD, address);
-            }
-        } else if (inKernelDataSegment(address)) {
-            // in kernel data segment
-            relative = (address - kernelDataBaseAddress) >> 2; // convert byte address to words
-            value = fetchWordFromTable(kernelDataBlockTable, relative);
-        } else if (inKernelTextSegment(address)) {
-            // DEVELOPER: PLEASE USE getStatement() TO READ FROM KERNEL TEXT SEGMENT...
-            throw new AddressErrorException(
-                    "DEVELOPER: You must use getStatement() to read from kernel text segment!",
-                    Exceptions.ADDRESS_EXCEPTION_LOAD, address);
-        } else {
-            // falls outside Mars addressing range
-            throw new AddressErrorException("address out of range ",
-                    Exceptions.ADDRESS_EXCEPTION_LOAD, address);
         }
         notifyAnyObservers(AccessNotice.READ, address, Memory.WORD_LENGTH_BYTES, value);
         return value;
@@ -762,32 +1053,23 @@ public class Memory extends Observable {
     // See note above, with getRawWord(), concerning duplicated logic.
     public Integer getRawWordOrNull(int address) throws AddressErrorException {
         Integer value = null;
-        int relative;
         if (address % WORD_LENGTH_BYTES != 0) {
             throw new AddressErrorException("address for fetch not aligned on word boundary",
                     Exceptions.ADDRESS_EXCEPTION_LOAD, address);
         }
-        if (inDataSegment(address)) {
-            // in data segment
-            relative = (address - dataSegmentBaseAddress) >> 2; // convert byte address to words
-            value = fetchWordOrNullFromTable(dataBlockTable, relative);
-        } else if (address > stackLimitAddress && address <= stackBaseAddress) {
-            // in stack. Similar to data, except relative address computed "backward"
-            relative = (stackBaseAddress - address) >> 2; // convert byte address to words
-            value = fetchWordOrNullFromTable(stackBlockTable, relative);
-        } else if (inTextSegment(address) || inKernelTextSegment(address)) {
-            try {
-                value = (getStatementNoNotify(address) == null) ? null : getStatementNoNotify(address).getBinaryStatement();
-            } catch (AddressErrorException aee) {
-                value = null;
-            }
-        } else if (inKernelDataSegment(address)) {
-            // in kernel data segment
-            relative = (address - kernelDataBaseAddress) >> 2; // convert byte address to words
-            value = fetchWordOrNullFromTable(kernelDataBlockTable, relative);
-        } else {
-            // falls outside Mars addressing range
-            throw new AddressErrorException("address out of range ", Exceptions.ADDRESS_EXCEPTION_LOAD, address);
+        switch (kindOf(address)) {
+            case DATA:
+            case STACK:
+            case KERNEL_DATA:
+                value = fetchWordOrNull(address);
+                break;
+            case TEXT:
+            case KERNEL_TEXT:
+                value = fetchCodeOrNull(address);
+                break;
+            default:
+                // falls outside Mars addressing range
+                throw new AddressErrorException("address out of range ", Exceptions.ADDRESS_EXCEPTION_LOAD, address);
         }
         // Do not notify observers.  This read operation is initiated by the
         // dump feature, not the executing MIPS program.
@@ -807,9 +1089,22 @@ public class Memory extends Observable {
      */
     public int getAddressOfFirstNull(int baseAddress, int limitAddress) throws AddressErrorException {
         int address = baseAddress;
-        for (; address < limitAddress; address += Memory.WORD_LENGTH_BYTES) {
-            if (getRawWordOrNull(address) == null) {
-                break;
+        while (address < limitAddress) {
+            byte kind = pageKinds[address >>> PAGE_SHIFT];
+            if (kind >= DATA && kind != MEMORY_MAP && address % WORD_LENGTH_BYTES == 0) {
+                // A data page is allocated as a whole, so there is no need to look at
+                // each of its words: step to the end of the page, or of the range.
+                if (!pages.isAllocated(address)) {
+                    break;
+                }
+                long wordsToPageEnd = (PageTable.PAGE_LENGTH_BYTES - PageTable.byteInPage(address)) / WORD_LENGTH_BYTES;
+                long wordsToLimit = ((long) limitAddress - address + WORD_LENGTH_BYTES - 1) / WORD_LENGTH_BYTES;
+                address += (int) Math.min(wordsToPageEnd, wordsToLimit) * WORD_LENGTH_BYTES;
+            } else {
+                if (getRawWordOrNull(address) == null) {
+                    break;
+                }
+                address += Memory.WORD_LENGTH_BYTES;
             }
         }
         return address;
@@ -885,6 +1180,109 @@ public class Memory extends Observable {
         return get(address, 1);
     }
 
+    ///////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Starting at the given address, read bytes into the given array in address order.
+     * Same result as reading them one at a time with {@link #getByte(int)}, but data
+     * segment bytes are copied a page at a time.  Observers are sent a single notice for
+     * the whole range, with value 0, or a notice for each byte if they are not
+     * {@link RangeAccessObserver}s.
+     *
+     * @param address Starting address of Memory range to be read.
+     * @param bytes   Array to receive the bytes.
+     * @param offset  Index in the array for the first byte.
+     * @param length  Number of bytes to be read.
+     * @throws AddressErrorException If an address in the range cannot be read.
+     **/
+    public void getBytes(int address, byte[] bytes, int offset, int length) throws AddressErrorException {
+        getBytes(address, bytes, offset, length, true);
+    }
+
+    /**
+     * Reads bytes starting at the given address into the given array, as
+     * {@link #getBytes(int, byte[], int, int)} does, but observers are not notified.
+     *
+     * @param address Starting address of Memory range to be read.
+     * @param bytes   Array to receive the bytes.
+     * @param offset  Index in the array for the first byte.
+     * @param length  Number of bytes to be read.
+     * @throws AddressErrorException If an address in the range cannot be read.
+     **/
+    public void getBytesNoNotify(int address, byte[] bytes, int offset, int length) throws AddressErrorException {
+        getBytes(address, bytes, offset, length, false);
+    }
+
+    private void getBytes(int address, byte[] bytes, int offset, int length, boolean notify)
+            throws AddressErrorException {
+        int done = 0;
+        try {
+            while (done < length) {
+                int at = address + done;
+                int run = dataRun(at, length - done);
+                if (run > 0) {
+                    fetchBlock(at, bytes, offset + done, run);
+                } else {
+                    bytes[offset + done] = (byte) get(at, 1, false);
+                    run = 1;
+                }
+                done += run;
+            }
+        } finally {
+            if (notify && done > 0) notifyAnyObservers(AccessNotice.READ, address, done, 0);
+        }
+    }
+
+    /**
+     * Reads bytes starting at the given address into the remaining space of the given
+     * buffer, as {@link #getBytes(int, byte[], int, int)} does.  The buffer position is
+     * advanced past them.
+     *
+     * @param address Starting address of Memory range to be read.
+     * @param buffer  Buffer to receive the bytes.
+     * @throws AddressErrorException If an address in the range cannot be read.
+     **/
+    public void getBytes(int address, ByteBuffer buffer) throws AddressErrorException {
+        if (buffer.hasArray()) {
+            getBytes(address, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+        } else {
+            byte[] bytes = new byte[buffer.remaining()];
+            getBytes(address, bytes, 0, bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Looks for a null byte, such as the one terminating a string, starting at the
+     * given address.  Observers are not notified.
+     *
+     * @param address   Address of the first byte to be examined.
+     * @param maxLength Number of bytes to be examined at most.
+     * @return distance from the address to the first null byte, or maxLength if none is found.
+     * @throws AddressErrorException If an address that cannot be read is reached before a null byte.
+     **/
+    public int indexOfNullByte(int address, int maxLength) throws AddressErrorException {
+        int done = 0;
+        while (done < maxLength) {
+            int at = address + done;
+            int run = dataRun(at, maxLength - done);
+            if (run > 0) {
+                int index = indexOfNull(at, run);
+                if (index >= 0) {
+                    return done + index;
+                }
+            } else {
+                if ((byte) get(at, 1, false) == 0) {
+                    return done;
+                }
+                run = 1;
+            }
+            done += run;
+        }
+        return maxLength;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////
 
     /**
@@ -929,10 +1327,8 @@ public class Memory extends Observable {
                     "fetch address for text segment out of range ",
                     Exceptions.ADDRESS_EXCEPTION_LOAD, address);
         }
-        if (inTextSegment(address))
-            return readProgramStatement(address, textBaseAddress, textBlockTable, notify);
-        else if (inKernelTextSegment(address))
-            return readProgramStatement(address, kernelTextBaseAddress, kernelTextBlockTable, notify);
+        if (inTextSegment(address) || inKernelTextSegment(address))
+            return readProgramStatement(address, notify);
         else
             return new ProgramStatement(get(address, WORD_LENGTH_BYTES), address);
     }
@@ -1107,7 +1503,9 @@ public class Memory extends Observable {
             throw new AddressErrorException("end address of range < start address of range ",
                     Exceptions.ADDRESS_EXCEPTION_LOAD, startAddr);
         }
-        observables.add(new MemoryObservable(obs, startAddr, endAddr));
+        MemoryObservable observable = new MemoryObservable(obs, startAddr, endAddr);
+        observables.add(observable);
+        indexObservable(observable, true);
     }
 
     /**
@@ -1123,8 +1521,16 @@ public class Memory extends Observable {
      * @param obs Observer to be removed
      */
     public void deleteObserver(Observer obs) {
+        List<MemoryObservable> unobserved = new ArrayList<>();
         for (MemoryObservable observable : observables) {
             observable.deleteObserver(obs);
+            if (observable.countObservers() == 0) {
+                unobserved.add(observable);
+            }
+        }
+        observables.removeAll(unobserved);
+        for (MemoryObservable observable : unobserved) {
+            indexObservable(observable, false);
         }
     }
 
@@ -1132,8 +1538,11 @@ public class Memory extends Observable {
      * Remove all memory observers
      */
     public void deleteObservers() {
-        // just drop the collection
-        observables = getNewMemoryObserversCollection();
+        // just drop the collection, and the index with it
+        synchronized (this) {
+            observables = getNewMemoryObserversCollection();
+            observedPages = new MemoryObservable[PAGE_DIRECTORY_LENGTH][][];
+        }
     }
 
     /**
@@ -1160,14 +1569,79 @@ public class Memory extends Observable {
 
 
     private Collection<MemoryObservable> getNewMemoryObserversCollection() {
-        return new Vector<>();  // Vectors are thread-safe
+        // Thread-safe, and checked on every access without locking.
+        return new CopyOnWriteArrayList<>();
+    }
+
+    // Adds the given observable to, or removes it from, the entries of observedPages for the
+    // pages it observes.  Each entry is replaced the same way, so a page array shared by
+    // several pages is replaced by one shared array, as is a page table all of whose pages
+    // are observed.
+    private synchronized void indexObservable(MemoryObservable observable, boolean add) {
+        MemoryObservable[][][] index = observedPages.clone();
+        Map<MemoryObservable[], MemoryObservable[]> pages = new IdentityHashMap<>();
+        Map<MemoryObservable[][], MemoryObservable[][]> tables = new IdentityHashMap<>();
+        int tableShift = PageTable.PAGE_TABLE_SHIFT - PAGE_SHIFT;
+        int firstPage = observable.lowAddress >>> PAGE_SHIFT;
+        int lastPage = (observable.highAddress - 1 + WORD_LENGTH_BYTES) >>> PAGE_SHIFT;
+        for (int table = firstPage >>> tableShift; table <= lastPage >>> tableShift; table++) {
+            int first = Math.max(firstPage, table << tableShift) & (PAGE_TABLE_LENGTH - 1);
+            int last = Math.min(lastPage, ((table + 1) << tableShift) - 1) & (PAGE_TABLE_LENGTH - 1);
+            MemoryObservable[][] pageTable = index[table];
+            if (first == 0 && last == PAGE_TABLE_LENGTH - 1 && tables.containsKey(pageTable)) {
+                index[table] = tables.get(pageTable);
+                continue;
+            }
+            MemoryObservable[][] updated = (pageTable == null)
+                    ? new MemoryObservable[PAGE_TABLE_LENGTH][] : pageTable.clone();
+            for (int page = first; page <= last; page++) {
+                MemoryObservable[] observing = updated[page];
+                if (!pages.containsKey(observing)) {
+                    pages.put(observing, add ? withObservable(observing, observable) : withoutObservable(observing, observable));
+                }
+                updated[page] = pages.get(observing);
+            }
+            index[table] = isEmpty(updated) ? null : updated;
+            if (first == 0 && last == PAGE_TABLE_LENGTH - 1) {
+                tables.put(pageTable, index[table]);
+            }
+        }
+        observedPages = index;
+    }
+
+    private static MemoryObservable[] withObservable(MemoryObservable[] observing, MemoryObservable observable) {
+        if (observing == null) {
+            return new MemoryObservable[]{observable};
+        }
+        MemoryObservable[] added = Arrays.copyOf(observing, observing.length + 1);
+        added[observing.length] = observable;
+        return added;
+    }
+
+    private static MemoryObservable[] withoutObservable(MemoryObservable[] observing, MemoryObservable observable) {
+        if (observing == null) {
+            return null;
+        }
+        List<MemoryObservable> remaining = new ArrayList<>(Arrays.asList(observing));
+        remaining.remove(observable);
+        return remaining.isEmpty() ? null : remaining.toArray(new MemoryObservable[0]);
+    }
+
+    private static boolean isEmpty(Object[] array) {
+        for (Object element : array) {
+            if (element != null) return false;
+        }
+        return true;
     }
 
     /////////////////////////////////////////////////////////////////////////
     // Private class whose objects will represent an observable-observer pair
-    // for a given memory address or range.
+    // for a given memory address or range.  Keeps its own array of observers, so that
+    // notifying them takes no lock and allocates nothing.
     private static class MemoryObservable extends Observable implements Comparable<MemoryObservable> {
+        private static final Observer[] NO_OBSERVERS = new Observer[0];
         private int lowAddress, highAddress;
+        private volatile Observer[] observers = NO_OBSERVERS;
 
         public MemoryObservable(Observer obs, int startAddr, int endAddr) {
             lowAddress = startAddr;
@@ -1179,9 +1653,64 @@ public class Memory extends Observable {
             return (address >= lowAddress && address <= highAddress - 1 + WORD_LENGTH_BYTES);
         }
 
+        // A bulk access longer than a word matches if any of its bytes is in range.
+        public boolean match(int address, int length) {
+            return (length <= WORD_LENGTH_BYTES)
+                    ? match(address)
+                    : address <= highAddress - 1 + WORD_LENGTH_BYTES && address + length - 1 >= lowAddress;
+        }
+
+        public synchronized void addObserver(Observer obs) {
+            if (obs == null) throw new NullPointerException();
+            if (!Arrays.asList(observers).contains(obs)) {
+                Observer[] added = Arrays.copyOf(observers, observers.length + 1);
+                added[observers.length] = obs;
+                observers = added;
+            }
+        }
+
+        public synchronized void deleteObserver(Observer obs) {
+            List<Observer> remaining = new ArrayList<>(Arrays.asList(observers));
+            if (remaining.remove(obs)) {
+                observers = remaining.toArray(NO_OBSERVERS);
+            }
+        }
+
+        public synchronized void deleteObservers() {
+            observers = NO_OBSERVERS;
+        }
+
+        public int countObservers() {
+            return observers.length;
+        }
+
+        // A notice of a bulk access goes only to the observers that accept one.
         public void notifyObserver(MemoryAccessNotice notice) {
-            this.setChanged();
-            this.notifyObservers(notice);
+            boolean range = notice.getLength() > WORD_LENGTH_BYTES;
+            for (Observer observer : observers) {
+                if (!range || observer instanceof RangeAccessObserver) {
+                    observer.update(this, notice);
+                }
+            }
+        }
+
+        public boolean hasByteObservers() {
+            for (Observer observer : observers) {
+                if (!(observer instanceof RangeAccessObserver)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Sends the notice of one byte of a bulk access to the observers that do not
+        // accept a notice of the whole access.
+        public void notifyByteObservers(MemoryAccessNotice notice) {
+            for (Observer observer : observers) {
+                if (!(observer instanceof RangeAccessObserver)) {
+                    observer.update(this, notice);
+                }
+            }
         }
 
         // Useful to have for future refactoring, if it actually becomes worthwhile to sort
@@ -1208,181 +1737,287 @@ public class Memory extends Observable {
     //
     // The "|| Globals.getGui()==null" is a hack added 19 July 2012 DPS.  IF MIPS simulation
     // is from command mode, Globals.program is null but still want ability to observe.
+    //
+    // An access of up to a word is in one page, so only that page's observables are
+    // checked.  Longer bulk accesses are rare, and check them all.  Observers that do
+    // not accept a notice of a whole bulk access are sent one for each byte.
     private void notifyAnyObservers(int type, int address, int length, int value) {
-        if ((Globals.program != null || Globals.getGui() == null) && this.observables.size() > 0) {
-            Iterator<MemoryObservable> it = this.observables.iterator();
-            MemoryObservable mo;
-            while (it.hasNext()) {
-                mo = it.next();
+        MemoryObservable[][] pageTable = observedPages[address >>> PageTable.PAGE_TABLE_SHIFT];
+        if (pageTable == null && length <= WORD_LENGTH_BYTES
+                || Globals.program == null && Globals.getGui() != null) {
+            return;
+        }
+        MemoryAccessNotice notice = null;
+        if (length <= WORD_LENGTH_BYTES) {
+            MemoryObservable[] page = pageTable[PageTable.tableIndex(address)];
+            if (page == null) {
+                return;
+            }
+            for (MemoryObservable mo : page) {
                 if (mo.match(address)) {
-                    mo.notifyObserver(new MemoryAccessNotice(type, address, length, value));
+                    notice = notifyObservable(mo, notice, type, address, length, value);
                 }
             }
+        } else {
+            for (MemoryObservable mo : observables) {
+                if (mo.match(address, length)) {
+                    notice = notifyObservable(mo, notice, type, address, length, value);
+                    if (mo.hasByteObservers()) {
+                        notifyBytes(mo, type, address, length);
+                    }
+                }
+            }
+        }
+        if (notice != null) {
+            spareNotice = notice;
+        }
+    }
+
+    // Sends the observers of the given observable that do not accept a notice of a bulk
+    // access a notice for each byte of it they observe, with the value of the byte now
+    // in memory.
+    private void notifyBytes(MemoryObservable mo, int type, int address, int length) {
+        int first = Math.max(address, mo.lowAddress);
+        int last = Math.min(address + length - 1, mo.highAddress - 1 + WORD_LENGTH_BYTES);
+        for (int at = first; at <= last && at >= first; at++) {
+            int value;
+            try {
+                value = get(at, 1, false);
+            } catch (AddressErrorException e) {
+                value = 0;
+            }
+            SimulatorMetrics.observerNotified();
+            mo.notifyByteObservers(new MemoryAccessNotice(type, at, 1, value));
+        }
+    }
+
+    // Notifies the observers of an access replayed from a trace, as if it were being made.
+    void replayAccess(int type, int address, int length, int value) {
+        notifyAnyObservers(type, address, length, value);
+    }
+
+    // Notifies one observable of an access, with the given notice or if that is null,
+    // the spare one (or a new one if it is in use).  Returns the notice used.
+    private MemoryAccessNotice notifyObservable(MemoryObservable mo, MemoryAccessNotice notice,
+                                                int type, int address, int length, int value) {
+        if (notice == null) {
+            notice = spareNotice;
+            spareNotice = null;
+            notice = (notice == null)
+                    ? new MemoryAccessNotice(type, address, length, value)
+                    : notice.reset(type, address, length, value);
         }
+        SimulatorMetrics.observerNotified();
+        mo.notifyObserver(notice);
+        return notice;
     }
 
     ////////////////////////////////////////////////////////////////////////////////
     //
-    // Helper method to store 1, 2 or 4 byte value in table that represents MIPS
-    // memory. Originally used just for data segment, but now also used for stack.
-    // Both use different tables but same storage method and same table size
-    // and block size.
-    // Modified 29 Dec 2005 to return old value of replaced bytes.
+    // Returns the kind of the page holding the given address, or for an address in a
+    // MIXED page, the kind of the address itself.
+    private static byte kindOf(int address) {
+        byte kind = pageKinds[address >>> PAGE_SHIFT];
+        return (kind == MIXED) ? segmentOf(address) : kind;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+    //
+    // Returns the kind of segment the given address is in.  Where segments overlap, as
+    // the data segment and stack do in the compact configurations, the first one tested
+    // here wins.
+    private static byte segmentOf(int address) {
+        if (inDataSegment(address)) return DATA;
+        if (address > stackLimitAddress && address <= stackBaseAddress) return STACK;
+        if (inTextSegment(address)) return TEXT;
+        if (address >= memoryMapBaseAddress && address < memoryMapLimitAddress) return MEMORY_MAP;
+        if (inKernelDataSegment(address)) return KERNEL_DATA;
+        if (inKernelTextSegment(address)) return KERNEL_TEXT;
+        return UNMAPPED;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+    //
+    // Works out the kind of every page for the current segment addresses.  Which
+    // segment an address is in can only change at a segment's first address or just
+    // past its last one, so a page holding none of those addresses except possibly as
+    // its first address lies entirely within one segment (or none).  So is every page up
+    // to the next one holding such an address, and a run of pages is filled at once
+    // rather than testing each of the million pages, which is slow at startup.
+    private static byte[] mapPages() {
+        byte[] kinds = new byte[PAGE_COUNT];
+        int[] boundaries = {
+                dataSegmentBaseAddress, dataSegmentLimitAddress,
+                stackLimitAddress + 1, stackBaseAddress + 1,
+                textBaseAddress, textLimitAddress,
+                memoryMapBaseAddress, memoryMapLimitAddress,
+                kernelDataBaseAddress, kernelDataSegmentLimitAddress,
+                kernelTextBaseAddress, kernelTextLimitAddress};
+        // Pages where runs start: the first, and those holding a boundary or following one.
+        int[] starts = new int[2 * boundaries.length + 2];
+        for (int i = 0; i < boundaries.length; i++) {
+            starts[2 * i] = boundaries[i] >>> PAGE_SHIFT;
+            starts[2 * i + 1] = Math.min((boundaries[i] >>> PAGE_SHIFT) + 1, PAGE_COUNT);
+        }
+        starts[starts.length - 1] = PAGE_COUNT;
+        Arrays.sort(starts);
+        for (int i = 0; i < starts.length - 1; i++) {
+            if (starts[i] < starts[i + 1]) {
+                Arrays.fill(kinds, starts[i], starts[i + 1], segmentOf(starts[i] << PAGE_SHIFT));
+            }
+        }
+        for (int boundary : boundaries) {
+            if ((boundary & ((1 << PAGE_SHIFT) - 1)) != 0) {
+                kinds[boundary >>> PAGE_SHIFT] = MIXED;
+            }
+        }
+        return kinds;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
     //
-    private static final boolean STORE = true;
-    private static final boolean FETCH = false;
+    // Returns an empty page table of the kind selected by system property mars.memory.offHeap.
+    private static PageTable newPageTable(boolean order) {
+        return OFF_HEAP ? new BufferPageTable(order) : new ArrayPageTable(order);
+    }
+
+    private TextPage textPage(int address) {
+        TextPage[] pageTable = textDirectory[PageTable.directoryIndex(address)];
+        return (pageTable == null) ? null : pageTable[PageTable.tableIndex(address)];
+    }
 
-    private int storeBytesInTable(int[][] blockTable,
-                                  int relativeByteAddress, int length, int value) {
-        return storeOrFetchBytesInTable(blockTable, relativeByteAddress, length, value, STORE);
+    ////////////////////////////////////////////////////////////////////////////////
+    //
+    // Helper method to store 1, 2 or 4 byte value in memory.
+    // Modified 29 Dec 2005 to return old value of replaced bytes.
+    //
+    private int storeBytes(int address, int length, int value) {
+        stamp(address, length);
+        return pages.storeBytes(address, length, value);
     }
 
     ////////////////////////////////////////////////////////////////////////////////
     //
-    // Helper method to fetch 1, 2 or 4 byte value from table that represents MIPS
-    // memory.  Originally used just for data segment, but now also used for stack.
-    // Both use different tables but same storage method and same table size
-    // and block size.
+    // Helper method to fetch 1, 2 or 4 byte value from memory.
     //
 
-    private int fetchBytesFromTable(int[][] blockTable, int relativeByteAddress, int length) {
-        return storeOrFetchBytesInTable(blockTable, relativeByteAddress, length, 0, FETCH);
+    private int fetchBytes(int address, int length) {
+        return pages.fetchBytes(address, length);
     }
 
     ////////////////////////////////////////////////////////////////////////////////
     //
-    // The helper's helper.  Works for either storing or fetching, little or big endian.
-    // When storing/fetching bytes, most of the work is calculating the correct array element(s)
-    // and element byte(s).  This method performs either store or fetch, as directed by its
-    // client using STORE or FETCH in last arg.
-    // Modified 29 Dec 2005 to return old value of replaced bytes, for STORE.
+    // Helper methods to copy bytes to or from one page, and to fill or search it.
     //
-    private synchronized int storeOrFetchBytesInTable(int[][] blockTable,
-                                                      int relativeByteAddress, int length, int value, boolean op) {
-        int relativeWordAddress, block, offset, bytePositionInMemory, bytePositionInValue;
-        int oldValue = 0; // for STORE, return old values of replaced bytes
-        int loopStopper = 3 - length;
-        // IF added DPS 22-Dec-2008. NOTE: has NOT been tested with Big-Endian.
-        // Fix provided by Saul Spatz; comments that follow are his.
-        // If address in stack segment is 4k + m, with 0 < m < 4, then the
-        // relativeByteAddress we want is stackBaseAddress - 4k + m, but the
-        // address actually passed in is stackBaseAddress - (4k + m), so we
-        // need to add 2m.  Because of the change in sign, we get the
-        // expression 4-delta below in place of m.
-        if (blockTable == stackBlockTable) {
-            int delta = relativeByteAddress % 4;
-            if (delta != 0) {
-                relativeByteAddress += (4 - delta) << 1;
-            }
+
+    private void fetchBlock(int address, byte[] bytes, int offset, int length) {
+        pages.fetchBlock(address, bytes, offset, length);
+    }
+
+    private void storeBlock(int address, byte[] bytes, int offset, int length) {
+        stamp(address, 1);
+        pages.storeBlock(address, bytes, offset, length);
+    }
+
+    private void fillBlock(int address, int length, byte value) {
+        stamp(address, 1);
+        pages.fillBlock(address, length, value);
+    }
+
+    private int indexOfNull(int address, int length) {
+        return pages.indexOfNull(address, length);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+    //
+    // Returns how many of the given number of bytes starting at the given address lie
+    // in the same page and in a data segment, so they can be copied in one go.  Returns
+    // 0 if the byte at the address is not in a data segment.
+    private static int dataRun(int address, int length) {
+        byte kind = pageKinds[address >>> PAGE_SHIFT];
+        if (kind >= DATA) {
+            return Math.min(length, PageTable.PAGE_LENGTH_BYTES - PageTable.byteInPage(address));
         }
-        for (bytePositionInValue = 3; bytePositionInValue > loopStopper; bytePositionInValue--) {
-            bytePositionInMemory = relativeByteAddress % 4;
-            relativeWordAddress = relativeByteAddress >> 2;
-            block = relativeWordAddress / BLOCK_LENGTH_WORDS;  // Block number
-            offset = relativeWordAddress % BLOCK_LENGTH_WORDS; // Word within that block
-            if (blockTable[block] == null) {
-                if (op == STORE)
-                    blockTable[block] = new int[BLOCK_LENGTH_WORDS];
-                else
-                    return 0;
-            }
-            if (byteOrder == LITTLE_ENDIAN) bytePositionInMemory = 3 - bytePositionInMemory;
-            if (op == STORE) {
-                oldValue = replaceByte(blockTable[block][offset], bytePositionInMemory,
-                        oldValue, bytePositionInValue);
-                blockTable[block][offset] = replaceByte(value, bytePositionInValue,
-                        blockTable[block][offset], bytePositionInMemory);
-            } else {// op == FETCH
-                value = replaceByte(blockTable[block][offset], bytePositionInMemory,
-                        value, bytePositionInValue);
+        return (kind == MIXED && segmentOf(address) >= DATA) ? 1 : 0;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////////
+    //
+    // Does the work of the bulk setters: stores the given bytes, or the fill byte if
+    // there are none, recording the replaced bytes for back-stepping if asked to.
+    // Bytes outside the data segments are stored one at a time by set(), so they get
+    // the same treatment as always.
+    private void storeBlock(int address, byte[] bytes, int offset, int length, byte fill, boolean backStep)
+            throws AddressErrorException {
+        BackStepper backStepper = backStep ? Globals.program.getBackStepper() : null;
+        int done = 0;
+        try {
+            while (done < length) {
+                int at = address + done;
+                int run = dataRun(at, length - done);
+                if (run > 0) {
+                    byte[] old = null;
+                    if (backStep) {
+                        old = new byte[run];
+                        fetchBlock(at, old, 0, run);
+                    }
+                    if (bytes == null) {
+                        fillBlock(at, run, fill);
+                    } else {
+                        storeBlock(at, bytes, offset + done, run);
+                    }
+                    if (backStep) {
+                        for (int i = 0; i < run; i++) {
+                            backStepper.addMemoryRestoreByte(at + i, old[i] & 0xFF);
+                        }
+                    }
+                } else {
+                    int old = set(at, (bytes == null) ? fill : bytes[offset + done], 1, false);
+                    if (backStep) {
+                        backStepper.addMemoryRestoreByte(at, old);
+                    }
+                    run = 1;
+                }
+                done += run;
             }
-            relativeByteAddress++;
+        } finally {
+            if (done > 0) notifyAnyObservers(AccessNotice.WRITE, address, done, 0);
         }
-        return (op == STORE) ? oldValue : value;
     }
 
     ////////////////////////////////////////////////////////////////////////////////
     //
-    // Helper method to store 4 byte value in table that represents MIPS memory.
-    // Originally used just for data segment, but now also used for stack.
-    // Both use different tables but same storage method and same table size
-    // and block size.  Assumes address is word aligned, no endian processing.
+    // Helper method to store 4 byte value in memory.  Assumes address is word aligned,
+    // no endian processing.
     // Modified 29 Dec 2005 to return overwritten value.
 
-    private synchronized int storeWordInTable(int[][] blockTable, int relative, int value) {
-        int block, offset, oldValue;
-        block = relative / BLOCK_LENGTH_WORDS;
-        offset = relative % BLOCK_LENGTH_WORDS;
-        if (blockTable[block] == null) {
-            // First time writing to this block, so allocate the space.
-            blockTable[block] = new int[BLOCK_LENGTH_WORDS];
-        }
-        oldValue = blockTable[block][offset];
-        blockTable[block][offset] = value;
-        return oldValue;
+    private int storeWord(int address, int value) {
+        stamp(address, 1);
+        return pages.storeWord(address, value);
     }
 
     ////////////////////////////////////////////////////////////////////////////////
     //
-    // Helper method to fetch 4 byte value from table that represents MIPS memory.
-    // Originally used just for data segment, but now also used for stack.
-    // Both use different tables but same storage method and same table size
-    // and block size.  Assumes word alignment, no endian processing.
+    // Helper method to fetch 4 byte value from memory.  Assumes word alignment, no
+    // endian processing.
     //
 
-    private synchronized int fetchWordFromTable(int[][] blockTable, int relative) {
-        int value = 0;
-        int block, offset;
-        block = relative / BLOCK_LENGTH_WORDS;
-        offset = relative % BLOCK_LENGTH_WORDS;
-        if (blockTable[block] == null) {
-            // first reference to an address in this block.  Assume initialized to 0.
-            value = 0;
-        } else {
-            value = blockTable[block][offset];
-        }
-        return value;
+    private int fetchWord(int address) {
+        return pages.fetchWord(address);
     }
 
     ////////////////////////////////////////////////////////////////////////////////
     //
-    // Helper method to fetch 4 byte value from table that represents MIPS memory.
-    // Originally used just for data segment, but now also used for stack.
-    // Both use different tables but same storage method and same table size
-    // and block size.  Assumes word alignment, no endian processing.
+    // Helper method to fetch 4 byte value from memory.  Assumes word alignment, no
+    // endian processing.
     //
-    // This differs from "fetchWordFromTable()" in that it returns an Integer and
-    // returns null instead of 0 if the 4K table has not been allocated.  Developed
-    // by Greg Gibeling of UC Berkeley, fall 2007.
+    // This differs from "fetchWord()" in that it returns an Integer and returns null
+    // instead of 0 if the 4K page has not been allocated.  Developed by Greg Gibeling
+    // of UC Berkeley, fall 2007.
     //
 
-    private synchronized Integer fetchWordOrNullFromTable(int[][] blockTable, int relative) {
-        int value = 0;
-        int block, offset;
-        block = relative / BLOCK_LENGTH_WORDS;
-        offset = relative % BLOCK_LENGTH_WORDS;
-        if (blockTable[block] == null) {
-            // first reference to an address in this block.  Assume initialized to 0.
-            return null;
-        } else {
-            value = blockTable[block][offset];
-        }
-        return value;
-    }
-
-    ////////////////////////////////////////////////////////////////////////////////////
-    // Returns result of substituting specified byte of source value into specified byte
-    // of destination value. Byte positions are 0-1-2-3, listed from most to least
-    // significant.  No endian issues.  This is a private helper method used by get() & set().
-    private int replaceByte(int sourceValue, int bytePosInSource, int destValue, int bytePosInDest) {
-        return
-                // Set source byte value into destination byte position; set other 24 bits to 0's...
-                ((sourceValue >> (24 - (bytePosInSource << 3)) & 0xFF)
-                        << (24 - (bytePosInDest << 3)))
-                        // and bitwise-OR it with...
-                        |
-                        // Set 8 bits in destination byte position to 0's, other 24 bits are unchanged.
-                        (destValue & ~(0xFF << (24 - (bytePosInDest << 3))));
+    private Integer fetchWordOrNull(int address) {
+        return pages.isAllocated(address) ? pages.fetchWord(address) : null;
     }
 
     ///////////////////////////////////////////////////////////////////////
@@ -1397,44 +2032,263 @@ public class Memory extends Observable {
 
     ///////////////////////////////////////////////////////////////////////
     // Store a program statement at the given address.  Address has already been verified
-    // as valid.  It may be either in user or kernel text segment, as specified by arguments.
-    private void storeProgramStatement(int address, ProgramStatement statement,
-                                       int baseAddress, ProgramStatement[][] blockTable) {
-        int relative = (address - baseAddress) >> 2; // convert byte address to words
-        int block = relative / BLOCK_LENGTH_WORDS;
-        int offset = relative % BLOCK_LENGTH_WORDS;
-        if (block < TEXT_BLOCK_TABLE_LENGTH) {
-            if (blockTable[block] == null) {
-                // No instructions are stored in this block, so allocate the block.
-                blockTable[block] = new ProgramStatement[BLOCK_LENGTH_WORDS];
-            }
-            blockTable[block][offset] = statement;
+    // as valid, in either user or kernel text segment.
+    private void storeProgramStatement(int address, ProgramStatement statement) {
+        writableTextPage(address).store(PageTable.wordInPage(address), statement);
+        stamp(address, 1);
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Store binary machine code at the given address, in either user or kernel text
+    // segment, without decoding it into a statement.  Returns the code replaced, 0 if
+    // there was none.
+    private int storeCode(int address, int code) {
+        TextPage page = writableTextPage(address);
+        int word = PageTable.wordInPage(address);
+        int oldCode = page.holds(word) ? page.code(word) : 0;
+        textModificationCount++;
+        page.storeCode(word, code);
+        stamp(address, 1);
+        return oldCode;
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Store 1 or 2 bytes within the binary machine code word at the given address, in
+    // either user or kernel text segment, leaving its other bytes as they are.  The bytes
+    // go where they would in a data segment word: the first one, in the low order byte
+    // of the value, at the address.  Returns the bytes replaced, in the same form.
+    private int storeCodeBytes(int address, int length, int value) {
+        int wordAddress = address & ~3;
+        Integer code = fetchCodeOrNull(wordAddress);
+        int word = (code == null) ? 0 : code;
+        int oldValue = 0;
+        for (int i = 0; i < length; i++) {
+            int shift = ((address & 3) + i) << 3;
+            oldValue |= ((word >>> shift) & 0xFF) << (i << 3);
+            word = (word & ~(0xFF << shift)) | (((value >>> (i << 3)) & 0xFF) << shift);
         }
+        storeCode(wordAddress, word);
+        return oldValue;
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Fetch the binary machine code at the given address, in either user or kernel text
+    // segment, or null if no instruction is stored there.
+    private Integer fetchCodeOrNull(int address) {
+        TextPage page = textPage(address);
+        int word = PageTable.wordInPage(address);
+        return (page != null && page.holds(word)) ? page.code(word) : null;
+    }
+
+    // Returns the text page holding the given address, ready to be written to.  It is
+    // allocated if this is the first write to it, or copied if it is still shared with
+    // the image.
+    private TextPage writableTextPage(int address) {
+        TextPage[] pageTable = textDirectory[PageTable.directoryIndex(address)];
+        if (pageTable == null) {
+            pageTable = new TextPage[PAGE_TABLE_LENGTH];
+            textDirectory[PageTable.directoryIndex(address)] = pageTable;
+        }
+        int index = PageTable.tableIndex(address);
+        TextPage page = pageTable[index];
+        if (page == null) {
+            // No instructions are stored in this page, so allocate the page.
+            page = new TextPage();
+            pageTable[index] = page;
+        } else if (image != null && image.textPage(address) == page) {
+            page = page.copy();
+            pageTable[index] = page;
+        }
+        return page;
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Write generation helpers.  Stamps the pages holding the given bytes, which
+    // are in at most two pages, with the current write generation.
+    private void stamp(int address, int length) {
+        int generation = writeGeneration;
+        int[] table = pageStamps[PageTable.directoryIndex(address)];
+        if (table == null) {
+            table = new int[PAGE_TABLE_LENGTH];
+            pageStamps[PageTable.directoryIndex(address)] = table;
+        }
+        table[PageTable.tableIndex(address)] = generation;
+        int last = address + length - 1;
+        if ((last ^ address) >>> PAGE_SHIFT != 0) {
+            stamp(last, 1);
+        }
+    }
+
+    private int stampOf(int page) {
+        int[] table = pageStamps[page >>> (PageTable.PAGE_TABLE_SHIFT - PAGE_SHIFT)];
+        return (table == null) ? 0 : table[page & (PAGE_TABLE_LENGTH - 1)];
+    }
+
+    // Records that the contents of memory have been replaced as a whole, so that every
+    // page counts as written to in the current write generation.
+    private void replaced() {
+        pageStamps = new int[PAGE_DIRECTORY_LENGTH][];
+        replacedGeneration = writeGeneration;
     }
 
 
     ///////////////////////////////////////////////////////////////////////
     // Read a program statement from the given address.  Address has already been verified
-    // as valid.  It may be either in user or kernel text segment, as specified by arguments.
+    // as valid, in either user or kernel text segment.
     // Returns associated ProgramStatement or null if none.
     // Last parameter controls whether or not observers will be notified.
-    private ProgramStatement readProgramStatement(int address, int baseAddress, ProgramStatement[][] blockTable, boolean notify) {
-        int relative = (address - baseAddress) >> 2; // convert byte address to words
-        int block = relative / TEXT_BLOCK_LENGTH_WORDS;
-        int offset = relative % TEXT_BLOCK_LENGTH_WORDS;
-        if (block < TEXT_BLOCK_TABLE_LENGTH) {
-            if (blockTable[block] == null || blockTable[block][offset] == null) {
-                // No instructions are stored in this block or offset.
-                if (notify) notifyAnyObservers(AccessNotice.READ, address, Instruction.INSTRUCTION_LENGTH, 0);
-                return null;
-            } else {
-                if (notify)
-                    notifyAnyObservers(AccessNotice.READ, address, Instruction.INSTRUCTION_LENGTH, blockTable[block][offset].getBinaryStatement());
-                return blockTable[block][offset];
+    // The statement is built here from the machine code, with the source if the assembler
+    // stored the word, and kept in the page.  It depends on nothing else, so it is kept
+    // even in a page shared with the image, whose words never change.
+    private ProgramStatement readProgramStatement(int address, boolean notify) {
+        TextPage page = textPage(address);
+        int word = PageTable.wordInPage(address);
+        ProgramStatement statement = null;
+        if (page != null && page.holds(word)) {
+            statement = page.statement(word);
+            if (statement == null) {
+                statement = page.hasSource(word)
+                        ? new ProgramStatement(page.program(word), page.source(word), page.sourceLine(word),
+                        null, null, page.code(word), address, null, 0)
+                        : new ProgramStatement(page.code(word), address);
+                page.cache(word, statement);
+            }
+        }
+        if (notify) {
+            notifyAnyObservers(AccessNotice.READ, address, Instruction.INSTRUCTION_LENGTH,
+                    (statement == null) ? 0 : statement.getBinaryStatement());
+        }
+        return statement;
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Copies the two upper levels of the text page table, so pages can be replaced in
+    // the copy without affecting the original.  The pages themselves are shared.
+    private static TextPage[][] copyDirectory(TextPage[][] directory) {
+        TextPage[][] copy = directory.clone();
+        for (int i = 0; i < copy.length; i++) {
+            if (copy[i] != null) copy[i] = copy[i].clone();
+        }
+        return copy;
+    }
+
+    ///////////////////////////////////////////////////////////////////////
+    // Machine state snapshot helpers.  Pages are written as their number followed by
+    // their contents, preceded by the number of pages.  For text pages the contents are
+    // the number of statements followed by the offset and binary machine code of each.
+    private void writePages(DataOutputStream out) throws IOException {
+        int[] allocated = pages.allocatedPages();
+        out.writeInt(allocated.length);
+        for (int page : allocated) {
+            out.writeInt(page);
+            pages.writePage(page, out);
+        }
+    }
+
+    private static PageTable readPages(ByteBuffer in, boolean order) {
+        PageTable table = newPageTable(order);
+        for (int count = in.getInt(); count > 0; count--) {
+            table.readPage(in.getInt(), in);
+        }
+        return table;
+    }
+
+    private void writeTextPages(DataOutputStream out) throws IOException {
+        out.writeInt(countAllocatedPages(textDirectory));
+        for (int table = 0; table < PAGE_DIRECTORY_LENGTH; table++) {
+            if (textDirectory[table] == null) continue;
+            for (int index = 0; index < PAGE_TABLE_LENGTH; index++) {
+                TextPage page = textDirectory[table][index];
+                if (page != null) {
+                    out.writeInt(table * PAGE_TABLE_LENGTH + index);
+                    out.writeShort(page.count());
+                    for (int offset = 0; offset < PAGE_LENGTH_WORDS; offset++) {
+                        if (page.holds(offset)) {
+                            out.writeShort(offset);
+                            out.writeInt(page.code(offset));
+                        }
+                    }
+                }
             }
         }
-        if (notify) notifyAnyObservers(AccessNotice.READ, address, Instruction.INSTRUCTION_LENGTH, 0);
-        return null;
+    }
+
+    // Words whose code is unchanged keep their source; the others are restored as
+    // machine code alone.
+    private TextPage[][] readTextPages(ByteBuffer in) {
+        TextPage[][] directory = new TextPage[PAGE_DIRECTORY_LENGTH][];
+        for (int count = in.getInt(); count > 0; count--) {
+            int page = in.getInt();
+            TextPage current = textPage(page << PAGE_SHIFT);
+            TextPage text = new TextPage();
+            if (directory[page / PAGE_TABLE_LENGTH] == null) {
+                directory[page / PAGE_TABLE_LENGTH] = new TextPage[PAGE_TABLE_LENGTH];
+            }
+            directory[page / PAGE_TABLE_LENGTH][page % PAGE_TABLE_LENGTH] = text;
+            for (int n = in.getShort(); n > 0; n--) {
+                int offset = in.getShort();
+                int binary = in.getInt();
+                if (current != null && current.holds(offset) && current.code(offset) == binary) {
+                    text.storeFrom(offset, current);
+                } else {
+                    text.storeCode(offset, binary);
+                }
+            }
+        }
+        return directory;
+    }
+
+    private static int countAllocatedPages(Object[][] directory) {
+        int count = 0;
+        for (Object[] pageTable : directory) {
+            if (pageTable == null) continue;
+            for (Object page : pageTable) {
+                if (page != null) count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Frozen contents of memory, created by {@link Memory#createImage()}.  Its pages
+     * are never written to; memory copies a page before writing to it while the
+     * page is shared with an image.
+     */
+    public static final class Image {
+        private final boolean byteOrder;
+        private final int heapAddress;
+        private final PageTable pages;
+        private final TextPage[][] textDirectory;
+
+        private Image(Memory memory) {
+            byteOrder = Memory.byteOrder;
+            heapAddress = Memory.heapAddress;
+            pages = memory.pages.copy();
+            textDirectory = copyDirectory(memory.textDirectory);
+        }
+
+        private TextPage textPage(int address) {
+            TextPage[] pageTable = textDirectory[PageTable.directoryIndex(address)];
+            return (pageTable == null) ? null : pageTable[PageTable.tableIndex(address)];
+        }
+    }
+
+    /**
+     * Contents of memory read from a machine state snapshot by {@link Memory#readState(ByteBuffer)},
+     * not yet restored.
+     */
+    public static final class State {
+        private final boolean byteOrder;
+        private final int heapAddress;
+        private final PageTable pages;
+        private final TextPage[][] textDirectory;
+
+        private State(boolean byteOrder, int heapAddress, PageTable pages, TextPage[][] textDirectory) {
+            this.byteOrder = byteOrder;
+            this.heapAddress = heapAddress;
+            this.pages = pages;
+            this.textDirectory = textDirectory;
+        }
     }
 
 }
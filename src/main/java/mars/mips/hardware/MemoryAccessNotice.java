@@ -31,6 +31,8 @@ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
 /**
  * Object provided to Observers of runtime access to MIPS memory.
  * Observer can get the access type (R/W), address and length in bytes (4,2,1).
+ * Memory delivers the same notice object for access after access, so an Observer
+ * must not keep a notice after its update method returns.
  *
  * @author Pete Sanderson
  * @version July 2005
@@ -63,6 +65,20 @@ public class MemoryAccessNotice extends AccessNotice {
         this.value = value;
     }
 
+    // Makes this notice describe another access, so that one object can be delivered
+    // for access after access.
+    MemoryAccessNotice reset(int type, int address, int length, int value) {
+        return reset(type, Thread.currentThread(), address, length, value);
+    }
+
+    MemoryAccessNotice reset(int type, Thread thread, int address, int length, int value) {
+        reset(type, thread);
+        this.address = address;
+        this.length = length;
+        this.value = value;
+        return this;
+    }
+
     /**
      * Fetch the memory address that was accessed.
      */
@@ -71,7 +87,9 @@ public class MemoryAccessNotice extends AccessNotice {
     }
 
     /**
-     * Fetch the length in bytes of the access operation (4,2,1).
+     * Fetch the length in bytes of the access operation (4,2,1).  A bulk access, such as
+     * a string read by a syscall, is a single operation of any length whose value is 0;
+     * only a {@link RangeAccessObserver} is sent such a notice.
      */
     public int getLength() {
         return length;
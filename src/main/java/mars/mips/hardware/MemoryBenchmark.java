@@ -0,0 +1,123 @@
+package mars.mips.hardware;
+
+import mars.Globals;
+
+import java.util.Arrays;
+
+/**
+ * Load and store benchmark.  Times the byte, halfword and word loads and stores the
+ * simulator makes for lb, lh, lw, sb, sh and sw in the data segment, the stack and the
+ * kernel data segment of a memory configuration, a number of times, and prints the
+ * minimum and median time of one access for each.
+ * <p>
+ * Usage: {@code java -cp Mars.jar mars.mips.hardware.MemoryBenchmark [runs] [configuration]},
+ * where runs defaults to 10 and configuration, the name of a memory configuration such
+ * as CompactDataAtZero, to Default.
+ */
+public class MemoryBenchmark {
+
+    private static final int DEFAULT_RUNS = 10;
+    private static final int ACCESSES = 1 << 22;
+    // Bytes accessed in each segment, over and over, those of the stack just below $sp:
+    // few enough for the smallest segment of the compact configurations.
+    private static final int SPAN = 1024;
+    private static final String[] SEGMENTS = {"data", "stack", "kernel data"};
+    private static final int[] WIDTHS = {1, 2, 4};
+
+    // Keeps the loads from being optimized away.
+    private static int sink;
+
+    private MemoryBenchmark() {
+    }
+
+    public static void main(String[] args) throws AddressErrorException {
+        int runs = DEFAULT_RUNS;
+        String configuration = "Default";
+        int next = 0;
+        if (args.length > next && args[next].matches("\\d+")) {
+            runs = Integer.parseInt(args[next++]);
+        }
+        if (args.length > next) {
+            configuration = args[next++];
+        }
+        Globals.initialize(false);
+        MemoryConfiguration config = MemoryConfigurations.getConfigurationByName(configuration);
+        if (runs < 1 || config == null || args.length > next) {
+            System.out.println("Usage: MemoryBenchmark [runs] [configuration]");
+            System.exit(1);
+        }
+        MemoryConfigurations.setCurrentConfiguration(config);
+        Globals.memory.clear();
+        int[] bases = {Memory.dataBaseAddress, Memory.stackPointer - SPAN, Memory.kernelDataBaseAddress};
+
+        for (int segment = 0; segment < SEGMENTS.length; segment++) {
+            for (int width : WIDTHS) {
+                long[] stores = new long[runs];
+                long[] loads = new long[runs];
+                for (int run = 0; run < runs; run++) {
+                    stores[run] = store(bases[segment], width);
+                    loads[run] = load(bases[segment], width);
+                }
+                Arrays.sort(stores);
+                Arrays.sort(loads);
+                String name = configuration + " " + SEGMENTS[segment] + " " + width + "-byte";
+                System.out.println(name + " store: min " + perAccess(stores[0])
+                        + " ns, median " + perAccess(stores[runs / 2]) + " ns");
+                System.out.println(name + " load: min " + perAccess(loads[0])
+                        + " ns, median " + perAccess(loads[runs / 2]) + " ns");
+            }
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    // Nanoseconds taken by ACCESSES stores of the given width, through the span.
+    private static long store(int base, int width) throws AddressErrorException {
+        Memory memory = Globals.memory;
+        int mask = SPAN - width;
+        long start = System.nanoTime();
+        for (int i = 0; i < ACCESSES; i++) {
+            int address = base + ((i * width) & mask);
+            switch (width) {
+                case 1:
+                    memory.setByte(address, i);
+                    break;
+                case 2:
+                    memory.setHalf(address, i);
+                    break;
+                default:
+                    memory.setWord(address, i);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    // Nanoseconds taken by ACCESSES loads of the given width, through the span.
+    private static long load(int base, int width) throws AddressErrorException {
+        Memory memory = Globals.memory;
+        int mask = SPAN - width;
+        int sum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ACCESSES; i++) {
+            int address = base + ((i * width) & mask);
+            switch (width) {
+                case 1:
+                    sum += memory.getByte(address);
+                    break;
+                case 2:
+                    sum += memory.getHalf(address);
+                    break;
+                default:
+                    sum += memory.getWord(address);
+            }
+        }
+        long time = System.nanoTime() - start;
+        sink += sum;
+        return time;
+    }
+
+    private static String perAccess(long nanoseconds) {
+        return String.format("%.2f", (double) nanoseconds / ACCESSES);
+    }
+}
@@ -45,13 +45,25 @@ public class MemoryConfiguration {
     private String configurationIdentifier, configurationName;
     private String[] configurationItemNames;
     private int[] configurationItemValues;
+    // If true, each segment stops 4MB past its base (64KB for memory mapped I/O) when its
+    // limit address is further away, as in every configuration before segments could grow.
+    private boolean segmentsCapped;
 
 
     public MemoryConfiguration(String ident, String name, String[] items, int[] values) {
+        this(ident, name, items, values, true);
+    }
+
+    /**
+     * @param segmentsCapped false to let every segment extend all the way to its limit
+     *                       address, true to cap segments at 4MB as the original configurations do
+     */
+    public MemoryConfiguration(String ident, String name, String[] items, int[] values, boolean segmentsCapped) {
         this.configurationIdentifier = ident;
         this.configurationName = name;
         this.configurationItemNames = items;
         this.configurationItemValues = values;
+        this.segmentsCapped = segmentsCapped;
     }
 
     public String getConfigurationIdentifier() {
@@ -70,6 +82,14 @@ public class MemoryConfiguration {
         return configurationItemNames;
     }
 
+    /**
+     * @return true if segments are capped at 4MB (64KB for memory mapped I/O) whatever
+     * their limit addresses, false if they extend to their limit addresses
+     */
+    public boolean hasCappedSegments() {
+        return segmentsCapped;
+    }
+
     public int getTextBaseAddress() {
         return configurationItemValues[0];
     }
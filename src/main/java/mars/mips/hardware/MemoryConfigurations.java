@@ -154,6 +154,60 @@ public class MemoryConfigurations {
     };
 
 
+    // Large keeps the default addresses but lets segments grow to their limits rather
+    // than stopping at 4MB: about 1GB of static data and heap, 1GB of stack and 252MB
+    // of text.  Memory is only taken up by the pages a program touches.
+    private static int[] largeConfigurationItemValues = {
+            0x00400000, // .text Base Address
+            0x10000000, // Data Segment base address
+            0x10000000, // .extern Base Address
+            0x10008000, // Global Pointer $gp)
+            0x10010000, // .data base Address
+            0x10040000, // heap base address
+            0x7fffeffc, // stack pointer $sp
+            0x7ffffffc, // stack base address
+            0x7fffffff, // highest address in user space
+            0x80000000, // lowest address in kernel space
+            0x80000000, // .ktext base address
+            0x80000180, // exception handler address
+            0x90000000, // .kdata base address
+            0xffff0000, // MMIO base address
+            0xffffffff, // highest address in kernel (and memory)
+            0x3fffffff, // data segment limit address
+            0x0ffffffc, // text limit address
+            0xfffeffff, // kernel data segment limit address
+            0x8ffffffc, // kernel text limit address
+            0x40000000, // stack limit address
+            0xffffffff  // memory map limit address
+    };
+
+    // Like Large, but with most of the user space given to static data and heap:
+    // about 1.9GB, leaving 128MB of stack.
+    private static int[] largeHeapConfigurationItemValues = {
+            0x00400000, // .text Base Address
+            0x10000000, // Data Segment base address
+            0x10000000, // .extern Base Address
+            0x10008000, // Global Pointer $gp)
+            0x10010000, // .data base Address
+            0x10040000, // heap base address
+            0x7fffeffc, // stack pointer $sp
+            0x7ffffffc, // stack base address
+            0x7fffffff, // highest address in user space
+            0x80000000, // lowest address in kernel space
+            0x80000000, // .ktext base address
+            0x80000180, // exception handler address
+            0x90000000, // .kdata base address
+            0xffff0000, // MMIO base address
+            0xffffffff, // highest address in kernel (and memory)
+            0x77ffffff, // data segment limit address
+            0x0ffffffc, // text limit address
+            0xfffeffff, // kernel data segment limit address
+            0x8ffffffc, // kernel text limit address
+            0x78000000, // stack limit address
+            0xffffffff  // memory map limit address
+    };
+
+
     public MemoryConfigurations() {
 
     }
@@ -165,6 +219,8 @@ public class MemoryConfigurations {
             configurations.add(new MemoryConfiguration("Default", "Default", configurationItemNames, defaultConfigurationItemValues));
             configurations.add(new MemoryConfiguration("CompactDataAtZero", "Compact, Data at Address 0", configurationItemNames, dataBasedCompactConfigurationItemValues));
             configurations.add(new MemoryConfiguration("CompactTextAtZero", "Compact, Text at Address 0", configurationItemNames, textBasedCompactConfigurationItemValues));
+            configurations.add(new MemoryConfiguration("Large", "Large, 1GB Data and 1GB Stack", configurationItemNames, largeConfigurationItemValues, false));
+            configurations.add(new MemoryConfiguration("LargeHeap", "Large, 1.9GB Data and 128MB Stack", configurationItemNames, largeHeapConfigurationItemValues, false));
             defaultConfiguration = configurations.get(0);
             currentConfiguration = defaultConfiguration;
             setCurrentConfiguration(getConfigurationByName(Globals.getSettings().getMemoryConfiguration()));
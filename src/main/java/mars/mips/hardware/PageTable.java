@@ -0,0 +1,155 @@
+package mars.mips.hardware;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Storage for the data segments of {@link Memory}: a two-level page table covering the
+ * whole 32-bit address space.  The top 10 bits of an address select a page table from
+ * the page directory, the next 10 bits select a 4K byte page from that table, and the
+ * low 12 bits the byte within the page.  Pages are allocated when first written to;
+ * reading an address whose page has not been allocated yields 0.
+ * <p>
+ * Words are "raw": their bytes combined in the memory byte order, without adjusting
+ * for it.  The 1, 2 and 3 byte operations combine bytes least significant first.  All
+ * addresses given to a page table have already been checked by Memory.
+ * <p>
+ * A page table can be copied cheaply, the copy sharing all pages with the original.
+ * A table whose {@link #image} is set copies a page before writing to it while that
+ * page is also held by the image, so the image never changes.
+ */
+abstract class PageTable {
+    static final int PAGE_SHIFT = 12;          // 4K byte pages
+    static final int PAGE_TABLE_SHIFT = 22;    // 4M bytes covered by each page table
+    static final int PAGE_LENGTH_BYTES = 1 << PAGE_SHIFT;
+    static final int PAGE_LENGTH_WORDS = PAGE_LENGTH_BYTES / Memory.WORD_LENGTH_BYTES;
+    static final int PAGE_TABLE_LENGTH = 1024; // Each entry of a page table points to a page.
+    static final int PAGE_DIRECTORY_LENGTH = 1024;
+
+    /**
+     * Table sharing pages with this one that must not change, or null if none.
+     * It is of the same class as this one.
+     */
+    PageTable image;
+
+    /**
+     * Byte order of raw words, either Memory.LITTLE_ENDIAN or Memory.BIG_ENDIAN.
+     */
+    boolean byteOrder;
+
+    PageTable(boolean byteOrder) {
+        this.byteOrder = byteOrder;
+    }
+
+    /**
+     * @param address any address in the page
+     * @return true if the page holding the address has been allocated
+     */
+    abstract boolean isAllocated(int address);
+
+    /**
+     * @param address word-aligned address
+     * @return raw word at the address
+     */
+    abstract int fetchWord(int address);
+
+    /**
+     * @param address word-aligned address
+     * @param value   raw word to store
+     * @return raw word replaced
+     */
+    abstract int storeWord(int address, int value);
+
+    /**
+     * @param address address of the first byte
+     * @param length  number of bytes, 1 to 4
+     * @return the bytes, the first one in the low order byte; 0 if any of them is in
+     * a page that has not been allocated
+     */
+    abstract int fetchBytes(int address, int length);
+
+    /**
+     * @param address address of the first byte
+     * @param length  number of bytes, 1 to 4
+     * @param value   the bytes, the first one in the low order byte
+     * @return the bytes replaced, in the same form
+     */
+    abstract int storeBytes(int address, int length, int value);
+
+    /**
+     * Copies bytes out of one page.  Bytes of a page that has not been allocated are 0.
+     *
+     * @param address address of the first byte
+     * @param bytes   array to copy into
+     * @param offset  index in the array of the first byte
+     * @param length  number of bytes, none of them past the end of the page
+     */
+    abstract void fetchBlock(int address, byte[] bytes, int offset, int length);
+
+    /**
+     * Copies bytes into one page.
+     *
+     * @param address address of the first byte
+     * @param bytes   array to copy from
+     * @param offset  index in the array of the first byte
+     * @param length  number of bytes, none of them past the end of the page
+     */
+    abstract void storeBlock(int address, byte[] bytes, int offset, int length);
+
+    /**
+     * Sets bytes of one page to the same value.
+     *
+     * @param address address of the first byte
+     * @param length  number of bytes, none of them past the end of the page
+     * @param value   value of each byte
+     */
+    abstract void fillBlock(int address, int length, byte value);
+
+    /**
+     * Searches one page for a null byte.
+     *
+     * @param address address of the first byte to search
+     * @param length  number of bytes to search, none of them past the end of the page
+     * @return distance from the address to the first null byte, or -1 if there is none
+     */
+    abstract int indexOfNull(int address, int length);
+
+    /**
+     * @return new table of the same class holding the same pages, which are now shared
+     */
+    abstract PageTable copy();
+
+    /**
+     * @return numbers (address &gt;&gt;&gt; PAGE_SHIFT) of the allocated pages, in
+     * unsigned address order
+     */
+    abstract int[] allocatedPages();
+
+    /**
+     * Writes the raw words of an allocated page, in address order.
+     */
+    abstract void writePage(int page, DataOutputStream out) throws IOException;
+
+    /**
+     * Allocates the given page and reads its raw words, written by
+     * {@link #writePage(int, DataOutputStream)}.
+     */
+    abstract void readPage(int page, ByteBuffer in);
+
+    static int directoryIndex(int address) {
+        return address >>> PAGE_TABLE_SHIFT;
+    }
+
+    static int tableIndex(int address) {
+        return (address >>> PAGE_SHIFT) & (PAGE_TABLE_LENGTH - 1);
+    }
+
+    static int byteInPage(int address) {
+        return address & (PAGE_LENGTH_BYTES - 1);
+    }
+
+    static int wordInPage(int address) {
+        return (address >>> 2) & (PAGE_LENGTH_WORDS - 1);
+    }
+}
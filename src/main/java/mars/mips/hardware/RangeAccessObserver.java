@@ -0,0 +1,13 @@
+package mars.mips.hardware;
+
+import java.util.Observer;
+
+/**
+ * Memory observer that accepts a single notice for a bulk access longer than a word,
+ * such as a syscall reading a file into memory.  The notice gives the address and
+ * length of the whole range, and value 0.  Observers that do not implement this
+ * interface are sent a notice for each byte of the range instead, as if the bytes had
+ * been accessed one at a time.
+ */
+public interface RangeAccessObserver extends Observer {
+}
@@ -1,6 +1,9 @@
 package mars.mips.hardware;
 
+import mars.simulator.SimulatorMetrics;
+
 import java.util.Observable;
+import java.util.Observer;
 
 /*
 Copyright (c) 2003-2006,  Pete Sanderson and Kenneth Vollmar
@@ -40,11 +43,17 @@ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
 public class Register extends Observable {
     private String name;
     private int number, resetValue;
-    // volatile should be enough to allow safe multi-threaded access  
-    // w/o the use of synchronized methods.  getValue and setValue
-    // are the only methods here used by the register collection
-    // (RegisterFile, Coprocessor0, Coprocessor1) methods. 
-    private volatile int value;
+    // No locking: while a program runs, the simulation thread is the only one that
+    // changes registers, and other threads go through Globals.memoryAndRegisters.
+    // getValue and setValue are the only methods here used by the register collection
+    // (RegisterFile, Coprocessor0, Coprocessor1) methods.
+    // The value is element slot of bank.  RegisterFile keeps the values of its registers
+    // in one bank, so that it can read and write them by number without the objects.
+    private final int[] bank;
+    private final int slot;
+    // Number of observers, kept here so that each access can check it without the
+    // locking done by countObservers().
+    private volatile int observerCount;
 
     /**
      * Creates a new register with specified name, number, and value.
@@ -55,9 +64,25 @@ public class Register extends Observable {
      */
 
     public Register(String n, int num, int val) {
+        this(n, num, val, new int[1], 0);
+    }
+
+    /**
+     * Creates a new register whose value is kept in an element of the given array.
+     *
+     * @param n    The name of the register.
+     * @param num  The number of the register.
+     * @param val  The inital (and reset) value of the register.
+     * @param bank Array holding the value.
+     * @param slot Index of the value in the array.
+     */
+
+    Register(String n, int num, int val, int[] bank, int slot) {
         name = n;
         number = num;
-        value = val;
+        this.bank = bank;
+        this.slot = slot;
+        bank[slot] = val;
         resetValue = val;
     }
 
@@ -78,9 +103,9 @@ public class Register extends Observable {
      * @return value The value of the Register.
      */
 
-    public synchronized int getValue() {
+    public int getValue() {
         notifyAnyObservers(AccessNotice.READ);
-        return value;
+        return bank[slot];
     }
 
 
@@ -91,8 +116,8 @@ public class Register extends Observable {
      * @return value The value of the Register.
      */
 
-    public synchronized int getValueNoNotify() {
-        return value;
+    public int getValueNoNotify() {
+        return bank[slot];
     }
 
 
@@ -124,9 +149,9 @@ public class Register extends Observable {
      * @return previous value of register
      */
 
-    public synchronized int setValue(int val) {
-        int old = value;
-        value = val;
+    public int setValue(int val) {
+        int old = bank[slot];
+        bank[slot] = val;
         notifyAnyObservers(AccessNotice.WRITE);
         return old;
     }
@@ -136,8 +161,8 @@ public class Register extends Observable {
      * Observers are not notified.
      */
 
-    public synchronized void resetValue() {
-        value = resetValue;
+    public void resetValue() {
+        bank[slot] = resetValue;
     }
 
     /**
@@ -145,15 +170,41 @@ public class Register extends Observable {
      * set when <tt>resetValue()</tt> is called.
      */
 
-    public synchronized void changeResetValue(int reset) {
+    public void changeResetValue(int reset) {
         resetValue = reset;
     }
 
+    /**
+     * Tells whether the register has observers, which must be notified of each access.
+     * Without any, its value may be accessed directly where it is kept.
+     *
+     * @return true if the register has at least one observer
+     */
+    public boolean isObserved() {
+        return observerCount > 0;
+    }
+
+    public synchronized void addObserver(Observer observer) {
+        super.addObserver(observer);
+        observerCount = countObservers();
+    }
+
+    public synchronized void deleteObserver(Observer observer) {
+        super.deleteObserver(observer);
+        observerCount = countObservers();
+    }
+
+    public synchronized void deleteObservers() {
+        super.deleteObservers();
+        observerCount = 0;
+    }
+
     //
     // Method to notify any observers of register operation that has just occurred.
     //
     private void notifyAnyObservers(int type) {
-        if (this.countObservers() > 0) {// && Globals.program != null) && Globals.program.inSteppedExecution()) {
+        if (observerCount > 0) {// && Globals.program != null) && Globals.program.inSteppedExecution()) {
+            SimulatorMetrics.observerNotified();
             this.setChanged();
             this.notifyObservers(new RegisterAccessNotice(type, this.name));
         }
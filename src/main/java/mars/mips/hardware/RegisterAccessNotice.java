@@ -48,6 +48,14 @@ public class RegisterAccessNotice extends AccessNotice {
         this.registerName = registerName;
     }
 
+    // Makes this notice describe another access, so that one object can be delivered
+    // for access after access.
+    RegisterAccessNotice reset(int type, Thread thread, String registerName) {
+        reset(type, thread);
+        this.registerName = registerName;
+        return this;
+    }
+
     /**
      * Fetch the register number of register accessed.
      */
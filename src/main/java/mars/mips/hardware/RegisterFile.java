@@ -48,29 +48,43 @@ public class RegisterFile {
     public static final int GLOBAL_POINTER_REGISTER = 28;
     public static final int STACK_POINTER_REGISTER = 29;
 
+    // Values of the general purpose registers, hi and lo, indexed by register number;
+    // element 32 is not used.  The Register objects keep their values here, so that a
+    // register nobody observes can be read and written without going through them.
+    private static final int[] values = new int[35];
+
     private static Register[] regFile =
-            {new Register("$zero", 0, 0), new Register("$at", 1, 0),
-                    new Register("$v0", 2, 0), new Register("$v1", 3, 0),
-                    new Register("$a0", 4, 0), new Register("$a1", 5, 0),
-                    new Register("$a2", 6, 0), new Register("$a3", 7, 0),
-                    new Register("$t0", 8, 0), new Register("$t1", 9, 0),
-                    new Register("$t2", 10, 0), new Register("$t3", 11, 0),
-                    new Register("$t4", 12, 0), new Register("$t5", 13, 0),
-                    new Register("$t6", 14, 0), new Register("$t7", 15, 0),
-                    new Register("$s0", 16, 0), new Register("$s1", 17, 0),
-                    new Register("$s2", 18, 0), new Register("$s3", 19, 0),
-                    new Register("$s4", 20, 0), new Register("$s5", 21, 0),
-                    new Register("$s6", 22, 0), new Register("$s7", 23, 0),
-                    new Register("$t8", 24, 0), new Register("$t9", 25, 0),
-                    new Register("$k0", 26, 0), new Register("$k1", 27, 0),
-                    new Register("$gp", GLOBAL_POINTER_REGISTER, Memory.globalPointer),
-                    new Register("$sp", STACK_POINTER_REGISTER, Memory.stackPointer),
-                    new Register("$fp", 30, 0), new Register("$ra", 31, 0)
+            {new Register("$zero", 0, 0, values, 0), new Register("$at", 1, 0, values, 1),
+                    new Register("$v0", 2, 0, values, 2), new Register("$v1", 3, 0, values, 3),
+                    new Register("$a0", 4, 0, values, 4), new Register("$a1", 5, 0, values, 5),
+                    new Register("$a2", 6, 0, values, 6), new Register("$a3", 7, 0, values, 7),
+                    new Register("$t0", 8, 0, values, 8), new Register("$t1", 9, 0, values, 9),
+                    new Register("$t2", 10, 0, values, 10), new Register("$t3", 11, 0, values, 11),
+                    new Register("$t4", 12, 0, values, 12), new Register("$t5", 13, 0, values, 13),
+                    new Register("$t6", 14, 0, values, 14), new Register("$t7", 15, 0, values, 15),
+                    new Register("$s0", 16, 0, values, 16), new Register("$s1", 17, 0, values, 17),
+                    new Register("$s2", 18, 0, values, 18), new Register("$s3", 19, 0, values, 19),
+                    new Register("$s4", 20, 0, values, 20), new Register("$s5", 21, 0, values, 21),
+                    new Register("$s6", 22, 0, values, 22), new Register("$s7", 23, 0, values, 23),
+                    new Register("$t8", 24, 0, values, 24), new Register("$t9", 25, 0, values, 25),
+                    new Register("$k0", 26, 0, values, 26), new Register("$k1", 27, 0, values, 27),
+                    new Register("$gp", GLOBAL_POINTER_REGISTER, Memory.globalPointer, values, GLOBAL_POINTER_REGISTER),
+                    new Register("$sp", STACK_POINTER_REGISTER, Memory.stackPointer, values, STACK_POINTER_REGISTER),
+                    new Register("$fp", 30, 0, values, 30), new Register("$ra", 31, 0, values, 31)
             };
 
     private static Register programCounter = new Register("pc", 32, Memory.textBaseAddress);
-    private static Register hi = new Register("hi", 33, 0);//this is an internal register with arbitrary number
-    private static Register lo = new Register("lo", 34, 0);// this is an internal register with arbitrary number
+    private static Register hi = new Register("hi", 33, 0, values, 33);//this is an internal register with arbitrary number
+    private static Register lo = new Register("lo", 34, 0, values, 34);// this is an internal register with arbitrary number
+
+    // The registers of the values above, indexed the same way.
+    private static final Register[] byNumber = new Register[values.length];
+
+    static {
+        System.arraycopy(regFile, 0, byNumber, 0, regFile.length);
+        byNumber[33] = hi;
+        byNumber[34] = lo;
+    }
 
 
     /**
@@ -95,27 +109,20 @@ public class RegisterFile {
      **/
 
     public static int updateRegister(int num, int val) {
-        int old = 0;
-        if (num == 0) {
-            //System.out.println("You can not change the value of the zero register.");
+        // $zero never changes, and numbers of no register are ignored.
+        if (num <= 0 || num >= byNumber.length || byNumber[num] == null) {
+            return 0;
+        }
+        Register register = byNumber[num];
+        int old;
+        if (register.isObserved()) {
+            old = register.setValue(val);
         } else {
-            for (Register register : regFile) {
-                if (register.getNumber() == num) {
-                    old = (Globals.getSettings().getBackSteppingEnabled())
-                            ? Globals.program.getBackStepper().addRegisterFileRestore(num, register.setValue(val))
-                            : register.setValue(val);
-                    break;
-                }
-            }
+            old = values[num];
+            values[num] = val;
         }
-        if (num == 33) {//updates the hi register
-            old = (Globals.getSettings().getBackSteppingEnabled())
-                    ? Globals.program.getBackStepper().addRegisterFileRestore(num, hi.setValue(val))
-                    : hi.setValue(val);
-        } else if (num == 34) {// updates the low register
-            old = (Globals.getSettings().getBackSteppingEnabled())
-                    ? Globals.program.getBackStepper().addRegisterFileRestore(num, lo.setValue(val))
-                    : lo.setValue(val);
+        if (Globals.getSettings().getBackSteppingEnabled()) {
+            Globals.program.getBackStepper().addRegisterFileRestore(num, old);
         }
         return old;
     }
@@ -148,13 +155,8 @@ public class RegisterFile {
      **/
 
     public static int getValue(int num) {
-        if (num == 33) {
-            return hi.getValue();
-        } else if (num == 34) {
-            return lo.getValue();
-        } else
-            return regFile[num].getValue();
-
+        Register register = byNumber[num];
+        return register.isObserved() ? register.getValue() : values[num];
     }
 
     /**
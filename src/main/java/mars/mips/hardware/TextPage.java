@@ -0,0 +1,210 @@
+package mars.mips.hardware;
+
+import mars.MipsProgram;
+import mars.ProgramStatement;
+
+/**
+ * A 4K byte page of a text segment of {@link Memory}.  The binary machine code of each
+ * word is held in an int array, and a bitmap tells which words hold an instruction at
+ * all.  A word stored by the assembler also keeps where it came from: the source file,
+ * source line and source statement, in parallel arrays allocated with the first such
+ * word.  No {@link ProgramStatement} is kept for a word until one is asked for; Memory
+ * then builds it from the machine code and source, and keeps it here so it is built
+ * only once.  Words stored by the running program, as self-modifying code does, or
+ * restored from a snapshot with changed code have no source.
+ * <p>
+ * Like the pages of a {@link PageTable}, a text page may be shared with an image, and
+ * Memory copies it before writing to it while it is.
+ */
+final class TextPage {
+    private final int[] codes;
+    private final long[] present;
+    private ProgramStatement[] statements;
+    private MipsProgram[] programs;
+    private String[] sources;
+    private int[] sourceLines;
+    private int count;
+
+    TextPage() {
+        codes = new int[PageTable.PAGE_LENGTH_WORDS];
+        present = new long[PageTable.PAGE_LENGTH_WORDS / 64];
+    }
+
+    private TextPage(TextPage original) {
+        codes = original.codes.clone();
+        present = original.present.clone();
+        statements = (original.statements == null) ? null : original.statements.clone();
+        if (original.sources != null) {
+            programs = original.programs.clone();
+            sources = original.sources.clone();
+            sourceLines = original.sourceLines.clone();
+        }
+        count = original.count;
+    }
+
+    /**
+     * @return new page holding the same words and statements, not shared with this one
+     */
+    TextPage copy() {
+        return new TextPage(this);
+    }
+
+    /**
+     * @return number of words holding an instruction
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * @param word index of the word in the page
+     * @return true if the word holds an instruction
+     */
+    boolean holds(int word) {
+        return (present[word >>> 6] & (1L << word)) != 0;
+    }
+
+    /**
+     * @param word index of a word holding an instruction
+     * @return binary machine code of the instruction
+     */
+    int code(int word) {
+        return codes[word];
+    }
+
+    /**
+     * @param word index of the word in the page
+     * @return statement of the word, or null if it has none yet or holds no instruction
+     */
+    ProgramStatement statement(int word) {
+        return (statements == null) ? null : statements[word];
+    }
+
+    /**
+     * @param word index of the word in the page
+     * @return true if the word was stored by the assembler, with its source
+     */
+    boolean hasSource(int word) {
+        return sources != null && sources[word] != null;
+    }
+
+    /**
+     * @param word index of a word with source
+     * @return the program the word was assembled from
+     */
+    MipsProgram program(int word) {
+        return programs[word];
+    }
+
+    /**
+     * @param word index of a word with source
+     * @return the source statement the word was assembled from
+     */
+    String source(int word) {
+        return sources[word];
+    }
+
+    /**
+     * @param word index of a word with source
+     * @return line number of the source statement the word was assembled from
+     */
+    int sourceLine(int word) {
+        return sourceLines[word];
+    }
+
+    /**
+     * Stores the machine code of an assembled statement, and where it came from.  The
+     * statement itself is not kept.
+     *
+     * @param word      index of the word in the page
+     * @param statement the statement, or null to leave the word without an instruction
+     */
+    void store(int word, ProgramStatement statement) {
+        if (statement == null) {
+            if (holds(word)) {
+                present[word >>> 6] &= ~(1L << word);
+                count--;
+            }
+            codes[word] = 0;
+            forget(word);
+        } else {
+            mark(word);
+            codes[word] = statement.getBinaryStatement();
+            forget(word);
+            allocateSources();
+            programs[word] = statement.getSourceMIPSprogram();
+            sources[word] = statement.getSource();
+            sourceLines[word] = statement.getSourceLine();
+        }
+    }
+
+    /**
+     * Stores machine code alone, dropping any source and statement the word had.
+     *
+     * @param word index of the word in the page
+     * @param code binary machine code of the instruction
+     */
+    void storeCode(int word, int code) {
+        mark(word);
+        codes[word] = code;
+        forget(word);
+    }
+
+    /**
+     * Stores a word of another page as it is there: its machine code, its source and
+     * any statement already built for it.
+     *
+     * @param word  index of the word in both pages
+     * @param other page holding an instruction in that word
+     */
+    void storeFrom(int word, TextPage other) {
+        mark(word);
+        codes[word] = other.codes[word];
+        forget(word);
+        if (other.hasSource(word)) {
+            allocateSources();
+            programs[word] = other.programs[word];
+            sources[word] = other.sources[word];
+            sourceLines[word] = other.sourceLines[word];
+        }
+        if (other.statement(word) != null) {
+            cache(word, other.statements[word]);
+        }
+    }
+
+    /**
+     * Keeps the statement built for a word, so it is built only once.
+     */
+    void cache(int word, ProgramStatement statement) {
+        if (statements == null) {
+            statements = new ProgramStatement[PageTable.PAGE_LENGTH_WORDS];
+        }
+        statements[word] = statement;
+    }
+
+    private void allocateSources() {
+        if (sources == null) {
+            programs = new MipsProgram[PageTable.PAGE_LENGTH_WORDS];
+            sources = new String[PageTable.PAGE_LENGTH_WORDS];
+            sourceLines = new int[PageTable.PAGE_LENGTH_WORDS];
+        }
+    }
+
+    // Drops the source and statement of a word, whose code is being replaced.
+    private void forget(int word) {
+        if (statements != null) {
+            statements[word] = null;
+        }
+        if (sources != null) {
+            programs[word] = null;
+            sources[word] = null;
+        }
+    }
+
+    private void mark(int word) {
+        if (!holds(word)) {
+            present[word >>> 6] |= 1L << word;
+            count++;
+        }
+    }
+}
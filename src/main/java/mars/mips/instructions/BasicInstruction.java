@@ -28,6 +28,8 @@ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
 (MIT license, http://www.opensource.org/licenses/mit-license.html)
  */
 
+import java.util.function.Function;
+
 /**
  * Class to represent a basic instruction in the MIPS instruction set.
  * Basic instruction means it translates directly to a 32-bit binary
@@ -38,9 +40,11 @@ public class BasicInstruction extends Instruction {
     private BasicInstructionFormat instructionFormat;
     private String operationMask;
     private SimulationCode simulationCode;
+    private Function<String, SimulationCode> simulationCodeFactory;
 
     private int opcodeMask;  // integer with 1's where constants required (0/1 become 1, f/s/t become 0)
     private int opcodeMatch; // integer matching constants required (0/1 become 0/1, f/s/t become 0)
+    private int signedOperands; // bit i set if operand i is a signed immediate (negative in the example)
 
     /**
      * BasicInstruction constructor.
@@ -71,14 +75,48 @@ public class BasicInstruction extends Instruction {
         this.mnemonic = this.extractOperator(example);
         this.description = description;
         this.instructionFormat = instrFormat;
-        this.operationMask = operMask.replaceAll(" ", ""); // squeeze out any/all spaces
+        this.operationMask = operMask.replace(" ", ""); // squeeze out any/all spaces
         if (operationMask.length() != Instruction.INSTRUCTION_LENGTH_BITS) {
             System.out.println(example + " mask not " + Instruction.INSTRUCTION_LENGTH_BITS + " bits!");
         }
         this.simulationCode = simCode;
 
-        this.opcodeMask = (int) Long.parseLong(this.operationMask.replaceAll("[01]", "1").replaceAll("[^01]", "0"), 2);
-        this.opcodeMatch = (int) Long.parseLong(this.operationMask.replaceAll("[^1]", "0"), 2);
+        // 0's and 1's become 1 in the mask; only 1's in the match.  Done without regular
+        // expressions, as every instruction is built at startup.
+        for (int i = 0; i < operationMask.length(); i++) {
+            char bit = operationMask.charAt(i);
+            this.opcodeMask = (this.opcodeMask << 1) | ((bit == '0' || bit == '1') ? 1 : 0);
+            this.opcodeMatch = (this.opcodeMatch << 1) | ((bit == '1') ? 1 : 0);
+        }
+        int operand = 0;
+        boolean start = true;
+        for (int i = this.mnemonic.length(); i < example.length(); i++) {
+            char c = example.charAt(i);
+            if (c == ',' || c == '(' || c == ')') {
+                if (!start) operand++;
+                start = true;
+            } else if (c != ' ' && c != '\t' && start) {
+                if (c == '-') this.signedOperands |= 1 << operand;
+                start = false;
+            }
+        }
+    }
+
+    /**
+     * BasicInstruction constructor for an instruction whose simulation code is created
+     * when first needed, by giving its example to a factory.
+     *
+     * @param example     An example usage of the instruction, as a String.
+     * @param description Description of the instruction.
+     * @param instrFormat The format is R, I, I-branch or J.
+     * @param operMask    The opcode mask, as for the other constructor.
+     * @param simCodeFactory Function giving the simulation code for an example.
+     * @see SimulationCode
+     */
+    public BasicInstruction(String example, String description, BasicInstructionFormat instrFormat,
+                            String operMask, Function<String, SimulationCode> simCodeFactory) {
+        this(example, description, instrFormat, operMask, (SimulationCode) null);
+        this.simulationCodeFactory = simCodeFactory;
     }
 
     /**
@@ -120,14 +158,32 @@ public class BasicInstruction extends Instruction {
     /**
      * Gets the SimulationCode object.  It is really an object of an anonymous
      * class that implements the SimulationCode interface.  Such an object has but one
-     * method: Simulate().
+     * method: Simulate().  For an instruction given a factory, it is created on
+     * the first call.
      *
      * @return the SimulationCode object for this instruction.
      * @see SimulationCode
      **/
 
     public SimulationCode getSimulationCode() {
-        return simulationCode;
+        SimulationCode code = simulationCode;
+        if (code == null && simulationCodeFactory != null) {
+            code = simulationCodeFactory.apply(exampleFormat);
+            simulationCode = code;
+        }
+        return code;
+    }
+
+    /**
+     * Tells whether an operand is a signed immediate, which the assembler stores as
+     * given and so decoding must sign-extend.  Those are the operands shown negative
+     * in the example, such as the offset of "lw $t1,-100($t2)".
+     *
+     * @param operand position of the operand, the first being 0
+     * @return true if the operand is a signed immediate
+     */
+    public boolean isSignedOperand(int operand) {
+        return (signedOperands & (1 << operand)) != 0;
     }
 
     public int getOpcodeMask() {
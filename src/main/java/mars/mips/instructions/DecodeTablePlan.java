@@ -0,0 +1,154 @@
+package mars.mips.instructions;
+
+// Generated from the basic instructions by InstructionTableGenerator.  Do not edit.
+final class DecodeTablePlan {
+
+    // CRC-32 of the opcode masks and matches of the basic instructions this plan was
+    // generated from.  See InstructionSet.decodeKey().
+    static final long INSTRUCTIONS_CRC = 0x27e4ec33L;
+
+    // For each opcode, the fields of its second index.  See InstructionSet.DecodePlan.
+    static final int[][] FIELDS = {
+            {1, 2},
+            {1},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {0, 2},
+            {0, 2},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {2},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+    };
+
+    // For each opcode, the basic instructions it may select, by their index among the
+    // basic instructions, in the order they are tried.
+    static final int[][] CANDIDATES = {
+            {0, 62, 61, 18, 19, 64, 67, 16, 17, 146, 147, 150, 151, 142, 144, 7, 8, 14, 15, 58, 56,
+                    66, 59, 57, 1, 4, 2, 5, 20, 28, 21, 25, 32, 24, 31, 50, 55, 51, 54, 27, 29, 30,
+                    60},
+            {48, 49, 44, 45, 148, 149, 152, 153, 143, 145},
+            {63},
+            {65},
+            {42},
+            {43},
+            {47},
+            {46},
+            {3},
+            {6},
+            {52},
+            {53},
+            {22},
+            {23},
+            {26},
+            {41},
+            {154, 76, 77},
+            {134, 135, 100, 106, 104, 110, 102, 108, 116, 82, 118, 112, 127, 137, 85, 86, 84, 83,
+                    130, 128, 117, 114, 115, 91, 119, 113, 120, 136, 94, 95, 93, 92, 123, 121, 101,
+                    107, 105, 111, 103, 109, 124, 131, 122, 129, 78, 87, 79, 88, 80, 89, 81, 90, 126,
+                    133, 125, 132, 98, 96, 99, 97},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {},
+            {10, 11, 12, 13, 75, 74, 9},
+            {},
+            {},
+            {},
+            {68},
+            {69},
+            {35},
+            {33},
+            {71},
+            {70},
+            {36},
+            {},
+            {72},
+            {73},
+            {39},
+            {37},
+            {},
+            {},
+            {40},
+            {},
+            {34},
+            {138},
+            {},
+            {},
+            {},
+            {139},
+            {},
+            {},
+            {38},
+            {140},
+            {},
+            {},
+            {},
+            {141},
+            {},
+            {},
+    };
+
+    private DecodeTablePlan() {
+    }
+}
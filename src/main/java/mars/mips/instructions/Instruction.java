@@ -66,7 +66,7 @@ public abstract class Instruction {
     /**
      * List of tokens generated by tokenizing example usage (see <tt>exampleFormat</tt>).
      */
-    protected TokenList tokenList;
+    protected volatile TokenList tokenList;
 
     /**
      * Get instruction mnemonic
@@ -105,9 +105,15 @@ public abstract class Instruction {
      * For example, the instruction with format "sw $1,100($2)" yields token list
      * [operator][register_number][integer][left_paren][register_number][right_parent]
      *
+     * It is built when first asked for, since most instructions are never used by a given
+     * program, and tokenizing every example would slow down startup.
+     *
      * @return TokenList object representing correct instruction usage.
      */
     public TokenList getTokenList() {
+        if (tokenList == null) {
+            createExampleTokenList();
+        }
         return tokenList;
     }
 
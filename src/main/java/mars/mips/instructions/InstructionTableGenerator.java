@@ -0,0 +1,142 @@
+package mars.mips.instructions;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * Generates {@link PseudoOpTable} from PseudoOps.txt and {@link DecodeTablePlan} from the
+ * basic instructions, so neither need be worked out at startup.  Run it whenever
+ * PseudoOps.txt or a basic instruction is changed.
+ * <p>
+ * Usage: {@code java -cp Mars.jar mars.mips.instructions.InstructionTableGenerator
+ * src/main/resources/PseudoOps.txt src/main/java/mars/mips/instructions}
+ */
+public class InstructionTableGenerator {
+
+    private InstructionTableGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Usage: InstructionTableGenerator PseudoOps.txt directory");
+            System.exit(1);
+        }
+        byte[] source = Files.readAllBytes(Paths.get(args[0]));
+        Files.write(Paths.get(args[1], "PseudoOpTable.java"),
+                generatePseudoOpTable(source).getBytes(StandardCharsets.UTF_8));
+        InstructionSet instructionSet = new InstructionSet();
+        instructionSet.populate();
+        Files.write(Paths.get(args[1], "DecodeTablePlan.java"),
+                generateDecodeTablePlan(instructionSet).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param source contents of PseudoOps.txt
+     * @return source code of the PseudoOpTable class for it
+     */
+    static String generatePseudoOpTable(byte[] source) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(source, 0, source.length);
+        StringBuilder table = new StringBuilder();
+        table.append("package mars.mips.instructions;\n\n");
+        table.append("// Generated from PseudoOps.txt by InstructionTableGenerator.  Do not edit.\n");
+        table.append("final class PseudoOpTable {\n\n");
+        table.append("    // CRC-32 of the PseudoOps.txt this table was generated from.\n");
+        table.append("    static final long SOURCE_CRC = 0x").append(Long.toHexString(crc.getValue())).append("L;\n\n");
+        table.append("    // Example, translation template, compact translation template or null, and\n");
+        table.append("    // description of each pseudo-instruction, in file order.\n");
+        table.append("    static final String[][] PSEUDO_OPS = {\n");
+        BufferedReader in = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(source)));
+        for (String line = in.readLine(); line != null; line = in.readLine()) {
+            String[] pseudoOp = InstructionSet.parsePseudoOp(line);
+            if (pseudoOp != null) {
+                table.append("            {");
+                for (int i = 0; i < pseudoOp.length; i++) {
+                    table.append((i == 0) ? "" : ", ").append(literal(pseudoOp[i]));
+                }
+                table.append("},\n");
+            }
+        }
+        table.append("    };\n\n");
+        table.append("    private PseudoOpTable() {\n");
+        table.append("    }\n");
+        table.append("}\n");
+        return table.toString();
+    }
+
+    /**
+     * @param instructionSet a populated instruction set
+     * @return source code of the DecodeTablePlan class for its basic instructions
+     */
+    static String generateDecodeTablePlan(InstructionSet instructionSet) {
+        ArrayList<BasicInstruction> basicInstructions = instructionSet.basicInstructions();
+        InstructionSet.DecodePlan plan = InstructionSet.planDecodeTable(basicInstructions);
+        StringBuilder table = new StringBuilder();
+        table.append("package mars.mips.instructions;\n\n");
+        table.append("// Generated from the basic instructions by InstructionTableGenerator.  Do not edit.\n");
+        table.append("final class DecodeTablePlan {\n\n");
+        table.append("    // CRC-32 of the opcode masks and matches of the basic instructions this plan was\n");
+        table.append("    // generated from.  See InstructionSet.decodeKey().\n");
+        table.append("    static final long INSTRUCTIONS_CRC = 0x")
+                .append(Long.toHexString(InstructionSet.decodeKey(basicInstructions))).append("L;\n\n");
+        table.append("    // For each opcode, the fields of its second index.  See InstructionSet.DecodePlan.\n");
+        table.append("    static final int[][] FIELDS = {\n");
+        appendRows(table, plan.fields);
+        table.append("    };\n\n");
+        table.append("    // For each opcode, the basic instructions it may select, by their index among the\n");
+        table.append("    // basic instructions, in the order they are tried.\n");
+        table.append("    static final int[][] CANDIDATES = {\n");
+        appendRows(table, plan.candidates);
+        table.append("    };\n\n");
+        table.append("    private DecodeTablePlan() {\n");
+        table.append("    }\n");
+        table.append("}\n");
+        return table.toString();
+    }
+
+    private static void appendRows(StringBuilder table, int[][] rows) {
+        for (int[] row : rows) {
+            StringBuilder line = new StringBuilder("            {");
+            for (int i = 0; i < row.length; i++) {
+                String value = Integer.toString(row[i]);
+                if (i > 0) {
+                    if (line.length() + value.length() + 2 > 100) {
+                        table.append(line).append(",\n");
+                        line = new StringBuilder("                    ");
+                    } else {
+                        line.append(", ");
+                    }
+                }
+                line.append(value);
+            }
+            table.append(line).append("},\n");
+        }
+    }
+
+    private static String literal(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder literal = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            } else if (c == '\n') {
+                literal.append("\\n");
+            } else if (c < ' ' || c > '~') {
+                literal.append(String.format("\\u%04x", (int) c));
+            } else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+}
@@ -0,0 +1,404 @@
+package mars.mips.instructions;
+
+// Generated from PseudoOps.txt by InstructionTableGenerator.  Do not edit.
+final class PseudoOpTable {
+
+    // CRC-32 of the PseudoOps.txt this table was generated from.
+    static final long SOURCE_CRC = 0xc17b0ab2L;
+
+    // Example, translation template, compact translation template or null, and
+    // description of each pseudo-instruction, in file order.
+    static final String[][] PSEUDO_OPS = {
+            {"not $t1,$t2", "nor RG1, RG2, $0\n", null, "Bitwise NOT (bit inversion)"},
+            {"add $t1,$t2,-100", "addi RG1, RG2, VL3\n", null, "ADDition : set $t1 to ($t2 plus 16-bit immediate)"},
+            {"add $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nadd RG1, RG2, $1\n", null, "ADDition : set $t1 to ($t2 plus 32-bit immediate)"},
+            {"addu $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\naddu RG1, RG2, $1\n", null, "ADDition Unsigned : set $t1 to ($t2 plus 32-bit immediate), no overflow"},
+            {"addi $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nadd RG1, RG2, $1\n", null, "ADDition Immediate : set $t1 to ($t2 plus 32-bit immediate)"},
+            {"addiu $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\naddu RG1, RG2, $1\n", null, "ADDition Immediate Unsigned: set $t1 to ($t2 plus 32-bit immediate), no overflow"},
+            {"sub $t1,$t2,-100", "addi $1, $0, VL3\nsub RG1, RG2, $1\n", null, "SUBtraction : set $t1 to ($t2 minus 16-bit immediate)"},
+            {"sub $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nsub RG1, RG2, $1\n", null, "SUBtraction : set $t1 to ($t2 minus 32-bit immediate)"},
+            {"subu $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nsubu RG1, RG2, $1\n", null, "SUBtraction Unsigned : set $t1 to ($t2 minus 32-bit immediate), no overflow"},
+            {"subi $t1,$t2,-100", "addi $1, $0, VL3\nsub RG1, RG2, $1\n", null, "SUBtraction Immediate : set $t1 to ($t2 minus 16-bit immediate)"},
+            {"subi $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nsub RG1, RG2, $1\n", null, "SUBtraction Immediate : set $t1 to ($t2 minus 32-bit immediate)"},
+            {"subiu $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nsubu RG1, RG2, $1\n", null, "SUBtraction Immediate Unsigned : set $t1 to ($t2 minus 32-bit immediate), no overflow"},
+            {"andi $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nand RG1, RG2, $1\n", null, "AND Immediate : set $t1 to ($t2 bitwise-AND 32-bit immediate)"},
+            {"ori $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nor RG1, RG2, $1\n", null, "OR Immediate : set $t1 to ($t2 bitwise-OR 32-bit immediate)"},
+            {"xori $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nxor RG1, RG2, $1\n", null, "XOR Immediate : set $t1 to ($t2 bitwise-exclusive-OR 32-bit immediate)"},
+            {"and $t1,$t2,100", "andi RG1, RG2, VL3U\n", null, "AND : set $t1 to ($t2 bitwise-AND 16-bit unsigned immediate)"},
+            {"or $t1,$t2,100", "ori RG1, RG2, VL3U\n", null, "OR : set $t1 to ($t2 bitwise-OR 16-bit unsigned immediate)"},
+            {"xor $t1,$t2,100", "xori RG1, RG2, VL3U\n", null, "XOR : set $t1 to ($t2 bitwise-exclusive-OR 16-bit unsigned immediate)"},
+            {"and $t1,100", "andi RG1, RG1, VL2U\n", null, "AND : set $t1 to ($t1 bitwise-AND 16-bit unsigned immediate)"},
+            {"or $t1,100", "ori RG1, RG1, VL2U\n", null, "OR : set $t1 to ($t1 bitwise-OR 16-bit unsigned immediate)"},
+            {"xor $t1,100", "xori RG1, RG1, VL2U\n", null, "XOR : set $t1 to ($t1 bitwise-exclusive-OR 16-bit unsigned immediate)"},
+            {"andi $t1,100", "andi RG1, RG1, VL2U\n", null, "AND Immediate : set $t1 to ($t1 bitwise-AND 16-bit unsigned immediate)"},
+            {"ori $t1,100", "ori RG1, RG1, VL2U\n", null, "OR Immediate : set $t1 to ($t1 bitwise-OR 16-bit unsigned immediate)"},
+            {"xori $t1,100", "xori RG1, RG1, VL2U\n", null, "XOR Immediate : set $t1 to ($t1 bitwise-exclusive-OR 16-bit unsigned immediate)"},
+            {"andi $t1,100000", "lui $1, VHL2\nori $1, $1, VL2U\nand RG1, RG1, $1\n", null, "AND Immediate : set $t1 to ($t1 bitwise-AND 32-bit immediate)"},
+            {"ori $t1,100000", "lui $1, VHL2\nori $1, $1, VL2U\nor RG1, RG1, $1\n", null, "OR Immediate : set $t1 to ($t1 bitwise-OR 32-bit immediate)"},
+            {"xori $t1,100000", "lui $1, VHL2\nori $1, $1, VL2U\nxor RG1, RG1, $1\n", null, "XOR Immediate : set $t1 to ($t1 bitwise-exclusive-OR 32-bit immediate)"},
+            {"seq $t1,$t2,$t3", "subu RG1, RG2, RG3\nori $1, $0, 1\nsltu RG1, RG1, $1\n", null, "Set EQual : if $t2 equal to $t3 then set $t1 to 1 else 0"},
+            {"seq $t1,$t2,-100", "addi $1, $0, VL3\nsubu RG1, RG2, $1\nori $1, $0, 1\nsltu RG1, RG1, $1\n", null, "Set EQual : if $t2 equal to 16-bit immediate then set $t1 to 1 else 0"},
+            {"seq $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nsubu RG1, RG2, $1\nori $1, $0, 1\nsltu RG1, RG1, $1\n", null, "Set EQual : if $t2 equal to 32-bit immediate then set $t1 to 1 else 0"},
+            {"sne $t1,$t2,$t3", "subu RG1, RG2, RG3\nsltu RG1, $0, RG1\n", null, "Set Not Equal : if $t2 not equal to $t3 then set $t1 to 1 else 0"},
+            {"sne $t1,$t2,-100", "addi $1, $0, VL3\nsubu RG1, RG2, $1\nsltu RG1, $0, RG1\n", null, "Set Not Equal : if $t2 not equal to 16-bit immediate then set $t1 to 1 else 0"},
+            {"sne $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nsubu RG1, RG2, $1\nsltu RG1, $0, RG1\n", null, "Set Not Equal : if $t2 not equal to 32-bit immediate then set $t1 to 1 else 0"},
+            {"sge $t1,$t2,$t3", "slt RG1, RG2, RG3\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Greater or Equal : if $t2 greater or equal to $t3 then set $t1 to 1 else 0"},
+            {"sge $t1,$t2,-100", "addi $1, $0, VL3\nslt RG1, RG2, $1\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Greater or Equal : if $t2 greater or equal to 16-bit immediate then set $t1 to 1 else 0"},
+            {"sge $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nslt RG1, RG2, $1\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Greater or Equal : if $t2 greater or equal to 32-bit immediate then set $t1 to 1 else 0"},
+            {"sgeu $t1,$t2,$t3", "sltu RG1, RG2, RG3\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Greater or Equal Unsigned : if $t2 greater or equal to $t3 (unsigned compare) then set $t1 to 1 else 0"},
+            {"sgeu $t1,$t2,-100", "addi $1, $0, VL3\nsltu RG1, RG2, $1\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Greater or Equal Unsigned : if $t2 greater or equal to 16-bit immediate (unsigned compare) then set $t1 to 1 else 0"},
+            {"sgeu $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nsltu RG1, RG2, $1\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Greater or Equal Unsigned : if $t2 greater or equal to 32-bit immediate (unsigned compare) then set $t1 to 1 else 0"},
+            {"sgt $t1,$t2,$t3", "slt RG1, RG3, RG2\n", null, "Set Greater Than : if $t2 greater than $t3 then set $t1 to 1 else 0"},
+            {"sgt $t1,$t2,-100", "addi $1, $0, VL3\nslt RG1, $1, RG2\n", null, "Set Greater Than : if $t2 greater than 16-bit immediate then set $t1 to 1 else 0"},
+            {"sgt $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nslt RG1, $1, RG2\n", null, "Set Greater Than : if $t2 greater than 32-bit immediate then set $t1 to 1 else 0"},
+            {"sgtu $t1,$t2,$t3", "sltu RG1, RG3, RG2\n", null, "Set Greater Than Unsigned : if $t2 greater than $t3 (unsigned compare) then set $t1 to 1 else 0"},
+            {"sgtu $t1,$t2,-100", "addi $1, $0, VL3\nsltu RG1, $1, RG2\n", null, "Set Greater Than Unsigned : if $t2 greater than 16-bit immediate (unsigned compare) then set $t1 to 1 else 0"},
+            {"sgtu $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nsltu RG1, $1, RG2\n", null, "Set Greater Than Unsigned : if $t2 greater than 32-bit immediate (unsigned compare) then set $t1 to 1 else 0"},
+            {"sle $t1,$t2,$t3", "slt RG1, RG3, RG2\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Less or Equal : if $t2 less or equal to $t3 then set $t1 to 1 else 0"},
+            {"sle $t1,$t2,-100", "addi $1, $0, VL3\nslt RG1, $1, RG2\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Less or Equal : if $t2 less or equal to 16-bit immediate then set $t1 to 1 else 0"},
+            {"sle $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nslt RG1, $1, RG2\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Less or Equal : if $t2 less or equal to 32-bit immediate then set $t1 to 1 else 0"},
+            {"sleu $t1,$t2,$t3", "sltu RG1, RG3, RG2\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Less or Equal Unsigned: if $t2 less or equal to $t3 (unsigned compare) then set $t1 to 1 else 0"},
+            {"sleu $t1,$t2,-100", "addi $1, $0, VL3\nsltu RG1, $1, RG2\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Less or Equal Unsigned: if $t2 less or equal to 16-bit immediate (unsigned compare) then set $t1 to 1 else 0"},
+            {"sleu $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nsltu RG1, $1, RG2\nori $1, $0, 1\nsubu RG1, $1, RG1\n", null, "Set Less or Equal Unsigned: if $t2 less or equal to 32-bit immediate (unsigned compare) then set $t1 to 1 else 0"},
+            {"move $t1,$t2", "addu RG1, $0, RG2\n", null, "MOVE : Set $t1 to contents of $t2"},
+            {"abs $t1,$t2", "sra $1, RG2, 31\nxor RG1, $1, RG2\nsubu RG1, RG1, $1\n", null, "ABSolute value : Set $t1 to absolute value of $t2 (algorithm from Hacker's Delight) "},
+            {"neg $t1,$t2", "sub RG1, $0, RG2\n", null, "NEGate : Set $t1 to negation of $t2"},
+            {"negu $t1,$t2", "subu RG1, $0, RG2\n", null, "NEGate Unsigned : Set $t1 to negation of $t2, no overflow"},
+            {"b label", "bgez $0, LAB\n", null, "Branch : Branch to statement at label unconditionally"},
+            {"beqz $t1,label", "beq RG1, $0, LAB\n", null, "Branch if EQual Zero : Branch to statement at label if $t1 is equal to zero"},
+            {"bnez $t1,label", "bne RG1, $0, LAB\n", null, "Branch if Not Equal Zero : Branch to statement at label if $t1 is not equal to zero"},
+            {"beq $t1,-100,label", "addi $1, $0, VL2\nbeq $1, RG1, LAB\n", null, "Branch if EQual : Branch to statement at label if $t1 is equal to 16-bit immediate"},
+            {"beq $t1,100000,label", "lui $1, VHL2\nori $1, $1, VL2U\nbeq $1, RG1, LAB\n", null, "Branch if EQual : Branch to statement at label if $t1 is equal to 32-bit immediate"},
+            {"bne $t1,-100,label", "addi $1, $0, VL2\nbne $1, RG1, LAB\n", null, "Branch if Not Equal : Branch to statement at label if $t1 is not equal to 16-bit immediate"},
+            {"bne $t1,100000,label", "lui $1, VHL2\nori $1, $1, VL2U\nbne $1, RG1, LAB\n", null, "Branch if Not Equal : Branch to statement at label if $t1 is not equal to 32-bit immediate"},
+            {"bge $t1,$t2,label", "slt $1, RG1, RG2\nbeq $1, $0, LAB\n", null, "Branch if Greater or Equal : Branch to statement at label if $t1 is greater or equal to $t2"},
+            {"bge $t1,-100,label", "slti $1, RG1, VL2\nbeq $1, $0, LAB\n", null, "Branch if Greater or Equal : Branch to statement at label if $t1 is greater or equal to 16-bit immediate"},
+            {"bge $t1,100000,label", "lui $1, VHL2\nori $1, $1, VL2U\nslt $1, RG1, $1\nbeq $1, $0, LAB\n", null, "Branch if Greater or Equal : Branch to statement at label if $t1 is greater or equal to 32-bit immediate"},
+            {"bgeu $t1,$t2,label", "sltu $1, RG1, RG2\nbeq $1, $0, LAB\n", null, "Branch if Greater or Equal Unsigned : Branch to statement at label if $t1 is greater or equal to $t2 (unsigned compare)"},
+            {"bgeu $t1,-100,label", "sltiu $1, RG1, VL2\nbeq $1, $0, LAB\n", null, "Branch if Greater or Equal Unsigned : Branch to statement at label if $t1 is greater or equal to 16-bit immediate (unsigned compare)"},
+            {"bgeu $t1,100000,label", "lui $1, VHL2\nori $1, $1, VL2U\nsltu $1, RG1, $1\nbeq $1, $0, LAB\n", null, "Branch if Greater or Equal Unsigned : Branch to statement at label if $t1 is greater or equal to 32-bit immediate (unsigned compare)"},
+            {"bgt $t1,$t2,label", "slt $1, RG2, RG1\nbne $1, $0, LAB\n", null, "Branch if Greater Than : Branch to statement at label if $t1 is greater than $t2"},
+            {"bgt $t1,-100,label", "addi $1, $0, VL2\nslt $1, $1, RG1\nbne $1, $0, LAB\n", null, "Branch if Greater Than : Branch to statement at label if $t1 is greater than 16-bit immediate"},
+            {"bgt $t1,100000,label", "lui $1, VHL2P1\nori $1, $1, VL2P1U\nslt $1, RG1, $1\nbeq $1, $0, LAB\n", null, "Branch if Greater Than : Branch to statement at label if $t1 is greater than 32-bit immediate"},
+            {"bgtu $t1,$t2,label", "sltu $1, RG2, RG1\nbne $1, $0, LAB\n", null, "Branch if Greater Than Unsigned: Branch to statement at label if $t1 is greater than $t2 (unsigned compare)"},
+            {"bgtu $t1,-100,label", "addi $1, $0, VL2\nsltu $1, $1, RG1\nbne $1, $0, LAB\n", null, "Branch if Greater Than Unsigned: Branch to statement at label if $t1 is greater than 16-bit immediate (unsigned compare)"},
+            {"bgtu $t1,100000,label", "lui $1, VHL2\nori $1, $1, VL2U\nsltu $1, $1, RG1\nbne $1, $0, LAB\n", null, "Branch if Greater Than Unsigned: Branch to statement at label if $t1 is greater than 16-bit immediate (unsigned compare)"},
+            {"ble $t1,$t2,label", "slt $1, RG2, RG1\nbeq $1, $0, LAB\n", null, "Branch if Less or Equal : Branch to statement at label if $t1 is less than or equal to $t2"},
+            {"ble $t1,-100,label", "addi $1, RG1, -1\nslti $1, $1, VL2\nbne $1, $0, LAB\n", null, "Branch if Less or Equal : Branch to statement at label if $t1 is less than or equal to 16-bit immediate"},
+            {"ble $t1,100000,label", "lui $1, VHL2P1\nori $1, $1, VL2P1U\nslt $1, RG1, $1\nbne $1, $0, LAB\n", null, "Branch if Less or Equal : Branch to statement at label if $t1 is less than or equal to 32-bit immediate"},
+            {"bleu $t1,$t2,label", "sltu $1, RG2, RG1\nbeq $1, $0, LAB\n", null, "Branch if Less or Equal Unsigned : Branch to statement at label if $t1 is less than or equal to $t2 (unsigned compare)"},
+            {"bleu $t1,-100,label", "addi $1, $0, VL2\nsltu $1, $1, RG1\nbeq $1, $0, LAB\n", null, "Branch if Less or Equal Unsigned : Branch to statement at label if $t1 is less than or equal to 16-bit immediate (unsigned compare)"},
+            {"bleu $t1,100000,label", "lui $1, VHL2\nori $1, $1, VL2U\nsltu $1, $1, RG1\nbeq $1, $0, LAB\n", null, "Branch if Less or Equal Unsigned : Branch to statement at label if $t1 is less than or equal to 32-bit immediate (unsigned compare)"},
+            {"blt $t1,$t2,label", "slt $1, RG1, RG2\nbne $1, $0, LAB\n", null, "Branch if Less Than : Branch to statement at label if $t1 is less than $t2"},
+            {"blt $t1,-100,label", "slti $1, RG1, VL2\nbne $1, $0, LAB\n", null, "Branch if Less Than : Branch to statement at label if $t1 is less than 16-bit immediate"},
+            {"blt $t1,100000,label", "lui $1, VHL2\nori $1, $1, VL2U\nslt $1, RG1, $1\nbne $1, $0, LAB\n", null, "Branch if Less Than : Branch to statement at label if $t1 is less than 32-bit immediate"},
+            {"bltu $t1,$t2,label", "sltu $1, RG1, RG2\nbne $1, $0, LAB\n", null, "Branch if Less Than Unsigned : Branch to statement at label if $t1 is less than $t2"},
+            {"bltu $t1,-100,label", "sltiu $1, RG1, VL2\nbne $1, $0, LAB\n", null, "Branch if Less Than Unsigned : Branch to statement at label if $t1 is less than 16-bit immediate"},
+            {"bltu $t1,100000,label", "lui $1, VHL2\nori $1, $1, VL2U\nsltu $1, RG1, $1\nbne $1, $0, LAB\n", null, "Branch if Less Than Unsigned : Branch to statement at label if $t1 is less than 32-bit immediate"},
+            {"rol $t1,$t2,$t3", "subu $1, $0, RG3\nsrlv $1, RG2, $1\nsllv RG1, RG2, RG3\nor RG1, RG1, $1\n", null, "ROtate Left : Set $t1 to ($t2 rotated left by number of bit positions specified in $t3)"},
+            {"rol $t1,$t2,10", "srl $1, RG2, S32\nsll RG1, RG2, OP3\nor RG1, RG1, $1\n", null, "ROtate Left : Set $t1 to ($t2 rotated left by number of bit positions specified in 5-bit immediate)"},
+            {"ror $t1,$t2,$t3", "subu $1, $0, RG3\nsllv $1, RG2, $1\nsrlv RG1, RG2, RG3\nor RG1, RG1, $1\n", null, "ROtate Right : Set $t1 to ($t2 rotated right by number of bit positions specified in $t3)"},
+            {"ror $t1,$t2,10", "sll $1, RG2, S32\nsrl RG1, RG2, OP3\nor RG1, RG1, $1\n", null, "ROtate Right : Set $t1 to ($t2 rotated right by number of bit positions specified in 5-bit immediate)"},
+            {"mfc1.d $t1,$f2", "mfc1 RG1, RG2\nmfc1 NR1, NR2\n", null, "Move From Coprocessor 1 Double : Set $t1 to contents of $f2, set next higher register from $t1 to contents of next higher register from $f2"},
+            {"mtc1.d $t1,$f2", "mtc1 RG1, RG2\nmtc1 NR1, NR2\n", null, "Move To Coprocessor 1 Double : Set $f2 to contents of $t1, set next higher register from $f2 to contents of next higher register from $t1"},
+            {"mul $t1,$t2,-100", "addi $1, $0, VL3\nmul RG1, RG2, $1\n", null, "MULtiplication : Set HI to high-order 32 bits, LO and $t1 to low-order 32 bits of the product of $t2 and 16-bit signed immediate (use mfhi to access HI, mflo to access LO)"},
+            {"mul $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nmul RG1, RG2, $1\n", null, "MULtiplication : Set HI to high-order 32 bits, LO and $t1 to low-order 32 bits of the product of $t2 and 32-bit immediate (use mfhi to access HI, mflo to access LO)"},
+            {"mulu $t1,$t2,$t3", "multu RG2, RG3\nmflo RG1\n", null, "MULtiplication Unsigned : Set HI to high-order 32 bits, LO and $t1 to low-order 32 bits of ($t2 multiplied by $t3, unsigned multiplication)"},
+            {"mulu $t1,$t2,-100", "addi $1, $0, VL3\nmultu RG2, $1\nmflo RG1\n", null, "MULtiplication Unsigned :  Set HI to high-order 32 bits, LO and $t1 to low-order 32 bits of ($t2 multiplied by 16-bit immediate, unsigned multiplication)"},
+            {"mulu $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nmultu RG2, $1\nmflo RG1\n", null, "MULtiplication Unsigned :  Set HI to high-order 32 bits, LO and $t1 to low-order 32 bits of ($t2 multiplied by 32-bit immediate, unsigned multiplication)"},
+            {"mulo $t1,$t2,$t3", "mult RG2, RG3\nmfhi $1\nmflo RG1\nsra RG1, RG1, 31\nbeq $1, RG1, BROFF12\nDBNOP\nbreak\nmflo RG1\n", null, "MULtiplication with Overflow : Set $t1 to low-order 32 bits of the product of $t2 and $t3"},
+            {"mulo $t1,$t2,-100", "addi $1, $0, VL3\nmult RG2, $1\nmfhi $1\nmflo RG1\nsra RG1, RG1, 31\nbeq $1, RG1, BROFF12\nDBNOP\nbreak\nmflo RG1\n", null, "MULtiplication with Overflow : Set $t1 to low-order 32 bits of the product of $t2 and signed 16-bit immediate"},
+            {"mulo $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nmult RG2, $1\nmfhi $1\nmflo RG1\nsra RG1, RG1, 31\nbeq $1, RG1, BROFF12\nDBNOP\nbreak\nmflo RG1\n", null, "MULtiplication with Overflow : Set $t1 to low-order 32 bits of the product of $t2 and 32-bit immediate"},
+            {"mulou $t1,$t2,$t3", "multu RG2, RG3\nmfhi $1\nbeq $1,$0, BROFF12\nDBNOP\nbreak\nmflo RG1\n", null, "MULtiplication with Overflow Unsigned : Set $t1 to low-order 32 bits of the product of $t2 and $t3"},
+            {"mulou $t1,$t2,-100", "addi $1, $0, VL3\nmultu RG2, $1\nmfhi $1\nbeq $1,$0, BROFF12\nDBNOP\nbreak\nmflo RG1\n", null, "MULtiplication with Overflow Unsigned : Set $t1 to low-order 32 bits of the product of $t2 and signed 16-bit immediate"},
+            {"mulou $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\nmultu RG2, $1\nmfhi $1\nbeq $1,$0, BROFF12\nDBNOP\nbreak\nmflo RG1\n", null, "MULtiplication with Overflow Unsigned : Set $t1 to low-order 32 bits of the product of $t2 and 32-bit immediate"},
+            {"div $t1,$t2,$t3", "bne RG3, $0, BROFF12\nDBNOP\nbreak\ndiv RG2, RG3\nmflo RG1\n", null, "DIVision : Set $t1 to ($t2 divided by $t3, integer division)"},
+            {"div $t1,$t2,-100", "addi $1, $0, VL3\ndiv RG2, $1\nmflo RG1\n", null, "DIVision : Set $t1 to ($t2 divided by 16-bit immediate, integer division)"},
+            {"div $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\ndiv RG2, $1\nmflo RG1\n", null, "DIVision : Set $t1 to ($t2 divided by 32-bit immediate, integer division)"},
+            {"divu $t1,$t2,$t3", "bne RG3, $0, BROFF12\nDBNOP\nbreak\ndivu RG2, RG3\nmflo RG1\n", null, "DIVision Unsigned :  Set $t1 to ($t2 divided by $t3, unsigned integer division)"},
+            {"divu $t1,$t2,-100", "addi $1, $0, VL3\ndivu RG2, $1\nmflo RG1\n", null, "DIVision Unsigned :  Set $t1 to ($t2 divided by 16-bit immediate, unsigned integer division)"},
+            {"divu $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\ndivu RG2, $1\nmflo RG1\n", null, "DIVision Unsigned :  Set $t1 to ($t2 divided by 32-bit immediate, unsigned integer division)"},
+            {"rem $t1,$t2,$t3", "bne RG3, $0, BROFF12\nDBNOP\nbreak\ndiv RG2, RG3\nmfhi RG1\n", null, "REMainder : Set $t1 to (remainder of $t2 divided by $t3)"},
+            {"rem $t1,$t2,-100", "addi $1, $0, VL3\ndiv RG2, $1\nmfhi RG1\n", null, "REMainder : Set $t1 to (remainder of $t2 divided by 16-bit immediate)"},
+            {"rem $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\ndiv RG2, $1\nmfhi RG1\n", null, "REMainder : Set $t1 to (remainder of $t2 divided by 32-bit immediate)"},
+            {"remu $t1,$t2,$t3", "bne RG3, $0, BROFF12\nDBNOP\nbreak\ndivu RG2, RG3\nmfhi RG1\n", null, "REMainder : Set $t1 to (remainder of $t2 divided by $t3, unsigned division)"},
+            {"remu $t1,$t2,-100", "addi $1, $0, VL3\ndivu RG2, $1\nmfhi RG1\n", null, "REMainder : Set $t1 to (remainder of $t2 divided by 16-bit immediate, unsigned division)"},
+            {"remu $t1,$t2,100000", "lui $1, VHL3\nori $1, $1, VL3U\ndivu RG2, $1\nmfhi RG1\n", null, "REMainder : Set $t1 to (remainder of $t2 divided by 32-bit immediate, unsigned division)"},
+            {"li $t1,-100", "addiu RG1, $0, VL2\n", null, "Load Immediate : Set $t1 to 16-bit immediate (sign-extended)"},
+            {"li $t1,100", "ori RG1, $0, VL2U\n", null, "Load Immediate : Set $t1 to unsigned 16-bit immediate (zero-extended)"},
+            {"li $t1,100000", "lui $1, VHL2\nori RG1, $1, VL2U\n", null, "Load Immediate : Set $t1 to 32-bit immediate"},
+            {"la $t1,($t2)", "addi RG1, RG3, 0\n", null, "Load Address : Set $t1 to contents of $t2"},
+            {"la $t1,-100", "addiu RG1, $0, VL2\n", null, "Load Address : Set $t1 to 16-bit immediate (sign-extended) "},
+            {"la $t1,100", "ori RG1, $0, VL2U\n", null, "Load Address : Set $t1 to 16-bit immediate (zero-extended) "},
+            {"la $t1,100000", "lui $1, VHL2\nori RG1, $1, VL2U\n", null, "Load Address : Set $t1 to 32-bit immediate"},
+            {"la $t1,100($t2)", "ori $1, $0, VL2U\nadd RG1, RG4, $1\n", null, "Load Address : Set $t1 to sum (of $t2 and 16-bit immediate)"},
+            {"la $t1,100000($t2)", "lui $1, VHL2\nori $1, $1, VL2U\nadd RG1, RG4, $1\n", null, "Load Address : Set $t1 to sum (of $t2 and 32-bit immediate)"},
+            {"la $t1,label", "lui $1, LHL\nori RG1, $1, LL2U\n", "addi RG1, $0, LL2\n", "Load Address : Set $t1 to label's address"},
+            {"la $t1,label($t2)", "lui $1, LHL\nori $1, $1, LL2U\nadd RG1, RG4, $1\n", "addi RG1, RG4, LL2\n", "Load Address : Set $t1 to sum (of $t2 and label's address)"},
+            {"la $t1,label+100000", "lui $1, LHPN\nori RG1, $1, LLPU\n", null, "Load Address : Set $t1 to sum (of label's address and 32-bit immediate)"},
+            {"la $t1,label+100000($t2)", "lui $1, LHPN\nori $1, $1, LLPU\nadd RG1, RG6, $1\n", null, "Load Address : Set $t1 to sum (of label's address, 32-bit immediate, and $t2)"},
+            {"lw $t1,($t2)", "lw RG1,0(RG3)\n", null, "Load Word : Set $t1 to contents of effective memory word address"},
+            {"lw $t1,-100", "lw RG1, VL2($0)\n", null, "Load Word : Set $t1 to contents of effective memory word address"},
+            {"lw $t1,100", "ori $1, $0, VL2U\nlw RG1, 0($1)\n", null, "Load Word : Set $t1 to contents of effective memory word address"},
+            {"lw $t1,100000", "lui $1, VH2\nlw RG1,VL2($1)\n", null, "Load Word : Set $t1 to contents of effective memory word address"},
+            {"lw $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nlw RG1, 0($1)\n", null, "Load Word : Set $t1 to contents of effective memory word address"},
+            {"lw $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nlw RG1, VL2($1)\n", null, "Load Word : Set $t1 to contents of effective memory word address"},
+            {"lw $t1,label", "lui $1, LH2\nlw RG1, LL2($1)\n", "lw RG1, LL2($0)\n", "Load Word : Set $t1 to contents of memory word at label's address"},
+            {"lw $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nlw RG1, LL2($1)\n", "lw RG1, LL2(RG4)\n", "Load Word : Set $t1 to contents of effective memory word address"},
+            {"lw $t1,label+100000", "lui $1, LHPA\nlw RG1, LLP($1)\n", null, "Load Word : Set $t1 to contents of effective memory word address "},
+            {"lw $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nlw RG1, LLP($1)\n", null, "Load Word : Set $t1 to contents of effective memory word address"},
+            {"sw $t1,($t2)", "sw RG1,0(RG3)\n", null, "Store Word : Store $t1 contents into effective memory word address"},
+            {"sw $t1,-100", "sw RG1, VL2($0)\n", null, "Store Word : Store $t1 contents into effective memory word address"},
+            {"sw $t1,100", "ori $1, $0, VL2U\nsw RG1, 0($1)\n", null, "Store Word : Store $t1 contents into effective memory word address"},
+            {"sw $t1,100000", "lui $1, VH2\nsw RG1,VL2($1)\n", null, "Store Word : Store $t1 contents into effective memory word address"},
+            {"sw $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nsw RG1, 0($1)\n", null, "Store Word : Store $t1 contents into effective memory word address"},
+            {"sw $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nsw RG1, VL2($1)\n", null, "Store Word : Store $t1 contents into effective memory word address"},
+            {"sw $t1,label", "lui $1, LH2\nsw RG1, LL2($1)\n", "sw RG1, LL2($0)\n", "Store Word : Store $t1 contents into memory word at label's address"},
+            {"sw $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nsw RG1, LL2($1)\n", "sw RG1, LL2(RG4)\n", "Store Word : Store $t1 contents into effective memory word address"},
+            {"sw $t1,label+100000", "lui $1, LHPA\nsw RG1, LLP($1)\n", null, "Store Word : Store $t1 contents into effective memory word address"},
+            {"sw $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nsw RG1, LLP($1)\n", null, "Store Word : Store $t1 contents into effective memory word address"},
+            {"lh $t1,($t2)", "lh RG1,0(RG3)\n", null, "Load Halfword : Set $t1 to sign-extended 16-bit value from effective memory halfword address"},
+            {"lh $t1,-100", "lh RG1, VL2($0)\n", null, "Load Halfword : Set $t1 to sign-extended 16-bit value from effective memory halfword address"},
+            {"lh $t1,100", "ori $1, $0, VL2U\nlh RG1, 0($1)\n", null, "Load Halfword : Set $t1 to sign-extended 16-bit value from effective memory halfword address"},
+            {"lh $t1,100000", "lui $1, VH2\nlh RG1,VL2($1)\n", null, "Load Halfword : Set $t1 to sign-extended 16-bit value from effective memory halfword address"},
+            {"lh $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nlh RG1, 0($1)\n", null, "Load Halfword : Set $t1 to sign-extended 16-bit value from effective memory halfword address"},
+            {"lh $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nlh RG1, VL2($1)\n", null, "Load Halfword : Set $t1 to sign-extended 16-bit value from effective memory halfword address"},
+            {"lh $t1,label", "lui $1, LH2\nlh RG1, LL2($1)\n", "lh RG1, LL2($0)\n", "Load Halfword : Set $t1 to sign-extended 16-bit value from effective memory halfword address"},
+            {"lh $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nlh RG1, LL2($1)\n", "lh RG1, LL2(RG4)\n", "Load Halfword : Set $t1 to sign-extended 16-bit value from effective memory halfword address"},
+            {"lh $t1,label+100000", "lui $1, LHPA\nlh RG1, LLP($1)\n", null, "Load Halfword : Set $t1 to sign-extended 16-bit value from effective memory halfword address"},
+            {"lh $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nlh RG1, LLP($1)\n", null, "Load Halfword : Set $t1 to sign-extended 16-bit value from effective memory halfword address"},
+            {"sh $t1,($t2)", "sh RG1,0(RG3)\n", null, "Store Halfword : Store the low-order 16 bits of $t1 into the effective memory halfword address"},
+            {"sh $t1,-100", "sh RG1, VL2($0)\n", null, "Store Halfword : Store the low-order 16 bits of $t1 into the effective memory halfword address"},
+            {"sh $t1,100", "ori $1, $0, VL2U\nsh RG1, 0($1)\n", null, "Store Halfword : Store the low-order 16 bits of $t1 into the effective memory halfword address"},
+            {"sh $t1,100000", "lui $1, VH2\nsh RG1,VL2($1)\n", null, "Store Halfword : Store the low-order 16 bits of $t1 into the effective memory halfword address"},
+            {"sh $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nsh RG1, 0($1)\n", null, "Store Halfword : Store the low-order 16 bits of $t1 into the effective memory halfword address"},
+            {"sh $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nsh RG1, VL2($1)\n", null, "Store Halfword : Store the low-order 16 bits of $t1 into the effective memory halfword address"},
+            {"sh $t1,label", "lui $1, LH2\nsh RG1, LL2($1)\n", "sh RG1, LL2($0)\n", "Store Halfword : Store the low-order 16 bits of $t1 into the effective memory halfword address"},
+            {"sh $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nsh RG1, LL2($1)\n", "sh RG1, LL2(RG4)\n", "Store Halfword : Store the low-order 16 bits of $t1 into the effective memory halfword address"},
+            {"sh $t1,label+100000", "lui $1, LHPA\nsh RG1, LLP($1)\n", null, "Store Halfword : Store the low-order 16 bits of $t1 into the effective memory halfword address"},
+            {"sh $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nsh RG1, LLP($1)\n", null, "Store Halfword : Store the low-order 16 bits of $t1 into the effective memory halfword address"},
+            {"lb $t1,($t2)", "lb RG1,0(RG3)\n", null, "Load Byte : Set $t1 to sign-extended 8-bit value from effective memory byte address"},
+            {"lb $t1,-100", "lb RG1, VL2($0)\n", null, "Load Byte : Set $t1 to sign-extended 8-bit value from effective memory byte address"},
+            {"lb $t1,100", "ori $1, $0, VL2U\nlb RG1, 0($1)\n", null, "Load Byte : Set $t1 to sign-extended 8-bit value from effective memory byte address"},
+            {"lb $t1,100000", "lui $1, VH2\nlb RG1,VL2($1)\n", null, "Load Byte : Set $t1 to sign-extended 8-bit value from effective memory byte address"},
+            {"lb $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nlb RG1, 0($1)\n", null, "Load Byte : Set $t1 to sign-extended 8-bit value from effective memory byte address"},
+            {"lb $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nlb RG1, VL2($1)\n", null, "Load Byte : Set $t1 to sign-extended 8-bit value from effective memory byte address"},
+            {"lb $t1,label", "lui $1, LH2\nlb RG1, LL2($1)\n", "lb RG1, LL2($0)\n", "Load Byte : Set $t1 to sign-extended 8-bit value from effective memory byte address"},
+            {"lb $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nlb RG1, LL2($1)\n", "lb RG1, LL2(RG4)\n", "Load Byte : Set $t1 to sign-extended 8-bit value from effective memory byte address"},
+            {"lb $t1,label+100000", "lui $1, LHPA\nlb RG1, LLP($1)\n", null, "Load Byte : Set $t1 to sign-extended 8-bit value from effective memory byte address"},
+            {"lb $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nlb RG1, LLP($1)\n", null, "Load Byte : Set $t1 to sign-extended 8-bit value from effective memory byte address"},
+            {"sb $t1,($t2)", "sb RG1,0(RG3)\n", null, "Store Byte : Store the low-order 8 bits of $t1 into the effective memory byte address"},
+            {"sb $t1,-100", "sb RG1, VL2($0)\n", null, "Store Byte : Store the low-order 8 bits of $t1 into the effective memory byte address"},
+            {"sb $t1,100", "ori $1, $0, VL2U\nsb RG1, 0($1)\n", null, "Store Byte : Store the low-order 8 bits of $t1 into the effective memory byte address"},
+            {"sb $t1,100000", "lui $1, VH2\nsb RG1,VL2($1)\n", null, "Store Byte : Store the low-order 8 bits of $t1 into the effective memory byte address"},
+            {"sb $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nsb RG1, 0($1)\n", null, "Store Byte : Store the low-order 8 bits of $t1 into the effective memory byte address"},
+            {"sb $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nsb RG1, VL2($1)\n", null, "Store Byte : Store the low-order 8 bits of $t1 into the effective memory byte address"},
+            {"sb $t1,label", "lui $1, LH2\nsb RG1, LL2($1)\n", "sb RG1, LL2($0)\n", "Store Byte : Store the low-order 8 bits of $t1 into the effective memory byte address"},
+            {"sb $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nsb RG1, LL2($1)\n", "sb RG1, LL2(RG4)\n", "Store Byte : Store the low-order 8 bits of $t1 into the effective memory byte address"},
+            {"sb $t1,label+100000", "lui $1, LHPA\nsb RG1, LLP($1)\n", null, "Store Byte : Store the low-order 8 bits of $t1 into the effective memory byte address"},
+            {"sb $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nsb RG1, LLP($1)\n", null, "Store Byte : Store the low-order 8 bits of $t1 into the effective memory byte address"},
+            {"lhu $t1,($t2)", "lhu RG1,0(RG3)\n", null, "Load Halfword Unsigned : Set $t1 to zero-extended 16-bit value from effective memory halfword address"},
+            {"lhu $t1,-100", "lhu RG1,VL2($0)\n", null, "Load Halfword Unsigned : Set $t1 to zero-extended 16-bit value from effective memory halfword address"},
+            {"lhu $t1,100", "ori $1, $0, VL2U\nlhu RG1, 0($1)\n", null, "Load Halfword Unsigned : Set $t1 to zero-extended 16-bit value from effective memory halfword address"},
+            {"lhu $t1,100000", "lui $1, VH2\nlhu RG1,VL2($1)\n", null, "Load Halfword Unsigned : Set $t1 to zero-extended 16-bit value from effective memory halfword address"},
+            {"lhu $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nlhu RG1, 0($1)\n", null, "Load Halfword Unsigned : Set $t1 to zero-extended 16-bit value from effective memory halfword address"},
+            {"lhu $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nlhu RG1, VL2($1)\n", null, "Load Halfword Unsigned : Set $t1 to zero-extended 16-bit value from effective memory halfword address"},
+            {"lhu $t1,label", "lui $1, LH2\nlhu RG1, LL2($1)\n", "lhu RG1, LL2($0)\n", "Load Halfword Unsigned : Set $t1 to zero-extended 16-bit value from effective memory halfword address"},
+            {"lhu $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nlhu RG1, LL2($1)\n", "lhu RG1, LL2(RG4)\n", "Load Halfword Unsigned : Set $t1 to zero-extended 16-bit value from effective memory halfword address"},
+            {"lhu $t1,label+100000", "lui $1, LHPA\nlhu RG1, LLP($1)\n", null, "Load Halfword Unsigned : Set $t1 to zero-extended 16-bit value from effective memory halfword address"},
+            {"lhu $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nlhu RG1, LLP($1)\n", null, "Load Halfword Unsigned : Set $t1 to zero-extended 16-bit value from effective memory halfword address"},
+            {"lbu $t1,($t2)", "lbu RG1,0(RG3)\n", null, "Load Byte Unsigned : Set $t1 to zero-extended 8-bit value from effective memory byte address"},
+            {"lbu $t1,-100", "lbu RG1,VL2($0)\n", null, "Load Byte Unsigned : Set $t1 to zero-extended 8-bit value from effective memory byte address"},
+            {"lbu $t1,100", "ori $1, $0, VL2U\nlbu RG1, 0($1)\n", null, "Load Byte Unsigned : Set $t1 to zero-extended 8-bit value from effective memory byte address"},
+            {"lbu $t1,100000", "lui $1, VH2\nlbu RG1,VL2($1)\n", null, "Load Byte Unsigned : Set $t1 to zero-extended 8-bit value from effective memory byte address"},
+            {"lbu $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nlbu RG1, 0($1)\n", null, "Load Byte Unsigned : Set $t1 to zero-extended 8-bit value from effective memory byte address"},
+            {"lbu $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nlbu RG1, VL2($1)\n", null, "Load Byte Unsigned : Set $t1 to zero-extended 8-bit value from effective memory byte address"},
+            {"lbu $t1,label", "lui $1, LH2\nlbu RG1, LL2($1)\n", "lbu RG1, LL2($0)\n", "Load Byte Unsigned : Set $t1 to zero-extended 8-bit value from effective memory byte address"},
+            {"lbu $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nlbu RG1, LL2($1)\n", "lbu RG1, LL2(RG4)\n", "Load Byte Unsigned : Set $t1 to zero-extended 8-bit value from effective memory byte address"},
+            {"lbu $t1,label+100000", "lui $1, LHPA\nlbu RG1, LLP($1)\n", null, "Load Byte Unsigned : Set $t1 to zero-extended 8-bit value from effective memory byte address"},
+            {"lbu $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nlbu RG1, LLP($1)\n", null, "Load Byte Unsigned : Set $t1 to zero-extended 8-bit value from effective memory byte address"},
+            {"lwl $t1,($t2)", "lwl RG1,0(RG3)\n", null, "Load Word Left : Load from 1 to 4 bytes left-justified into $t1, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"lwl $t1,-100", "lwl RG1,VL2($0)\n", null, "Load Word Left : Load from 1 to 4 bytes left-justified into $t1, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"lwl $t1,100", "ori $1, $0, VL2U\nlwl RG1, 0($1)\n", null, "Load Word Left : Load from 1 to 4 bytes left-justified into $t1, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"lwl $t1,100000", "lui $1, VH2\nlwl RG1,VL2($1)\n", null, "Load Word Left : Load from 1 to 4 bytes left-justified into $t1, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"lwl $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nlwl RG1, 0($1)\n", null, "Load Word Left : Load from 1 to 4 bytes left-justified into $t1, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"lwl $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nlwl RG1, VL2($1)\n", null, "Load Word Left : Load from 1 to 4 bytes left-justified into $t1, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"lwl $t1,label", "lui $1, LH2\nlwl RG1, LL2($1)\n", "lwl RG1, LL2($0)\n", "Load Word Left : Load from 1 to 4 bytes left-justified into $t1, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"lwl $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nlwl RG1, LL2($1)\n", "lwl RG1, LL2(RG4)\n", "Load Word Left : Load from 1 to 4 bytes left-justified into $t1, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"lwl $t1,label+100000", "lui $1, LHPA\nlwl RG1, LLP($1)\n", null, "Load Word Left : Load from 1 to 4 bytes left-justified into $t1, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"lwl $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nlwl RG1, LLP($1)\n", null, "Load Word Left : Load from 1 to 4 bytes left-justified into $t1, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"swl $t1,($t2)", "swl RG1,0(RG3)\n", null, "Store Word Left : Store high-order 1 to 4 bytes of $t1 into memory, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"swl $t1,-100", "swl RG1,VL2($0)\n", null, "Store Word Left : Store high-order 1 to 4 bytes of $t1 into memory, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"swl $t1,100", "ori $1, $0, VL2U\nswl RG1, 0($1)\n", null, "Store Word Left : Store high-order 1 to 4 bytes of $t1 into memory, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"swl $t1,100000", "lui $1, VH2\nswl RG1,VL2($1)\n", null, "Store Word Left : Store high-order 1 to 4 bytes of $t1 into memory, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"swl $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nswl RG1, 0($1)\n", null, "Store Word Left : Store high-order 1 to 4 bytes of $t1 into memory, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"swl $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nswl RG1, VL2($1)\n", null, "Store Word Left : Store high-order 1 to 4 bytes of $t1 into memory, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"swl $t1,label", "lui $1, LH2\nswl RG1, LL2($1)\n", "swl RG1, LL2($0)\n", "Store Word Left : Store high-order 1 to 4 bytes of $t1 into memory, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"swl $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nswl RG1, LL2($1)\n", "swl RG1, LL2(RG4)\n", "Store Word Left : Store high-order 1 to 4 bytes of $t1 into memory, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"swl $t1,label+100000", "lui $1, LHPA\nswl RG1, LLP($1)\n", null, "Store Word Left : Store high-order 1 to 4 bytes of $t1 into memory, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"swl $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nswl RG1, LLP($1)\n", null, "Store Word Left : Store high-order 1 to 4 bytes of $t1 into memory, starting with effective memory byte address and continuing through the low-order byte of its word"},
+            {"lwr $t1,($t2)", "lwr RG1,0(RG3)\n", null, "Load Word Right : Load from 1 to 4 bytes right-justified into $t1, starting with effective memory byte address and continuing through the high-order byte of its word"},
+            {"lwr $t1,-100", "lwr RG1,VL2($0)\n", null, "Load Word Right : Load from 1 to 4 bytes right-justified into $t1, starting with effective memory byte address and continuing through the high-order byte of its word"},
+            {"lwr $t1,100", "ori $1, $0, VL2U\nlwr RG1, 0($1)\n", null, "Load Word Right : Load from 1 to 4 bytes right-justified into $t1, starting with effective memory byte address and continuing through the high-order byte of its word"},
+            {"lwr $t1,100000", "lui $1, VH2\nlwr RG1,VL2($1)\n", null, "Load Word Right : Load from 1 to 4 bytes right-justified into $t1, starting with effective memory byte address and continuing through the high-order byte of its word"},
+            {"lwr $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nlwr RG1, 0($1)\n", null, "Load Word Right : Load from 1 to 4 bytes right-justified into $t1, starting with effective memory byte address and continuing through the high-order byte of its word"},
+            {"lwr $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nlwr RG1, VL2($1)\n", null, "Load Word Right : Load from 1 to 4 bytes right-justified into $t1, starting with effective memory byte address and continuing through the high-order byte of its word"},
+            {"lwr $t1,label", "lui $1, LH2\nlwr RG1, LL2($1)\n", "lwr RG1, LL2($0)\n", "Load Word Right : Load from 1 to 4 bytes right-justified into $t1, starting with effective memory byte address and continuing through the high-order byte of its word"},
+            {"lwr $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nlwr RG1, LL2($1)\n", "lwr RG1, LL2(RG4)\n", "Load Word Right : Load from 1 to 4 bytes right-justified into $t1, starting with effective memory byte address and continuing through the high-order byte of its word"},
+            {"lwr $t1,label+100000", "lui $1, LHPA\nlwr RG1, LLP($1)\n", null, "Load Word Right : Load from 1 to 4 bytes right-justified into $t1, starting with effective memory byte address and continuing through the high-order byte of its word"},
+            {"lwr $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nlwr RG1, LLP($1)\n", null, "Load Word Right : Load from 1 to 4 bytes right-justified into $t1, starting with effective memory byte address and continuing through the high-order byte of its word"},
+            {"swr $t1,($t2)", "swr RG1,0(RG3)\n", null, "Store Word Right : Store low-order 1 to 4 bytes of $t1 into memory, starting with high-order byte of word containing effective memory byte address and continuing through that byte address"},
+            {"swr $t1,-100", "swr RG1,VL2($0)\n", null, "Store Word Right : Store low-order 1 to 4 bytes of $t1 into memory, starting with high-order byte of word containing effective memory byte address and continuing through that byte address"},
+            {"swr $t1,100", "ori $1, $0, VL2U\nswr RG1, 0\n", null, "Store Word Right : Store low-order 1 to 4 bytes of $t1 into memory, starting with high-order byte of word containing effective memory byte address and continuing through that byte address"},
+            {"swr $t1,100000", "lui $1, VH2\nswr RG1,VL2($1)\n", null, "Store Word Right : Store low-order 1 to 4 bytes of $t1 into memory, starting with high-order byte of word containing effective memory byte address and continuing through that byte address"},
+            {"swr $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nswr RG1, 0($1)\n", null, "Store Word Right : Store low-order 1 to 4 bytes of $t1 into memory, starting with high-order byte of word containing effective memory byte address and continuing through that byte address"},
+            {"swr $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nswr RG1, VL2($1)\n", null, "Store Word Right : Store low-order 1 to 4 bytes of $t1 into memory, starting with high-order byte of word containing effective memory byte address and continuing through that byte address"},
+            {"swr $t1,label", "lui $1, LH2\nswr RG1, LL2($1)\n", "swr RG1, LL2($0)\n", "Store Word Right : Store low-order 1 to 4 bytes of $t1 into memory, starting with high-order byte of word containing effective memory byte address and continuing through that byte address"},
+            {"swr $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nswr RG1, LL2($1)\n", "swr RG1, LL2(RG4)\n", "Store Word Right : Store low-order 1 to 4 bytes of $t1 into memory, starting with high-order byte of word containing effective memory byte address and continuing through that byte address"},
+            {"swr $t1,label+100000", "lui $1, LHPA\nswr RG1, LLP($1)\n", null, "Store Word Right : Store low-order 1 to 4 bytes of $t1 into memory, starting with high-order byte of word containing effective memory byte address and continuing through that byte address"},
+            {"swr $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nswr RG1, LLP($1)\n", null, "Store Word Right : Store low-order 1 to 4 bytes of $t1 into memory, starting with high-order byte of word containing effective memory byte address and continuing through that byte address"},
+            {"ll $t1,($t2)", "ll RG1,0(RG3)\n", null, "Load Linked : Paired with Store Conditional (sc) to perform atomic read-modify-write.  Treated as equivalent to Load Word (lw) because MARS does not simulate multiple processors."},
+            {"ll $t1,-100", "ll RG1,VL2($0)\n", null, "Load Linked : Paired with Store Conditional (sc) to perform atomic read-modify-write.  Treated as equivalent to Load Word (lw) because MARS does not simulate multiple processors."},
+            {"ll $t1,100", "ori $1, $0, VL2U\nll RG1, 0($1)\n", null, "Load Linked : Paired with Store Conditional (sc) to perform atomic read-modify-write.  Treated as equivalent to Load Word (lw) because MARS does not simulate multiple processors."},
+            {"ll $t1,100000", "lui $1, VH2\nll RG1,VL2($1)\n", null, "Load Linked : Paired with Store Conditional (sc) to perform atomic read-modify-write.  Treated as equivalent to Load Word (lw) because MARS does not simulate multiple processors."},
+            {"ll $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nll RG1, 0($1)\n", null, "Load Linked : Paired with Store Conditional (sc) to perform atomic read-modify-write.  Treated as equivalent to Load Word (lw) because MARS does not simulate multiple processors."},
+            {"ll $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nll RG1, VL2($1)\n", null, "Load Linked : Paired with Store Conditional (sc) to perform atomic read-modify-write.  Treated as equivalent to Load Word (lw) because MARS does not simulate multiple processors."},
+            {"ll $t1,label", "lui $1, LH2\nll RG1, LL2($1)\n", "ll RG1, LL2($0)\n", "Load Linked : Paired with Store Conditional (sc) to perform atomic read-modify-write.  Treated as equivalent to Load Word (lw) because MARS does not simulate multiple processors."},
+            {"ll $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nll RG1, LL2($1)\n", "ll RG1, LL2(RG4)\n", "Load Linked : Paired with Store Conditional (sc) to perform atomic read-modify-write.  Treated as equivalent to Load Word (lw) because MARS does not simulate multiple processors."},
+            {"ll $t1,label+100000", "lui $1, LHPA\nll RG1, LLP($1)\n", null, "Load Linked : Paired with Store Conditional (sc) to perform atomic read-modify-write.  Treated as equivalent to Load Word (lw) because MARS does not simulate multiple processors."},
+            {"ll $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nll RG1, LLP($1)\n", null, "Load Linked : Paired with Store Conditional (sc) to perform atomic read-modify-write.  Treated as equivalent to Load Word (lw) because MARS does not simulate multiple processors."},
+            {"sc $t1,($t2)", "sc RG1,0(RG3)\n", null, "Store Conditional : Paired with Load Linked (ll) to perform atomic read-modify-write.  Treated as equivalent to Store Word (sw) because MARS does not simulate multiple processors."},
+            {"sc $t1,-100", "sc RG1,VL2($0)\n", null, "Store Conditional : Paired with Load Linked (ll) to perform atomic read-modify-write.  Treated as equivalent to Store Word (sw) because MARS does not simulate multiple processors."},
+            {"sc $t1,100", "ori $1, $0, VL2U\nsc RG1, 0($1)\n", null, "Store Conditional : Paired with Load Linked (ll) to perform atomic read-modify-write.  Treated as equivalent to Store Word (sw) because MARS does not simulate multiple processors."},
+            {"sc $t1,100000", "lui $1, VH2\nsc RG1,VL2($1)\n", null, "Store Conditional : Paired with Load Linked (ll) to perform atomic read-modify-write.  Treated as equivalent to Store Word (sw) because MARS does not simulate multiple processors."},
+            {"sc $t1,100($t2)", "ori $1, $0, VL2U\naddu $1, $1, RG4\nsc RG1, 0($1)\n", null, "Store Conditional : Paired with Load Linked (ll) to perform atomic read-modify-write.  Treated as equivalent to Store Word (sw) because MARS does not simulate multiple processors."},
+            {"sc $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nsc RG1, VL2($1)\n", null, "Store Conditional : Paired with Load Linked (ll) to perform atomic read-modify-write.  Treated as equivalent to Store Word (sw) because MARS does not simulate multiple processors."},
+            {"sc $t1,label", "lui $1, LH2\nsc RG1, LL2($1)\n", "sc RG1, LL2($0)\n", "Store Conditional : Paired with Load Linked (ll) to perform atomic read-modify-write.  Treated as equivalent to Store Word (sw) because MARS does not simulate multiple processors."},
+            {"sc $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nsc RG1, LL2($1)\n", "sc RG1, LL2(RG4)\n", "Store Conditional : Paired with Load Linked (ll) to perform atomic read-modify-write.  Treated as equivalent to Store Word (sw) because MARS does not simulate multiple processors."},
+            {"sc $t1,label+100000", "lui $1, LHPA\nsc RG1, LLP($1)\n", null, "Store Conditional : Paired with Load Linked (ll) to perform atomic read-modify-write.  Treated as equivalent to Store Word (sw) because MARS does not simulate multiple processors."},
+            {"sc $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nsc RG1, LLP($1)\n", null, "Store Conditional : Paired with Load Linked (ll) to perform atomic read-modify-write.  Treated as equivalent to Store Word (sw) because MARS does not simulate multiple processors."},
+            {"ulw $t1,-100($t2)", "lui $1, VH2P3\naddu $1, $1, RG4\nlwl RG1, VL2P3($1)\nlwr RG1, VL2(RG4)\n", null, "Unaligned Load Word : Set $t1 to the 32 bits starting at effective memory byte address"},
+            {"ulh $t1,-100($t2)", "lui $1, VH2P1\naddu $1, $1, RG4\nlb RG1, VL2P1($1)\nlbu $1, VL2(RG4)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, sign-extended, starting at effective memory byte address"},
+            {"ulhu $t1,-100($t2)", "lui $1, VH2P1\naddu $1, $1, RG4\nlbu RG1, VL2P1($1)\nlbu $1, VL2(RG4)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, zero-extended, starting at effective memory byte address"},
+            {"ld $t1,-100($t2)", "lw RG1, VL2(RG4)\nlui $1, VH2P4\naddu $1, $1, RG4\nlw NR1, VL2P4($1)\n", null, "Load Doubleword : Set $t1 and the next register to the 64 bits starting at effective memory byte address"},
+            {"usw $t1,-100($t2)", "lui $1, VH2P3\naddu $1, $1, RG4\nswl RG1, VL2P3($1)\nswr RG1, VL2(RG4)\n", null, "Unaligned Store Word : Store $t1 contents into the 32 bits starting at effective memory byte address"},
+            {"ush $t1,-100($t2)", "sb RG1, VL2(RG4)\nsll $1, RG1, 24\nsrl RG1, RG1, 8\nor RG1, RG1, $1\nlui $1, VH2P1\naddu $1, $1, RG4\nsb RG1, VL2P1($1)\nsrl $1, RG1, 24\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Store Halfword: Store low-order halfword $t1 contents into the 16 bits starting at effective memory byte address"},
+            {"sd $t1,-100($t2)", "sw RG1, VL2(RG4)\nlui $1, VH2P4\naddu $1, $1, RG4\nsw NR1, VL2P4($1)\n", null, "Store Doubleword : Store contents of $t1 and the next register to the 64 bits starting at effective memory byte address"},
+            {"ulw $t1,100000", "lui $1, VH2P3\nlwl RG1, VL2P3($1)\nlui $1, VH2\nlwr RG1, VL2($1)\n", null, "Unaligned Load Word : Set $t1 to the 32 bits starting at effective memory byte address"},
+            {"ulw $t1,label", "lui $1, LH2P3\nlwl RG1, LL2P3($1)\nlui $1, LH2\nlwr RG1, LL2($1)\n", null, "Unaligned Load Word : Set $t1 to the 32 bits starting at effective memory byte address"},
+            {"ulw $t1,label+100000", "lui $1, LHPAP3\nlwl RG1, LLPP3($1)\nlui $1, LHPA\nlwr RG1, LLP($1)\n", null, "Unaligned Load Word : Set $t1 to the 32 bits starting at effective memory byte address"},
+            {"ulw $t1,($t2)", "lwl RG1, 3(RG3)\nlwr RG1, 0(RG3)\n", null, "Unaligned Load Word : Set $t1 to the 32 bits starting at effective memory byte address"},
+            {"ulw $t1,100000($t2)", "lui $1, VH2P3\naddu $1, $1, RG4\nlwl RG1, VL2P3($1)\nlui $1, VH2\naddu $1, $1, RG4\nlwr RG1, VL2($1)\n", null, "Unaligned Load Word : Set $t1 to the 32 bits starting at effective memory byte address"},
+            {"ulw $t1,label($t2)", "lui $1, LH2P3\naddu $1, $1, RG4\nlwl RG1, LL2P3($1)\nlui $1, LH2\naddu $1, $1, RG4\nlwr RG1, LL2($1)\n", null, "Unaligned Load Word : Set $t1 to the 32 bits starting at effective memory byte address"},
+            {"ulw $t1,label+100000($t2)", "lui $1, LHPAP3\naddu $1, $1, RG6\nlwl RG1, LLPP3($1)\nlui $1, LHPA\naddu $1, $1, RG6\nlwr RG1, LLP($1)\n", null, "Unaligned Load Word : Set $t1 to the 32 bits starting at effective memory byte address"},
+            {"ulh $t1,100000", "lui $1, VH2P1\nlb RG1, VL2P1($1)\nlui $1, VH2\nlbu $1, VL2($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, sign-extended, starting at effective memory byte address"},
+            {"ulh $t1,label", "lui $1, LH2P1\nlb RG1, LL2P1($1)\nlui $1, LH2\nlbu $1, LL2($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, sign-extended, starting at effective memory byte address"},
+            {"ulh $t1,label+100000", "lui $1, LHPAP1\nlb RG1, LLPP1($1)\nlui $1, LHPA\nlbu $1, LLP($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, sign-extended, starting at effective memory byte address"},
+            {"ulh $t1,($t2)", "lb RG1, 1(RG3)\nlbu $1, 0(RG3)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, sign-extended, starting at effective memory byte address"},
+            {"ulh $t1,100000($t2)", "lui $1, VH2P1\naddu $1, $1, RG4\nlb RG1, VL2P1($1)\nlui $1, VH2\naddu $1, $1, RG4\nlbu $1, VL2($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, sign-extended, starting at effective memory byte address"},
+            {"ulh $t1,label($t2)", "lui $1, LH2P1\naddu $1, $1, RG4\nlb RG1, LL2P1($1)\nlui $1, LH2\naddu $1, $1, RG4\nlbu $1, LL2($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, sign-extended, starting at effective memory byte address"},
+            {"ulh $t1,label+100000($t2)", "lui $1, LHPAP1\naddu $1, $1, RG6\nlb RG1, LLPP1($1)\nlui $1, LHPA\naddu $1, $1, RG6\nlbu $1, LLP($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, sign-extended, starting at effective memory byte address"},
+            {"ulhu $t1,100000", "lui $1, VH2P1\nlbu RG1, VL2P1($1)\nlui $1, VH2\nlbu $1, VL2($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, zero-extended, starting at effective memory byte address"},
+            {"ulhu $t1,label", "lui $1, LH2P1\nlbu RG1, LL2P1($1)\nlui $1, LH2\nlbu $1, LL2($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, zero-extended, starting at effective memory byte address"},
+            {"ulhu $t1,label+100000", "lui $1, LHPAP1\nlbu RG1, LLPP1($1)\nlui $1, LHPA\nlbu $1, LLP($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, zero-extended, starting at effective memory byte address"},
+            {"ulhu $t1,($t2)", "lbu RG1, 1(RG3)\nlbu $1, 0(RG3)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, zero-extended, starting at effective memory byte address"},
+            {"ulhu $t1,100000($t2)", "lui $1, VH2P1\naddu $1, $1, RG4\nlbu RG1, VL2P1($1)\nlui $1, VH2\naddu $1, $1, RG4\nlbu $1, VL2($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, zero-extended, starting at effective memory byte address"},
+            {"ulhu $t1,label($t2)", "lui $1, LH2P1\naddu $1, $1, RG4\nlbu RG1, LL2P1($1)\nlui $1, LH2\naddu $1, $1, RG4\nlbu $1, LL2($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, zero-extended, starting at effective memory byte address"},
+            {"ulhu $t1,label+100000($t2)", "lui $1, LHPAP1\naddu $1, $1, RG6\nlbu RG1, LLPP1($1)\nlui $1, LHPA\naddu $1, $1, RG6\nlbu $1, LLP($1)\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Load Halfword : Set $t1 to the 16 bits, zero-extended, starting at effective memory byte address"},
+            {"ld $t1,100000", "lui $1, VH2\nlw RG1, VL2($1)\nlui $1, VH2P4\nlw NR1, VL2P4($1)\n", null, "Load Doubleword : Set $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"ld $t1,label", "lui $1, LH2\nlw RG1, LL2($1)\nlui $1, LH2P4\nlw NR1, LL2P4($1)\n", null, "Load Doubleword : Set $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"ld $t1,label+100000", "lui $1, LHPA\nlw RG1, LLP($1)\nlui $1, LHPAP4\nlw NR1, LLPP4($1)\n", null, "Load Doubleword : Set $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"ld $t1,($t2)", "lw RG1, 0(RG3)\nlw NR1, 4(RG3)\n", null, "Load Doubleword : Set $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"ld $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nlw RG1, VL2($1)\nlui $1, VH2P4\naddu $1, $1, RG4\nlw NR1, VL2P4($1)\n", null, "Load Doubleword : Set $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"ld $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nlw RG1, LL2($1)\nlui $1, LH2P4\naddu $1, $1, RG4\nlw NR1, LL2P4($1)\n", null, "Load Doubleword : Set $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"ld $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nlw RG1, LLP($1)\nlui $1, LHPAP4\naddu $1, $1, RG6\nlw NR1, LLPP4($1)\n", null, "Load Doubleword : Set $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"usw $t1,100000", "lui $1, VH2P3\nswl RG1, VL2P3($1)\nlui $1, VH2\nswr RG1, VL2($1)\n", null, "Unaligned Store Word : Store $t1 contents into the 32 bits starting at effective memory byte address"},
+            {"usw $t1,label", "lui $1, LH2P3\nswl RG1, LL2P3($1)\nlui $1, LH2\nswr RG1, LL2($1)\n", null, "Unaligned Store Word : Store $t1 contents into the 32 bits starting at effective memory byte address"},
+            {"usw $t1,label+100000", "lui $1, LHPAP3\nswl RG1, LLPP3($1)\nlui $1, LHPA\nswr RG1, LLP($1)\n", null, "Unaligned Store Word : Store $t1 contents into the 32 bits starting at effective memory byte address"},
+            {"usw $t1,($t2)", "swl RG1, 3(RG3)\nswr RG1, 0(RG3)\n", null, "Unaligned Store Word : Store $t1 contents into the 32 bits starting at effective memory byte address"},
+            {"usw $t1,100000($t2)", "lui $1, VH2P3\naddu $1, $1, RG4\nswl RG1, VL2P3($1)\nlui $1, VH2\naddu $1, $1, RG4\nswr RG1, VL2($1)\n", null, "Unaligned Store Word : Store $t1 contents into the 32 bits starting at effective memory byte address"},
+            {"usw $t1,label($t2)", "lui $1, LH2P3\naddu $1, $1, RG4\nswl RG1, LL2P3($1)\nlui $1, LH2\naddu $1, $1, RG4\nswr RG1, LL2($1)\n", null, "Unaligned Store Word : Store $t1 contents into the 32 bits starting at effective memory byte address"},
+            {"usw $t1,label+100000($t2)", "lui $1, LHPAP3\naddu $1, $1, RG6\nswl RG1, LLPP3($1)\nlui $1, LHPA\naddu $1, $1, RG6\nswr RG1, LLP($1)\n", null, "Unaligned Store Word : Store $t1 contents into the 32 bits starting at effective memory byte address"},
+            {"ush $t1,100000", "lui $1, VH2\nsb RG1, VL2($1)\nsll $1, RG1, 24\nsrl RG1, RG1, 8\nor RG1, RG1, $1\nlui $1, VH2P1\nsb RG1, VL2P1($1)\nsrl $1, RG1, 24\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Store Halfword: Store low-order halfword $t1 contents into the 16 bits starting at effective memory byte address"},
+            {"ush $t1,label", "lui $1, LH2\nsb RG1, LL2($1)\nsll $1, RG1, 24\nsrl RG1, RG1, 8\nor RG1, RG1, $1\nlui $1, LH2P1\nsb RG1, LL2P1($1)\nsrl $1, RG1, 24\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Store Halfword: Store low-order halfword $t1 contents into the 16 bits starting at effective memory byte address"},
+            {"ush $t1,label+100000", "lui $1, LHPA\nsb RG1, LLP($1)\nsll $1, RG1, 24\nsrl RG1, RG1, 8\nor RG1, RG1, $1\nlui $1, LHPAP1\nsb RG1, LLPP1($1)\nsrl $1, RG1, 24\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Store Halfword: Store low-order halfword $t1 contents into the 16 bits starting at effective memory byte address"},
+            {"ush $t1,($t2)", "sb RG1, 0(RG3)\nsll $1, RG1, 24\nsrl RG1, RG1, 8\nor RG1, RG1, $1\nsb RG1, 1(RG3)\nsrl $1, RG1, 24\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Store Halfword: Store low-order halfword $t1 contents into the 16 bits starting at effective memory byte address"},
+            {"ush $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nsb RG1, VL2($1)\nsll $1, RG1, 24\nsrl RG1, RG1, 8\nor RG1, RG1, $1\nlui $1, VH2P1\naddu $1, $1, RG4\nsb RG1, VL2P1($1)\nsrl $1, RG1, 24\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Store Halfword: Store low-order halfword $t1 contents into the 16 bits starting at effective memory byte address"},
+            {"ush $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nsb RG1, LL2($1)\nsll $1, RG1, 24\nsrl RG1, RG1, 8\nor RG1, RG1, $1\nlui $1, LH2P1\naddu $1, $1, RG4\nsb RG1, LL2P1($1)\nsrl $1, RG1, 24\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Store Halfword: Store low-order halfword $t1 contents into the 16 bits starting at effective memory byte address"},
+            {"ush $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nsb RG1, LLP($1)\nsll $1, RG1, 24\nsrl RG1, RG1, 8\nor RG1, RG1, $1\nlui $1, LHPAP1\naddu $1, $1, RG6\nsb RG1, LLPP1($1)\nsrl $1, RG1, 24\nsll RG1, RG1, 8\nor RG1, RG1, $1\n", null, "Unaligned Store Halfword: Store low-order halfword $t1 contents into the 16 bits starting at effective memory byte address"},
+            {"sd $t1,100000", "lui $1, VH2\nsw RG1, VL2($1)\nlui $1, VH2P4\nsw NR1, VL2P4($1)\n", null, "Store Doubleword : Store contents of $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"sd $t1,label", "lui $1, LH2\nsw RG1, LL2($1)\nlui $1, LH2P4\nsw NR1, LL2P4($1)\n", null, "Store Doubleword : Store contents of $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"sd $t1,label+100000", "lui $1, LHPA\nsw RG1, LLP($1)\nlui $1, LHPAP4\nsw NR1, LLPP4($1)\n", null, "Store Doubleword : Store contents of $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"sd $t1,($t2)", "sw RG1, 0(RG3)\nsw NR1, 4(RG3)\n", null, "Store Doubleword : Store contents of $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"sd $t1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nsw RG1, VL2($1)\nlui $1, VH2P4\naddu $1, $1, RG4\nsw NR1, VL2P4($1)\n", null, "Store Doubleword : Store contents of $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"sd $t1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nsw RG1, LL2($1)\nlui $1, LH2P4\naddu $1, $1, RG4\nsw NR1, LL2P4($1)\n", null, "Store Doubleword : Store contents of $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"sd $t1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nsw RG1, LLP($1)\nlui $1, LHPAP4\naddu $1, $1, RG6\nsw NR1, LLPP4($1)\n", null, "Store Doubleword : Store contents of $t1 and the next register to the 64 bits starting at effective memory word address"},
+            {"lwc1 $f1,($t2)", "lwc1 RG1,0(RG3)\n", null, "Load Word Coprocessor 1 : Set $f1 to 32-bit value from effective memory word address"},
+            {"lwc1 $f1,-100", "lwc1 RG1,VL2($0)\n", null, "Load Word Coprocessor 1 : Set $f1 to 32-bit value from effective memory word address"},
+            {"lwc1 $f1,100000", "lui $1, VH2\nlwc1 RG1,VL2($1)\n", null, "Load Word Coprocessor 1 : Set $f1 to 32-bit value from effective memory word address"},
+            {"lwc1 $f1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nlwc1 RG1, VL2($1)\n", null, "Load Word Coprocessor 1 : Set $f1 to 32-bit value from effective memory word address"},
+            {"lwc1 $f1,label", "lui $1, LH2\nlwc1 RG1, LL2($1)\n", "lwc1 RG1, LL2($0)\n", "Load Word Coprocessor 1 : Set $f1 to 32-bit value from effective memory word address"},
+            {"lwc1 $f1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nlwc1 RG1, LL2($1)\n", "lwc1 RG1, LL2(RG4)\n", "Load Word Coprocessor 1 : Set $f1 to 32-bit value from effective memory word address"},
+            {"lwc1 $f1,label+100000", "lui $1, LHPA\nlwc1 RG1, LLP($1)\n", null, "Load Word Coprocessor 1 : Set $f1 to 32-bit value from effective memory word address"},
+            {"lwc1 $f1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nlwc1 RG1, LLP($1)\n", null, "Load Word Coprocessor 1 : Set $f1 to 32-bit value from effective memory word address"},
+            {"ldc1 $f2,($t2)", "ldc1 RG1,0(RG3)\n", null, "Load Doubleword Coprocessor 1 : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"ldc1 $f2,-100", "ldc1 RG1,VL2($0)\n", null, "Load Doubleword Coprocessor 1 : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"ldc1 $f2,100000", "lui $1, VH2\nldc1 RG1,VL2($1)\n", null, "Load Doubleword Coprocessor 1 : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"ldc1 $f2,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nldc1 RG1, VL2($1)\n", null, "Load Doubleword Coprocessor 1 : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"ldc1 $f2,label", "lui $1, LH2\nldc1 RG1, LL2($1)\n", "ldc1 RG1, LL2($0)\n", "Load Doubleword Coprocessor 1 : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"ldc1 $f2,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nldc1 RG1, LL2($1)\n", "ldc1 RG1, LL2(RG4)\n", "Load Doubleword Coprocessor 1 : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"ldc1 $f2,label+100000", "lui $1, LHPA\nldc1 RG1, LLP($1)\n", null, "Load Doubleword Coprocessor 1 : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"ldc1 $f2,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nldc1 RG1, LLP($1)\n", null, "Load Doubleword Coprocessor 1 : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"swc1 $f1,($t2)", "swc1 RG1,0(RG3)\n", null, "Store Word Coprocessor 1 : Store 32-bit value from $f1 to effective memory word address"},
+            {"swc1 $f1,-100", "swc1 RG1,VL2($0)\n", null, "Store Word Coprocessor 1 : Store 32-bit value from $f1 to effective memory word address"},
+            {"swc1 $f1,100000", "lui $1, VH2\nswc1 RG1,VL2($1)\n", null, "Store Word Coprocessor 1 : Store 32-bit value from $f1 to effective memory word address"},
+            {"swc1 $f1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nswc1 RG1, VL2($1)\n", null, "Store Word Coprocessor 1 : Store 32-bit value from $f1 to effective memory word address"},
+            {"swc1 $f1,label", "lui $1, LH2\nswc1 RG1, LL2($1)\n", "swc1 RG1, LL2($0)\n", "Store Word Coprocessor 1 : Store 32-bit value from $f1 to effective memory word address"},
+            {"swc1 $f1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nswc1 RG1, LL2($1)\n", "swc1 RG1, LL2(RG4)\n", "Store Word Coprocessor 1 : Store 32-bit value from $f1 to effective memory word address"},
+            {"swc1 $f1,label+100000", "lui $1, LHPA\nswc1 RG1, LLP($1)\n", null, "Store Word Coprocessor 1 : Store 32-bit value from $f1 to effective memory word address"},
+            {"swc1 $f1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nswc1 RG1, LLP($1)\n", null, "Store Word Coprocessor 1 : Store 32-bit value from $f1 to effective memory word address"},
+            {"sdc1 $f2,($t2)", "sdc1 RG1,0(RG3)\n", null, "Store Doubleword Coprocessor 1 : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"sdc1 $f2,-100", "sdc1 RG1,VL2($0)\n", null, "Store Doubleword Coprocessor 1 : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"sdc1 $f2,100000", "lui $1, VH2\nsdc1 RG1,VL2($1)\n", null, "Store Doubleword Coprocessor 1 : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"sdc1 $f2,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nsdc1 RG1, VL2($1)\n", null, "Store Doubleword Coprocessor 1 : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"sdc1 $f2,label", "lui $1, LH2\nsdc1 RG1, LL2($1)\n", "sdc1 RG1, LL2($0)\n", "Store Doubleword Coprocessor 1 : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"sdc1 $f2,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nsdc1 RG1, LL2($1)\n", "sdc1 RG1, LL2(RG4)\n", "Store Doubleword Coprocessor 1 : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"sdc1 $f2,label+100000", "lui $1, LHPA\nsdc1 RG1, LLP($1)\n", null, "Store Doubleword Coprocessor 1 : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"sdc1 $f2,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nsdc1 RG1, LLP($1)\n", null, "Store Doubleword Coprocessor 1 : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"l.s $f1,($t2)", "lwc1 RG1,0(RG3)\n", null, "Load floating point Single precision : Set $f1 to 32-bit value at effective memory word address"},
+            {"l.s $f1,-100", "lwc1 RG1,VL2($0)\n", null, "Load floating point Single precision : Set $f1 to 32-bit value at effective memory word address"},
+            {"l.s $f1,100000", "lui $1, VH2\nlwc1 RG1,VL2($1)\n", null, "Load floating point Single precision : Set $f1 to 32-bit value at effective memory word address"},
+            {"l.s $f1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nlwc1 RG1, VL2($1)\n", null, "Load floating point Single precision : Set $f1 to 32-bit value at effective memory word address"},
+            {"l.s $f1,label", "lui $1, LH2\nlwc1 RG1, LL2($1)\n", "lwc1 RG1, LL2($0)\n", "Load floating point Single precision : Set $f1 to 32-bit value at effective memory word address"},
+            {"l.s $f1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nlwc1 RG1, LL2($1)\n", "lwc1 RG1, LL2(RG4)\n", "Load floating point Single precision : Set $f1 to 32-bit value at effective memory word address"},
+            {"l.s $f1,label+100000", "lui $1, LHPA\nlwc1 RG1, LLP($1)\n", null, "Load floating point Single precision : Set $f1 to 32-bit value at effective memory word address"},
+            {"l.s $f1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nlwc1 RG1, LLP($1)\n", null, "Load floating point Single precision : Set $f1 to 32-bit value at effective memory word address"},
+            {"s.s $f1,($t2)", "swc1 RG1,0(RG3)\n", null, "Store floating point Single precision : Store 32-bit value from $f1 to effective memory word address"},
+            {"s.s $f1,-100", "swc1 RG1,VL2($0)\n", null, "Store floating point Single precision : Store 32-bit value from $f1 to effective memory word address"},
+            {"s.s $f1,100000", "lui $1, VH2\nswc1 RG1,VL2($1)\n", null, "Store floating point Single precision : Store 32-bit value from $f1 to effective memory word address"},
+            {"s.s $f1,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nswc1 RG1, VL2($1)\n", null, "Store floating point Single precision : Store 32-bit value from $f1 to effective memory word address"},
+            {"s.s $f1,label", "lui $1, LH2\nswc1 RG1, LL2($1)\n", "swc1 RG1, LL2($0)\n", "Store floating point Single precision : Store 32-bit value from $f1 to effective memory word address"},
+            {"s.s $f1,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nswc1 RG1, LL2($1)\n", "swc1 RG1, LL2(RG4)\n", "Store floating point Single precision : Store 32-bit value from $f1 to effective memory word address"},
+            {"s.s $f1,label+100000", "lui $1, LHPA\nswc1 RG1, LLP($1)\n", null, "Store floating point Single precision : Store 32-bit value from $f1 to effective memory word address"},
+            {"s.s $f1,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nswc1 RG1, LLP($1)\n", null, "Store floating point Single precision : Store 32-bit value from $f1 to effective memory word address"},
+            {"l.d $f2,($t2)", "ldc1 RG1,0(RG3)\n", null, "Load floating point Double precision : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"l.d $f2,-100", "ldc1 RG1,VL2($0)\n", null, "Load floating point Double precision : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"l.d $f2,100000", "lui $1, VH2\nldc1 RG1,VL2($1)\n", null, "Load floating point Double precision : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"l.d $f2,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nldc1 RG1, VL2($1)\n", null, "Load floating point Double precision : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"l.d $f2,label", "lui $1, LH2\nldc1 RG1, LL2($1)\n", "ldc1 RG1, LL2($0)\n", "Load floating point Double precision : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"l.d $f2,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nldc1 RG1, LL2($1)\n", "ldc1 RG1, LL2(RG4)\n", "Load floating point Double precision : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"l.d $f2,label+100000", "lui $1, LHPA\nldc1 RG1, LLP($1)\n", null, "Load floating point Double precision : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"l.d $f2,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nldc1 RG1, LLP($1)\n", null, "Load floating point Double precision : Set $f2 and $f3 register pair to 64-bit value at effective memory doubleword address"},
+            {"s.d $f2,($t2)", "sdc1 RG1,0(RG3)\n", null, "Store floating point Double precision : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"s.d $f2,-100", "sdc1 RG1,VL2($0)\n", null, "Store floating point Double precision : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"s.d $f2,100000", "lui $1, VH2\nsdc1 RG1,VL2($1)\n", null, "Store floating point Double precision : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"s.d $f2,100000($t2)", "lui $1, VH2\naddu $1, $1, RG4\nsdc1 RG1, VL2($1)\n", null, "Store floating point Double precision : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"s.d $f2,label", "lui $1, LH2\nsdc1 RG1, LL2($1)\n", "sdc1 RG1, LL2($0)\n", "Store floating point Double precision : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"s.d $f2,label($t2)", "lui $1, LH2\naddu $1, $1, RG4\nsdc1 RG1, LL2($1)\n", "sdc1 RG1, LL2(RG4)\n", "Store floating point Double precision : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"s.d $f2,label+100000", "lui $1, LHPA\nsdc1 RG1, LLP($1)\n", null, "Store floating point Double precision : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+            {"s.d $f2,label+100000($t2)", "lui $1, LHPA\naddu $1, $1, RG6\nsdc1 RG1, LLP($1)\n", null, "Store floating point Double precision : Store 64 bits from $f2 and $f3 register pair to effective memory doubleword address"},
+    };
+
+    private PseudoOpTable() {
+    }
+}
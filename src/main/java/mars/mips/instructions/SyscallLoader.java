@@ -1,12 +1,11 @@
 package mars.mips.instructions;
 
 import mars.Globals;
-import mars.mips.instructions.syscalls.Syscall;
-import mars.mips.instructions.syscalls.SyscallNumberOverride;
-import mars.util.FilenameFinder;
+import mars.mips.instructions.syscalls.*;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 
 /*
 Copyright (c) 2003-2006,  Pete Sanderson and Kenneth Vollmar
@@ -41,61 +40,69 @@ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
 /* This class provides functionality to bring external Syscall definitions
  * into MARS.  This permits anyone with knowledge of the Mars public interfaces,
  * in particular of the Memory and Register classes, to write custom MIPS syscall
- * functions. This is adapted from the ToolLoader class, which is in turn adapted
- * from Bret Barker's GameServer class from the book "Developing Games In Java".
+ * functions.  The built-in syscalls are listed here, like the tools in ToolLoader.
+ * Others are found with ServiceLoader: a jar on the class path names them in
+ * META-INF/services/mars.mips.instructions.syscalls.Syscall.  Nothing is found by
+ * scanning the class path, which is slow at startup and not possible in a native image.
  */
 
 class SyscallLoader {
 
-    private static final String CLASS_PREFIX = "mars.mips.instructions.syscalls.";
-    private static final String SYSCALLS_DIRECTORY_PATH = "mars/mips/instructions/syscalls";
-    private static final String SYSCALL_INTERFACE = "Syscall.class";
-    private static final String SYSCALL_ABSTRACT = "AbstractSyscall.class";
-    private static final String CLASS_EXTENSION = "class";
-
     private ArrayList<Syscall> syscallList;
 
     /*
-     *  Dynamically loads Syscalls into an ArrayList.  This method is adapted from
-     *  the loadGameControllers() method in Bret Barker's GameServer class.
-     *  Barker (bret@hypefiend.com) is co-author of the book "Developing Games
-     *  in Java".  Also see the "loadMarsTools()" method from ToolLoader class.
+     *  Loads the built-in Syscalls and any external ones into an ArrayList.  To add a
+     *  new built-in syscall just add an instance of it to the list.  Duplicate service
+     *  numbers are detected once number overrides have been applied.
      */
     void loadSyscalls() {
         syscallList = new ArrayList<>();
-        // grab all class files in the same directory as Syscall
-        ArrayList<String> candidates = FilenameFinder.getFilenameList(this.getClass().getClassLoader(),
-                SYSCALLS_DIRECTORY_PATH, CLASS_EXTENSION);
-        HashMap<String, String> syscalls = new HashMap<>();
-        for (String file : candidates) {
-            // Do not add class if already encountered (happens if run in MARS development directory)
-            if (syscalls.containsKey(file)) {
-                continue;
-            } else {
-                syscalls.put(file, file);
-            }
-            if ((!file.equals(SYSCALL_INTERFACE)) &&
-                    (!file.equals(SYSCALL_ABSTRACT))) {
-                try {
-                    // grab the class, make sure it implements Syscall, instantiate, add to list
-                    String syscallClassName = CLASS_PREFIX + file.substring(0, file.indexOf(CLASS_EXTENSION) - 1);
-                    Class clas = Class.forName(syscallClassName);
-                    if (!Syscall.class.isAssignableFrom(clas)) {
-                        continue;
-                    }
-                    Syscall syscall = (Syscall) clas.newInstance();
-                    if (findSyscall(syscall.getNumber()) == null) {
-                        syscallList.add(syscall);
-                    } else {
-                        throw new Exception("Duplicate service number: " + syscall.getNumber() +
-                                " already registered to " +
-                                findSyscall(syscall.getNumber()).getName());
-                    }
-                } catch (Exception e) {
-                    System.out.println("Error instantiating Syscall from file " + file + ": " + e);
-                    System.exit(0);
-                }
+        syscallList.add(new SyscallClose());
+        syscallList.add(new SyscallConfirmDialog());
+        syscallList.add(new SyscallExit());
+        syscallList.add(new SyscallExit2());
+        syscallList.add(new SyscallInputDialogDouble());
+        syscallList.add(new SyscallInputDialogFloat());
+        syscallList.add(new SyscallInputDialogInt());
+        syscallList.add(new SyscallInputDialogString());
+        syscallList.add(new SyscallMessageDialog());
+        syscallList.add(new SyscallMessageDialogDouble());
+        syscallList.add(new SyscallMessageDialogFloat());
+        syscallList.add(new SyscallMessageDialogInt());
+        syscallList.add(new SyscallMessageDialogString());
+        syscallList.add(new SyscallMidiOut());
+        syscallList.add(new SyscallMidiOutSync());
+        syscallList.add(new SyscallOpen());
+        syscallList.add(new SyscallPrintChar());
+        syscallList.add(new SyscallPrintDouble());
+        syscallList.add(new SyscallPrintFloat());
+        syscallList.add(new SyscallPrintInt());
+        syscallList.add(new SyscallPrintIntBinary());
+        syscallList.add(new SyscallPrintIntHex());
+        syscallList.add(new SyscallPrintIntUnsigned());
+        syscallList.add(new SyscallPrintString());
+        syscallList.add(new SyscallRandDouble());
+        syscallList.add(new SyscallRandFloat());
+        syscallList.add(new SyscallRandInt());
+        syscallList.add(new SyscallRandIntRange());
+        syscallList.add(new SyscallRandSeed());
+        syscallList.add(new SyscallRead());
+        syscallList.add(new SyscallReadChar());
+        syscallList.add(new SyscallReadDouble());
+        syscallList.add(new SyscallReadFloat());
+        syscallList.add(new SyscallReadInt());
+        syscallList.add(new SyscallReadString());
+        syscallList.add(new SyscallSbrk());
+        syscallList.add(new SyscallSleep());
+        syscallList.add(new SyscallTime());
+        syscallList.add(new SyscallWrite());
+        try {
+            for (Syscall syscall : ServiceLoader.load(Syscall.class)) {
+                syscallList.add(syscall);
             }
+        } catch (ServiceConfigurationError e) {
+            System.out.println("Error instantiating Syscall: " + e);
+            System.exit(0);
         }
         syscallList = processSyscallNumberOverrides(syscallList);
     }
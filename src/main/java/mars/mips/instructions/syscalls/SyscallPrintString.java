@@ -7,6 +7,8 @@ import mars.mips.hardware.AddressErrorException;
 import mars.mips.hardware.RegisterFile;
 import mars.util.SystemIO;
 
+import java.nio.charset.StandardCharsets;
+
 /*
 Copyright (c) 2003-2006,  Pete Sanderson and Kenneth Vollmar
 
@@ -54,15 +56,11 @@ public class SyscallPrintString extends AbstractSyscall {
      */
     public void simulate(ProgramStatement statement) throws ProcessingException {
         int byteAddress = RegisterFile.getValue(4);
-        char ch = 0;
         try {
-            ch = (char) Globals.memory.getByte(byteAddress);
             // won't stop until NULL byte reached!
-            while (ch != 0) {
-                SystemIO.printString(Character.toString(ch));
-                byteAddress++;
-                ch = (char) Globals.memory.getByte(byteAddress);
-            }
+            byte[] string = new byte[Globals.memory.indexOfNullByte(byteAddress, Integer.MAX_VALUE)];
+            Globals.memory.getBytes(byteAddress, string, 0, string.length);
+            SystemIO.printString(new String(string, StandardCharsets.ISO_8859_1));
         } catch (AddressErrorException e) {
             throw new ProcessingException(statement, e);
         }
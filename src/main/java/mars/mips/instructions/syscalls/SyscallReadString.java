@@ -68,16 +68,17 @@ public class SyscallReadString extends AbstractSyscall {
         }
         inputString = SystemIO.readString(this.getNumber(), maxLength);
         int stringLength = Math.min(maxLength, inputString.length());
+        byte[] bytes = new byte[stringLength + 2];
+        for (int index = 0; index < stringLength; index++) {
+            bytes[index] = (byte) inputString.charAt(index);
+        }
+        int length = stringLength;
+        if (stringLength < maxLength) {
+            bytes[length++] = '\n';
+        }
+        if (addNullByte) bytes[length++] = 0;
         try {
-            for (int index = 0; index < stringLength; index++) {
-                Globals.memory.setByte(buf + index,
-                        inputString.charAt(index));
-            }
-            if (stringLength < maxLength) {
-                Globals.memory.setByte(buf + stringLength, '\n');
-                stringLength++;
-            }
-            if (addNullByte) Globals.memory.setByte(buf + stringLength, 0);
+            Globals.memory.setBytes(buf, bytes, 0, length);
         } catch (AddressErrorException e) {
             throw new ProcessingException(statement, e);
         }
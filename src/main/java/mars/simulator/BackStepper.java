@@ -4,6 +4,15 @@ import mars.*;
 import mars.mips.hardware.*;
 import mars.mips.instructions.*;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
 /*
 Copyright (c) 2003-2006,  Pete Sanderson and Kenneth Vollmar
 
@@ -54,6 +63,10 @@ public class BackStepper {
     private static final int COPROC1_CONDITION_SET = 9;
     private static final int DO_NOTHING = 10;  // instruction does not write anything.
 
+    // Flag added to the action of a step taken by an instruction executed in the delay slot
+    // of a delayed branch.
+    private static final int IN_DELAY_SLOT = 0x100;
+
     // Flag to mark BackStep object as prepresenting specific situation: user manipulates
     // memory/register value via GUI after assembling program but before running it.
     private static final int NOT_PC_VALUE = -1;
@@ -61,12 +74,9 @@ public class BackStepper {
     private boolean engaged;
     private BackstepStack backSteps;
 
-    // One can argue using java.util.Stack, given its clumsy implementation.
-    // A homegrown linked implementation will be more streamlined, but
-    // I anticipate that backstepping will only be used during timed
-    // (currently max 30 instructions/second) or stepped execution, where
-    // performance is not an issue.  Its Vector implementation may result
-    // in quicker garbage collection than a pure linked list implementation.
+    // Steps are recorded for every instruction executed while backstepping is enabled,
+    // at full speed too, so the stack below keeps them in int arrays rather than objects
+    // and spills the oldest of a long history to disk.
 
     /**
      * Create a fresh BackStepper.  It is enabled, which means all
@@ -105,6 +115,23 @@ public class BackStepper {
         return backSteps.empty();
     }
 
+    /**
+     * Returns the number of steps that can be undone.
+     *
+     * @return number of steps on the back-step stack.
+     */
+    public int size() {
+        return backSteps.size();
+    }
+
+    /**
+     * Discard all steps that could be undone.  Used when the machine state is replaced
+     * wholesale, as when a checkpoint is restored, since the steps would no longer apply.
+     */
+    public void reset() {
+        backSteps = new BackstepStack(Globals.maximumBacksteps);
+    }
+
     /**
      * Determine whether the next back-step action occurred as the result of
      * an instruction that executed in the "delay slot" of a delayed branch.
@@ -114,7 +141,7 @@ public class BackStepper {
      */
     // Added 25 June 2007
     public boolean inDelaySlot() {
-        return !empty() && backSteps.peek().inDelaySlot;
+        return !empty() && (backSteps.kinds[backSteps.peek()] & IN_DELAY_SLOT) != 0;
     }
 
     /**
@@ -127,47 +154,51 @@ public class BackStepper {
     // all store their result in register pairs which results in two store operations.  
     // Both must be undone transparently, so we need to detect that multiple steps happen
     // together and carry out all of them here.  
-    // Use a do-while loop based on the backstep's program statement reference.
+    // Use a do-while loop based on the backstep's program counter, which stands for the
+    // statement at that address.
     public void backStep() {
         if (engaged && !backSteps.empty()) {
-            ProgramStatement statement = backSteps.peek().ps;
+            int statementPc = backSteps.pcs[backSteps.peek()];
             engaged = false; // GOTTA DO THIS SO METHOD CALL IN SWITCH WILL NOT RESULT IN NEW ACTION ON STACK!
             do {
-                BackStep step = backSteps.pop();
-                if (step.pc != NOT_PC_VALUE) {
-                    RegisterFile.setProgramCounter(step.pc);
+                int step = backSteps.pop();
+                int pc = backSteps.pcs[step];
+                int param1 = backSteps.firsts[step];
+                int param2 = backSteps.seconds[step];
+                if (pc != NOT_PC_VALUE) {
+                    RegisterFile.setProgramCounter(pc);
                 }
                 try {
-                    switch (step.action) {
+                    switch (backSteps.kinds[step] & ~IN_DELAY_SLOT) {
                         case MEMORY_RESTORE_RAW_WORD:
-                            Globals.memory.setRawWord(step.param1, step.param2);
+                            Globals.memory.setRawWord(param1, param2);
                             break;
                         case MEMORY_RESTORE_WORD:
-                            Globals.memory.setWord(step.param1, step.param2);
+                            Globals.memory.setWord(param1, param2);
                             break;
                         case MEMORY_RESTORE_HALF:
-                            Globals.memory.setHalf(step.param1, step.param2);
+                            Globals.memory.setHalf(param1, param2);
                             break;
                         case MEMORY_RESTORE_BYTE:
-                            Globals.memory.setByte(step.param1, step.param2);
+                            Globals.memory.setByte(param1, param2);
                             break;
                         case REGISTER_RESTORE:
-                            RegisterFile.updateRegister(step.param1, step.param2);
+                            RegisterFile.updateRegister(param1, param2);
                             break;
                         case PC_RESTORE:
-                            RegisterFile.setProgramCounter(step.param1);
+                            RegisterFile.setProgramCounter(param1);
                             break;
                         case COPROC0_REGISTER_RESTORE:
-                            Coprocessor0.updateRegister(step.param1, step.param2);
+                            Coprocessor0.updateRegister(param1, param2);
                             break;
                         case COPROC1_REGISTER_RESTORE:
-                            Coprocessor1.updateRegister(step.param1, step.param2);
+                            Coprocessor1.updateRegister(param1, param2);
                             break;
                         case COPROC1_CONDITION_CLEAR:
-                            Coprocessor1.clearConditionFlag(step.param1);
+                            Coprocessor1.clearConditionFlag(param1);
                             break;
                         case COPROC1_CONDITION_SET:
-                            Coprocessor1.setConditionFlag(step.param1);
+                            Coprocessor1.setConditionFlag(param1);
                             break;
                         case DO_NOTHING:
                             break;
@@ -177,7 +208,7 @@ public class BackStepper {
                     System.out.println("Internal MARS error: address exception while back-stepping.");
                     System.exit(0);
                 }
-            } while (!backSteps.empty() && statement == backSteps.peek().ps);
+            } while (!backSteps.empty() && statementPc == backSteps.pcs[backSteps.peek()]);
             engaged = true;  // RESET IT (was disabled at top of loop -- see comment)
         }
     }
@@ -332,98 +363,120 @@ public class BackStepper {
      * @return 0
      */
     public int addDoNothing(int pc) {
-        if (backSteps.empty() || backSteps.peek().pc != pc) {
+        if (backSteps.empty() || backSteps.pcs[backSteps.peek()] != pc) {
             backSteps.push(DO_NOTHING, pc);
         }
         return 0;
     }
 
 
-    // Represents a "back step" (undo action) on the stack.
-    private static class BackStep {
-        private int action;  // what do do MEMORY_RESTORE_WORD, etc
-        private int pc;      // program counter value when original step occurred
-        private ProgramStatement ps;   // statement whose action is being "undone" here
-        private int param1;  // first parameter required by that action
-        private int param2;  // optional second parameter required by that action
-        private boolean inDelaySlot; // true if instruction executed in "delay slot" (delayed branching enabled)
-
-        // it is critical that BackStep object get its values by calling this method
-        // rather than assigning to individual members, because of the technique used
-        // to set its ps member (and possibly pc).
-        private void assign(int act, int programCounter, int parm1, int parm2) {
-            action = act;
-            pc = programCounter;
-            try {
-                // Client does not have direct access to program statement, and rather than making all
-                // of them go through the methods below to obtain it, we will do it here.  
-                // Want the program statement but do not want observers notified.
-                ps = Globals.memory.getStatementNoNotify(programCounter);
-            } catch (Exception e) {
-                // The only situation causing this so far: user modifies memory or register
-                // contents through direct manipulation on the GUI, after assembling the program but
-                // before starting to run it (or after backstepping all the way to the start).
-                // The action will not be associated with any instruction, but will be carried out
-                // when popped.
-                ps = null;
-                pc = NOT_PC_VALUE; // Backstep method above will see this as flag to not set PC
-            }
-            param1 = parm1;
-            param2 = parm2;
-            inDelaySlot = Simulator.inDelaySlot(); // ADDED 25 June 2007
+    // Program counter to record for a step taken by the instruction at pc.  It must be
+    // the address of a statement, or the step is taken to be one not made by any
+    // instruction: the user modified memory or register contents through direct
+    // manipulation on the GUI, after assembling the program but before starting to run
+    // it (or after backstepping all the way to the start).  Such a step is carried out
+    // when popped, but does not set the PC.
+    private static int statementPc(int pc) {
+        if (Memory.wordAligned(pc) && (Memory.inTextSegment(pc) || Memory.inKernelTextSegment(pc))) {
+            return pc;
+        }
+        try {
+            // Want to know there is a statement but do not want observers notified.
+            Globals.memory.getStatementNoNotify(pc);
+            return pc;
+        } catch (Exception e) {
+            return NOT_PC_VALUE;
         }
     }
 
     // *****************************************************************************
-    // special purpose stack class for backstepping.  You've heard of circular queues
-    // implemented with an array, right?  This is a circular stack!  When full, the
-    // newly-pushed item overwrites the oldest item, with circular top!  All operations 
-    // are constant time.  It's synchronized too, to be safe (is used by both the 
-    // simulation thread and the GUI thread for the back-step button).
-    // Upon construction, it is filled with newly-created empty BackStep objects which
-    // will exist for the life of the stack.  Push does not create a BackStep object 
-    // but instead overwrites the contents of the existing one.  Thus during MIPS
-    // program (simulated) execution, BackStep objects are never created or junked
-    // regardless of how many steps are executed.  This will speed things up a bit
-    // and make life easier for the garbage collector.
+    // special purpose stack class for backstepping.  It is a circular stack: when full,
+    // the newly-pushed step overwrites the oldest one.  All operations are constant time.
+    // It's synchronized too, to be safe (is used by both the simulation thread and the GUI
+    // thread for the back-step button).
+    // The steps are kept in parallel int arrays, one element of each per step, so pushing
+    // a step creates no objects, and a step costs 16 bytes.  A stack holding more steps
+    // than fit in MEMORY_STEPS writes the oldest ones out to a memory-mapped temporary file
+    // a chunk at a time, and reads them back in as the steps above them are popped.  The
+    // file is shared by all stacks but holds the steps of one: the last to spill.  A stack
+    // whose steps were overwritten by another's loses them, as it does any steps that
+    // could not be written or read back.
 
     private static class BackstepStack {
-        private int capacity;
-        private int size;
-        private int top;
-        private BackStep[] stack;
-
-        // Stack is created upon successful assembly or reset.  The one-time overhead of
-        // creating all the BackStep objects will not be noticed by the user, and enhances
-        // runtime performance by not having to create or recycle them during MIPS
-        // program execution.
+        private static final int CHUNK_SHIFT = 12;
+        private static final int CHUNK_STEPS = 1 << CHUNK_SHIFT;
+        private static final int CHUNK_BYTES = CHUNK_STEPS * 16;
+        private static final int MEMORY_STEPS = 16 * CHUNK_STEPS;
+        // The file is mapped a window of chunks at a time.
+        private static final int WINDOW_BYTES = 64 * CHUNK_BYTES;
+
+        private static FileChannel spillChannel;
+        private static BackstepStack spillOwner;
+        private static MappedByteBuffer window;
+        private static long windowStart;
+
+        private final int capacity;
+        private final int mask;
+        private final boolean spills;
+        // Number of chunks the file holds for this stack.  A chunk goes in the file at its
+        // number modulo this, which is more than the chunks of a full stack.
+        private final long fileChunks;
+        // The steps: action (with IN_DELAY_SLOT), program counter and two parameters.
+        private final int[] kinds;
+        private final int[] pcs;
+        private final int[] firsts;
+        private final int[] seconds;
+        // Steps are numbered from 0 in the order pushed; step n is in slot n & mask while
+        // in memory.  Steps bottom to top - 1 are on the stack, those below resident in
+        // the file.
+        private long bottom;
+        private long resident;
+        private long top;
+
+        // Stack is created upon successful assembly or reset.
         private BackstepStack(int capacity) {
-            this.capacity = capacity;
-            this.size = 0;
-            this.top = -1;
-            this.stack = new BackStep[capacity];
-            for (int i = 0; i < capacity; i++) {
-                this.stack[i] = new BackStep();
-            }
+            this.capacity = Math.max(capacity, 1);
+            spills = this.capacity > MEMORY_STEPS;
+            int length = spills ? MEMORY_STEPS : Integer.highestOneBit(Math.max(this.capacity, 2) - 1) << 1;
+            mask = length - 1;
+            fileChunks = (this.capacity >> CHUNK_SHIFT) + 2;
+            kinds = new int[length];
+            pcs = new int[length];
+            firsts = new int[length];
+            seconds = new int[length];
         }
 
         private synchronized boolean empty() {
-            return size == 0;
+            load();
+            return top == bottom;
+        }
+
+        private synchronized int size() {
+            return (int) (top - bottom);
         }
 
         private synchronized void push(int act, int programCounter, int parm1, int parm2) {
-            if (size == 0) {
-                top = 0;
-                size++;
-            } else if (size < capacity) {
-                top = (top + 1) % capacity;
-                size++;
-            } else { // size == capacity.  The top moves up one, replacing oldest entry (goodbye!)
-                top = (top + 1) % capacity;
+            if (top - resident > mask) {
+                // Memory is full.  Spill the oldest chunk, or if this stack does not, the
+                // oldest step goes (goodbye!)
+                if (spills) {
+                    if (!spill()) {
+                        bottom = resident + CHUNK_STEPS;
+                    }
+                    resident += CHUNK_STEPS;
+                } else {
+                    resident++;
+                }
+            }
+            int slot = (int) top & mask;
+            kinds[slot] = Simulator.inDelaySlot() ? act | IN_DELAY_SLOT : act; // ADDED 25 June 2007
+            pcs[slot] = statementPc(programCounter);
+            firsts[slot] = parm1;
+            seconds[slot] = parm2;
+            top++;
+            if (top - bottom > capacity) {
+                bottom = top - capacity;
             }
-            // We'll re-use existing objects rather than create/discard each time.
-            // Must use assign() method rather than series of assignment statements!
-            stack[top].assign(act, programCounter, parm1, parm2);
         }
 
         private synchronized void push(int act, int programCounter, int parm1) {
@@ -434,26 +487,87 @@ public class BackStepper {
             push(act, programCounter, 0, 0);
         }
 
+        // Returns the slot of the top step, which stays valid until the next push.
         // NO PROTECTION.  This class is used only within this file so there is no excuse
         // for trying to pop from empty stack.
-        private synchronized BackStep pop() {
-            BackStep bs;
-            bs = stack[top];
-            if (size == 1) {
-                top = -1;
-            } else {
-                top = (top + capacity - 1) % capacity;
-            }
-            size--;
-            return bs;
+        private synchronized int pop() {
+            load();
+            top--;
+            return (int) top & mask;
         }
 
+        // Returns the slot of the top step.
         // NO PROTECTION.  This class is used only within this file so there is no excuse
-        // for trying to peek from empty stack.         
-        private synchronized BackStep peek() {
-            return stack[top];
+        // for trying to peek from empty stack.
+        private synchronized int peek() {
+            load();
+            return (int) (top - 1) & mask;
+        }
+
+        // Reads the chunk below the steps in memory back in from the file, if they have all
+        // been popped.
+        private void load() {
+            if (top == resident && resident > bottom) {
+                resident -= CHUNK_STEPS;
+                if (!transfer(resident, false)) {
+                    bottom = top;
+                    resident = top;
+                }
+            }
         }
 
+        // Writes the oldest chunk in memory out to the file.
+        private boolean spill() {
+            synchronized (BackstepStack.class) {
+                if (spillOwner != this) {
+                    // Any steps of ours in the file may have been overwritten.
+                    bottom = Math.max(bottom, resident);
+                    spillOwner = this;
+                }
+            }
+            return transfer(resident, true);
+        }
+
+        // Copies the chunk of steps starting at the given one between memory and the file.
+        private boolean transfer(long step, boolean write) {
+            synchronized (BackstepStack.class) {
+                if (spillOwner != this) {
+                    return false;
+                }
+                try {
+                    IntBuffer chunk = map((step >> CHUNK_SHIFT) % fileChunks * CHUNK_BYTES);
+                    int slot = (int) step & mask;
+                    if (write) {
+                        chunk.put(kinds, slot, CHUNK_STEPS).put(pcs, slot, CHUNK_STEPS)
+                                .put(firsts, slot, CHUNK_STEPS).put(seconds, slot, CHUNK_STEPS);
+                    } else {
+                        chunk.get(kinds, slot, CHUNK_STEPS).get(pcs, slot, CHUNK_STEPS)
+                                .get(firsts, slot, CHUNK_STEPS).get(seconds, slot, CHUNK_STEPS);
+                    }
+                    return true;
+                } catch (IOException e) {
+                    return false;
+                }
+            }
+        }
+
+        // Returns the chunk of the file at the given offset, creating the file and mapping
+        // the window holding the chunk as needed.
+        private static IntBuffer map(long offset) throws IOException {
+            if (spillChannel == null) {
+                File file = File.createTempFile("mars", ".backsteps");
+                file.deleteOnExit();
+                spillChannel = new RandomAccessFile(file, "rw").getChannel();
+            }
+            long start = offset - offset % WINDOW_BYTES;
+            if (window == null || windowStart != start) {
+                window = spillChannel.map(FileChannel.MapMode.READ_WRITE, start, WINDOW_BYTES);
+                windowStart = start;
+            }
+            ByteBuffer chunk = window.duplicate();
+            chunk.position((int) (offset - start));
+            return chunk.order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
     }
 
-}
\ No newline at end of file
+}
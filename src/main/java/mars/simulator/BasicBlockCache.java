@@ -0,0 +1,172 @@
+package mars.simulator;
+
+import mars.Globals;
+import mars.ProgramStatement;
+import mars.mips.hardware.AddressErrorException;
+import mars.mips.hardware.Memory;
+import mars.mips.instructions.BasicInstruction;
+import mars.mips.instructions.BasicInstructionFormat;
+import mars.mips.instructions.Instruction;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Splits the text segment into straight-line basic blocks so the simulator can
+ * execute a run of instructions as one unit.  A block starts at whatever address
+ * control arrives at, and ends after the first branch, jump, syscall or other
+ * control transfer instruction, before the next breakpoint, or at the end of
+ * the loaded code.  Blocks are built the first time control reaches their start
+ * address and are kept until the text segment is modified.
+ * <p>
+ * A block does not guarantee that all its statements will be executed.  Any
+ * instruction can raise an exception, so the simulator leaves the block as soon
+ * as the program counter stops following the block sequentially.
+ */
+
+class BasicBlockCache {
+    // Upper bound on block length, so stop requests from the GUI are still
+    // honored promptly when the program contains long straight-line runs.
+    static final int MAXIMUM_BLOCK_LENGTH = 256;
+
+    private final HashMap<Integer, BasicBlock> blocks;
+    private final int[] breakPoints; // sorted, or null if none
+    private int textModificationCount;
+
+    /**
+     * Create an empty cache.  Blocks will not extend past any of the given breakpoints.
+     *
+     * @param breakPoints sorted array of breakpoint addresses, or null if none.
+     */
+    BasicBlockCache(int[] breakPoints) {
+        this.blocks = new HashMap<>();
+        this.breakPoints = breakPoints;
+        this.textModificationCount = Globals.memory.getTextModificationCount();
+    }
+
+    /**
+     * Returns the basic block starting at the given address, building it if necessary.
+     *
+     * @param address address of first instruction in the block
+     * @return the block, or null if there is no executable statement at that address.
+     * The simulator should then fall back to executing one statement at a time.
+     */
+    BasicBlock getBlock(int address) {
+        if (textModified()) {
+            blocks.clear();
+            textModificationCount = Globals.memory.getTextModificationCount();
+        }
+        BasicBlock block = blocks.get(address);
+        if (block == null) {
+            block = buildBlock(address);
+            if (block != null) {
+                blocks.put(address, block);
+            }
+        }
+        return block;
+    }
+
+    /**
+     * Determine whether any statement has been stored into the text segment since
+     * the cached blocks were built.  The simulator checks this after every instruction
+     * in a block, since a store can overwrite a later statement of the same block.
+     *
+     * @return true if the cached blocks may be stale, false otherwise.
+     */
+    boolean textModified() {
+        return textModificationCount != Globals.memory.getTextModificationCount();
+    }
+
+    // Collect statements sequentially from the start address until a control transfer,
+    // a breakpoint, an empty word, or the edge of the text segment is reached.
+    private BasicBlock buildBlock(int startAddress) {
+        if (!inTextSegment(startAddress)) {
+            return null;
+        }
+        ProgramStatement[] statements = new ProgramStatement[MAXIMUM_BLOCK_LENGTH];
+        BasicInstruction[] instructions = new BasicInstruction[MAXIMUM_BLOCK_LENGTH];
+        int length = 0;
+        int address = startAddress;
+        while (length < MAXIMUM_BLOCK_LENGTH) {
+            ProgramStatement statement;
+            try {
+                statement = Globals.memory.getStatementNoNotify(address);
+            } catch (AddressErrorException aee) {
+                break;
+            }
+            // Undefined instructions are reported by the single-statement path.
+            if (statement == null || !(statement.getInstruction() instanceof BasicInstruction)) {
+                break;
+            }
+            statements[length] = statement;
+            instructions[length] = (BasicInstruction) statement.getInstruction();
+            length++;
+            if (endsBlock(instructions[length - 1])) {
+                break;
+            }
+            address += Instruction.INSTRUCTION_LENGTH;
+            if (!inTextSegment(address) || isBreakPoint(address)) {
+                break;
+            }
+        }
+        if (length == 0) {
+            return null;
+        }
+        return new BasicBlock(startAddress, Arrays.copyOf(statements, length), Arrays.copyOf(instructions, length));
+    }
+
+    private boolean isBreakPoint(int address) {
+        return breakPoints != null && Arrays.binarySearch(breakPoints, address) >= 0;
+    }
+
+    private static boolean inTextSegment(int address) {
+        return Memory.inTextSegment(address) || Memory.inKernelTextSegment(address);
+    }
+
+    // Branches and jumps are recognized by their format.  The remaining control
+    // transfers (register jumps, syscall, exception return and break) are R-format
+    // so are recognized by mnemonic.
+    private static boolean endsBlock(BasicInstruction instruction) {
+        BasicInstructionFormat format = instruction.getInstructionFormat();
+        if (format == BasicInstructionFormat.I_BRANCH_FORMAT || format == BasicInstructionFormat.J_FORMAT) {
+            return true;
+        }
+        String mnemonic = instruction.getMnemonic();
+        return mnemonic.equals("jr") || mnemonic.equals("jalr") || mnemonic.equals("syscall")
+                || mnemonic.equals("eret") || mnemonic.equals("break");
+    }
+
+    /**
+     * A straight-line run of statements stored at consecutive text addresses.
+     */
+    static class BasicBlock {
+        final int startAddress;
+        final ProgramStatement[] statements;
+        final BasicInstruction[] instructions;
+        private int executionCount;
+        private BlockCompiler.CompiledStatement[] compiled;
+
+        private BasicBlock(int startAddress, ProgramStatement[] statements, BasicInstruction[] instructions) {
+            this.startAddress = startAddress;
+            this.statements = statements;
+            this.instructions = instructions;
+        }
+
+        int length() {
+            return statements.length;
+        }
+
+        /**
+         * Counts one execution of this block, and compiles it once it becomes hot.
+         *
+         * @return compiled statements for a prefix of the block (see BlockCompiler), or
+         * null if the block has not yet been executed often enough to be compiled.
+         */
+        BlockCompiler.CompiledStatement[] countExecution() {
+            if (compiled == null && ++executionCount >= BlockCompiler.COMPILE_THRESHOLD) {
+                compiled = BlockCompiler.compile(this);
+            }
+            return compiled;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package mars.simulator;
+
+import mars.Globals;
+import mars.ProcessingException;
+import mars.ProgramStatement;
+import mars.mips.hardware.AddressErrorException;
+import mars.mips.hardware.Register;
+import mars.mips.hardware.RegisterFile;
+import mars.mips.instructions.Instruction;
+
+import java.util.Arrays;
+
+/**
+ * Second execution tier of the turbo run loop.  Once a basic block has been
+ * executed often enough it is translated into an array of compiled statements,
+ * one per instruction.  Each compiled statement has its operands decoded and its
+ * registers resolved ahead of time, so executing it involves no operand array,
+ * register number lookup or program counter update.  The program counter is
+ * brought up to date by the run loop once the compiled statements have run.
+ * <p>
+ * Only the common integer instructions are compiled.  Compilation stops at the
+ * first instruction that is not, so the result covers a prefix of the block and
+ * the remaining statements (including the branch, jump or syscall that ends the
+ * block) are executed by the interpreter.  Compiled statements are kept with
+ * their block, so they are dropped together with it when the text segment is
+ * modified.
+ * <p>
+ * Compiled statements behave exactly like the simulation code of the instructions
+ * they replace, including runtime exceptions.  When one occurs the program counter
+ * is first set as though the faulting instruction had been interpreted, so the
+ * exception is reported and handled in the usual way.
+ */
+
+class BlockCompiler {
+    /**
+     * Number of times a block is executed by the interpreter before it is compiled.
+     */
+    static final int COMPILE_THRESHOLD = 50;
+
+    private static final CompiledStatement NOP = () -> {
+    };
+
+    /**
+     * A single instruction whose operands have been bound at compile time.
+     */
+    interface CompiledStatement {
+        void execute() throws ProcessingException;
+    }
+
+    private BlockCompiler() {
+    }
+
+    /**
+     * Compile the longest prefix of the block that consists of supported instructions.
+     *
+     * @param block the block to compile
+     * @return compiled statements for the prefix, possibly empty.
+     */
+    static CompiledStatement[] compile(BasicBlockCache.BasicBlock block) {
+        CompiledStatement[] compiled = new CompiledStatement[block.length()];
+        int length = 0;
+        while (length < block.length()) {
+            int address = block.startAddress + length * Instruction.INSTRUCTION_LENGTH;
+            CompiledStatement statement = compile(block.statements[length], address);
+            if (statement == null) {
+                break;
+            }
+            compiled[length++] = statement;
+        }
+        return Arrays.copyOf(compiled, length);
+    }
+
+    // Returns null if the instruction is not supported.  The operand order and
+    // arithmetic of each case mirror the simulation code in InstructionSet.
+    private static CompiledStatement compile(ProgramStatement statement, int address) {
+        int[] operands = statement.getOperands();
+        Register[] registers = RegisterFile.getRegisters();
+        switch (statement.getInstruction().getMnemonic()) {
+            case "nop":
+                return NOP;
+            case "addu": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rs = registers[operands[1]], rt = registers[operands[2]];
+                return () -> rd.setValue(rs.getValue() + rt.getValue());
+            }
+            case "subu": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rs = registers[operands[1]], rt = registers[operands[2]];
+                return () -> rd.setValue(rs.getValue() - rt.getValue());
+            }
+            case "addiu": {
+                if (operands[0] == 0) return NOP;
+                Register rt = registers[operands[0]], rs = registers[operands[1]];
+                int immediate = operands[2] << 16 >> 16;
+                return () -> rt.setValue(rs.getValue() + immediate);
+            }
+            case "add": {
+                Register rd = registers[operands[0]], rs = registers[operands[1]], rt = registers[operands[2]];
+                boolean writes = operands[0] != 0;
+                return () -> {
+                    int add1 = rs.getValue();
+                    int add2 = rt.getValue();
+                    int sum = add1 + add2;
+                    if ((add1 >= 0 && add2 >= 0 && sum < 0)
+                            || (add1 < 0 && add2 < 0 && sum >= 0)) {
+                        throw overflow(statement, address);
+                    }
+                    if (writes) rd.setValue(sum);
+                };
+            }
+            case "sub": {
+                Register rd = registers[operands[0]], rs = registers[operands[1]], rt = registers[operands[2]];
+                boolean writes = operands[0] != 0;
+                return () -> {
+                    int sub1 = rs.getValue();
+                    int sub2 = rt.getValue();
+                    int dif = sub1 - sub2;
+                    if ((sub1 >= 0 && sub2 < 0 && dif < 0)
+                            || (sub1 < 0 && sub2 >= 0 && dif >= 0)) {
+                        throw overflow(statement, address);
+                    }
+                    if (writes) rd.setValue(dif);
+                };
+            }
+            case "addi": {
+                Register rt = registers[operands[0]], rs = registers[operands[1]];
+                int add2 = operands[2] << 16 >> 16;
+                boolean writes = operands[0] != 0;
+                return () -> {
+                    int add1 = rs.getValue();
+                    int sum = add1 + add2;
+                    if ((add1 >= 0 && add2 >= 0 && sum < 0)
+                            || (add1 < 0 && add2 < 0 && sum >= 0)) {
+                        throw overflow(statement, address);
+                    }
+                    if (writes) rt.setValue(sum);
+                };
+            }
+            case "and": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rs = registers[operands[1]], rt = registers[operands[2]];
+                return () -> rd.setValue(rs.getValue() & rt.getValue());
+            }
+            case "or": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rs = registers[operands[1]], rt = registers[operands[2]];
+                return () -> rd.setValue(rs.getValue() | rt.getValue());
+            }
+            case "xor": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rs = registers[operands[1]], rt = registers[operands[2]];
+                return () -> rd.setValue(rs.getValue() ^ rt.getValue());
+            }
+            case "nor": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rs = registers[operands[1]], rt = registers[operands[2]];
+                return () -> rd.setValue(~(rs.getValue() | rt.getValue()));
+            }
+            case "andi": {
+                if (operands[0] == 0) return NOP;
+                Register rt = registers[operands[0]], rs = registers[operands[1]];
+                int immediate = operands[2] & 0x0000FFFF;
+                return () -> rt.setValue(rs.getValue() & immediate);
+            }
+            case "ori": {
+                if (operands[0] == 0) return NOP;
+                Register rt = registers[operands[0]], rs = registers[operands[1]];
+                int immediate = operands[2] & 0x0000FFFF;
+                return () -> rt.setValue(rs.getValue() | immediate);
+            }
+            case "xori": {
+                if (operands[0] == 0) return NOP;
+                Register rt = registers[operands[0]], rs = registers[operands[1]];
+                int immediate = operands[2] & 0x0000FFFF;
+                return () -> rt.setValue(rs.getValue() ^ immediate);
+            }
+            case "lui": {
+                if (operands[0] == 0) return NOP;
+                Register rt = registers[operands[0]];
+                int value = operands[1] << 16;
+                return () -> rt.setValue(value);
+            }
+            case "sll": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rt = registers[operands[1]];
+                int shamt = operands[2];
+                return () -> rd.setValue(rt.getValue() << shamt);
+            }
+            case "srl": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rt = registers[operands[1]];
+                int shamt = operands[2];
+                return () -> rd.setValue(rt.getValue() >>> shamt);
+            }
+            case "sra": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rt = registers[operands[1]];
+                int shamt = operands[2];
+                return () -> rd.setValue(rt.getValue() >> shamt);
+            }
+            case "sllv": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rt = registers[operands[1]], rs = registers[operands[2]];
+                return () -> rd.setValue(rt.getValue() << (rs.getValue() & 0x0000001F));
+            }
+            case "srlv": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rt = registers[operands[1]], rs = registers[operands[2]];
+                return () -> rd.setValue(rt.getValue() >>> (rs.getValue() & 0x0000001F));
+            }
+            case "srav": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rt = registers[operands[1]], rs = registers[operands[2]];
+                return () -> rd.setValue(rt.getValue() >> (rs.getValue() & 0x0000001F));
+            }
+            case "slt": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rs = registers[operands[1]], rt = registers[operands[2]];
+                return () -> rd.setValue(rs.getValue() < rt.getValue() ? 1 : 0);
+            }
+            case "sltu": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]], rs = registers[operands[1]], rt = registers[operands[2]];
+                return () -> rd.setValue(Integer.compareUnsigned(rs.getValue(), rt.getValue()) < 0 ? 1 : 0);
+            }
+            case "slti": {
+                if (operands[0] == 0) return NOP;
+                Register rt = registers[operands[0]], rs = registers[operands[1]];
+                int immediate = operands[2] << 16 >> 16;
+                return () -> rt.setValue(rs.getValue() < immediate ? 1 : 0);
+            }
+            case "sltiu": {
+                if (operands[0] == 0) return NOP;
+                Register rt = registers[operands[0]], rs = registers[operands[1]];
+                int immediate = operands[2] << 16 >> 16;
+                return () -> rt.setValue(Integer.compareUnsigned(rs.getValue(), immediate) < 0 ? 1 : 0);
+            }
+            case "mul": {
+                Register rs = registers[operands[1]], rt = registers[operands[2]];
+                int rd = operands[0];
+                return () -> {
+                    long product = (long) rs.getValue() * (long) rt.getValue();
+                    RegisterFile.updateRegister(rd, (int) product);
+                    RegisterFile.updateRegister(33, (int) (product >> 32));
+                    RegisterFile.updateRegister(34, (int) product);
+                };
+            }
+            case "mult": {
+                Register rs = registers[operands[0]], rt = registers[operands[1]];
+                return () -> {
+                    long product = (long) rs.getValue() * (long) rt.getValue();
+                    RegisterFile.updateRegister(33, (int) (product >> 32));
+                    RegisterFile.updateRegister(34, (int) product);
+                };
+            }
+            case "mfhi": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]];
+                return () -> rd.setValue(RegisterFile.getValue(33));
+            }
+            case "mflo": {
+                if (operands[0] == 0) return NOP;
+                Register rd = registers[operands[0]];
+                return () -> rd.setValue(RegisterFile.getValue(34));
+            }
+            case "lw": {
+                Register rt = registers[operands[0]], base = registers[operands[2]];
+                int offset = operands[1];
+                boolean writes = operands[0] != 0;
+                return () -> {
+                    int value;
+                    try {
+                        value = Globals.memory.getWord(base.getValue() + offset);
+                    } catch (AddressErrorException e) {
+                        throw addressError(statement, address, e);
+                    }
+                    if (writes) rt.setValue(value);
+                };
+            }
+            case "lb": {
+                Register rt = registers[operands[0]], base = registers[operands[2]];
+                int offset = operands[1] << 16 >> 16;
+                boolean writes = operands[0] != 0;
+                return () -> {
+                    int value;
+                    try {
+                        value = Globals.memory.getByte(base.getValue() + offset) << 24 >> 24;
+                    } catch (AddressErrorException e) {
+                        throw addressError(statement, address, e);
+                    }
+                    if (writes) rt.setValue(value);
+                };
+            }
+            case "lbu": {
+                Register rt = registers[operands[0]], base = registers[operands[2]];
+                int offset = operands[1] << 16 >> 16;
+                boolean writes = operands[0] != 0;
+                return () -> {
+                    int value;
+                    try {
+                        value = Globals.memory.getByte(base.getValue() + offset) & 0x000000ff;
+                    } catch (AddressErrorException e) {
+                        throw addressError(statement, address, e);
+                    }
+                    if (writes) rt.setValue(value);
+                };
+            }
+            case "lh": {
+                Register rt = registers[operands[0]], base = registers[operands[2]];
+                int offset = operands[1] << 16 >> 16;
+                boolean writes = operands[0] != 0;
+                return () -> {
+                    int value;
+                    try {
+                        value = Globals.memory.getHalf(base.getValue() + offset) << 16 >> 16;
+                    } catch (AddressErrorException e) {
+                        throw addressError(statement, address, e);
+                    }
+                    if (writes) rt.setValue(value);
+                };
+            }
+            case "lhu": {
+                Register rt = registers[operands[0]], base = registers[operands[2]];
+                int offset = operands[1] << 16 >> 16;
+                boolean writes = operands[0] != 0;
+                return () -> {
+                    int value;
+                    try {
+                        value = Globals.memory.getHalf(base.getValue() + offset) & 0x0000ffff;
+                    } catch (AddressErrorException e) {
+                        throw addressError(statement, address, e);
+                    }
+                    if (writes) rt.setValue(value);
+                };
+            }
+            case "sw": {
+                Register rt = registers[operands[0]], base = registers[operands[2]];
+                int offset = operands[1];
+                return () -> {
+                    try {
+                        Globals.memory.setWord(base.getValue() + offset, rt.getValue());
+                    } catch (AddressErrorException e) {
+                        throw addressError(statement, address, e);
+                    }
+                };
+            }
+            case "sb": {
+                Register rt = registers[operands[0]], base = registers[operands[2]];
+                int offset = operands[1] << 16 >> 16;
+                return () -> {
+                    try {
+                        Globals.memory.setByte(base.getValue() + offset, rt.getValue() & 0x000000ff);
+                    } catch (AddressErrorException e) {
+                        throw addressError(statement, address, e);
+                    }
+                };
+            }
+            case "sh": {
+                Register rt = registers[operands[0]], base = registers[operands[2]];
+                int offset = operands[1] << 16 >> 16;
+                return () -> {
+                    try {
+                        Globals.memory.setHalf(base.getValue() + offset, rt.getValue() & 0x0000ffff);
+                    } catch (AddressErrorException e) {
+                        throw addressError(statement, address, e);
+                    }
+                };
+            }
+            default:
+                return null;
+        }
+    }
+
+    // The exception constructors compute the faulting address (and EPC) from the
+    // program counter, so it has to be set as the interpreter would have left it.
+    private static ProcessingException overflow(ProgramStatement statement, int address) {
+        RegisterFile.setProgramCounter(address + Instruction.INSTRUCTION_LENGTH);
+        return new ProcessingException(statement, "arithmetic overflow", Exceptions.ARITHMETIC_OVERFLOW_EXCEPTION);
+    }
+
+    private static ProcessingException addressError(ProgramStatement statement, int address, AddressErrorException e) {
+        RegisterFile.setProgramCounter(address + Instruction.INSTRUCTION_LENGTH);
+        return new ProcessingException(statement, e);
+    }
+}
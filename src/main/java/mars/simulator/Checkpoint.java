@@ -0,0 +1,195 @@
+package mars.simulator;
+
+import mars.Globals;
+import mars.mips.hardware.*;
+import mars.util.SystemIO;
+
+import java.io.*;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Saves the complete machine state to a file and restores it later, so a long
+ * simulation can be stopped and resumed, or a program can be started again from
+ * an interesting point without rerunning everything before it.
+ * <p>
+ * The state is the memory configuration, the general purpose, hi, lo and program
+ * counter registers, the Coprocessor 0 and 1 registers and condition flags, the
+ * delayed branch state, the contents of memory and the table of open files.  Only
+ * allocated memory blocks are written, so the file is roughly the size of the memory
+ * the program actually uses.  The file is read through a memory mapping rather than
+ * a stream.
+ * <p>
+ * The program should be assembled before restoring its checkpoint.  Text segment
+ * statements are saved as machine code and, where they match the assembled program,
+ * keep its source code; otherwise they are disassembled from the machine code.
+ * Breakpoints and the back-step history are not saved, and the history is discarded
+ * on restore.
+ */
+public class Checkpoint {
+
+    private static final int MAGIC = 0x4D415253; // "MARS"
+    private static final int VERSION = 2;
+
+    private Checkpoint() {
+    }
+
+    /**
+     * Save the current machine state to the given file, replacing any existing contents.
+     * The simulator must not be running.
+     *
+     * @param file file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            byte[] configuration = MemoryConfigurations.getCurrentConfiguration()
+                    .getConfigurationIdentifier().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(configuration.length);
+            out.write(configuration);
+            // General purpose registers, then hi, lo and program counter.
+            for (Register register : RegisterFile.getRegisters()) {
+                out.writeInt(register.getValueNoNotify());
+            }
+            out.writeInt(RegisterFile.getValue(33));
+            out.writeInt(RegisterFile.getValue(34));
+            out.writeInt(RegisterFile.getProgramCounterRegister().getValueNoNotify());
+            Register[] coprocessor0 = Coprocessor0.getRegisters();
+            out.writeInt(coprocessor0.length);
+            for (Register register : coprocessor0) {
+                out.writeInt(register.getNumber());
+                out.writeInt(register.getValueNoNotify());
+            }
+            Register[] coprocessor1 = Coprocessor1.getRegisters();
+            out.writeInt(coprocessor1.length);
+            for (Register register : coprocessor1) {
+                out.writeInt(register.getValueNoNotify());
+            }
+            out.writeInt(Coprocessor1.getConditionFlags());
+            out.writeInt(DelayedBranch.getState());
+            out.writeInt(DelayedBranch.getBranchTargetAddress());
+            Globals.memory.writeState(out);
+            SystemIO.writeOpenFiles(out);
+        }
+    }
+
+    /**
+     * Replace the current machine state with the one saved in the given file.
+     * The whole file is read and checked before any state is replaced, so the machine
+     * state is unchanged if it cannot be restored.
+     * The simulator must not be running.
+     *
+     * @param file file written by {@link #save(File)}
+     * @throws IOException if the file cannot be read, is not a checkpoint, is truncated or
+     *                     malformed, refers to a memory configuration that does not exist,
+     *                     or refers to an open file that cannot be reopened
+     */
+    public static void restore(File file) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = new FileInputStream(file).getChannel()) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        MemoryConfiguration configuration;
+        int[] registers = new int[RegisterFile.getRegisters().length];
+        int hi, lo, programCounter;
+        Register[] coprocessor0 = Coprocessor0.getRegisters();
+        int[] coprocessor0Values = new int[coprocessor0.length * 2];
+        Register[] coprocessor1 = Coprocessor1.getRegisters();
+        int[] coprocessor1Values = new int[coprocessor1.length];
+        int conditionFlags, delayedBranchState, delayedBranchTarget;
+        Memory.State memory;
+        SystemIO.OpenFiles files;
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) {
+                throw new IOException(file + " is not a MARS checkpoint");
+            }
+            int length = in.getInt();
+            if (length < 0 || length > in.remaining()) {
+                throw new IOException(file + " is not a MARS checkpoint");
+            }
+            byte[] name = new byte[length];
+            in.get(name);
+            String configurationName = new String(name, StandardCharsets.UTF_8);
+            configuration = MemoryConfigurations.getConfigurationByName(configurationName);
+            if (configuration == null) {
+                throw new IOException(file + " uses unknown memory configuration " + configurationName);
+            }
+            for (int i = 0; i < registers.length; i++) {
+                registers[i] = in.getInt();
+            }
+            hi = in.getInt();
+            lo = in.getInt();
+            programCounter = in.getInt();
+            if (in.getInt() != coprocessor0.length) {
+                throw new IOException(file + " is not a MARS checkpoint");
+            }
+            for (int i = 0; i < coprocessor0Values.length; i += 2) {
+                coprocessor0Values[i] = in.getInt();
+                coprocessor0Values[i + 1] = in.getInt();
+                if (coprocessor0Values[i] != coprocessor0[i / 2].getNumber()) {
+                    throw new IOException(file + " is not a MARS checkpoint");
+                }
+            }
+            if (in.getInt() != coprocessor1.length) {
+                throw new IOException(file + " is not a MARS checkpoint");
+            }
+            for (int i = 0; i < coprocessor1.length; i++) {
+                coprocessor1Values[i] = in.getInt();
+            }
+            conditionFlags = in.getInt();
+            delayedBranchState = in.getInt();
+            delayedBranchTarget = in.getInt();
+            memory = Globals.memory.readState(in);
+            files = SystemIO.readOpenFiles(in);
+            if (in.hasRemaining()) {
+                throw new IOException(file + " is not a MARS checkpoint");
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException(file + " is truncated", e);
+        }
+
+        // Reopening the files is the only step that can fail, and leaves the state unchanged if it does.
+        SystemIO.restoreOpenFiles(files);
+        MemoryConfigurations.setCurrentConfiguration(configuration);
+        Globals.memory.restoreState(memory);
+        // Remaining state is set with back-stepping off since the history is discarded anyway.
+        BackStepper backStepper = (Globals.program == null) ? null : Globals.program.getBackStepper();
+        boolean backStepping = backStepper != null && backStepper.enabled();
+        if (backStepper != null) {
+            backStepper.setEnabled(false);
+        }
+        try {
+            for (int i = 0; i < registers.length; i++) {
+                RegisterFile.getRegisters()[i].setValue(registers[i]);
+            }
+            RegisterFile.updateRegister(33, hi);
+            RegisterFile.updateRegister(34, lo);
+            RegisterFile.initializeProgramCounter(programCounter);
+            for (int i = 0; i < coprocessor0Values.length; i += 2) {
+                Coprocessor0.updateRegister(coprocessor0Values[i], coprocessor0Values[i + 1]);
+            }
+            for (int i = 0; i < coprocessor1.length; i++) {
+                coprocessor1[i].setValue(coprocessor1Values[i]);
+            }
+            for (int flag = 0; flag < Coprocessor1.getConditionFlagCount(); flag++) {
+                if ((conditionFlags & (1 << flag)) != 0) {
+                    Coprocessor1.setConditionFlag(flag);
+                } else {
+                    Coprocessor1.clearConditionFlag(flag);
+                }
+            }
+        } finally {
+            if (backStepper != null) {
+                backStepper.reset();
+                backStepper.setEnabled(backStepping);
+            }
+        }
+        if (!DelayedBranch.restore(delayedBranchState, delayedBranchTarget)) {
+            DelayedBranch.clear();
+        }
+    }
+}
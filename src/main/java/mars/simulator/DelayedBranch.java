@@ -158,4 +158,31 @@ public class DelayedBranch {
         return branchTargetAddress;
     }
 
+    /**
+     * Return the delayed branch state (cleared, registered or triggered), for a machine
+     * state snapshot.  This method has package visibility.
+     *
+     * @return state, to be passed to restore() along with getBranchTargetAddress().
+     */
+    static int getState() {
+        return state;
+    }
+
+    /**
+     * Restore a delayed branch state saved by getState() and getBranchTargetAddress().
+     * This method has package visibility.
+     *
+     * @param savedState         state returned by getState()
+     * @param savedTargetAddress address returned by getBranchTargetAddress()
+     * @return true if the state is valid and was restored, false otherwise.
+     */
+    static boolean restore(int savedState, int savedTargetAddress) {
+        if (savedState != CLEARED && savedState != REGISTERED && savedState != TRIGGERED) {
+            return false;
+        }
+        state = savedState;
+        branchTargetAddress = savedTargetAddress;
+        return true;
+    }
+
 }  // DelayedBranch
\ No newline at end of file
@@ -150,20 +150,26 @@ public class ProgramArgumentList {
         // Follow this pattern for all remaining arguments.
 
 
+        // The arguments are laid out in an array first, then stored with one memory write.
+        int totalLength = 0;
+        for (String programArgument : programArgumentList) {
+            totalLength += programArgument.length() + 1;
+        }
+        byte[] arguments = new byte[totalLength];
         int highAddress = Memory.stackBaseAddress;  // highest non-kernel address, sits "under" stack
-        String programArgument;
+        int lowAddress = highAddress - totalLength + 1;
         int[] argStartAddress = new int[programArgumentList.size()];
         try { // needed for all memory writes
             for (int i = 0; i < programArgumentList.size(); i++) {
-                programArgument = programArgumentList.get(i);
-                Globals.memory.set(highAddress, 0, 1);  // trailing null byte for each argument
-                highAddress--;
+                String programArgument = programArgumentList.get(i);
+                highAddress--;  // trailing null byte for each argument, already 0 in the array
                 for (int j = programArgument.length() - 1; j >= 0; j--) {
-                    Globals.memory.set(highAddress, programArgument.charAt(j), 1);
+                    arguments[highAddress - lowAddress] = (byte) programArgument.charAt(j);
                     highAddress--;
                 }
                 argStartAddress[i] = highAddress + 1;
             }
+            Globals.memory.set(lowAddress, arguments, 0, totalLength);
             // now place a null word, the arg starting addresses, and arg count onto stack.
             int stackAddress = Memory.stackPointer;  // base address for runtime stack.
             if (highAddress < Memory.stackPointer) {
@@ -0,0 +1,89 @@
+package mars.simulator;
+
+import mars.Globals;
+import mars.mips.hardware.*;
+
+/**
+ * The machine state of an assembled program that is ready to run, frozen so the
+ * program can be run any number of times without assembling it again.  Typically
+ * captured after assembly and {@link ProgramArgumentList#storeProgramArguments()},
+ * then forked before each run, e.g. to run the same program against many inputs.
+ * <p>
+ * The state is the memory configuration, the contents of memory and the values of
+ * all registers.  Memory is shared copy-on-write with each fork (see
+ * {@link Memory#createImage()}), so capturing and forking cost little more than
+ * copying the registers, and each fork allocates only the memory blocks its run
+ * writes to.  The program's statements and symbol table are not copied; they
+ * remain those of the last assembly.
+ */
+public class ProgramImage {
+
+    private final MemoryConfiguration configuration;
+    private final Memory.Image memory;
+    private final int[] registers;
+    private final int hi;
+    private final int lo;
+    private final int programCounter;
+    private final int[] coprocessor0;
+    private final int[] coprocessor1;
+    private final int conditionFlags;
+
+    private ProgramImage() {
+        configuration = MemoryConfigurations.getCurrentConfiguration();
+        memory = Globals.memory.createImage();
+        registers = values(RegisterFile.getRegisters());
+        hi = RegisterFile.getValue(33);
+        lo = RegisterFile.getValue(34);
+        programCounter = RegisterFile.getProgramCounter();
+        coprocessor0 = values(Coprocessor0.getRegisters());
+        coprocessor1 = values(Coprocessor1.getRegisters());
+        conditionFlags = Coprocessor1.getConditionFlags();
+    }
+
+    /**
+     * Capture the current machine state.  The simulator must not be running.
+     *
+     * @return image of the current machine state
+     */
+    public static ProgramImage capture() {
+        return new ProgramImage();
+    }
+
+    /**
+     * Replace the current machine state with the captured one, ready to run the
+     * program again.  The simulator must not be running.  Back-stepping is not
+     * supported across a fork, so this is meant for command mode, where it is off.
+     */
+    public void fork() {
+        MemoryConfigurations.setCurrentConfiguration(configuration);
+        Globals.memory.forkImage(memory);
+        restore(RegisterFile.getRegisters(), registers);
+        RegisterFile.updateRegister(33, hi);
+        RegisterFile.updateRegister(34, lo);
+        RegisterFile.initializeProgramCounter(programCounter);
+        restore(Coprocessor0.getRegisters(), coprocessor0);
+        restore(Coprocessor1.getRegisters(), coprocessor1);
+        for (int flag = 0; flag < Coprocessor1.getConditionFlagCount(); flag++) {
+            if ((conditionFlags & (1 << flag)) != 0) {
+                Coprocessor1.setConditionFlag(flag);
+            } else {
+                Coprocessor1.clearConditionFlag(flag);
+            }
+        }
+        DelayedBranch.clear();
+    }
+
+    private static int[] values(Register[] registers) {
+        int[] values = new int[registers.length];
+        for (int i = 0; i < registers.length; i++) {
+            values[i] = registers[i].getValueNoNotify();
+        }
+        return values;
+    }
+
+    private static void restore(Register[] registers, int[] values) {
+        for (int i = 0; i < registers.length; i++) {
+            registers[i].setValue(values[i]);
+        }
+    }
+}
@@ -66,6 +66,13 @@ public class Simulator extends Observable {
     public static final int CLIFF_TERMINATION = 5; // run off bottom of program
     public static final int PAUSE_OR_STOP = 6;
 
+    // Set from the command line to request the headless turbo run loop.  See SimThread.runTurbo().
+    private boolean turboModeEnabled = false;
+    // Statistics for the most recent command-line simulation.
+    private int instructionsExecuted = 0;
+    private int instructionFetches = 0;
+    private long elapsedNanoseconds = 0;
+
     /**
      * Returns the Simulator object
      *
@@ -119,12 +126,16 @@ public class Simulator extends Observable {
 
     public boolean simulate(MipsProgram p, int pc, int maxSteps, int[] breakPoints, AbstractAction actor) throws ProcessingException {
         simulatorThread = new SimThread(p, pc, maxSteps, breakPoints, actor);
+        long startTime = System.nanoTime();
         simulatorThread.start();
 
         // Condition should only be true if run from command-line instead of GUI.
         // If so, just stick around until execution thread is finished.
         if (actor == null) {
             Object dun = simulatorThread.get(); // this should emulate join()
+            elapsedNanoseconds = System.nanoTime() - startTime;
+            instructionsExecuted = simulatorThread.steps;
+            instructionFetches = simulatorThread.fetches;
             ProcessingException pe = simulatorThread.pe;
             boolean done = simulatorThread.done;
             if (done) SystemIO.resetFiles(); // close any files opened in MIPS progra
@@ -138,6 +149,52 @@ public class Simulator extends Observable {
     }
 
 
+    /**
+     * Request the headless turbo run loop for subsequent simulations.  It is used only
+     * when simulating from the command line with no GUI, no run speed control, no
+     * backstepping, no breakpoints and no memory observers; otherwise the request is
+     * ignored and the regular run loop is used.
+     *
+     * @param enabled true to use the turbo run loop when possible, false to never use it.
+     */
+    public void setTurboModeEnabled(boolean enabled) {
+        turboModeEnabled = enabled;
+    }
+
+    /**
+     * Returns number of MIPS instructions executed by the most recent simulation
+     * run from the command line.
+     *
+     * @return number of instructions executed
+     */
+    public int getInstructionsExecuted() {
+        return instructionsExecuted;
+    }
+
+    /**
+     * Returns number of instruction fetches from the user text segment made by the most
+     * recent simulation run from the command line, counted as an observer of that segment
+     * sees them: a fetch from the same address as the previous one is not counted, but
+     * the fetch of the empty word a program falls off the end into is.  This is the count
+     * reported by the command line "ic" option.  Reads of the text segment by the program
+     * itself, made when self-modifying code is enabled, are not counted.
+     *
+     * @return number of instruction fetches
+     */
+    public int getInstructionFetches() {
+        return instructionFetches;
+    }
+
+    /**
+     * Returns elapsed wall clock time of the most recent simulation run from the
+     * command line.
+     *
+     * @return elapsed time, in nanoseconds
+     */
+    public long getElapsedNanoseconds() {
+        return elapsedNanoseconds;
+    }
+
     /**
      * Set the volatile stop boolean variable checked by the execution
      * thread at the end of each MIPS instruction execution.  If variable
@@ -214,6 +271,11 @@ public class Simulator extends Observable {
         private volatile AbstractAction stopper;
         private AbstractAction starter;
         private int constructReturnReason;
+        private int steps; // number of instructions executed so far
+        // Instruction fetches from the user text segment so far, and the address of the
+        // last one counted.  See Simulator.getInstructionFetches().
+        private int fetches;
+        private int lastFetch;
 
 
         /**
@@ -250,6 +312,293 @@ public class Simulator extends Observable {
         }
 
 
+        /**
+         * Simulates a single statement.  The program counter has already been incremented
+         * past it.  If the statement ends the simulation, either normally or with an
+         * unhandled exception, the return reason and status are recorded and observers are
+         * notified of the stop.  Caller must be within a write of Globals.memoryAndRegisters.
+         *
+         * @param statement   the statement to simulate
+         * @param instruction the statement's basic instruction, null if undefined
+         * @param pc          address of the statement
+         * @return true if simulation should continue, false if it has ended.
+         */
+        private boolean simulateStatement(ProgramStatement statement, BasicInstruction instruction, int pc) {
+            try {
+                if (Simulator.externalInterruptingDevice != NO_DEVICE) {
+                    int deviceInterruptCode = externalInterruptingDevice;
+                    Simulator.externalInterruptingDevice = NO_DEVICE;
+                    TimeTravel timeTravel = p.getTimeTravel();
+                    if (timeTravel != null) {
+                        timeTravel.interrupted(deviceInterruptCode);
+                    }
+                    throw new ProcessingException(statement, "External Interrupt", deviceInterruptCode);
+                }
+                if (instruction == null) {
+                    throw new ProcessingException(statement,
+                            "undefined instruction (" + Binary.intToHexString(statement.getBinaryStatement()) + ")",
+                            Exceptions.RESERVED_INSTRUCTION_EXCEPTION);
+                }
+                // THIS IS WHERE THE INSTRUCTION EXECUTION IS ACTUALLY SIMULATED!
+                instruction.getSimulationCode().simulate(statement);
+
+                // IF statement added 7/26/06 (explanation above)
+                if (Globals.getSettings().getBackSteppingEnabled()) {
+                    Globals.program.getBackStepper().addDoNothing(pc);
+                }
+            } catch (ProcessingException pe) {
+                return handleProcessingException(pe, pc);
+            }
+            return true;
+        }
+
+        /**
+         * Responds to a ProcessingException thrown while simulating the statement at the
+         * given address.  An exception without errors means the program terminated normally.
+         * Otherwise control transfers to the exception handler if there is one, and the
+         * simulation ends with the exception if there is not.
+         *
+         * @param pe the exception thrown by the statement's simulation code
+         * @param pc address of the statement
+         * @return true if simulation should continue, false if it has ended.
+         */
+        private boolean handleProcessingException(ProcessingException pe, int pc) {
+            if (pe.errors() == null) {
+                this.constructReturnReason = NORMAL_TERMINATION;
+                this.done = true;
+                SystemIO.resetFiles(); // close any files opened in MIPS program
+                Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
+                return false; // execution completed without error.
+            }
+            // See if an exception handler is present.  Assume this is the case
+            // if and only if memory location Memory.exceptionHandlerAddress
+            // (e.g. 0x80000180) contains an instruction.  If so, then set the
+            // program counter there and continue.  Otherwise terminate the
+            // MIPS program with appropriate error message.
+            ProgramStatement exceptionHandler = null;
+            try {
+                exceptionHandler = Globals.memory.getStatement(Memory.exceptionHandlerAddress);
+            } catch (AddressErrorException aee) {
+            } // will not occur with this well-known addres
+            if (exceptionHandler != null) {
+                RegisterFile.setProgramCounter(Memory.exceptionHandlerAddress);
+                return true;
+            }
+            this.constructReturnReason = EXCEPTION;
+            this.pe = pe;
+            this.done = true;
+            SystemIO.resetFiles(); // close any files opened in MIPS program
+            Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
+            return false;
+        }
+
+        /**
+         * Ends the simulation because the program counter does not hold a valid
+         * instruction address.
+         *
+         * @param e  the exception thrown by the instruction fetch
+         * @param pc address of the last statement executed
+         * @return done, which is true
+         */
+        private boolean invalidProgramCounter(AddressErrorException e, int pc) {
+            ErrorList el = new ErrorList();
+            el.add(new ErrorMessage((MipsProgram) null, 0, 0, "invalid program counter value: " + Binary.intToHexString(RegisterFile.getProgramCounter())));
+            this.pe = new ProcessingException(el, e);
+            // Next statement is a hack.  Previous statement sets EPC register to ProgramCounter-4
+            // because it assumes the bad address comes from an operand so the ProgramCounter has already been
+            // incremented.  In this case, bad address is the instruction fetch itself so Program Counter has
+            // not yet been incremented.  We'll set the EPC directly here.  DPS 8-July-2013
+            Coprocessor0.updateRegister(Coprocessor0.EPC, RegisterFile.getProgramCounter());
+            this.constructReturnReason = EXCEPTION;
+            this.done = true;
+            SystemIO.resetFiles(); // close any files opened in MIPS program
+            Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
+            return done;
+        }
+
+        /**
+         * Ends the simulation because the program counter "fell off the end" of the
+         * program, i.e. there is no statement at its address.
+         *
+         * @param pc address of the last statement executed
+         * @return done, which is true
+         */
+        private boolean cliffTermination(int pc) {
+            countFetches(RegisterFile.getProgramCounter(), 1);
+            // DPS July 2007.  This "if" statement is needed for correct program
+            // termination if delayed branching on and last statement in
+            // program is a branch/jump.  Program will terminate rather than branch,
+            // because that's what MARS does when execution drops off the bottom.
+            if (DelayedBranch.isTriggered() || DelayedBranch.isRegistered()) {
+                DelayedBranch.clear();
+            }
+            this.constructReturnReason = CLIFF_TERMINATION;
+            this.done = true;
+            SystemIO.resetFiles(); // close any files opened in MIPS program
+            Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
+            return done; // true;  // execution completed
+        }
+
+        /**
+         * Counts fetches of the given number of instructions at consecutive addresses, as an
+         * observer of the user text segment would see them.  See getInstructionFetches().
+         *
+         * @param address address of the first instruction
+         * @param count   number of instructions
+         */
+        private void countFetches(int address, int count) {
+            if (count > 0 && address >= Memory.textBaseAddress
+                    && address <= Memory.textLimitAddress - 1 + Instruction.INSTRUCTION_LENGTH) {
+                fetches += (address == lastFetch) ? count - 1 : count;
+                lastFetch = address + (count - 1) * Instruction.INSTRUCTION_LENGTH;
+            }
+        }
+
+        ///////// DPS 15 June 2007.  Handle delayed branching if it occurs./////
+        private void updateDelayedBranch() {
+            if (DelayedBranch.isTriggered()) {
+                RegisterFile.setProgramCounter(DelayedBranch.getBranchTargetAddress());
+                DelayedBranch.clear();
+            } else if (DelayedBranch.isRegistered()) {
+                DelayedBranch.trigger();
+            }
+        }
+
+        // The turbo loop is selected once, before the first instruction, so nothing it
+        // skips may be able to change during the run.  With no GUI and no stand-alone
+        // tool there is nobody to add an observer, set a breakpoint or change run speed.
+        private boolean turboEligible() {
+            return Simulator.getInstance().turboModeEnabled
+                    && starter == null
+                    && Globals.getGui() == null
+                    && !runningThrottled()
+                    && breakPoints == null
+                    && !Globals.getSettings().getBackSteppingEnabled()
+                    && p.getTimeTravel() == null
+                    && Globals.memory.countObservers() == 0;
+        }
+
+        /**
+         * Headless turbo run loop.  Does the same work as the regular loop in construct()
+         * minus everything that is pointless without a GUI: no lock, no breakpoints, no
+         * back-step entries, no run speed or GUI update checks, no external interrupts
+         * (only tools raise them), and delayed branch bookkeeping only when delayed branching
+         * is enabled.  The stop flag and step limit are checked at basic block edges.
+         * Blocks that are executed often are compiled (see BlockCompiler).
+         *
+         * @return boolean value true if execution done, false otherwise
+         */
+        private boolean runTurbo() {
+            BasicBlockCache blockCache = new BasicBlockCache(null);
+            boolean delayedBranching = Globals.getSettings().getBooleanSetting(Settings.DELAYED_BRANCHING_ENABLED);
+            int pc = RegisterFile.getProgramCounter();
+            while (true) {
+                BasicBlockCache.BasicBlock block = blockCache.getBlock(RegisterFile.getProgramCounter());
+                if (block == null) {
+                    // Not a plain basic instruction in the text segment, so let the
+                    // general code deal with it: empty word, undefined instruction, or
+                    // self-modifying code executing from the data segment.
+                    ProgramStatement statement;
+                    try {
+                        statement = Globals.memory.getStatement(RegisterFile.getProgramCounter());
+                    } catch (AddressErrorException e) {
+                        return invalidProgramCounter(e, pc);
+                    }
+                    if (statement == null) {
+                        return cliffTermination(pc);
+                    }
+                    pc = RegisterFile.getProgramCounter();
+                    RegisterFile.incrementPC();
+                    countFetches(pc, 1);
+                    boolean running = simulateStatement(statement, (BasicInstruction) statement.getInstruction(), pc);
+                    steps++;
+                    if (!running) {
+                        return done;
+                    }
+                    if (delayedBranching) {
+                        updateDelayedBranch();
+                    }
+                } else {
+                    int length = block.length();
+                    if (maxSteps > 0 && maxSteps - steps < length) {
+                        length = maxSteps - steps;
+                    }
+                    ProgramStatement[] statements = block.statements;
+                    BasicInstruction[] instructions = block.instructions;
+                    int i = 0;
+                    // Hot blocks run their compiled prefix first.  Not with delayed branching,
+                    // because a delay slot is the first statement of the following block.
+                    BlockCompiler.CompiledStatement[] compiled = delayedBranching ? null : block.countExecution();
+                    if (compiled != null && compiled.length > 0 && compiled.length <= length) {
+                        boolean leaveBlock = false;
+                        try {
+                            while (i < compiled.length && !leaveBlock) {
+                                compiled[i++].execute();
+                                leaveBlock = blockCache.textModified();
+                            }
+                            pc = block.startAddress + (i - 1) * Instruction.INSTRUCTION_LENGTH;
+                            RegisterFile.setProgramCounter(pc + Instruction.INSTRUCTION_LENGTH);
+                        } catch (ProcessingException pe) {
+                            // The compiled statement has already advanced the program counter past itself.
+                            pc = block.startAddress + (i - 1) * Instruction.INSTRUCTION_LENGTH;
+                            leaveBlock = true;
+                            if (!handleProcessingException(pe, pc)) {
+                                steps += i;
+                                countFetches(block.startAddress, i);
+                                return done;
+                            }
+                        }
+                        steps += i;
+                        countFetches(block.startAddress, i);
+                        if (leaveBlock) {
+                            i = length;
+                        }
+                    }
+                    for (; i < length; i++) {
+                        pc = RegisterFile.getProgramCounter();
+                        RegisterFile.incrementPC();
+                        countFetches(pc, 1);
+                        try {
+                            instructions[i].getSimulationCode().simulate(statements[i]);
+                        } catch (ProcessingException pe) {
+                            if (!handleProcessingException(pe, pc)) {
+                                steps++;
+                                return done;
+                            }
+                        }
+                        steps++;
+                        if (delayedBranching) {
+                            updateDelayedBranch();
+                        }
+                        if (RegisterFile.getProgramCounter() != pc + Instruction.INSTRUCTION_LENGTH
+                                || blockCache.textModified()) {
+                            break;
+                        }
+                    }
+                }
+                if (stop) {
+                    this.constructReturnReason = PAUSE_OR_STOP;
+                    this.done = false;
+                    Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
+                    return done;
+                }
+                if (maxSteps > 0 && steps >= maxSteps) {
+                    this.constructReturnReason = MAX_STEPS;
+                    this.done = false;
+                    Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
+                    return done;
+                }
+            }
+        }
+
+        // True if execution is to be slowed to the run speed selected in the GUI (or by
+        // a stand-alone tool), in which case every instruction is simulated individually.
+        private boolean runningThrottled() {
+            return (Globals.getGui() != null || Globals.runSpeedPanelExists) // OR added by DPS 24 July 2008 to enable speed control by stand-alone tool
+                    && maxSteps != 1
+                    && RunSpeedPanel.getInstance().getRunSpeed() < RunSpeedPanel.UNLIMITED_SPEED;
+        }
+
         /**
          * This is comparable to the Runnable "run" method (it is called by
          * SwingWorker's "run" method).  It simulates the program
@@ -259,6 +608,29 @@ public class Simulator extends Observable {
          */
 
         public Object construct() {
+            long start = SimulatorMetrics.startSimulation(this);
+            Globals.memoryAndRegisters.startWriting();
+            TimeTravel timeTravel = p.getTimeTravel();
+            if (timeTravel != null) {
+                timeTravel.startRecording(this);
+            }
+            try {
+                return simulateProgram();
+            } finally {
+                Globals.memoryAndRegisters.stopWriting();
+                if (timeTravel != null) {
+                    timeTravel.stopRecording();
+                }
+                SimulatorMetrics.endSimulation(start);
+            }
+        }
+
+        // Instructions executed so far, read by other threads for monitoring only.
+        int getSteps() {
+            return steps;
+        }
+
+        private Object simulateProgram() {
             // The next two statements are necessary for GUI to be consistently updated
             // before the simulation gets underway.  Without them, this happens only intermittently,
             // with a consequence that some simulations are interruptable using PAUSE/STOP and others
@@ -274,26 +646,21 @@ public class Simulator extends Observable {
 
             Simulator.getInstance().notifyObserversOfExecutionStart(maxSteps, pc);
 
+            Globals.instructionSet.refreshDelayedBranchingSetting();
             RegisterFile.initializeProgramCounter(pc);
             ProgramStatement statement = null;
             try {
                 statement = Globals.memory.getStatement(RegisterFile.getProgramCounter());
             } catch (AddressErrorException e) {
-                ErrorList el = new ErrorList();
-                el.add(new ErrorMessage((MipsProgram) null, 0, 0, "invalid program counter value: " + Binary.intToHexString(RegisterFile.getProgramCounter())));
-                this.pe = new ProcessingException(el, e);
-                // Next statement is a hack.  Previous statement sets EPC register to ProgramCounter-4
-                // because it assumes the bad address comes from an operand so the ProgramCounter has already been
-                // incremented.  In this case, bad address is the instruction fetch itself so Program Counter has
-                // not yet been incremented.  We'll set the EPC directly here.  DPS 8-July-2013
-                Coprocessor0.updateRegister(Coprocessor0.EPC, RegisterFile.getProgramCounter());
-                this.constructReturnReason = EXCEPTION;
-                this.done = true;
-                SystemIO.resetFiles(); // close any files opened in MIPS program
-                Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
-                return done;
+                return invalidProgramCounter(e, pc);
+            }
+            steps = 0;
+            fetches = 0;
+            lastFetch = 0;
+
+            if (statement != null && turboEligible()) {
+                return runTurbo();
             }
-            int steps = 0;
 
             // *******************  PS addition 26 July 2006  **********************
             // A couple statements below were added for the purpose of assuring that when
@@ -327,73 +694,71 @@ public class Simulator extends Observable {
 
             int pc = 0;  // added: 7/26/06 (explanation above)
 
+            // Basic blocks are only worth building for flat-out runs.  Stepping, timed
+            // runs and memory observers all need to see every single instruction.
+            BasicBlockCache blockCache = (maxSteps != 1) ? new BasicBlockCache(breakPoints) : null;
+            TimeTravel timeTravel = p.getTimeTravel();
+
             while (statement != null) {
-                pc = RegisterFile.getProgramCounter(); // added: 7/26/06 (explanation above)
-                RegisterFile.incrementPC();
-                // Perform the MIPS instruction in synchronized block.  If external threads agree
-                // to access MIPS memory and registers only through synchronized blocks on same 
-                // lock variable, then full (albeit heavy-handed) protection of MIPS memory and 
-                // registers is assured.  Not as critical for reading from those resources.
-                synchronized (Globals.memoryAndRegistersLock) {
+                BasicBlockCache.BasicBlock block = null;
+                if (blockCache != null && !runningThrottled() && Globals.memory.countObservers() == 0) {
+                    block = blockCache.getBlock(RegisterFile.getProgramCounter());
+                }
+                if (block != null) {
+                    // Execute the whole block as a single write.  Stop, breakpoint and step
+                    // limit are checked below, at the block edge.  A block never extends
+                    // past a breakpoint, and is cut short here to honor the step limit.
+                    int length = block.length();
+                    if (maxSteps > 0 && maxSteps - steps < length) {
+                        length = maxSteps - steps;
+                    }
+                    Globals.memoryAndRegisters.beginWrite();
                     try {
-                        if (Simulator.externalInterruptingDevice != NO_DEVICE) {
-                            int deviceInterruptCode = externalInterruptingDevice;
-                            Simulator.externalInterruptingDevice = NO_DEVICE;
-                            throw new ProcessingException(statement, "External Interrupt", deviceInterruptCode);
-                        }
-                        BasicInstruction instruction = (BasicInstruction) statement.getInstruction();
-                        if (instruction == null) {
-                            throw new ProcessingException(statement,
-                                    "undefined instruction (" + Binary.intToHexString(statement.getBinaryStatement()) + ")",
-                                    Exceptions.RESERVED_INSTRUCTION_EXCEPTION);
-                        }
-                        // THIS IS WHERE THE INSTRUCTION EXECUTION IS ACTUALLY SIMULATED!
-                        instruction.getSimulationCode().simulate(statement);
-
-                        // IF statement added 7/26/06 (explanation above)
-                        if (Globals.getSettings().getBackSteppingEnabled()) {
-                            Globals.program.getBackStepper().addDoNothing(pc);
-                        }
-                    } catch (ProcessingException pe) {
-                        if (pe.errors() == null) {
-                            this.constructReturnReason = NORMAL_TERMINATION;
-                            this.done = true;
-                            SystemIO.resetFiles(); // close any files opened in MIPS program
-                            Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
-                            return done; // execution completed without error.
-                        } else {
-                            // See if an exception handler is present.  Assume this is the case
-                            // if and only if memory location Memory.exceptionHandlerAddress
-                            // (e.g. 0x80000180) contains an instruction.  If so, then set the
-                            // program counter there and continue.  Otherwise terminate the
-                            // MIPS program with appropriate error message.
-                            ProgramStatement exceptionHandler = null;
-                            try {
-                                exceptionHandler = Globals.memory.getStatement(Memory.exceptionHandlerAddress);
-                            } catch (AddressErrorException aee) {
-                            } // will not occur with this well-known addres
-                            if (exceptionHandler != null) {
-                                RegisterFile.setProgramCounter(Memory.exceptionHandlerAddress);
-                            } else {
-                                this.constructReturnReason = EXCEPTION;
-                                this.pe = pe;
-                                this.done = true;
-                                SystemIO.resetFiles(); // close any files opened in MIPS program
-                                Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
+                        for (int i = 0; i < length; i++) {
+                            pc = RegisterFile.getProgramCounter();
+                            RegisterFile.incrementPC();
+                            countFetches(pc, 1);
+                            boolean running = simulateStatement(block.statements[i], block.instructions[i], pc);
+                            steps++;
+                            if (!running) {
                                 return done;
                             }
+                            updateDelayedBranch();
+                            // Leave the block when control was transferred (branch, jump or
+                            // exception handler), or when the block itself may have been overwritten.
+                            if (RegisterFile.getProgramCounter() != pc + Instruction.INSTRUCTION_LENGTH
+                                    || blockCache.textModified()) {
+                                break;
+                            }
                         }
+                    } finally {
+                        Globals.memoryAndRegisters.endWrite();
                     }
-                }// end synchronized block
-
-                ///////// DPS 15 June 2007.  Handle delayed branching if it occurs./////
-                if (DelayedBranch.isTriggered()) {
-                    RegisterFile.setProgramCounter(DelayedBranch.getBranchTargetAddress());
-                    DelayedBranch.clear();
-                } else if (DelayedBranch.isRegistered()) {
-                    DelayedBranch.trigger();
-                }//////////////////////////////////////////////////////////////////////
+                } else {
+                    pc = RegisterFile.getProgramCounter(); // added: 7/26/06 (explanation above)
+                    RegisterFile.incrementPC();
+                    // Perform the MIPS instruction as a single write.  This thread is the only one
+                    // that changes MIPS memory and registers while the program runs; other threads
+                    // read them consistently, and have their changes made here between instructions,
+                    // through Globals.memoryAndRegisters.
+                    countFetches(pc, 1);
+                    boolean running;
+                    Globals.memoryAndRegisters.beginWrite();
+                    try {
+                        running = simulateStatement(statement, (BasicInstruction) statement.getInstruction(), pc);
+                    } finally {
+                        Globals.memoryAndRegisters.endWrite();
+                    }
+                    steps++;
+                    if (!running) {
+                        return done;
+                    }
+                    updateDelayedBranch();
+                }
 
+                if (timeTravel != null) {
+                    timeTravel.reached(steps);
+                }
                 // Volatile variable initialized false but can be set true by the main thread.
                 // Used to stop or pause a running MIPS program.  See stopSimulation() above.
                 if (stop) {
@@ -402,7 +767,7 @@ public class Simulator extends Observable {
                     Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
                     return done;
                 }
-                //	Return if we've reached a breakpoint.					
+                //	Return if we've reached a breakpoint.
                 if ((breakPoints != null) &&
                         (Arrays.binarySearch(breakPoints, RegisterFile.getProgramCounter()) >= 0)) {
                     this.constructReturnReason = BREAKPOINT;
@@ -411,31 +776,25 @@ public class Simulator extends Observable {
                     return done; // false;
                 }
                 // Check number of MIPS instructions executed.  Return if at limit (-1 is no limit).
-                if (maxSteps > 0) {
-                    steps++;
-                    if (steps >= maxSteps) {
-                        this.constructReturnReason = MAX_STEPS;
-                        this.done = false;
-                        Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
-                        return done;// false;
-                    }
+                if (maxSteps > 0 && steps >= maxSteps) {
+                    this.constructReturnReason = MAX_STEPS;
+                    this.done = false;
+                    Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
+                    return done;// false;
                 }
 
                 // schedule GUI update only if: there is in fact a GUI! AND
                 //                              using Run,  not Step (maxSteps > 1) AND
                 //                              running slowly enough for GUI to keep up
-                //if (Globals.getGui() != null && maxSteps != 1 &&             
+                //if (Globals.getGui() != null && maxSteps != 1 &&
                 if (interactiveGUIUpdater != null && maxSteps != 1 &&
                         RunSpeedPanel.getInstance().getRunSpeed() < RunSpeedPanel.UNLIMITED_SPEED) {
                     SwingUtilities.invokeLater(interactiveGUIUpdater);
                 }
-                if (Globals.getGui() != null || Globals.runSpeedPanelExists) { // OR added by DPS 24 July 2008 to enable speed control by stand-alone tool
-                    if (maxSteps != 1 &&
-                            RunSpeedPanel.getInstance().getRunSpeed() < RunSpeedPanel.UNLIMITED_SPEED) {
-                        try {
-                            Thread.sleep((int) (1000 / RunSpeedPanel.getInstance().getRunSpeed())); // make sure it's never zero!
-                        } catch (InterruptedException e) {
-                        }
+                if (runningThrottled()) {
+                    try {
+                        Thread.sleep((int) (1000 / RunSpeedPanel.getInstance().getRunSpeed())); // make sure it's never zero!
+                    } catch (InterruptedException e) {
                     }
                 }
 
@@ -445,36 +804,13 @@ public class Simulator extends Observable {
                 try {
                     statement = Globals.memory.getStatement(RegisterFile.getProgramCounter());
                 } catch (AddressErrorException e) {
-                    ErrorList el = new ErrorList();
-                    el.add(new ErrorMessage((MipsProgram) null, 0, 0, "invalid program counter value: " + Binary.intToHexString(RegisterFile.getProgramCounter())));
-                    this.pe = new ProcessingException(el, e);
-                    // Next statement is a hack.  Previous statement sets EPC register to ProgramCounter-4
-                    // because it assumes the bad address comes from an operand so the ProgramCounter has already been
-                    // incremented.  In this case, bad address is the instruction fetch itself so Program Counter has
-                    // not yet been incremented.  We'll set the EPC directly here.  DPS 8-July-2013
-                    Coprocessor0.updateRegister(Coprocessor0.EPC, RegisterFile.getProgramCounter());
-                    this.constructReturnReason = EXCEPTION;
-                    this.done = true;
-                    SystemIO.resetFiles(); // close any files opened in MIPS program
-                    Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
-                    return done;
+                    return invalidProgramCounter(e, pc);
                 }
             }
-            // DPS July 2007.  This "if" statement is needed for correct program
-            // termination if delayed branching on and last statement in
-            // program is a branch/jump.  Program will terminate rather than branch,
-            // because that's what MARS does when execution drops off the bottom.
-            if (DelayedBranch.isTriggered() || DelayedBranch.isRegistered()) {
-                DelayedBranch.clear();
-            }
             // If we got here it was due to null statement, which means program
             // counter "fell off the end" of the program.  NOTE: Assumes the 
             // "while" loop contains no "break;" statements.
-            this.constructReturnReason = CLIFF_TERMINATION;
-            this.done = true;
-            SystemIO.resetFiles(); // close any files opened in MIPS program
-            Simulator.getInstance().notifyObserversOfExecutionStop(maxSteps, pc);
-            return done; // true;  // execution completed
+            return cliffTermination(pc);
         }
 
 
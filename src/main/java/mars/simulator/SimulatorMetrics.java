@@ -0,0 +1,241 @@
+package mars.simulator;
+
+import mars.Globals;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentation of the assembler and simulator, published as a JMX MBean named
+ * "mars:type=SimulatorMetrics" so it can be watched live from JConsole or Java
+ * Mission Control.  It shows the instructions executed and the execution rate of
+ * the running simulation, the memory blocks allocated in each segment, the back-step
+ * stack depth, and how many observer notices were sent.  It also accumulates the
+ * count and time of each phase of a run (tokenize, the three assembler passes and
+ * simulate) and of each syscall service, and the startup time: from the start of the
+ * JVM to the first instruction of the first simulation.  At the end of each phase a JMX notification
+ * of type "mars.phase.&lt;name&gt;" is sent, carrying the elapsed time as user data.
+ * <p>
+ * Collection is off unless the JVM is started with system property mars.metrics
+ * set to true.  Every hook first tests {@link #ENABLED}, a static final field, so
+ * when off the JIT compiler removes the hooks entirely.  The MBean is registered
+ * when this class is first used, typically at the first assembly.
+ */
+public class SimulatorMetrics extends NotificationBroadcasterSupport implements SimulatorMetricsMXBean {
+
+    /**
+     * Whether metrics are collected, from system property mars.metrics.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("mars.metrics");
+
+    public static final int TOKENIZE = 0;
+    public static final int ASSEMBLER_PASS_1 = 1;
+    public static final int ASSEMBLER_PASS_2 = 2;
+    public static final int ASSEMBLER_PASS_3 = 3;
+    public static final int SIMULATE = 4;
+    public static final int STARTUP = 5;
+    private static final String[] PHASE_NAMES = {
+            "tokenize", "assemblerPass1", "assemblerPass2", "assemblerPass3", "simulate", "startup"};
+
+    private static final String OBJECT_NAME = "mars:type=SimulatorMetrics";
+    private static final SimulatorMetrics metrics = ENABLED ? register() : null;
+
+    private final AtomicLongArray phaseCounts = new AtomicLongArray(PHASE_NAMES.length);
+    private final AtomicLongArray phaseNanoseconds = new AtomicLongArray(PHASE_NAMES.length);
+    private final ConcurrentHashMap<Integer, LongAdder> syscallCounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, LongAdder> syscallNanoseconds = new ConcurrentHashMap<>();
+    private final LongAdder observerNotifications = new LongAdder();
+    private final AtomicBoolean startupRecorded = new AtomicBoolean();
+    private volatile Simulator.SimThread simulation;
+    private volatile long simulationStart;
+    private volatile long simulationEnd;
+    private long sequenceNumber;
+
+    private SimulatorMetrics() {
+    }
+
+    // Each simulation context loads its own copy of this class, so all but the first
+    // copy are registered under a name that tells them apart.
+    private static SimulatorMetrics register() {
+        SimulatorMetrics metrics = new SimulatorMetrics();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            try {
+                server.registerMBean(metrics, new ObjectName(OBJECT_NAME));
+            } catch (InstanceAlreadyExistsException e) {
+                server.registerMBean(metrics, new ObjectName(OBJECT_NAME + ",context="
+                        + Integer.toHexString(System.identityHashCode(SimulatorMetrics.class))));
+            }
+        } catch (JMException e) {
+            System.err.println("MARS metrics could not be registered: " + e);
+        }
+        return metrics;
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // Hooks, called by the engine.
+
+    /**
+     * Note the start of a phase.
+     *
+     * @return start time, to be passed to {@link #endPhase(int, long)}
+     */
+    public static long startPhase() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Note the successful end of a phase.
+     *
+     * @param phase one of the phase constants, such as {@link #TOKENIZE}
+     * @param start value returned by {@link #startPhase()}
+     */
+    public static void endPhase(int phase, long start) {
+        if (ENABLED) {
+            metrics.phaseEnded(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Note the end of a syscall, whether or not it completed normally.
+     *
+     * @param number syscall service number
+     * @param start  value returned by {@link #startPhase()} before the syscall
+     */
+    public static void endSyscall(int number, long start) {
+        if (ENABLED) {
+            long elapsed = System.nanoTime() - start;
+            metrics.syscallCounts.computeIfAbsent(number, n -> new LongAdder()).increment();
+            metrics.syscallNanoseconds.computeIfAbsent(number, n -> new LongAdder()).add(elapsed);
+        }
+    }
+
+    /**
+     * Note that a notice was sent to a memory or register observer.
+     */
+    public static void observerNotified() {
+        if (ENABLED) {
+            metrics.observerNotifications.increment();
+        }
+    }
+
+    static long startSimulation(Simulator.SimThread simulation) {
+        if (ENABLED) {
+            if (metrics.startupRecorded.compareAndSet(false, true)) {
+                metrics.phaseEnded(STARTUP, ManagementFactory.getRuntimeMXBean().getUptime() * 1000000L);
+            }
+            metrics.simulationStart = System.nanoTime();
+            metrics.simulationEnd = 0;
+            metrics.simulation = simulation;
+            return metrics.simulationStart;
+        }
+        return 0;
+    }
+
+    static void endSimulation(long start) {
+        if (ENABLED) {
+            metrics.simulationEnd = System.nanoTime();
+            metrics.phaseEnded(SIMULATE, metrics.simulationEnd - start);
+        }
+    }
+
+    private void phaseEnded(int phase, long elapsed) {
+        phaseCounts.incrementAndGet(phase);
+        phaseNanoseconds.addAndGet(phase, elapsed);
+        long sequence;
+        synchronized (this) {
+            sequence = ++sequenceNumber;
+        }
+        Notification notification = new Notification("mars.phase." + PHASE_NAMES[phase], OBJECT_NAME,
+                sequence, PHASE_NAMES[phase] + " took " + elapsed + " ns");
+        notification.setUserData(elapsed);
+        sendNotification(notification);
+    }
+
+    ////////////////////////////////////////////////////////////////////////////
+    // MBean attributes and operations.
+
+    public boolean isRunning() {
+        return simulation != null && simulationEnd == 0;
+    }
+
+    public long getInstructionsExecuted() {
+        Simulator.SimThread current = simulation;
+        return (current == null) ? 0 : current.getSteps();
+    }
+
+    public double getInstructionsPerSecond() {
+        long end = simulationEnd;
+        long elapsed = ((end == 0) ? System.nanoTime() : end) - simulationStart;
+        return (simulation == null || elapsed <= 0) ? 0 : getInstructionsExecuted() * 1e9 / elapsed;
+    }
+
+    public Map<String, Integer> getAllocatedMemoryBlocks() {
+        return Globals.memory.getAllocatedBlockCounts();
+    }
+
+    public int getBackStepDepth() {
+        BackStepper backStepper = (Globals.program == null) ? null : Globals.program.getBackStepper();
+        return (backStepper == null) ? 0 : backStepper.size();
+    }
+
+    public long getObserverNotifications() {
+        return observerNotifications.sum();
+    }
+
+    public Map<String, Long> getPhaseCounts() {
+        return phaseMap(phaseCounts);
+    }
+
+    public Map<String, Long> getPhaseNanoseconds() {
+        return phaseMap(phaseNanoseconds);
+    }
+
+    public Map<Integer, Long> getSyscallCounts() {
+        return syscallMap(syscallCounts);
+    }
+
+    public Map<Integer, Long> getSyscallNanoseconds() {
+        return syscallMap(syscallNanoseconds);
+    }
+
+    public void reset() {
+        for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+            phaseCounts.set(phase, 0);
+            phaseNanoseconds.set(phase, 0);
+        }
+        syscallCounts.clear();
+        syscallNanoseconds.clear();
+        observerNotifications.reset();
+    }
+
+    @Override
+    public MBeanNotificationInfo[] getNotificationInfo() {
+        String[] types = new String[PHASE_NAMES.length];
+        for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+            types[phase] = "mars.phase." + PHASE_NAMES[phase];
+        }
+        return new MBeanNotificationInfo[]{new MBeanNotificationInfo(types, Notification.class.getName(),
+                "End of a tokenize, assembler pass or simulate phase; user data is the elapsed time in nanoseconds")};
+    }
+
+    private static Map<String, Long> phaseMap(AtomicLongArray values) {
+        Map<String, Long> map = new TreeMap<>();
+        for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+            map.put(PHASE_NAMES[phase], values.get(phase));
+        }
+        return map;
+    }
+
+    private static Map<Integer, Long> syscallMap(ConcurrentHashMap<Integer, LongAdder> values) {
+        Map<Integer, Long> map = new TreeMap<>();
+        values.forEach((number, value) -> map.put(number, value.sum()));
+        return map;
+    }
+}
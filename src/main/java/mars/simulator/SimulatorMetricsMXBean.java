@@ -0,0 +1,67 @@
+package mars.simulator;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link SimulatorMetrics}, for JConsole, Java Mission
+ * Control or any other JMX client.  Times are in nanoseconds.
+ */
+public interface SimulatorMetricsMXBean {
+
+    /**
+     * @return true if a simulation is currently running
+     */
+    boolean isRunning();
+
+    /**
+     * @return number of instructions executed so far by the current simulation,
+     * or by the most recent one if none is running
+     */
+    long getInstructionsExecuted();
+
+    /**
+     * @return average instructions executed per second by the current simulation,
+     * or by the most recent one if none is running
+     */
+    double getInstructionsPerSecond();
+
+    /**
+     * @return number of allocated memory blocks, keyed by memory segment
+     */
+    Map<String, Integer> getAllocatedMemoryBlocks();
+
+    /**
+     * @return number of steps that can currently be undone by back-stepping
+     */
+    int getBackStepDepth();
+
+    /**
+     * @return number of notices sent to memory and register observers
+     */
+    long getObserverNotifications();
+
+    /**
+     * @return number of times each phase (tokenize, assembler passes, simulate) completed
+     */
+    Map<String, Long> getPhaseCounts();
+
+    /**
+     * @return total time spent in each phase
+     */
+    Map<String, Long> getPhaseNanoseconds();
+
+    /**
+     * @return number of invocations of each syscall service, keyed by service number
+     */
+    Map<Integer, Long> getSyscallCounts();
+
+    /**
+     * @return total time spent in each syscall service, keyed by service number
+     */
+    Map<Integer, Long> getSyscallNanoseconds();
+
+    /**
+     * Clear the phase, syscall and observer notification totals.
+     */
+    void reset();
+}
@@ -0,0 +1,119 @@
+package mars.simulator;
+
+import mars.MarsLaunch;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command-line startup benchmark.  Runs a trivial program with {@code Mars nc} in a
+ * new JVM a number of times, and for each run reads the "startup" phase of the
+ * {@link SimulatorMetrics} MBean, the time from JVM start to the first instruction,
+ * along with the wall clock time of the whole run.  Then prints the minimum and median
+ * of each.
+ * <p>
+ * Usage: {@code java -cp Mars.jar mars.simulator.StartupBenchmark [runs] [JVM options]},
+ * where runs defaults to 10 and the JVM options, such as
+ * {@code -XX:SharedArchiveFile=mars.jsa}, are passed to every run.
+ */
+public class StartupBenchmark {
+
+    private static final int DEFAULT_RUNS = 10;
+    private static final String PROGRAM = "main: li $v0, 10\n      syscall\n";
+    private static final String RUN_SWITCH = "-run";
+    private static final String RESULT_PREFIX = "startup ns: ";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals(RUN_SWITCH)) {
+            run(args[1]);
+            return;
+        }
+        int runs = DEFAULT_RUNS;
+        int options = 0;
+        if (args.length > 0 && args[0].matches("\\d+")) {
+            runs = Integer.parseInt(args[0]);
+            options = 1;
+        }
+        if (runs < 1) {
+            System.out.println("Usage: StartupBenchmark [runs] [JVM options]");
+            System.exit(1);
+        }
+        File program = File.createTempFile("startup", ".asm");
+        program.deleteOnExit();
+        Files.write(program.toPath(), PROGRAM.getBytes(StandardCharsets.UTF_8));
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.addAll(Arrays.asList(args).subList(options, args.length));
+        command.add("-Dmars.metrics=true");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(StartupBenchmark.class.getName());
+        command.add(RUN_SWITCH);
+        command.add(program.getPath());
+
+        long[] startup = new long[runs];
+        long[] wall = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            startup[run] = -1;
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (line.startsWith(RESULT_PREFIX)) {
+                        startup[run] = Long.parseLong(line.substring(RESULT_PREFIX.length()));
+                    }
+                }
+            }
+            process.waitFor();
+            wall[run] = System.nanoTime() - start;
+            if (startup[run] < 0) {
+                throw new IOException("run " + (run + 1) + " did not report its startup time");
+            }
+            System.out.println("run " + (run + 1) + ": startup " + milliseconds(startup[run])
+                    + " ms, wall clock " + milliseconds(wall[run]) + " ms");
+        }
+        Arrays.sort(startup);
+        Arrays.sort(wall);
+        System.out.println("startup (JVM start to first instruction): min " + milliseconds(startup[0])
+                + " ms, median " + milliseconds(startup[runs / 2]) + " ms");
+        System.out.println("wall clock (whole run): min " + milliseconds(wall[0])
+                + " ms, median " + milliseconds(wall[runs / 2]) + " ms");
+    }
+
+    // One run, in its own JVM.  The startup phase is read from the MBean as the JVM exits,
+    // since MARS exits the JVM at the end of a command-line run.
+    private static void run(String program) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                TabularData phases = (TabularData) server.getAttribute(
+                        new ObjectName("mars:type=SimulatorMetrics"), "PhaseNanoseconds");
+                CompositeData startup = phases.get(new Object[]{"startup"});
+                System.out.println(RESULT_PREFIX + startup.get("value"));
+            } catch (Exception e) {
+                System.err.println("Startup time could not be read: " + e);
+            }
+        }));
+        new MarsLaunch(new String[]{"nc", program});
+    }
+
+    private static String milliseconds(long nanoseconds) {
+        return String.format("%.1f", nanoseconds / 1e6);
+    }
+}
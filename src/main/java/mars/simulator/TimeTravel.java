@@ -0,0 +1,687 @@
+package mars.simulator;
+
+import mars.Globals;
+import mars.ProcessingException;
+import mars.ProgramStatement;
+import mars.mips.hardware.*;
+import mars.mips.instructions.BasicInstruction;
+import mars.mips.instructions.syscalls.Syscall;
+import mars.mips.instructions.syscalls.SyscallSbrk;
+import mars.util.Binary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Observable;
+import java.util.Observer;
+
+/**
+ * Records a run of the program so it can be taken back to any earlier point of it:
+ * one instruction back, back to the last breakpoint passed, or back to the last
+ * instruction that wrote to an address.  Unlike {@link BackStepper}, it records
+ * nothing for an ordinary instruction, so it is cheap enough to leave on, and it
+ * reaches back to the start of the run however long the run is.
+ * <p>
+ * Every so many instructions the machine state is captured in a {@link ProgramImage}.
+ * Images share memory copy-on-write, so a snapshot costs the registers and the pages
+ * written to before the next one.  What the program takes in from outside is logged as
+ * it happens: the effect of each syscall on registers and memory (input, random
+ * numbers, the time, file contents), the changes made through
+ * {@link Globals#memoryAndRegisters} while the program runs, and external interrupts.
+ * Those changes are the ones other threads make (a key typed into an MMIO device, a
+ * value edited in the GUI) and the ones devices make on the simulation thread as they
+ * react to the program (an MMIO ready bit cleared by a load of the data register, or
+ * set again after a delay counted in instructions).  To go back, the latest
+ * snapshot before the target is restored and the program run forward from it to the
+ * target, with the logged effects applied instead of the syscalls being made again.
+ * Replayed instructions run on the calling thread, so tools that only watch the MIPS
+ * program (see {@link AccessNotice#accessIsFromMIPS()}) do not see them again; the
+ * changes they made are replayed from the log instead.  The state devices keep of
+ * their own, such as a delay being counted, is not taken back.
+ * <p>
+ * Positions in the run are counted in instructions executed since the program was
+ * first run, and the last position reached by running it is the end of the history.
+ * Running the program from a position before the end starts a new history from there:
+ * the rest of the old one is discarded, and syscalls are made again, so input is read
+ * again.  The same happens when memory or registers were changed while the program
+ * was paused.  Console output, files and random number generators are not taken back.
+ * <p>
+ * One is created for each program assembled in the IDE; see
+ * {@link mars.MipsProgram#getTimeTravel()}.
+ */
+public class TimeTravel {
+    // Instructions between snapshots to begin with.  When there are more than
+    // MAX_SNAPSHOTS, every other one is dropped and the interval doubled, so going back
+    // replays at most a small fraction of the history.
+    private static final int SNAPSHOT_INTERVAL = 100000;
+    private static final int MAX_SNAPSHOTS = 64;
+
+    // Memory numbers the pages it reports written as address >>> PAGE_SHIFT.
+    private static final int PAGE_SHIFT = 12;
+    private static final int PAGE_LENGTH = 1 << PAGE_SHIFT;
+
+    private static final int IDLE = 0;
+    private static final int RECORDING = 1;
+    private static final int REPLAYING = 2;
+
+    // Kinds of event.
+    private static final int WRITE = 0;
+    private static final int INTERRUPT = 1;
+    private static final int SYSCALL = 2;
+
+    // Registers a syscall may change, by index in the array returned by registers():
+    // general purpose, hi and lo, Coprocessor 1 and its condition flags, Coprocessor 0.
+    private static final int HI = 32;
+    private static final int LO = 33;
+    private static final int FPU = 34;
+    private static final int FLAGS = FPU + 32;
+    private static final int COPROCESSOR0 = FLAGS + 1;
+
+    private final ArrayList<Snapshot> snapshots = new ArrayList<>();
+    private final ArrayList<Event> events = new ArrayList<>();
+    private long interval = SNAPSHOT_INTERVAL;
+    private long nextSnapshot;
+    private long position;
+    private long end;
+    private int mode = IDLE;
+    // While recording, the run under way; its steps are added to position.
+    private Simulator.SimThread run;
+    // While replaying, the next event to apply, and whether an instruction is executing.
+    private int nextEvent;
+    private boolean executing;
+    // While searching back, the breakpoints looked for, and the last position found.
+    private int[] searchedBreakPoints;
+    private long found;
+    // While replaying, the back-stepper turned off and whether it was on.
+    private BackStepper backStepper;
+    private boolean backStepping;
+    // Machine state when the program last stopped, to tell whether it was changed since.
+    private int stoppedGeneration;
+    private int[] stoppedState;
+
+    /**
+     * @return current position in the run: the number of instructions executed since
+     * the program was first run, counting only those of the history that leads here
+     */
+    public long getPosition() {
+        Simulator.SimThread thread = run;
+        return (thread == null) ? position : position + thread.getSteps();
+    }
+
+    /**
+     * @return position of the end of the history, which the program can be taken
+     * forward to again
+     */
+    public long getEnd() {
+        return Math.max(end, getPosition());
+    }
+
+    /**
+     * Takes the program back by one instruction.  The simulator must not be running.
+     */
+    public void reverseStep() {
+        if (position > 0) {
+            travelTo(position - 1);
+        }
+    }
+
+    /**
+     * Takes the program to the given position of the history, back or forward, by
+     * restoring the latest snapshot before it and running forward from there.  The
+     * simulator must not be running.
+     *
+     * @param target position, from 0 to {@link #getEnd()}
+     */
+    public void travelTo(long target) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        begin();
+        try {
+            goTo(Math.max(0, Math.min(target, end)));
+        } finally {
+            finish();
+        }
+    }
+
+    /**
+     * Takes the program back to the last time, before the current position, that the
+     * next instruction to execute was at one of the given breakpoints, or to the start
+     * of the history if there was none.  The simulator must not be running.
+     *
+     * @param breakPoints addresses of the breakpoints, or null if there are none
+     * @return true if a breakpoint was found, false if the program was taken to the start
+     */
+    public boolean reverseContinue(int[] breakPoints) {
+        if (snapshots.isEmpty()) {
+            return false;
+        }
+        long from = position;
+        searchedBreakPoints = (breakPoints == null) ? new int[0] : breakPoints.clone();
+        Arrays.sort(searchedBreakPoints);
+        begin();
+        try {
+            long target = searchBack(from);
+            goTo(Math.max(target, 0));
+            return target >= 0;
+        } finally {
+            searchedBreakPoints = null;
+            finish();
+        }
+    }
+
+    /**
+     * Takes the program back to the last instruction, before the current position,
+     * that wrote to any byte of the given range, so that instruction is the next to
+     * execute.  Writes made by other threads or by devices are not counted.  If there was none, the
+     * program stays where it is.  The simulator must not be running.
+     *
+     * @param address first address of the range
+     * @param length  number of bytes in the range
+     * @return true if a write was found, false if the program stayed where it is
+     * @throws AddressErrorException if the range is outside memory
+     */
+    public boolean reverseToLastWrite(int address, int length) throws AddressErrorException {
+        if (snapshots.isEmpty()) {
+            return false;
+        }
+        long from = position;
+        Observer watch = new WriteWatch(address, length);
+        Globals.memory.addObserver(watch, Memory.alignToWordBoundary(address),
+                Memory.alignToWordBoundary(address + Math.max(length, 1) - 1));
+        begin();
+        try {
+            long target = searchBack(from);
+            goTo((target >= 0) ? target : from);
+            return target >= 0;
+        } finally {
+            Globals.memory.deleteObserver(watch);
+            finish();
+        }
+    }
+
+    /**
+     * Called by the simulator when a run of the program starts, on the thread running
+     * it.  Starts a new history from here if the program is not at the end of the old
+     * one, or was changed while paused.
+     */
+    void startRecording(Simulator.SimThread thread) {
+        if (snapshots.isEmpty() || position < end || changedSinceStop()) {
+            discardFrom(position);
+            takeSnapshot(position);
+        }
+        run = thread;
+        mode = RECORDING;
+        Globals.memoryAndRegisters.setWriteRecorder(this::recordWrite);
+    }
+
+    /**
+     * Called by the simulator when a run of the program has stopped, on the thread that
+     * ran it, after changes queued by other threads have been made.
+     */
+    void stopRecording() {
+        Globals.memoryAndRegisters.setWriteRecorder(null);
+        position += run.getSteps();
+        end = position;
+        run = null;
+        mode = IDLE;
+        markStopped();
+    }
+
+    /**
+     * Called by the simulator between instructions while recording, to take a snapshot
+     * when one is due.
+     *
+     * @param steps instructions executed by the run so far
+     */
+    void reached(int steps) {
+        if (position + steps >= nextSnapshot) {
+            takeSnapshot(position + steps);
+        }
+    }
+
+    /**
+     * Called by the simulator when an external interrupt is taken while recording.
+     *
+     * @param device code of the interrupting device
+     */
+    void interrupted(int device) {
+        Event event = new Event(getPosition(), INTERRUPT);
+        event.device = device;
+        events.add(event);
+    }
+
+    /**
+     * Carries out a syscall.  While recording, its effect on registers and memory is
+     * logged.  While replaying, the logged effect is applied instead, except for sbrk,
+     * which has no input and is carried out again to keep the heap in step.
+     *
+     * @param service   the syscall
+     * @param statement the syscall statement
+     * @throws ProcessingException as thrown by the syscall, or logged for it
+     */
+    public void syscall(Syscall service, ProgramStatement statement) throws ProcessingException {
+        if (mode == REPLAYING && !(service instanceof SyscallSbrk)) {
+            replaySyscall();
+        } else if (mode == RECORDING && !(service instanceof SyscallSbrk)) {
+            recordSyscall(service, statement);
+        } else {
+            service.simulate(statement);
+        }
+    }
+
+    private void recordSyscall(Syscall service, ProgramStatement statement) throws ProcessingException {
+        Event event = new Event(getPosition(), SYSCALL);
+        // Logged ahead of the changes devices make as they react to the syscall, which
+        // are replayed after it.
+        int index = events.size();
+        events.add(event);
+        int[] before = registers();
+        // Writes made from now on carry the new generation.
+        int generation = Globals.memory.nextWriteGeneration() + 1;
+        try {
+            service.simulate(statement);
+        } catch (ProcessingException e) {
+            event.exception = e;
+        }
+        int[] after = registers();
+        int changes = 0;
+        for (int i = 0; i < after.length; i++) {
+            if (after[i] != before[i]) changes++;
+        }
+        event.registers = new int[2 * changes];
+        for (int i = 0, j = 0; i < after.length; i++) {
+            if (after[i] != before[i]) {
+                event.registers[j++] = i;
+                event.registers[j++] = after[i];
+            }
+        }
+        int[] pages = Globals.memory.getPagesWrittenSince(generation, 0, -1);
+        event.pages = (pages == null) ? new int[0] : pages;
+        event.contents = new byte[event.pages.length][];
+        for (int i = 0; i < event.pages.length; i++) {
+            event.contents[i] = new byte[PAGE_LENGTH];
+            try {
+                Globals.memory.getBytesNoNotify(event.pages[i] << PAGE_SHIFT, event.contents[i], 0,
+                        PAGE_LENGTH);
+            } catch (AddressErrorException e) {
+                // Not data, so not written by the syscall.
+                event.contents[i] = null;
+            }
+        }
+        if (changes == 0 && event.pages.length == 0 && event.exception == null) {
+            events.remove(index);
+        }
+        if (event.exception != null) {
+            throw event.exception;
+        }
+    }
+
+    // Applies the effect logged for the syscall being replayed.  A syscall with no
+    // effect, such as one printing output, was not logged.
+    private void replaySyscall() throws ProcessingException {
+        Event event = nextEvent(SYSCALL);
+        if (event == null) {
+            return;
+        }
+        nextEvent++;
+        for (int i = 0; i < event.registers.length; i += 2) {
+            setRegister(event.registers[i], event.registers[i + 1]);
+        }
+        for (int i = 0; i < event.pages.length; i++) {
+            if (event.contents[i] != null) {
+                restorePage(event.pages[i] << PAGE_SHIFT, event.contents[i]);
+            }
+        }
+        if (event.exception != null) {
+            throw event.exception;
+        }
+    }
+
+    // Writes the bytes of a page that differ from the given contents, so that only
+    // bytes the syscall changed are seen to be written.
+    private static void restorePage(int address, byte[] contents) {
+        byte[] current = new byte[contents.length];
+        try {
+            Globals.memory.getBytesNoNotify(address, current, 0, current.length);
+            int i = 0;
+            while (i < contents.length) {
+                if (current[i] == contents[i]) {
+                    i++;
+                    continue;
+                }
+                int start = i;
+                while (i < contents.length && current[i] != contents[i]) {
+                    i++;
+                }
+                Globals.memory.set(address + start, contents, start, i - start);
+            }
+        } catch (AddressErrorException e) {
+            // The page was readable when logged, so it is now.
+        }
+    }
+
+    // Logs a change the writer is about to make, queued by another thread or made by a
+    // device reacting to the program.  One made while an instruction executes is
+    // replayed after that instruction.
+    private void recordWrite(Runnable write, boolean withinInstruction) {
+        Event event = new Event(getPosition() + (withinInstruction ? 1 : 0), WRITE);
+        event.write = write;
+        events.add(event);
+    }
+
+    private void takeSnapshot(long at) {
+        if (!snapshots.isEmpty() && snapshots.get(snapshots.size() - 1).position == at) {
+            snapshots.remove(snapshots.size() - 1);
+        }
+        snapshots.add(new Snapshot(at, events.size()));
+        if (snapshots.size() > MAX_SNAPSHOTS) {
+            // Keep the first, which the whole history is replayed from, and every other one after it.
+            for (int i = snapshots.size() - 1; i > 0; i--) {
+                if (i % 2 == 1) {
+                    snapshots.remove(i);
+                }
+            }
+            interval *= 2;
+        }
+        nextSnapshot = at + interval;
+    }
+
+    // Discards the history after the given position.  Logged changes that were made
+    // at that position are kept, since the machine state includes them.
+    private void discardFrom(long at) {
+        while (!snapshots.isEmpty() && snapshots.get(snapshots.size() - 1).position > at) {
+            snapshots.remove(snapshots.size() - 1);
+        }
+        int keep = events.size();
+        while (keep > 0 && (events.get(keep - 1).position > at
+                || events.get(keep - 1).position == at && events.get(keep - 1).kind != WRITE)) {
+            keep--;
+        }
+        events.subList(keep, events.size()).clear();
+        end = at;
+    }
+
+    // Prepares to replay: the calling thread becomes the writer of memory and registers
+    // for the duration, and back-stepping is turned off, its history being of no use
+    // once the program is elsewhere.
+    private void begin() {
+        Globals.memoryAndRegisters.startWriting();
+        Globals.memoryAndRegisters.beginWrite();
+        backStepper = (Globals.program == null) ? null : Globals.program.getBackStepper();
+        backStepping = backStepper != null && backStepper.enabled();
+        if (backStepper != null) {
+            backStepper.setEnabled(false);
+        }
+        Globals.instructionSet.refreshDelayedBranchingSetting();
+        mode = REPLAYING;
+    }
+
+    private void finish() {
+        mode = IDLE;
+        if (backStepper != null) {
+            backStepper.reset();
+            backStepper.setEnabled(backStepping);
+            backStepper = null;
+        }
+        markStopped();
+        Globals.memoryAndRegisters.endWrite();
+        Globals.memoryAndRegisters.stopWriting();
+    }
+
+    private void goTo(long target) {
+        int i = snapshots.size() - 1;
+        while (i > 0 && snapshots.get(i).position > target) {
+            i--;
+        }
+        restore(snapshots.get(i));
+        replay(target);
+    }
+
+    // Looks back from the given position for the last one the current search finds,
+    // one snapshot at a time, latest first.  Returns -1 if there is none.
+    private long searchBack(long from) {
+        int i = snapshots.size() - 1;
+        while (i > 0 && snapshots.get(i).position >= from) {
+            i--;
+        }
+        for (; i >= 0 && snapshots.get(i).position < from; i--) {
+            long limit = (i + 1 < snapshots.size()) ? Math.min(snapshots.get(i + 1).position, from) : from;
+            restore(snapshots.get(i));
+            found = -1;
+            replay(limit);
+            if (found >= 0) {
+                return found;
+            }
+        }
+        return -1;
+    }
+
+    private void restore(Snapshot snapshot) {
+        snapshot.image.fork();
+        if (!DelayedBranch.restore(snapshot.delayedBranchState, snapshot.delayedBranchTarget)) {
+            DelayedBranch.clear();
+        }
+        position = snapshot.position;
+        nextEvent = snapshot.firstEvent;
+    }
+
+    // Runs the program forward from the current position to the target, making the
+    // logged changes of other threads and devices at the positions they were made, and applying
+    // logged syscall effects and interrupts.  Stops early if the program ends.
+    private void replay(long target) {
+        while (position < target) {
+            applyWrites();
+            int pc = RegisterFile.getProgramCounter();
+            if (searchedBreakPoints != null && Arrays.binarySearch(searchedBreakPoints, pc) >= 0) {
+                found = position;
+            }
+            ProgramStatement statement;
+            try {
+                statement = Globals.memory.getStatementNoNotify(pc);
+            } catch (AddressErrorException e) {
+                statement = null;
+            }
+            if (statement == null) {
+                return;
+            }
+            RegisterFile.incrementPC();
+            executing = true;
+            try {
+                Event interrupt = nextEvent(INTERRUPT);
+                if (interrupt != null) {
+                    nextEvent++;
+                    throw new ProcessingException(statement, "External Interrupt", interrupt.device);
+                }
+                BasicInstruction instruction = (BasicInstruction) statement.getInstruction();
+                if (instruction == null) {
+                    throw new ProcessingException(statement,
+                            "undefined instruction (" + Binary.intToHexString(statement.getBinaryStatement()) + ")",
+                            Exceptions.RESERVED_INSTRUCTION_EXCEPTION);
+                }
+                instruction.getSimulationCode().simulate(statement);
+            } catch (ProcessingException e) {
+                if (!enterExceptionHandler(e)) {
+                    position++;
+                    return;
+                }
+            } finally {
+                executing = false;
+            }
+            position++;
+            if (DelayedBranch.isTriggered()) {
+                RegisterFile.setProgramCounter(DelayedBranch.getBranchTargetAddress());
+                DelayedBranch.clear();
+            } else if (DelayedBranch.isRegistered()) {
+                DelayedBranch.trigger();
+            }
+        }
+        applyWrites();
+    }
+
+    // As the simulator does, transfers control to the exception handler if there is
+    // one.  Returns false if the exception ended the program.
+    private static boolean enterExceptionHandler(ProcessingException e) {
+        if (e.errors() == null) {
+            return false;
+        }
+        ProgramStatement exceptionHandler = null;
+        try {
+            exceptionHandler = Globals.memory.getStatementNoNotify(Memory.exceptionHandlerAddress);
+        } catch (AddressErrorException aee) {
+        } // will not occur with this well-known address
+        if (exceptionHandler == null) {
+            return false;
+        }
+        RegisterFile.setProgramCounter(Memory.exceptionHandlerAddress);
+        return true;
+    }
+
+    // Makes the changes logged at the current position.
+    private void applyWrites() {
+        for (Event event = nextEvent(WRITE); event != null; event = nextEvent(WRITE)) {
+            nextEvent++;
+            event.write.run();
+        }
+    }
+
+    // Returns the next event if it is of the given kind and at the current position.
+    // Events left behind, which a faithful replay never leaves, are skipped.
+    private Event nextEvent(int kind) {
+        while (nextEvent < events.size() && events.get(nextEvent).position < position) {
+            nextEvent++;
+        }
+        if (nextEvent < events.size()) {
+            Event event = events.get(nextEvent);
+            if (event.position == position && event.kind == kind) {
+                return event;
+            }
+        }
+        return null;
+    }
+
+    private void markStopped() {
+        stoppedGeneration = Globals.memory.nextWriteGeneration() + 1;
+        stoppedState = machineState();
+    }
+
+    private boolean changedSinceStop() {
+        if (stoppedState == null) {
+            return true;
+        }
+        int[] pages = Globals.memory.getPagesWrittenSince(stoppedGeneration, 0, -1);
+        return pages == null || pages.length > 0 || !Arrays.equals(stoppedState, machineState());
+    }
+
+    private static int[] machineState() {
+        int[] registers = registers();
+        int[] state = Arrays.copyOf(registers, registers.length + 3);
+        state[registers.length] = RegisterFile.getProgramCounter();
+        state[registers.length + 1] = DelayedBranch.getState();
+        state[registers.length + 2] = DelayedBranch.getBranchTargetAddress();
+        return state;
+    }
+
+    private static int[] registers() {
+        Register[] coprocessor0 = Coprocessor0.getRegisters();
+        int[] values = new int[COPROCESSOR0 + coprocessor0.length];
+        Register[] general = RegisterFile.getRegisters();
+        for (int i = 0; i < HI; i++) {
+            values[i] = general[i].getValueNoNotify();
+        }
+        values[HI] = RegisterFile.getValue(33);
+        values[LO] = RegisterFile.getValue(34);
+        Register[] coprocessor1 = Coprocessor1.getRegisters();
+        for (int i = 0; i < FLAGS - FPU; i++) {
+            values[FPU + i] = coprocessor1[i].getValueNoNotify();
+        }
+        values[FLAGS] = Coprocessor1.getConditionFlags();
+        for (int i = 0; i < coprocessor0.length; i++) {
+            values[COPROCESSOR0 + i] = coprocessor0[i].getValueNoNotify();
+        }
+        return values;
+    }
+
+    private static void setRegister(int index, int value) {
+        if (index < HI) {
+            RegisterFile.updateRegister(index, value);
+        } else if (index == HI) {
+            RegisterFile.updateRegister(33, value);
+        } else if (index == LO) {
+            RegisterFile.updateRegister(34, value);
+        } else if (index < FLAGS) {
+            Coprocessor1.updateRegister(index - FPU, value);
+        } else if (index == FLAGS) {
+            for (int flag = 0; flag < Coprocessor1.getConditionFlagCount(); flag++) {
+                if ((value & (1 << flag)) != 0) {
+                    Coprocessor1.setConditionFlag(flag);
+                } else {
+                    Coprocessor1.clearConditionFlag(flag);
+                }
+            }
+        } else {
+            Coprocessor0.updateRegister(Coprocessor0.getRegisters()[index - COPROCESSOR0].getNumber(), value);
+        }
+    }
+
+    // Finds the writes of replayed instructions to a range of memory.
+    private class WriteWatch implements RangeAccessObserver {
+        private final long first;
+        private final long last;
+
+        private WriteWatch(int address, int length) {
+            first = address & 0xFFFFFFFFL;
+            last = first + Math.max(length, 1) - 1;
+        }
+
+        public void update(Observable memory, Object notice) {
+            if (!executing || !(notice instanceof MemoryAccessNotice)) {
+                return;
+            }
+            MemoryAccessNotice access = (MemoryAccessNotice) notice;
+            long start = access.getAddress() & 0xFFFFFFFFL;
+            if (access.getAccessType() == AccessNotice.WRITE
+                    && start <= last && start + Math.max(access.getLength(), 1) - 1 >= first) {
+                found = position;
+            }
+        }
+    }
+
+    // Machine state at a position of the history.
+    private static final class Snapshot {
+        private final long position;
+        // Index of the first event after the snapshot was taken.
+        private final int firstEvent;
+        private final ProgramImage image;
+        private final int delayedBranchState;
+        private final int delayedBranchTarget;
+
+        private Snapshot(long position, int firstEvent) {
+            this.position = position;
+            this.firstEvent = firstEvent;
+            image = ProgramImage.capture();
+            delayedBranchState = DelayedBranch.getState();
+            delayedBranchTarget = DelayedBranch.getBranchTargetAddress();
+        }
+    }
+
+    // Something the program took in from outside at a position of the history.
+    private static final class Event {
+        private final long position;
+        private final int kind;
+        // WRITE: the change.
+        private Runnable write;
+        // INTERRUPT: the interrupting device.
+        private int device;
+        // SYSCALL: pairs of register index and value after the syscall, the pages it
+        // may have written and their contents after it, and the exception it threw.
+        private int[] registers;
+        private int[] pages;
+        private byte[][] contents;
+        private ProcessingException exception;
+
+        private Event(long position, int kind) {
+            this.position = position;
+            this.kind = kind;
+        }
+    }
+}
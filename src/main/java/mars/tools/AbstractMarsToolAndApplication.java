@@ -81,6 +81,8 @@ public abstract class AbstractMarsToolAndApplication extends JFrame implements M
     // For MarsTool, is set true when "Connect" clicked, false when "Disconnect" clicked.
     // For app, is set true when "Assemble and Run" clicked, false when program terminates.
     private volatile boolean observing = false;
+    // Observer registered in place of this tool/app when it asks for asynchronous delivery.
+    private AccessStream accessStream;
 
     // Several structures required for stand-alone use only (not MarsTool use)
     private File mostRecentlyOpenedFile = null;
@@ -467,6 +469,22 @@ public abstract class AbstractMarsToolAndApplication extends JFrame implements M
     protected void processMIPSUpdate(Observable resource, AccessNotice notice) {
     }
 
+    /**
+     * Override this method to have notices delivered on a thread of their own rather than
+     * on the thread running the MIPS program, so that a slow tool/app does not slow down
+     * the program.  Notices are then buffered, and processMIPSUpdate() is called for each
+     * of a batch of them, followed by a single call of updateDisplay().  With
+     * AccessStream.Delivery.LOSSY, notices arriving while the buffer is full are dropped;
+     * with AccessStream.Delivery.BACK_PRESSURE, the MIPS program waits for room.
+     * By default it returns null, for delivery on the MIPS program's thread as each access
+     * is made.
+     *
+     * @return how notices are to be delivered asynchronously, or null for synchronous delivery
+     */
+    protected AccessStream.Delivery getAccessDelivery() {
+        return null;
+    }
+
     /**
      * This method is called when tool/app is exited either through the close/exit button or the window's X box.
      * Override it to perform any special housecleaning needed.  By default it does nothing.
@@ -507,7 +525,7 @@ public abstract class AbstractMarsToolAndApplication extends JFrame implements M
     protected void addAsObserver(int lowEnd, int highEnd) {
         String errorMessage = "Error connecting to MIPS memory";
         try {
-            Globals.memory.addObserver(thisMarsApp, lowEnd, highEnd);
+            Globals.memory.addObserver(getObserver(), lowEnd, highEnd);
         } catch (AddressErrorException aee) {
             if (this.isBeingUsedAsAMarsTool) {
                 headingLabel.setText(errorMessage);
@@ -522,7 +540,7 @@ public abstract class AbstractMarsToolAndApplication extends JFrame implements M
      */
     protected void addAsObserver(Register reg) {
         if (reg != null) {
-            reg.addObserver(thisMarsApp);
+            reg.addObserver(getObserver());
         }
     }
 
@@ -538,6 +556,9 @@ public abstract class AbstractMarsToolAndApplication extends JFrame implements M
 
     protected void deleteAsObserver() {
         Globals.memory.deleteObserver(thisMarsApp);
+        if (accessStream != null) {
+            Globals.memory.deleteObserver(accessStream);
+        }
     }
 
     /**
@@ -547,6 +568,9 @@ public abstract class AbstractMarsToolAndApplication extends JFrame implements M
     protected void deleteAsObserver(Register reg) {
         if (reg != null) {
             reg.deleteObserver(thisMarsApp);
+            if (accessStream != null) {
+                reg.deleteObserver(accessStream);
+            }
         }
     }
 
@@ -591,6 +615,39 @@ public abstract class AbstractMarsToolAndApplication extends JFrame implements M
     ////////////////////  PRIVATE HELPER METHODS    //////////////////////////////////
     //////////////////////////////////////////////////////////////////////////////////
 
+    // Returns the observer to register with MIPS resources: this tool/app itself, or the
+    // stream delivering notices to it asynchronously.
+    private Observer getObserver() {
+        AccessStream.Delivery delivery = getAccessDelivery();
+        if (delivery == null) {
+            return thisMarsApp;
+        }
+        if (accessStream == null) {
+            accessStream = new AccessStream(delivery, this::processAccesses);
+        }
+        return accessStream;
+    }
+
+    // Called on the stream's thread with a batch of notices.
+    private void processAccesses(AccessStream.Batch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            AccessNotice notice = batch.getNotice(i);
+            if (notice.accessIsFromMIPS()) {
+                processMIPSUpdate(batch.getSource(i), notice);
+            }
+        }
+        updateDisplay();
+    }
+
+    // Stops observing, and ends the stream if there is one.
+    private void stopObserving() {
+        deleteAsObserver();
+        if (accessStream != null) {
+            accessStream.close();
+            accessStream = null;
+        }
+    }
+
     // Closing duties for MarsTool only.
     private void performToolClosingDuties() {
         performSpecialClosingDuties();
@@ -628,16 +685,12 @@ public abstract class AbstractMarsToolAndApplication extends JFrame implements M
 
         public void connect() {
             observing = true;
-            synchronized (Globals.memoryAndRegistersLock) {// DPS 23 July 2008
-                addAsObserver();
-            }
+            Globals.memoryAndRegisters.write(AbstractMarsToolAndApplication.this::addAsObserver);
             setText(disconnectText);
         }
 
         public void disconnect() {
-            synchronized (Globals.memoryAndRegistersLock) {// DPS 23 July 2008
-                deleteAsObserver();
-            }
+            Globals.memoryAndRegisters.write(AbstractMarsToolAndApplication.this::stopObserving);
             observing = false;
             setText(connectText);
         }
@@ -731,7 +784,7 @@ public abstract class AbstractMarsToolAndApplication extends JFrame implements M
             } catch (mars.ProcessingException pe) {
                 terminatingMessage = "Runtime error: ";
             } finally {
-                deleteAsObserver();
+                stopObserving();
                 observing = false;
                 operationStatusMessages.displayTerminatingMessage(terminatingMessage + fileToAssemble);
             }
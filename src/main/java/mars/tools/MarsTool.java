@@ -39,8 +39,10 @@ WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
  *
  * It may also communicate directly with those resources through
  * their published methods PROVIDED any such communication is
- * wrapped inside a block synchronized on the
- * Mars.Globals.memoryAndRegistersLock object.
+ * done through the Mars.Globals.memoryAndRegisters object:
+ * changes with its write() method and reads with its read() method.
+ * Observers are notified on the thread running the simulation,
+ * and may use the resources directly.
  */
 public interface MarsTool {
 
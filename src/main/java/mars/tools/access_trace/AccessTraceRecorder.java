@@ -0,0 +1,157 @@
+package mars.tools.access_trace;
+
+import mars.Globals;
+import mars.mips.hardware.AccessNotice;
+import mars.mips.hardware.AccessTraceReader;
+import mars.mips.hardware.AccessTraceWriter;
+import mars.tools.AbstractMarsToolAndApplication;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.Observable;
+
+/**
+ * Tool that records every instruction fetch, load and store of the running MIPS
+ * program to a binary trace file while connected, and replays a trace file to the
+ * other connected tools, such as the Cache Simulator or the BHT Simulator, without
+ * running the program again.
+ */
+public class AccessTraceRecorder extends AbstractMarsToolAndApplication {
+    private static String name = "Access Trace Recorder";
+    private static String heading = "Record and replay memory access traces";
+
+    private JTextField fileField;
+    private JCheckBox compressBox;
+    private JLabel statusLabel;
+    private AccessTraceWriter trace;
+
+    /**
+     * Simple constructor, likely used to run a stand-alone trace recorder.
+     *
+     * @param title   String containing title for title bar
+     * @param heading String containing text for heading shown in upper part of window.
+     */
+    public AccessTraceRecorder(String title, String heading) {
+        super(title, heading);
+    }
+
+    /**
+     * Simple construction, likely used by the MARS Tools menu mechanism.
+     */
+    public AccessTraceRecorder() {
+        super(name, heading);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    protected JComponent buildMainDisplayArea() {
+        JPanel panel = new JPanel(new GridBagLayout());
+        fileField = new JTextField(new File("mars.trace").getAbsolutePath(), 30);
+        JButton browseButton = new JButton("Browse...");
+        browseButton.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser(new File(fileField.getText()).getParentFile());
+            if (chooser.showSaveDialog(theWindow) == JFileChooser.APPROVE_OPTION) {
+                fileField.setText(chooser.getSelectedFile().getAbsolutePath());
+            }
+        });
+        compressBox = new JCheckBox("Compress trace");
+        JButton replayButton = new JButton("Replay Trace...");
+        replayButton.setToolTipText("Send the accesses of a trace file to the connected tools");
+        replayButton.addActionListener(e -> replay());
+        statusLabel = new JLabel("Connect to record the next run.");
+
+        GridBagConstraints c = new GridBagConstraints();
+        c.insets = new Insets(3, 3, 3, 3);
+        c.anchor = GridBagConstraints.LINE_START;
+        c.gridx = 0;
+        c.gridy = 0;
+        panel.add(new JLabel("Trace file: "), c);
+        c.gridx++;
+        panel.add(fileField, c);
+        c.gridx++;
+        panel.add(browseButton, c);
+        c.gridx = 1;
+        c.gridy++;
+        panel.add(compressBox, c);
+        c.gridy++;
+        panel.add(replayButton, c);
+        c.gridx = 0;
+        c.gridy++;
+        c.gridwidth = 3;
+        panel.add(statusLabel, c);
+        return panel;
+    }
+
+    /**
+     * Opens the trace file and observes all of memory.
+     */
+    protected void addAsObserver() {
+        try {
+            trace = new AccessTraceWriter(new File(fileField.getText()), compressBox.isSelected());
+        } catch (IOException e) {
+            showStatus("Cannot create trace file: " + e.getMessage());
+            return;
+        }
+        addAsObserver(0, 0x7ffffffc);
+        addAsObserver(0x80000000, 0xfffffffc);
+        showStatus("Recording to " + fileField.getText());
+    }
+
+    /**
+     * Stops observing memory and finishes the trace file.
+     */
+    protected void deleteAsObserver() {
+        super.deleteAsObserver();
+        if (trace != null) {
+            try {
+                trace.close();
+                showStatus("Recorded " + trace.getRecordCount() + " accesses.");
+            } catch (IOException e) {
+                showStatus("Error writing trace file: " + e.getMessage());
+            }
+            trace = null;
+        }
+    }
+
+    protected void processMIPSUpdate(Observable resource, AccessNotice notice) {
+        AccessTraceWriter writer = trace;
+        if (writer != null) {
+            writer.update(resource, notice);
+        }
+    }
+
+    // Replays a trace file chosen by the user to the tools connected to memory.
+    private void replay() {
+        if (isObserving()) {
+            showStatus("Disconnect before replaying, so the replay is not recorded.");
+            return;
+        }
+        if (Globals.program == null) {
+            showStatus("Assemble a program before replaying, so tools receive accesses.");
+            return;
+        }
+        JFileChooser chooser = new JFileChooser(new File(fileField.getText()).getParentFile());
+        if (chooser.showOpenDialog(theWindow) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        showStatus("Replaying " + file.getName() + "...");
+        // Tools accept only accesses from the MIPS program, identified by the thread name.
+        new Thread(() -> {
+            try (AccessTraceReader reader = new AccessTraceReader(file)) {
+                long count = reader.replay(Globals.memory);
+                showStatus("Replayed " + count + " accesses from " + file.getName() + ".");
+            } catch (IOException e) {
+                showStatus("Error reading trace file: " + e.getMessage());
+            }
+        }, "MIPS trace replay").start();
+    }
+
+    private void showStatus(String text) {
+        SwingUtilities.invokeLater(() -> statusLabel.setText(text));
+    }
+}
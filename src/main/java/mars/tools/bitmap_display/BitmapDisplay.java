@@ -1,6 +1,7 @@
 package mars.tools.bitmap_display;
 
 import mars.mips.hardware.AccessNotice;
+import mars.mips.hardware.AccessStream;
 import mars.mips.hardware.Memory;
 import mars.mips.hardware.MemoryAccessNotice;
 import mars.tools.AbstractMarsToolAndApplication;
@@ -188,6 +189,14 @@ public class BitmapDisplay extends AbstractMarsToolAndApplication {
         }
     }
 
+    /**
+     * Has notices delivered on a thread of their own, so that drawing does not slow down
+     * the MIPS program.  None are dropped, since every write may change a pixel.
+     */
+    protected AccessStream.Delivery getAccessDelivery() {
+        return AccessStream.Delivery.BACK_PRESSURE;
+    }
+
 
     /**
      * Initialize all JComboBox choice structures not already initialized at declaration.
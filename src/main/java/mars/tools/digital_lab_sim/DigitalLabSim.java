@@ -116,14 +116,14 @@ public class DigitalLabSim extends AbstractMarsToolAndApplication {
 
     private synchronized void updateMMIOControlAndData(int dataAddr, int dataValue) {
         if (!this.isBeingUsedAsAMarsTool || (this.isBeingUsedAsAMarsTool && connectButton.isConnected())) {
-            synchronized (Globals.memoryAndRegistersLock) {
+            Globals.memoryAndRegisters.write(() -> {
                 try {
                     Globals.memory.setByte(dataAddr, dataValue);
                 } catch (AddressErrorException aee) {
                     System.out.println("Tool author specified incorrect MMIO address!" + aee);
                     System.exit(0);
                 }
-            }
+            });
             if (Globals.getGui() != null && Globals.getGui().getMainPane().getExecutePane().getTextSegmentWindow().getCodeHighlighting()) {
                 Globals.getGui().getMainPane().getExecutePane().getDataSegmentWindow().updateValues();
             }
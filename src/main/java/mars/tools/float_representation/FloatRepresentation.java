@@ -395,9 +395,8 @@ public class FloatRepresentation extends AbstractMarsToolAndApplication {
     // If display is attached to a register then update the register value.
     private synchronized void updateAnyAttachedRegister(int intValue) {
         if (attachedRegister != null) {
-            synchronized (Globals.memoryAndRegistersLock) {
-                attachedRegister.setValue(intValue);
-            }
+            Register register = attachedRegister;
+            Globals.memoryAndRegisters.write(() -> register.setValue(intValue));
             // HERE'S A HACK!!  Want to immediately display the updated register value in MARS
             // but that code was not written for event-driven update (e.g. Observer) --
             // it was written to poll the registers for their values.  So we force it to do so.
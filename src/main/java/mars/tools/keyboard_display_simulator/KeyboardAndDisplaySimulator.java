@@ -677,7 +677,7 @@ public class KeyboardAndDisplaySimulator extends AbstractMarsToolAndApplication
     // NOTE: last argument TRUE means update only the MMIO Control register; FALSE means update both Control and Data.
     private synchronized void updateMMIOControlAndData(int controlAddr, int controlValue, int dataAddr, int dataValue, boolean controlOnly) {
         if (!this.isBeingUsedAsAMarsTool || (this.isBeingUsedAsAMarsTool && connectButton.isConnected())) {
-            synchronized (Globals.memoryAndRegistersLock) {
+            Globals.memoryAndRegisters.write(() -> {
                 try {
                     Globals.memory.setRawWord(controlAddr, controlValue);
                     if (!controlOnly) Globals.memory.setRawWord(dataAddr, dataValue);
@@ -685,7 +685,7 @@ public class KeyboardAndDisplaySimulator extends AbstractMarsToolAndApplication
                     System.out.println("Tool author specified incorrect MMIO address!" + aee);
                     System.exit(0);
                 }
-            }
+            });
             // HERE'S A HACK!!  Want to immediately display the updated memory value in MARS
             // but that code was not written for event-driven update (e.g. Observer) --
             // it was written to poll the memory cells for their values.  So we force it to do so.
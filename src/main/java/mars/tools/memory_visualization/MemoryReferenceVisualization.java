@@ -1,6 +1,7 @@
 package mars.tools.memory_visualization;
 
 import mars.mips.hardware.AccessNotice;
+import mars.mips.hardware.AccessStream;
 import mars.mips.hardware.Memory;
 import mars.mips.hardware.MemoryAccessNotice;
 import mars.tools.AbstractMarsToolAndApplication;
@@ -215,7 +216,14 @@ public class MemoryReferenceVisualization extends AbstractMarsToolAndApplication
      */
     protected void processMIPSUpdate(Observable memory, AccessNotice accessNotice) {
         incrementReferenceCountForAddress(((MemoryAccessNotice) accessNotice).getAddress());
-        updateDisplay();
+    }
+
+    /**
+     * Has notices delivered on a thread of their own, so that counting and drawing do
+     * not slow down the MIPS program.  None are dropped, so that the counts stay exact.
+     */
+    protected AccessStream.Delivery getAccessDelivery() {
+        return AccessStream.Delivery.BACK_PRESSURE;
     }
 
 
@@ -0,0 +1,193 @@
+package mars.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Guards state that one thread, the writer, changes while others read it, without the
+ * writer ever taking a lock.  The writer marks each change with {@link #beginWrite()}
+ * and {@link #endWrite()}, which advance a sequence number that is odd while a change
+ * is under way.  Readers run optimistically through {@link #read(Supplier)}, which
+ * repeats a read that overlapped a change.  Other threads that need to change the
+ * state do so through {@link #write(Runnable)}: while there is a writer, the change is
+ * queued and made by the writer itself at the start of its next change, so it never
+ * interleaves with one.
+ * <p>
+ * MARS uses one of these, {@link mars.Globals#memoryAndRegisters}, for MIPS memory
+ * and registers.  The simulation thread is the writer while a program runs, marking
+ * each instruction (or each basic block) as a change.  The GUI and tools read and
+ * write through it.
+ */
+public class SeqLock {
+    // Attempts a read makes before settling for an unchecked one.  A writer blocked
+    // in the middle of a change, such as a syscall waiting for input, would otherwise
+    // hold up readers indefinitely.
+    private static final int MAX_READ_ATTEMPTS = 100;
+
+    private volatile long sequence;
+    private volatile boolean writesPending;
+    private volatile int readFence;
+    private volatile Thread writer;
+    private final ConcurrentLinkedQueue<Runnable> pendingWrites = new ConcurrentLinkedQueue<>();
+    private volatile WriteRecorder writeRecorder;
+    // Whether the writer is making a change it has told the recorder of.  Changes made
+    // within it are part of it, and are not told of again.
+    private boolean recordedWriteRunning;
+
+    /**
+     * Makes the calling thread the writer, until {@link #stopWriting()}.
+     */
+    public synchronized void startWriting() {
+        writer = Thread.currentThread();
+    }
+
+    /**
+     * Ends the calling thread's turn as writer, first making any changes still queued.
+     */
+    public synchronized void stopWriting() {
+        writer = null;
+        sequence++;
+        try {
+            runPendingWrites();
+        } finally {
+            sequence++;
+        }
+    }
+
+    /**
+     * Marks the start of a change by the writer.  Changes queued by other threads are
+     * made first.
+     */
+    public void beginWrite() {
+        sequence++;
+        // Reading a volatile after the increment keeps the changes that follow from
+        // being seen ahead of it.
+        if (writesPending) {
+            runPendingWrites();
+        }
+    }
+
+    /**
+     * Marks the end of a change by the writer.
+     */
+    public void endWrite() {
+        sequence++;
+    }
+
+    private void runPendingWrites() {
+        writesPending = false;
+        for (Runnable action = pendingWrites.poll(); action != null; action = pendingWrites.poll()) {
+            runRecorded(action, false);
+        }
+    }
+
+    // Makes a change on the writer thread, telling the recorder of it first.
+    private void runRecorded(Runnable action, boolean withinChange) {
+        WriteRecorder recorder = writeRecorder;
+        if (recorder == null || recordedWriteRunning) {
+            action.run();
+            return;
+        }
+        recorder.record(action, withinChange);
+        recordedWriteRunning = true;
+        try {
+            action.run();
+        } finally {
+            recordedWriteRunning = false;
+        }
+    }
+
+    /**
+     * Sets what is told of each change made through {@link #write(Runnable)} while there
+     * is a writer, just before the writer makes it, so the change can be made again later.
+     * This includes changes the writer makes itself, such as those of a device reacting to
+     * what the writer does.
+     *
+     * @param recorder told of each change, or null for none
+     */
+    public void setWriteRecorder(WriteRecorder recorder) {
+        writeRecorder = recorder;
+    }
+
+    /**
+     * Makes a change on behalf of a thread other than the writer.  If there is a
+     * writer, the change is queued for it and this returns at once; otherwise it is
+     * made right away.  Called by the writer itself, the change is simply made.
+     *
+     * @param action the change, which should not throw
+     */
+    public void write(Runnable action) {
+        if (writer == Thread.currentThread()) {
+            runRecorded(action, (sequence & 1) != 0);
+            return;
+        }
+        synchronized (this) {
+            if (writer != null) {
+                pendingWrites.add(action);
+                writesPending = true;
+                return;
+            }
+            sequence++;
+            try {
+                action.run();
+            } finally {
+                sequence++;
+            }
+        }
+    }
+
+    /**
+     * Reads consistently: the reader is run until it does not overlap a change.  It may
+     * therefore run more than once, and should have no side effects other than building
+     * its result.  If the writer stays in the middle of one change for a long time, the
+     * result of an unchecked read is returned instead.  Called by the writer itself,
+     * the reader is simply run.
+     *
+     * @param reader reads the state and returns what was read
+     * @return the reader's result
+     */
+    public <T> T read(Supplier<T> reader) {
+        if (writer != Thread.currentThread()) {
+            for (int attempt = 0; attempt < MAX_READ_ATTEMPTS; attempt++) {
+                long before = sequence;
+                if ((before & 1) == 0) {
+                    T result;
+                    try {
+                        result = reader.get();
+                    } catch (RuntimeException e) {
+                        // A read that overlaps a change may fail where a consistent one would not.
+                        if (unchanged(before)) throw e;
+                        continue;
+                    }
+                    if (unchanged(before)) {
+                        return result;
+                    }
+                }
+                Thread.yield();
+            }
+        }
+        return reader.get();
+    }
+
+    // Writing a volatile keeps the reads made before it from being moved after the
+    // check of the sequence number.
+    private boolean unchanged(long before) {
+        readFence = 0;
+        return sequence == before;
+    }
+
+    /**
+     * Told of the changes made through {@link #write(Runnable)}.  See
+     * {@link #setWriteRecorder(WriteRecorder)}.
+     */
+    public interface WriteRecorder {
+        /**
+         * Called on the writer thread just before it makes a change.
+         *
+         * @param action       the change
+         * @param withinChange true if the writer makes it in the middle of one of its own
+         *                     changes, false if before its next one
+         */
+        void record(Runnable action, boolean withinChange);
+    }
+}
@@ -4,6 +4,8 @@ import mars.Globals;
 import mars.Settings;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 	
 	/*
 Copyright (c) 2003-2013,  Pete Sanderson and Kenneth Vollmar
@@ -71,6 +73,29 @@ public class SystemIO {
     // See getInputReader() below.
     private static BufferedReader inputReader = null;
 
+    // Console streams used when running from the command line.  These are the
+    // System streams unless replaced by setStandardStreams().
+    private static InputStream standardInput = System.in;
+    private static PrintStream standardOutput = System.out;
+    private static PrintStream standardError = System.err;
+
+    /**
+     * Replace the console streams used for command line MIPS program I/O, which
+     * are System.in, System.out and System.err by default.  Any open files are
+     * closed and input buffered from the previous input stream is discarded.
+     *
+     * @param in  stream providing standard input
+     * @param out stream receiving standard output
+     * @param err stream receiving standard error
+     */
+    public static void setStandardStreams(InputStream in, PrintStream out, PrintStream err) {
+        standardInput = in;
+        standardOutput = out;
+        standardError = err;
+        inputReader = null;
+        resetFiles();
+    }
+
     /**
      * Implements syscall to read an integer value.
      * Client is responsible for catching NumberFormatException.
@@ -158,7 +183,7 @@ public class SystemIO {
      */
     public static void printString(String string) {
         if (Globals.getGui() == null) {
-            System.out.print(string);
+            standardOutput.print(string);
         } else {
             Globals.getGui().getMessagesPane().postRunMessage(string);
         }
@@ -407,6 +432,42 @@ public class SystemIO {
         FileIOData.resetFiles();
     }
 
+    /**
+     * Writes the file descriptor table to the given stream, for a machine state
+     * snapshot.  For each open file other than standard input, output and error this
+     * is its descriptor, name, flags and current position.  File contents are not written.
+     *
+     * @param out stream to write to
+     * @throws IOException if the stream cannot be written or a file position cannot be determined
+     */
+    public static void writeOpenFiles(DataOutputStream out) throws IOException {
+        FileIOData.writeOpenFiles(out);
+    }
+
+    /**
+     * Reads a file descriptor table written by {@link #writeOpenFiles(DataOutputStream)},
+     * without opening any files or changing the current table.
+     *
+     * @param in buffer positioned at the start of the file descriptor table
+     * @return table to pass to {@link #restoreOpenFiles(OpenFiles)}
+     * @throws IOException if the table is malformed
+     */
+    public static OpenFiles readOpenFiles(ByteBuffer in) throws IOException {
+        return FileIOData.readOpenFiles(in);
+    }
+
+    /**
+     * Replaces the file descriptor table with one read by {@link #readOpenFiles(ByteBuffer)}.
+     * Each saved file is reopened and positioned where it was, then any open files are
+     * closed.  A file open for writing is truncated to its saved position.
+     *
+     * @param files table to restore
+     * @throws IOException if a saved file cannot be reopened.  The table is unchanged in that case.
+     */
+    public static void restoreOpenFiles(OpenFiles files) throws IOException {
+        FileIOData.restoreOpenFiles(files);
+    }
+
     /**
      * Retrieve file operation or error message
      *
@@ -424,7 +485,7 @@ public class SystemIO {
      */
     private static BufferedReader getInputReader() {
         if (inputReader == null) {
-            inputReader = new BufferedReader(new InputStreamReader(System.in));
+            inputReader = new BufferedReader(new InputStreamReader(standardInput));
         }
         return inputReader;
     }
@@ -452,11 +513,11 @@ public class SystemIO {
             fileFlags[STDIN] = SystemIO.O_RDONLY;
             fileFlags[STDOUT] = SystemIO.O_WRONLY;
             fileFlags[STDERR] = SystemIO.O_WRONLY;
-            streams[STDIN] = System.in;
-            streams[STDOUT] = System.out;
-            streams[STDERR] = System.err;
-            System.out.flush();
-            System.err.flush();
+            streams[STDIN] = standardInput;
+            streams[STDOUT] = standardOutput;
+            streams[STDERR] = standardError;
+            standardOutput.flush();
+            standardError.flush();
         }
 
         // Preserve a stream that is in use
@@ -559,8 +620,115 @@ public class SystemIO {
 
         }
 
+        private static void writeOpenFiles(DataOutputStream out) throws IOException {
+            int count = 0;
+            for (int fd = STDERR + 1; fd < SYSCALL_MAXFILES; fd++) {
+                if (streams[fd] != null) count++;
+            }
+            out.writeInt(count);
+            for (int fd = STDERR + 1; fd < SYSCALL_MAXFILES; fd++) {
+                if (streams[fd] != null) {
+                    long position = (fileFlags[fd] == O_RDONLY)
+                            ? ((FileInputStream) streams[fd]).getChannel().position()
+                            : ((FileOutputStream) streams[fd]).getChannel().position();
+                    out.writeInt(fd);
+                    byte[] name = fileNames[fd].getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(name.length);
+                    out.write(name);
+                    out.writeInt(fileFlags[fd]);
+                    out.writeLong(position);
+                }
+            }
+        }
+
+        private static OpenFiles readOpenFiles(ByteBuffer in) throws IOException {
+            OpenFiles files = new OpenFiles();
+            try {
+                int count = in.getInt();
+                if (count < 0 || count > SYSCALL_MAXFILES - STDERR - 1) {
+                    throw new IOException("file table is malformed");
+                }
+                for (; count > 0; count--) {
+                    int fd = in.getInt();
+                    if (fd <= STDERR || fd >= SYSCALL_MAXFILES || files.fileNames[fd] != null) {
+                        throw new IOException("invalid file descriptor " + fd);
+                    }
+                    int length = in.getInt();
+                    if (length < 0 || length > in.remaining()) {
+                        throw new IOException("file table is malformed");
+                    }
+                    byte[] name = new byte[length];
+                    in.get(name);
+                    int flag = in.getInt();
+                    long position = in.getLong();
+                    if ((flag != O_RDONLY && flag != O_WRONLY && flag != (O_WRONLY | O_APPEND)) || position < 0) {
+                        throw new IOException("file table is malformed");
+                    }
+                    files.fileNames[fd] = new String(name, StandardCharsets.UTF_8);
+                    files.fileFlags[fd] = flag;
+                    files.positions[fd] = position;
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("file table is malformed", e);
+            }
+            return files;
+        }
+
+        // All saved files are opened before the current ones are closed, so that a file
+        // that cannot be opened leaves the table as it was.
+        private static void restoreOpenFiles(OpenFiles files) throws IOException {
+            Closeable[] opened = new Closeable[SYSCALL_MAXFILES];
+            try {
+                for (int fd = STDERR + 1; fd < SYSCALL_MAXFILES; fd++) {
+                    if (files.fileNames[fd] == null) continue;
+                    if (files.fileFlags[fd] == O_RDONLY) {
+                        FileInputStream inputStream = new FileInputStream(files.fileNames[fd]);
+                        opened[fd] = inputStream;
+                        inputStream.getChannel().position(files.positions[fd]);
+                    } else {
+                        opened[fd] = new FileOutputStream(files.fileNames[fd], true);
+                    }
+                }
+                for (int fd = STDERR + 1; fd < SYSCALL_MAXFILES; fd++) {
+                    if (opened[fd] instanceof FileOutputStream) {
+                        ((FileOutputStream) opened[fd]).getChannel().truncate(files.positions[fd]);
+                    }
+                }
+            } catch (IOException e) {
+                for (Closeable stream : opened) {
+                    if (stream == null) continue;
+                    try {
+                        stream.close();
+                    } catch (IOException ioe) {
+                        // not concerned with this exception
+                    }
+                }
+                throw e;
+            }
+            resetFiles();
+            for (int fd = STDERR + 1; fd < SYSCALL_MAXFILES; fd++) {
+                if (opened[fd] != null) {
+                    fileNames[fd] = files.fileNames[fd];
+                    fileFlags[fd] = files.fileFlags[fd];
+                    streams[fd] = opened[fd];
+                }
+            }
+        }
+
     }
 
+    /**
+     * File descriptor table read from a machine state snapshot by {@link SystemIO#readOpenFiles(ByteBuffer)},
+     * not yet restored.
+     */
+    public static final class OpenFiles {
+        private final String[] fileNames = new String[SYSCALL_MAXFILES];
+        private final int[] fileFlags = new int[SYSCALL_MAXFILES];
+        private final long[] positions = new long[SYSCALL_MAXFILES];
+
+        private OpenFiles() {
+        }
+    }
 
 }
 
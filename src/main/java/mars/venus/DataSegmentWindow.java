@@ -76,6 +76,12 @@ public class DataSegmentWindow extends JInternalFrame implements Observer {
     private boolean asciiDisplay = false;
     private int addressRow, addressColumn, addressRowFirstAddress;
     private Settings settings;
+    // What the table shows as of its last refresh: the memory range, the display bases
+    // and the write generation in which the values were read, or -1 if the table may
+    // not match them.  A refresh showing the same range in the same bases is skipped
+    // unless memory in the range has been written to since.
+    private int shownAddress, shownValueBase, shownAddressBase;
+    private int shownGeneration = -1;
 
     int firstAddress;
     int homeAddress;
@@ -451,6 +457,7 @@ public class DataSegmentWindow extends JInternalFrame implements Observer {
      * Generates and displays fresh table, typically done upon successful assembly.
      */
     public void setupTable() {
+        shownGeneration = -1;
         tablePanel.removeAll();
         tablePanel.add(generateDataPanel());
         contentPane.add(tablePanel);
@@ -461,6 +468,7 @@ public class DataSegmentWindow extends JInternalFrame implements Observer {
      * Removes the table from its frame, typically done when a file is closed.
      */
     public void clearWindow() {
+        shownGeneration = -1;
         tablePanel.removeAll();
         disableAllButtons();
     }
@@ -498,43 +506,66 @@ public class DataSegmentWindow extends JInternalFrame implements Observer {
             return; // ignore if no content to change
         int valueBase = getValueDisplayFormat();
         int addressBase = Globals.getGui().getMainPane().getExecutePane().getAddressDisplayBase();
+        if (shownGeneration >= 0 && firstAddr == shownAddress && valueBase == shownValueBase
+                && addressBase == shownAddressBase
+                && !Globals.memory.isWrittenSince(shownGeneration, firstAddr, MEMORY_CHUNK_SIZE)) {
+            return; // the table already shows these values
+        }
+        int generation = Globals.memory.nextWriteGeneration();
+        // Values are read together, so they are from the same point of a running program.
+        int[] values = Globals.memoryAndRegisters.read(() -> readValues(firstAddr));
         int address = firstAddr;
         TableModel dataModel = dataTable.getModel();
         for (int row = 0; row < NUMBER_OF_ROWS; row++) {
             ((DataTableModel) dataModel).setDisplayAndModelValueAt(NumberDisplayBaseChooser.formatUnsignedInteger(address, addressBase), row, ADDRESS_COLUMN);
             for (int column = 1; column < NUMBER_OF_COLUMNS; column++) {
-                try {
-                    ((DataTableModel) dataModel).setDisplayAndModelValueAt(NumberDisplayBaseChooser.formatNumber(Globals.memory.getWordNoNotify(address), valueBase), row, column);
-                } catch (AddressErrorException aee) {
-                    // Bit of a hack here.  Memory will throw an exception if you try to read directly from text segment when the
-                    // self-modifying code setting is disabled.  This is a good thing if it is the executing MIPS program trying to
-                    // read.  But not a good thing if it is the DataSegmentDisplay trying to read.  I'll trick Memory by 
-                    // temporarily enabling the setting as "non persistent" so it won't write through to the registry.
-                    if (Memory.inTextSegment(address)) {
-                        int displayValue = 0;
-                        if (!Globals.getSettings().getBooleanSetting(Settings.SELF_MODIFYING_CODE_ENABLED)) {
-                            Globals.getSettings().setBooleanSettingNonPersistent(Settings.SELF_MODIFYING_CODE_ENABLED, true);
-                            try {
-                                displayValue = Globals.memory.getWordNoNotify(address);
-                            } catch (AddressErrorException e) {
-                                // Still got an exception?  Doesn't seem possible but if we drop through it will write default value 0.
-                            }
-                            Globals.getSettings().setBooleanSettingNonPersistent(Settings.SELF_MODIFYING_CODE_ENABLED, false);
+                ((DataTableModel) dataModel).setDisplayAndModelValueAt(NumberDisplayBaseChooser.formatNumber(values[row * (NUMBER_OF_COLUMNS - 1) + column - 1], valueBase), row, column);
+                address += BYTES_PER_VALUE;
+            }
+        }
+        shownAddress = firstAddr;
+        shownValueBase = valueBase;
+        shownAddressBase = addressBase;
+        shownGeneration = generation;
+    }
+
+    // Reads the values displayed for the given range of memory, in address order.
+    private int[] readValues(int firstAddr) {
+        int[] values = new int[NUMBER_OF_ROWS * (NUMBER_OF_COLUMNS - 1)];
+        int address = firstAddr;
+        for (int i = 0; i < values.length; i++) {
+            try {
+                values[i] = Globals.memory.getWordNoNotify(address);
+            } catch (AddressErrorException aee) {
+                // Bit of a hack here.  Memory will throw an exception if you try to read directly from text segment when the
+                // self-modifying code setting is disabled.  This is a good thing if it is the executing MIPS program trying to
+                // read.  But not a good thing if it is the DataSegmentDisplay trying to read.  I'll trick Memory by 
+                // temporarily enabling the setting as "non persistent" so it won't write through to the registry.
+                if (Memory.inTextSegment(address)) {
+                    int displayValue = 0;
+                    if (!Globals.getSettings().getBooleanSetting(Settings.SELF_MODIFYING_CODE_ENABLED)) {
+                        Globals.getSettings().setBooleanSettingNonPersistent(Settings.SELF_MODIFYING_CODE_ENABLED, true);
+                        try {
+                            displayValue = Globals.memory.getWordNoNotify(address);
+                        } catch (AddressErrorException e) {
+                            // Still got an exception?  Doesn't seem possible but if we drop through it will write default value 0.
                         }
-                        ((DataTableModel) dataModel).setDisplayAndModelValueAt(NumberDisplayBaseChooser.formatNumber(displayValue, valueBase), row, column);
-                    }
-                    // Bug Fix: the following line of code disappeared during the release 4.4 mods, but is essential to
-                    // display values of 0 for valid MIPS addresses that are outside the MARS simulated address space.  Such
-                    // addresses cause an AddressErrorException.  Prior to 4.4, they performed this line of code unconditionally.  
-                    // With 4.4, I added the above IF statement to work with the text segment but inadvertently removed this line!
-                    // Now it becomes the "else" part, executed when not in text segment.  DPS 8-July-2014.
-                    else {
-                        ((DataTableModel) dataModel).setDisplayAndModelValueAt(NumberDisplayBaseChooser.formatNumber(0, valueBase), row, column);
+                        Globals.getSettings().setBooleanSettingNonPersistent(Settings.SELF_MODIFYING_CODE_ENABLED, false);
                     }
+                    values[i] = displayValue;
+                }
+                // Bug Fix: the following line of code disappeared during the release 4.4 mods, but is essential to
+                // display values of 0 for valid MIPS addresses that are outside the MARS simulated address space.  Such
+                // addresses cause an AddressErrorException.  Prior to 4.4, they performed this line of code unconditionally.  
+                // With 4.4, I added the above IF statement to work with the text segment but inadvertently removed this line!
+                // Now it becomes the "else" part, executed when not in text segment.  DPS 8-July-2014.
+                else {
+                    values[i] = 0;
                 }
-                address += BYTES_PER_VALUE;
             }
+            address += BYTES_PER_VALUE;
         }
+        return values;
     }
 
     /**
@@ -548,6 +579,7 @@ public class DataSegmentWindow extends JInternalFrame implements Observer {
         }
         int row = offset / BYTES_PER_ROW;
         int column = (offset % BYTES_PER_ROW) / BYTES_PER_VALUE + 1; // column 0 reserved for address
+        shownGeneration = -1; // may be shown in another base than the rest
         int valueBase = Globals.getGui().getMainPane().getExecutePane().getValueDisplayBase();
         ((DataTableModel) dataTable.getModel()).setDisplayAndModelValueAt(NumberDisplayBaseChooser.formatNumber(value, valueBase),
                 row, column);
@@ -597,6 +629,7 @@ public class DataSegmentWindow extends JInternalFrame implements Observer {
 
     public void resetValues() {
         int valueBase = Globals.getGui().getMainPane().getExecutePane().getValueDisplayBase();
+        shownGeneration = -1;
         TableModel dataModel = dataTable.getModel();
         for (int row = 0; row < NUMBER_OF_ROWS; row++) {
             for (int column = 1; column < NUMBER_OF_COLUMNS; column++) {
@@ -915,6 +948,7 @@ public class DataSegmentWindow extends JInternalFrame implements Observer {
         public void setValueAt(Object value, int row, int col) {
             int val = 0;
             int address = 0;
+            shownGeneration = -1; // the cell is not necessarily what memory holds
             try {
                 val = Binary.stringToInt((String) value);
             } catch (NumberFormatException nfe) {
@@ -932,16 +966,17 @@ public class DataSegmentWindow extends JInternalFrame implements Observer {
             }
             //  Assures that if changed during MIPS program execution, the update will
             //  occur only between MIPS instructions.
-            synchronized (Globals.memoryAndRegistersLock) {
+            final int wordAddress = address, wordValue = val;
+            Globals.memoryAndRegisters.write(() -> {
                 try {
-                    Globals.memory.setRawWord(address, val);
+                    Globals.memory.setRawWord(wordAddress, wordValue);
                 }
                 // somehow, user was able to display out-of-range address.  Most likely to occur between
                 // stack base and Kernel.  Also text segment with self-modifying-code setting off.
+                // The display is put right at its next update.
                 catch (AddressErrorException aee) {
-                    return;
                 }
-            }// end synchronized block
+            });
             int valueBase = Globals.getGui().getMainPane().getExecutePane().getValueDisplayBase();
             data[row][col] = NumberDisplayBaseChooser.formatNumber(val, valueBase);
             fireTableCellUpdated(row, col);
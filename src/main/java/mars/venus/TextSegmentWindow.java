@@ -757,15 +757,16 @@ public class TextSegmentWindow extends JInternalFrame implements Observer {
             }
             //  Assures that if changed during MIPS program execution, the update will
             //  occur only between MIPS instructions.
-            synchronized (Globals.memoryAndRegistersLock) {
+            final int wordAddress = address, wordValue = val;
+            Globals.memoryAndRegisters.write(() -> {
                 try {
-                    Globals.memory.setRawWord(address, val);
+                    Globals.memory.setRawWord(wordAddress, wordValue);
                 }
                 // somehow, user was able to display out-of-range address.  Most likely to occur between
                 // stack base and Kernel.  
                 catch (AddressErrorException aee) {
                 }
-            }// end synchronized block
+            });
         }
 
 
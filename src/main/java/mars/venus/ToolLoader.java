@@ -1,6 +1,7 @@
 package mars.venus;
 
 import mars.tools.MarsTool;
+import mars.tools.access_trace.AccessTraceRecorder;
 import mars.tools.bht_simulator.BHTSimulator;
 import mars.tools.bitmap_display.BitmapDisplay;
 import mars.tools.cache_simulator.CacheSimulator;
@@ -89,6 +90,7 @@ public class ToolLoader {
         //       title here since it should be declared in the corresponding class.
         //       Find a way to retrieve the title without instantiating the class.
         ArrayList<MarsToolClassAndInstance> tools = new ArrayList<>();
+        tools.add(new MarsToolClassAndInstance(AccessTraceRecorder.class, new AccessTraceRecorder()));
         tools.add(new MarsToolClassAndInstance(BHTSimulator.class, new BHTSimulator()));
         tools.add(new MarsToolClassAndInstance(BitmapDisplay.class, new BitmapDisplay()));
         tools.add(new MarsToolClassAndInstance(CacheSimulator.class, new CacheSimulator()));
@@ -70,7 +70,7 @@ public class VenusUI extends JFrame {
     private JMenu file, run, window, help, edit, settings;
     private JMenuItem fileNew, fileOpen, fileClose, fileCloseAll, fileSave, fileSaveAs, fileSaveAll, fileDumpMemory, filePrint, fileExit;
     private JMenuItem editUndo, editRedo, editCut, editCopy, editPaste, editFindReplace, editSelectAll;
-    private JMenuItem runGo, runStep, runBackstep, runReset, runAssemble, runStop, runPause, runClearBreakpoints, runToggleBreakpoints;
+    private JMenuItem runGo, runStep, runBackstep, runReverseStep, runReverseContinue, runBackToWrite, runReset, runSaveState, runRestoreState, runAssemble, runStop, runPause, runClearBreakpoints, runToggleBreakpoints;
     private JCheckBoxMenuItem settingsLabel, settingsPopupInput, settingsValueDisplayBase, settingsAddressDisplayBase,
             settingsExtended, settingsAssembleOnOpen, settingsAssembleAll, settingsWarningsAreErrors, settingsStartAtMain,
             settingsDelayedBranching, settingsProgramArguments, settingsSelfModifyingCode;
@@ -93,6 +93,8 @@ public class VenusUI extends JFrame {
     public EditRedoAction editRedoAction;
     private Action editCutAction, editCopyAction, editPasteAction, editFindReplaceAction, editSelectAllAction;
     private Action runAssembleAction, runGoAction, runStepAction, runBackstepAction, runResetAction,
+            runReverseStepAction, runReverseContinueAction, runBackToWriteAction,
+            runSaveStateAction, runRestoreStateAction,
             runStopAction, runPauseAction, runClearBreakpointsAction, runToggleBreakpointsAction;
     private Action settingsLabelAction, settingsPopupInputAction, settingsValueDisplayBaseAction, settingsAddressDisplayBaseAction,
             settingsExtendedAction, settingsAssembleOnOpenAction, settingsAssembleAllAction,
@@ -359,6 +361,21 @@ public class VenusUI extends JFrame {
                     "Undo the last step", KeyEvent.VK_B,
                     KeyStroke.getKeyStroke(KeyEvent.VK_F8, 0),
                     mainUI);
+            runReverseStepAction = new RunReverseStepAction("Reverse Step",
+                    null,
+                    "Take the program back one instruction", KeyEvent.VK_I,
+                    KeyStroke.getKeyStroke(KeyEvent.VK_F7, InputEvent.SHIFT_MASK),
+                    mainUI);
+            runReverseContinueAction = new RunReverseContinueAction("Reverse Continue",
+                    null,
+                    "Run the program backward to the last breakpoint it passed", KeyEvent.VK_N,
+                    KeyStroke.getKeyStroke(KeyEvent.VK_F5, InputEvent.SHIFT_MASK),
+                    mainUI);
+            runBackToWriteAction = new RunBackToWriteAction("Back to Last Write...",
+                    null,
+                    "Run the program backward to the last instruction that wrote to an address", KeyEvent.VK_W,
+                    null,
+                    mainUI);
             runPauseAction = new RunPauseAction("Pause",
                     getActionIcon(RUN_PAUSE_ACTION_ICON),
                     "Pause the currently running program", KeyEvent.VK_P,
@@ -374,6 +391,16 @@ public class VenusUI extends JFrame {
                     "Reset MIPS memory and registers", KeyEvent.VK_R,
                     KeyStroke.getKeyStroke(KeyEvent.VK_F12, 0),
                     mainUI);
+            runSaveStateAction = new RunSaveStateAction("Save State...",
+                    null,
+                    "Save MIPS memory, registers and open files to a checkpoint file", KeyEvent.VK_V,
+                    null,
+                    mainUI);
+            runRestoreStateAction = new RunRestoreStateAction("Restore State...",
+                    null,
+                    "Restore MIPS memory, registers and open files from a checkpoint file", KeyEvent.VK_E,
+                    null,
+                    mainUI);
             runClearBreakpointsAction = new RunClearBreakpointsAction("Clear all breakpoints",
                     null,
                     "Clears all execution breakpoints set since the last assemble.",
@@ -570,8 +597,18 @@ public class VenusUI extends JFrame {
         runStep.setIcon(new ImageIcon(tk.getImage(cs.getResource(Globals.imagesPath + "StepForward16.png"))));//"MyStepForward16.gif"))));
         runBackstep = new JMenuItem(runBackstepAction);
         runBackstep.setIcon(new ImageIcon(tk.getImage(cs.getResource(Globals.imagesPath + "StepBack16.png"))));//"MyStepBack16.gif"))));
+        runReverseStep = new JMenuItem(runReverseStepAction);
+        runReverseStep.setIcon(new ImageIcon(tk.getImage(cs.getResource(Globals.imagesPath + "MyBlank16.gif"))));
+        runReverseContinue = new JMenuItem(runReverseContinueAction);
+        runReverseContinue.setIcon(new ImageIcon(tk.getImage(cs.getResource(Globals.imagesPath + "MyBlank16.gif"))));
+        runBackToWrite = new JMenuItem(runBackToWriteAction);
+        runBackToWrite.setIcon(new ImageIcon(tk.getImage(cs.getResource(Globals.imagesPath + "MyBlank16.gif"))));
         runReset = new JMenuItem(runResetAction);
         runReset.setIcon(new ImageIcon(tk.getImage(cs.getResource(Globals.imagesPath + "Reset16.png"))));//"MyReset16.gif"))));
+        runSaveState = new JMenuItem(runSaveStateAction);
+        runSaveState.setIcon(new ImageIcon(tk.getImage(cs.getResource(Globals.imagesPath + "MyBlank16.gif"))));
+        runRestoreState = new JMenuItem(runRestoreStateAction);
+        runRestoreState.setIcon(new ImageIcon(tk.getImage(cs.getResource(Globals.imagesPath + "MyBlank16.gif"))));
         runStop = new JMenuItem(runStopAction);
         runStop.setIcon(new ImageIcon(tk.getImage(cs.getResource(Globals.imagesPath + "Stop16.png"))));//"Stop16.gif"))));
         runPause = new JMenuItem(runPauseAction);
@@ -585,10 +622,16 @@ public class VenusUI extends JFrame {
         run.add(runGo);
         run.add(runStep);
         run.add(runBackstep);
+        run.add(runReverseStep);
+        run.add(runReverseContinue);
+        run.add(runBackToWrite);
         run.add(runPause);
         run.add(runStop);
         run.add(runReset);
         run.addSeparator();
+        run.add(runSaveState);
+        run.add(runRestoreState);
+        run.addSeparator();
         run.add(runClearBreakpoints);
         run.add(runToggleBreakpoints);
 
@@ -817,7 +860,12 @@ public class VenusUI extends JFrame {
         runGoAction.setEnabled(false);
         runStepAction.setEnabled(false);
         runBackstepAction.setEnabled(false);
+        runReverseStepAction.setEnabled(false);
+        runReverseContinueAction.setEnabled(false);
+        runBackToWriteAction.setEnabled(false);
         runResetAction.setEnabled(false);
+        runSaveStateAction.setEnabled(false);
+        runRestoreStateAction.setEnabled(false);
         runStopAction.setEnabled(false);
         runPauseAction.setEnabled(false);
         runClearBreakpointsAction.setEnabled(false);
@@ -859,7 +907,12 @@ public class VenusUI extends JFrame {
             runGoAction.setEnabled(false);
             runStepAction.setEnabled(false);
             runBackstepAction.setEnabled(false);
+            runReverseStepAction.setEnabled(false);
+            runReverseContinueAction.setEnabled(false);
+            runBackToWriteAction.setEnabled(false);
             runResetAction.setEnabled(false);
+            runSaveStateAction.setEnabled(false);
+            runRestoreStateAction.setEnabled(false);
             runStopAction.setEnabled(false);
             runPauseAction.setEnabled(false);
             runClearBreakpointsAction.setEnabled(false);
@@ -894,7 +947,12 @@ public class VenusUI extends JFrame {
         runGoAction.setEnabled(false);
         runStepAction.setEnabled(false);
         runBackstepAction.setEnabled(false);
+        runReverseStepAction.setEnabled(false);
+        runReverseContinueAction.setEnabled(false);
+        runBackToWriteAction.setEnabled(false);
         runResetAction.setEnabled(false);
+        runSaveStateAction.setEnabled(false);
+        runRestoreStateAction.setEnabled(false);
         runStopAction.setEnabled(false);
         runPauseAction.setEnabled(false);
         runClearBreakpointsAction.setEnabled(false);
@@ -931,7 +989,12 @@ public class VenusUI extends JFrame {
         runGoAction.setEnabled(false);
         runStepAction.setEnabled(false);
         runBackstepAction.setEnabled(false);
+        runReverseStepAction.setEnabled(false);
+        runReverseContinueAction.setEnabled(false);
+        runBackToWriteAction.setEnabled(false);
         runResetAction.setEnabled(false);
+        runSaveStateAction.setEnabled(false);
+        runRestoreStateAction.setEnabled(false);
         runStopAction.setEnabled(false);
         runPauseAction.setEnabled(false);
         runClearBreakpointsAction.setEnabled(false);
@@ -968,7 +1031,12 @@ public class VenusUI extends JFrame {
         runGoAction.setEnabled(true);
         runStepAction.setEnabled(true);
         runBackstepAction.setEnabled(Globals.getSettings().getBackSteppingEnabled() && !Globals.program.getBackStepper().empty());
+        runReverseStepAction.setEnabled(canTravelBack());
+        runReverseContinueAction.setEnabled(canTravelBack());
+        runBackToWriteAction.setEnabled(canTravelBack());
         runResetAction.setEnabled(true);
+        runSaveStateAction.setEnabled(true);
+        runRestoreStateAction.setEnabled(true);
         runStopAction.setEnabled(false);
         runPauseAction.setEnabled(false);
         runToggleBreakpointsAction.setEnabled(true);
@@ -1004,7 +1072,12 @@ public class VenusUI extends JFrame {
         runGoAction.setEnabled(false);
         runStepAction.setEnabled(false);
         runBackstepAction.setEnabled(false);
+        runReverseStepAction.setEnabled(false);
+        runReverseContinueAction.setEnabled(false);
+        runBackToWriteAction.setEnabled(false);
         runResetAction.setEnabled(false);
+        runSaveStateAction.setEnabled(false);
+        runRestoreStateAction.setEnabled(false);
         runStopAction.setEnabled(true);
         runPauseAction.setEnabled(true);
         runToggleBreakpointsAction.setEnabled(false);
@@ -1040,7 +1113,12 @@ public class VenusUI extends JFrame {
         runGoAction.setEnabled(false);
         runStepAction.setEnabled(false);
         runBackstepAction.setEnabled(Globals.getSettings().getBackSteppingEnabled() && !Globals.program.getBackStepper().empty());
+        runReverseStepAction.setEnabled(canTravelBack());
+        runReverseContinueAction.setEnabled(canTravelBack());
+        runBackToWriteAction.setEnabled(canTravelBack());
         runResetAction.setEnabled(true);
+        runSaveStateAction.setEnabled(true);
+        runRestoreStateAction.setEnabled(true);
         runStopAction.setEnabled(false);
         runPauseAction.setEnabled(false);
         runToggleBreakpointsAction.setEnabled(true);
@@ -1050,6 +1128,12 @@ public class VenusUI extends JFrame {
         editRedoAction.updateRedoState();
     }
 
+    // Taking the program back needs a run to take it back through.
+    private boolean canTravelBack() {
+        return Globals.program != null && Globals.program.getTimeTravel() != null
+                && Globals.program.getTimeTravel().getPosition() > 0;
+    }
+
     /**
      * Get current menu state.  State values are constants in FileStatus class.
      *
@@ -82,6 +82,7 @@ public class RunAssembleAction extends GuiAction {
             }
             try {
                 Globals.program = new MipsProgram();
+                Globals.program.setProgramCache(ProgramCache.getDefault());
                 ArrayList<String> filesToAssemble;
                 if (Globals.getSettings().getBooleanSetting(Settings.ASSEMBLE_ALL_ENABLED)) {// setting calls for multiple file assembly
                     filesToAssemble = FilenameFinder.getFilenameList(
@@ -0,0 +1,53 @@
+package mars.venus.actions.run;
+
+import mars.Globals;
+import mars.assembler.SymbolTable;
+import mars.mips.hardware.AddressErrorException;
+import mars.mips.hardware.Memory;
+import mars.simulator.TimeTravel;
+import mars.util.Binary;
+import mars.venus.VenusUI;
+
+import javax.swing.*;
+
+/**
+ * Action for the Run -> Back to Last Write menu item.  Asks for an address, given as a
+ * number or label, and takes the program back to the last instruction that wrote to
+ * the word there, so that instruction is the next to execute.
+ */
+public class RunBackToWriteAction extends RunReverseAction {
+
+    private String lastAddress = "";
+
+    public RunBackToWriteAction(String name, Icon icon, String descrip,
+                                Integer mnemonic, KeyStroke accel, VenusUI gui) {
+        super(name, icon, descrip, mnemonic, accel, gui);
+    }
+
+    protected String travel(TimeTravel timeTravel) {
+        String input = JOptionPane.showInputDialog(mainUI, "Address or label of the word written:", lastAddress);
+        if (input == null || input.trim().isEmpty()) {
+            return null;
+        }
+        lastAddress = input.trim();
+        int address;
+        try {
+            address = Binary.stringToInt(lastAddress);
+        } catch (NumberFormatException nfe) {
+            address = Globals.program.getLocalSymbolTable().getAddressLocalOrGlobal(lastAddress);
+            if (address == SymbolTable.NOT_FOUND) {
+                mainUI.getMessagesPane().postMarsMessage("\"" + lastAddress + "\" is not an address or label.\n");
+                return null;
+            }
+        }
+        try {
+            address = Memory.alignToWordBoundary(address);
+            return timeTravel.reverseToLastWrite(address, Memory.WORD_LENGTH_BYTES)
+                    ? "stopped before write to " + Binary.intToHexString(address)
+                    : "no earlier write to " + Binary.intToHexString(address);
+        } catch (AddressErrorException aee) {
+            mainUI.getMessagesPane().postMarsMessage(aee.getMessage() + "\n");
+            return null;
+        }
+    }
+}
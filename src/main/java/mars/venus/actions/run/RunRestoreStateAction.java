@@ -0,0 +1,59 @@
+package mars.venus.actions.run;
+
+import mars.simulator.Checkpoint;
+import mars.venus.ExecutePane;
+import mars.venus.FileStatus;
+import mars.venus.VenusUI;
+import mars.venus.actions.GuiAction;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Action for the Run -> Restore State menu item.  Replaces the machine state with
+ * a checkpoint saved by Run -> Save State.  The checkpoint should be of the program
+ * currently assembled, so source code can be shown for its text segment.
+ */
+public class RunRestoreStateAction extends GuiAction {
+
+    public RunRestoreStateAction(String name, Icon icon, String descrip,
+                                 Integer mnemonic, KeyStroke accel, VenusUI gui) {
+        super(name, icon, descrip, mnemonic, accel, gui);
+    }
+
+    public void actionPerformed(ActionEvent e) {
+        String name = this.getValue(Action.NAME).toString();
+        JFileChooser openDialog = new JFileChooser(mainUI.getEditor().getCurrentSaveDirectory());
+        openDialog.setDialogTitle(name);
+        if (openDialog.showOpenDialog(mainUI) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = openDialog.getSelectedFile();
+        try {
+            Checkpoint.restore(file);
+        } catch (IOException ioe) {
+            mainUI.getMessagesPane().postMarsMessage(
+                    name + ": unable to restore from " + file + ": " + ioe.getMessage() + "\n");
+            return;
+        }
+        RunGoAction.resetMaxSteps();
+        ExecutePane executePane = mainUI.getMainPane().getExecutePane();
+        executePane.getRegistersWindow().clearHighlighting();
+        executePane.getRegistersWindow().updateRegisters();
+        executePane.getCoprocessor1Window().clearHighlighting();
+        executePane.getCoprocessor1Window().updateRegisters();
+        executePane.getCoprocessor0Window().clearHighlighting();
+        executePane.getCoprocessor0Window().updateRegisters();
+        executePane.getDataSegmentWindow().updateValues();
+        executePane.getDataSegmentWindow().clearHighlighting();
+        executePane.getTextSegmentWindow().setCodeHighlighting(true);
+        executePane.getTextSegmentWindow().highlightStepAtPC();
+        FileStatus.set(FileStatus.RUNNABLE);
+        mainUI.setReset(false);
+        mainUI.setStarted(true);
+        mainUI.getMessagesPane().postRunMessage(
+                "\n" + name + ": machine state restored from " + file + ".\n\n");
+    }
+}
@@ -0,0 +1,63 @@
+package mars.venus.actions.run;
+
+import mars.Globals;
+import mars.simulator.TimeTravel;
+import mars.venus.ExecutePane;
+import mars.venus.FileStatus;
+import mars.venus.VenusUI;
+import mars.venus.actions.GuiAction;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+
+/**
+ * Base of the actions that take the program back through its run, using the
+ * {@link TimeTravel} of the assembled program.  Subclasses move the program; this
+ * brings the GUI up to date with where it ends up.
+ */
+public abstract class RunReverseAction extends GuiAction {
+
+    protected RunReverseAction(String name, Icon icon, String descrip,
+                               Integer mnemonic, KeyStroke accel, VenusUI gui) {
+        super(name, icon, descrip, mnemonic, accel, gui);
+    }
+
+    public void actionPerformed(ActionEvent e) {
+        TimeTravel timeTravel = (Globals.program == null) ? null : Globals.program.getTimeTravel();
+        if (!FileStatus.isAssembled() || timeTravel == null) {
+            // note: this should never occur since these are only enabled after a run.
+            return;
+        }
+        String name = this.getValue(Action.NAME).toString();
+        mainUI.messagesPane.setSelectedComponent(mainUI.messagesPane.runTab);
+        String message = travel(timeTravel);
+        if (message == null) {
+            return;
+        }
+        ExecutePane executePane = mainUI.getMainPane().getExecutePane();
+        executePane.getRegistersWindow().clearHighlighting();
+        executePane.getRegistersWindow().updateRegisters();
+        executePane.getCoprocessor1Window().clearHighlighting();
+        executePane.getCoprocessor1Window().updateRegisters();
+        executePane.getCoprocessor0Window().clearHighlighting();
+        executePane.getCoprocessor0Window().updateRegisters();
+        executePane.getDataSegmentWindow().updateValues();
+        executePane.getDataSegmentWindow().clearHighlighting();
+        executePane.getTextSegmentWindow().setCodeHighlighting(true);
+        executePane.getTextSegmentWindow().highlightStepAtPC();
+        FileStatus.set(FileStatus.RUNNABLE);
+        VenusUI.setReset(false);
+        VenusUI.setStarted(true);
+        mainUI.getMessagesPane().postRunMessage(
+                "\n" + name + ": " + message + ", at instruction " + timeTravel.getPosition()
+                        + " of " + timeTravel.getEnd() + ".\n\n");
+    }
+
+    /**
+     * Takes the program back.  The simulator is not running.
+     *
+     * @param timeTravel time travel of the assembled program
+     * @return what happened, for the Run I/O tab, or null if the program was not moved
+     */
+    protected abstract String travel(TimeTravel timeTravel);
+}
@@ -0,0 +1,23 @@
+package mars.venus.actions.run;
+
+import mars.simulator.TimeTravel;
+import mars.venus.VenusUI;
+
+import javax.swing.*;
+
+/**
+ * Action for the Run -> Reverse Continue menu item.  Runs the program backward to the
+ * last breakpoint it passed, or to the start of the run if it passed none.
+ */
+public class RunReverseContinueAction extends RunReverseAction {
+
+    public RunReverseContinueAction(String name, Icon icon, String descrip,
+                                    Integer mnemonic, KeyStroke accel, VenusUI gui) {
+        super(name, icon, descrip, mnemonic, accel, gui);
+    }
+
+    protected String travel(TimeTravel timeTravel) {
+        int[] breakPoints = mainUI.getMainPane().getExecutePane().getTextSegmentWindow().getSortedBreakPointsArray();
+        return timeTravel.reverseContinue(breakPoints) ? "stopped at breakpoint" : "reached start of run";
+    }
+}
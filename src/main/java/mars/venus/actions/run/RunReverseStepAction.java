@@ -0,0 +1,24 @@
+package mars.venus.actions.run;
+
+import mars.simulator.TimeTravel;
+import mars.venus.VenusUI;
+
+import javax.swing.*;
+
+/**
+ * Action for the Run -> Reverse Step menu item.  Takes the program back one
+ * instruction, whatever it changed.  Unlike Backstep, it does not need back-stepping
+ * to be enabled and reaches back to the start of the run.
+ */
+public class RunReverseStepAction extends RunReverseAction {
+
+    public RunReverseStepAction(String name, Icon icon, String descrip,
+                                Integer mnemonic, KeyStroke accel, VenusUI gui) {
+        super(name, icon, descrip, mnemonic, accel, gui);
+    }
+
+    protected String travel(TimeTravel timeTravel) {
+        timeTravel.reverseStep();
+        return "stepped back";
+    }
+}
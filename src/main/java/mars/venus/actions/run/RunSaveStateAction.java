@@ -0,0 +1,47 @@
+package mars.venus.actions.run;
+
+import mars.simulator.Checkpoint;
+import mars.venus.VenusUI;
+import mars.venus.actions.GuiAction;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Action for the Run -> Save State menu item.  Saves a checkpoint of the machine
+ * state to a file, from which it can later be restored with Run -> Restore State.
+ */
+public class RunSaveStateAction extends GuiAction {
+
+    public RunSaveStateAction(String name, Icon icon, String descrip,
+                              Integer mnemonic, KeyStroke accel, VenusUI gui) {
+        super(name, icon, descrip, mnemonic, accel, gui);
+    }
+
+    public void actionPerformed(ActionEvent e) {
+        String name = this.getValue(Action.NAME).toString();
+        JFileChooser saveDialog = new JFileChooser(mainUI.getEditor().getCurrentSaveDirectory());
+        saveDialog.setDialogTitle(name);
+        if (saveDialog.showSaveDialog(mainUI) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = saveDialog.getSelectedFile();
+        if (file.exists() && JOptionPane.showConfirmDialog(mainUI,
+                "File " + file.getName() + " already exists.  Do you wish to overwrite it?",
+                "Overwrite existing file?",
+                JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE) != JOptionPane.YES_OPTION) {
+            return;
+        }
+        try {
+            Checkpoint.save(file);
+        } catch (IOException ioe) {
+            mainUI.getMessagesPane().postMarsMessage(
+                    name + ": unable to save to " + file + ": " + ioe.getMessage() + "\n");
+            return;
+        }
+        mainUI.getMessagesPane().postRunMessage(
+                "\n" + name + ": machine state saved to " + file + ".\n\n");
+    }
+}
@@ -112,7 +112,7 @@ public class SettingsMemoryConfigurationAction extends GuiAction {
         }
 
         private Component buildConfigChooser() {
-            JPanel chooserPanel = new JPanel(new GridLayout(4, 1));
+            JPanel chooserPanel = new JPanel(new GridLayout(0, 1));
             ButtonGroup choices = new ButtonGroup();
             Iterator<MemoryConfiguration> configurationsIterator = MemoryConfigurations.getConfigurationsIterator();
             while (configurationsIterator.hasNext()) {
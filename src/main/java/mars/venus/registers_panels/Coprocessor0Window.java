@@ -160,8 +160,15 @@ public class Coprocessor0Window extends JPanel implements Observer {
      */
     public void updateRegisters(int base) {
         registers = Coprocessor0.getRegisters();
-        for (Register register : registers) {
-            this.updateRegisterValue(register.getNumber(), register.getValue(), base);
+        int[] values = Globals.memoryAndRegisters.read(() -> {
+            int[] snapshot = new int[registers.length];
+            for (int i = 0; i < registers.length; i++) {
+                snapshot[i] = registers[i].getValue();
+            }
+            return snapshot;
+        });
+        for (int i = 0; i < registers.length; i++) {
+            this.updateRegisterValue(registers[i].getNumber(), values[i], base);
         }
     }
 
@@ -252,9 +259,8 @@ public class Coprocessor0Window extends JPanel implements Observer {
 
                 //  Assures that if changed during MIPS program execution, the update will
                 //  occur only between MIPS instructions.
-                synchronized (Globals.memoryAndRegistersLock) {
-                    Coprocessor0.updateRegister(registers[row].getNumber(), val);
-                }
+                int number = registers[row].getNumber();
+                Globals.memoryAndRegisters.write(() -> Coprocessor0.updateRegister(number, val));
 
                 int valueBase = Globals.getGui().getMainPane().getExecutePane().getValueDisplayBase();
                 data[row][col] = NumberDisplayBaseChooser.formatNumber(val, valueBase);
@@ -243,13 +243,29 @@ public class Coprocessor1Window extends JPanel implements ActionListener, Observ
      */
     public void updateRegisters(int base) {
         registers = Coprocessor1.getRegisters();
+        // Values are read together, so they are from the same point of a running program.
+        // The condition flags follow the registers.
+        int[] values = Globals.memoryAndRegisters.read(() -> {
+            int[] snapshot = new int[registers.length + conditionFlagCheckBox.length];
+            for (int i = 0; i < registers.length; i++) {
+                snapshot[i] = registers[i].getValue();
+            }
+            for (int i = 0; i < conditionFlagCheckBox.length; i++) {
+                snapshot[registers.length + i] = Coprocessor1.getConditionFlag(i);
+            }
+            return snapshot;
+        });
         for (int i = 0; i < registers.length; i++) {
-            updateFloatRegisterValue(registers[i].getNumber(), registers[i].getValue(), base);
+            updateFloatRegisterValue(registers[i].getNumber(), values[i], base);
             if (i % 2 == 0) {
-                updateDoubleRegisterValue(i, base);
+                long pair = Binary.twoIntsToLong(values[i + 1], values[i]);
+                ((RegTableModel) table.getModel()).setValueAtProgrammatically(
+                        NumberDisplayBaseChooser.formatDoubleNumber(pair, base), i, DOUBLE_COLUMN);
             }
         }
-        updateConditionFlagDisplay();
+        for (int i = 0; i < conditionFlagCheckBox.length; i++) {
+            conditionFlagCheckBox[i].setSelected(values[registers.length + i] != 0);
+        }
     }
 
     private void updateConditionFlagDisplay() {
@@ -364,18 +380,15 @@ public class Coprocessor1Window extends JPanel implements ActionListener, Observ
                         int iVal = Binary.stringToInt(sVal);
                         //  Assures that if changed during MIPS program execution, the update will
                         //  occur only between MIPS instructions.
-                        synchronized (Globals.memoryAndRegistersLock) {
-                            Coprocessor1.updateRegister(row, iVal);
-                        }
+                        Globals.memoryAndRegisters.write(() -> Coprocessor1.updateRegister(row, iVal));
                         data[row][col] = NumberDisplayBaseChooser.formatFloatNumber(iVal, valueBase);
 
                     } else {
                         fVal = Float.parseFloat(sVal);
                         //  Assures that if changed during MIPS program execution, the update will
                         //  occur only between MIPS instructions.
-                        synchronized (Globals.memoryAndRegistersLock) {
-                            Coprocessor1.setRegisterToFloat(row, fVal);
-                        }
+                        float floatValue = fVal;
+                        Globals.memoryAndRegisters.write(() -> Coprocessor1.setRegisterToFloat(row, floatValue));
                         data[row][col] = NumberDisplayBaseChooser.formatNumber(fVal, valueBase);
                     }
                     // have to update corresponding double display
@@ -387,18 +400,27 @@ public class Coprocessor1Window extends JPanel implements ActionListener, Observ
                         long lVal = Binary.stringToLong(sVal);
                         //  Assures that if changed during MIPS program execution, the update will
                         //  occur only between MIPS instructions.
-                        synchronized (Globals.memoryAndRegistersLock) {
-                            Coprocessor1.setRegisterPairToLong(row, lVal);
-                        }
+                        Globals.memoryAndRegisters.write(() -> {
+                            try {
+                                Coprocessor1.setRegisterPairToLong(row, lVal);
+                            } catch (InvalidRegisterAccessException e) {
+                                // Only even numbered registers are in the double column.
+                            }
+                        });
                         setValueAtProgrammatically(
                                 NumberDisplayBaseChooser.formatDoubleNumber(lVal, valueBase), row, col);
                     } else { // is not hex, so must be decimal
                         dVal = Double.parseDouble(sVal);
                         //  Assures that if changed during MIPS program execution, the update will
                         //  occur only between MIPS instructions.
-                        synchronized (Globals.memoryAndRegistersLock) {
-                            Coprocessor1.setRegisterPairToDouble(row, dVal);
-                        }
+                        double doubleValue = dVal;
+                        Globals.memoryAndRegisters.write(() -> {
+                            try {
+                                Coprocessor1.setRegisterPairToDouble(row, doubleValue);
+                            } catch (InvalidRegisterAccessException e) {
+                                // Only even numbered registers are in the double column.
+                            }
+                        });
                         setValueAtProgrammatically(
                                 NumberDisplayBaseChooser.formatNumber(dVal, valueBase), row, col);
                     }
@@ -204,12 +204,23 @@ public class RegistersWindow extends JPanel implements Observer {
      */
     public void updateRegisters(int base) {
         registers = RegisterFile.getRegisters();
-        for (Register register : registers) {
-            updateRegisterValue(register.getNumber(), register.getValue(), base);
+        // Values are read together, so they are from the same point of a running program.
+        int[] values = Globals.memoryAndRegisters.read(() -> {
+            int[] snapshot = new int[registers.length + 3];
+            for (int i = 0; i < registers.length; i++) {
+                snapshot[i] = registers[i].getValue();
+            }
+            snapshot[registers.length] = RegisterFile.getProgramCounter();
+            snapshot[registers.length + 1] = RegisterFile.getValue(33);
+            snapshot[registers.length + 2] = RegisterFile.getValue(34);
+            return snapshot;
+        });
+        for (int i = 0; i < registers.length; i++) {
+            updateRegisterValue(registers[i].getNumber(), values[i], base);
         }
-        updateRegisterUnsignedValue(32, RegisterFile.getProgramCounter(), base);
-        updateRegisterValue(33, RegisterFile.getValue(33), base);
-        updateRegisterValue(34, RegisterFile.getValue(34), base);
+        updateRegisterUnsignedValue(32, values[registers.length], base);
+        updateRegisterValue(33, values[registers.length + 1], base);
+        updateRegisterValue(34, values[registers.length + 2], base);
     }
 
     /**
@@ -300,9 +311,7 @@ public class RegistersWindow extends JPanel implements Observer {
 
                 // Assures that if changed during MIPS program execution,
                 // the update will occur only between MIPS instructions.
-                synchronized (Globals.memoryAndRegistersLock) {
-                    RegisterFile.updateRegister(row, val);
-                }
+                Globals.memoryAndRegisters.write(() -> RegisterFile.updateRegister(row, val));
 
                 int valueBase = Globals.getGui().getMainPane().getExecutePane().getValueDisplayBase();
                 data[row][column] = NumberDisplayBaseChooser.formatNumber(val, valueBase);
@@ -0,0 +1,53 @@
+package mars;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that program arguments given with the "batch" option are passed to every case.
+ */
+public class BatchProgramArgumentsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void programArgumentsReachEveryCase() throws IOException {
+        File cases = folder.newFolder("cases");
+        for (String name : new String[]{"first", "second"}) {
+            write(new File(cases, name + ".asm"),
+                    "  lw $a0, 4($a1)",
+                    "  li $v0, 4",
+                    "  syscall");
+            write(new File(cases, name + ".out"), "world");
+        }
+        File results = new File(folder.getRoot(), "results.csv");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(out, true);
+        int exitCode = MarsLaunch.runCommandLine(
+                new String[]{"batch", cases.getPath(), results.getPath(), "pa", "hello", "world"},
+                new ByteArrayInputStream(new byte[0]), print, print);
+        assertEquals(out.toString(), 0, exitCode);
+        List<String> lines = Files.readAllLines(results.toPath(), StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        for (String line : lines.subList(1, lines.size())) {
+            assertEquals(line, "pass", line.substring(line.lastIndexOf(',') + 1));
+        }
+    }
+
+    private static void write(File file, String... lines) throws IOException {
+        Files.write(file.toPath(), String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,28 @@
+package mars;
+
+import org.junit.Test;
+
+import java.util.prefs.Preferences;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that command-line settings come from Settings.properties and are not saved.
+ */
+public class CommandLineSettingsTest {
+
+    @Test
+    public void changesAreNotSaved() {
+        Preferences preferences = Preferences.userNodeForPackage(Settings.class);
+        String saved = preferences.get("DelayedBranching", null);
+        Settings settings = new Settings(false);
+        boolean value = settings.getBooleanSetting(Settings.DELAYED_BRANCHING_ENABLED);
+        settings.setBooleanSetting(Settings.DELAYED_BRANCHING_ENABLED, !value);
+
+        assertEquals(!value, settings.getBooleanSetting(Settings.DELAYED_BRANCHING_ENABLED));
+        assertEquals(value, new Settings(false).getBooleanSetting(Settings.DELAYED_BRANCHING_ENABLED));
+        assertEquals(saved, preferences.get("DelayedBranching", null));
+        settings.reset(false);
+        assertEquals(value, settings.getBooleanSetting(Settings.DELAYED_BRANCHING_ENABLED));
+    }
+}
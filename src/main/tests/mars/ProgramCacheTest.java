@@ -0,0 +1,103 @@
+package mars;
+
+import mars.mips.hardware.RegisterFile;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that a program loaded from the {@link ProgramCache} runs as it did when
+ * it was assembled.
+ */
+public class ProgramCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void initialize() {
+        Globals.initialize(false);
+    }
+
+    @Test
+    public void negativeLoadOffsetSurvivesCache() throws Exception {
+        File source = write("negative.asm",
+                ".data",
+                "buf: .space 2000",
+                ".text",
+                "  la $s0, buf",
+                "  li $t0, 77",
+                "  sw $t0, 900($s0)",
+                "  addiu $s0, $s0, 31976",
+                "  lw $a0, -31076($s0)",
+                "  move $fp, $s0",
+                "  sw $t0, -4($fp)",
+                "  lw $a1, -4($fp)");
+        File cache = folder.newFolder("cache");
+        MipsProgram miss = assemble(source, cache);
+        assertEquals(1, cache.list().length);
+        int[] missResult = run(miss);
+        MipsProgram hit = assemble(source, cache);
+        assertEquals(miss.getMachineList().size(), hit.getMachineList().size());
+        for (int i = 0; i < miss.getMachineList().size(); i++) {
+            ProgramStatement expected = miss.getMachineList().get(i);
+            ProgramStatement actual = hit.getMachineList().get(i);
+            assertEquals(expected.getNumOperands(), actual.getNumOperands());
+            for (int operand = 0; operand < expected.getNumOperands(); operand++) {
+                assertEquals(expected.getOperand(operand), actual.getOperand(operand));
+            }
+        }
+        assertArrayEquals(new int[]{77, 77}, missResult);
+        assertArrayEquals(missResult, run(hit));
+    }
+
+    @Test
+    public void negativeOffsetOfExpandedLoadSurvivesCache() throws Exception {
+        File source = write("expanded.asm",
+                ".data",
+                "value: .word 24999",
+                ".text",
+                "  la $s0, value",
+                "  li $t0, 100000",
+                "  subu $s0, $s0, $t0",
+                "  lw $a0, 100000($s0)",
+                "  li $a1, 0");
+        File cache = folder.newFolder("cache");
+        int[] missResult = run(assemble(source, cache));
+        assertArrayEquals(new int[]{24999, 0}, missResult);
+        assertArrayEquals(missResult, run(assemble(source, cache)));
+    }
+
+    private File write(String name, String... lines) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), String.join("\n", lines).concat("\n").getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static MipsProgram assemble(File source, File cache) throws ProcessingException {
+        MipsProgram program = new MipsProgram();
+        program.setProgramCache(new ProgramCache(cache));
+        ArrayList<String> files = new ArrayList<>();
+        files.add(source.getPath());
+        program.assemble(program.prepareFilesForAssembly(files, source.getPath(), null), true);
+        return program;
+    }
+
+    // Runs the program to completion, returning the values left in $a0 and $a1.
+    private static int[] run(MipsProgram program) throws ProcessingException {
+        RegisterFile.resetRegisters();
+        RegisterFile.initializeProgramCounter(false);
+        program.simulate(-1);
+        return new int[]{RegisterFile.getValue(4), RegisterFile.getValue(5)};
+    }
+}
@@ -0,0 +1,52 @@
+package mars;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that repeated runs through {@link MarsLaunch#runCommandLine} reuse the image of
+ * a program only while its source is unchanged.
+ */
+public class ProgramImageReuseTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void editWithSameSizeAndTimeIsAssembledAgain() throws IOException {
+        File source = folder.newFile("print.asm");
+        write(source, 1);
+        long modified = source.lastModified();
+        assertEquals("1", run(source));
+        assertEquals("1", run(source));
+        write(source, 2);
+        source.setLastModified(modified);
+        assertEquals("2", run(source));
+    }
+
+    private static void write(File source, int value) throws IOException {
+        Files.write(source.toPath(), String.join("\n",
+                "  li $a0, " + value,
+                "  li $v0, 1",
+                "  syscall").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String run(File source) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(out, true);
+        MarsLaunch.runCommandLine(new String[]{"nc", source.getPath()},
+                new ByteArrayInputStream(new byte[0]), print, print);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8).trim();
+    }
+}
@@ -0,0 +1,79 @@
+package mars.mips.hardware;
+
+import mars.Globals;
+import mars.MipsProgram;
+import mars.ProgramStatement;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that the statements memory builds for assembled text, from machine code and
+ * source, are the ones the assembler produced.
+ */
+public class AssembledTextTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void initialize() {
+        Globals.initialize(false);
+    }
+
+    @Test
+    public void statementsAreBuiltFromCodeAndSource() throws Exception {
+        File source = new File(folder.getRoot(), "text.asm");
+        Files.write(source.toPath(), String.join("\n",
+                ".text",
+                "main:",
+                "  addi $t0, $t0, -100",
+                "  lw $t1, -8($sp)",
+                "  li $t2, 100000",
+                "  sltiu $t3, $t2, -1",
+                "  teqi $t3, -32768",
+                "loop:",
+                "  bgez $t0, loop",
+                "  bc1t 1, loop",
+                "  andi $t4, $t4, 0xffff",
+                "  j main",
+                ".ktext 0x80000180",
+                "  mfc0 $k0, $14",
+                "  eret").concat("\n").getBytes(StandardCharsets.UTF_8));
+        MipsProgram program = new MipsProgram();
+        ArrayList<String> files = new ArrayList<>();
+        files.add(source.getPath());
+        program.assemble(program.prepareFilesForAssembly(files, source.getPath(), null), true);
+        assertNull(program.getTokenList());
+
+        for (ProgramStatement assembled : program.getMachineList()) {
+            ProgramStatement built = Globals.memory.getStatementNoNotify(assembled.getAddress());
+            assertNotSame(assembled, built);
+            assertNull(assembled.getOriginalTokenList());
+            String where = assembled.getPrintableBasicAssemblyStatement();
+            assertEquals(where, assembled.getBinaryStatement(), built.getBinaryStatement());
+            assertSame(where, assembled.getInstruction(), built.getInstruction());
+            assertArrayEquals(where, Arrays.copyOf(assembled.getOperands(), assembled.getNumOperands()),
+                    Arrays.copyOf(built.getOperands(), built.getNumOperands()));
+            assertSame(where, assembled.getSourceMIPSprogram(), built.getSourceMIPSprogram());
+            assertEquals(where, assembled.getSource(), built.getSource());
+            assertEquals(where, assembled.getSourceLine(), built.getSourceLine());
+            assertEquals(where, built.getPrintableBasicAssemblyStatement());
+            assertEquals(where, assembled.getMachineStatement(), built.getMachineStatement());
+            assertSame(built, Globals.memory.getStatementNoNotify(assembled.getAddress()));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package mars.mips.hardware;
+
+import mars.Globals;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Observer;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that observers added and removed in any order are sent notices of exactly the
+ * accesses in the ranges they observe.
+ */
+public class MemoryObserverIndexTest {
+
+    // Spans several pages and two page tables, so ranges cross both boundaries.  The
+    // data segment is that large only in the large memory configuration.
+    private static final int LOW = 0x10000000;
+    private static final int HIGH = 0x10800000;
+
+    private final List<Registration> registrations = new ArrayList<>();
+
+    @BeforeClass
+    public static void initialize() {
+        Globals.initialize(false);
+        MemoryConfigurations.setCurrentConfiguration(MemoryConfigurations.getConfigurationByName("Large"));
+    }
+
+    @AfterClass
+    public static void restoreDefaultConfiguration() {
+        MemoryConfigurations.setCurrentConfiguration(MemoryConfigurations.getDefaultConfiguration());
+    }
+
+    @After
+    public void removeObservers() {
+        for (Registration registration : registrations) {
+            Globals.memory.deleteObserver(registration.observer);
+        }
+    }
+
+    @Test
+    public void noticesMatchObservedRanges() throws Exception {
+        Random random = new Random(14);
+        for (int round = 0; round < 200; round++) {
+            if (registrations.isEmpty() || random.nextInt(3) > 0) {
+                register(random);
+            } else {
+                Registration removed = registrations.remove(random.nextInt(registrations.size()));
+                Globals.memory.deleteObserver(removed.observer);
+            }
+            for (int access = 0; access < 20; access++) {
+                int address = (access % 5 == 0 && !registrations.isEmpty())
+                        ? edge(registrations.get(random.nextInt(registrations.size())), random)
+                        : LOW + 4 * random.nextInt((HIGH - LOW) / 4);
+                for (Registration registration : registrations) {
+                    registration.notices = 0;
+                }
+                Globals.memory.setWord(address, round);
+                for (Registration registration : registrations) {
+                    boolean observed = address >= registration.low && address <= registration.high;
+                    assertEquals("round " + round + " address " + Integer.toHexString(address),
+                            observed ? 1 : 0, registration.notices);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void wholeMemoryObserver() throws Exception {
+        Registration registration = new Registration(Memory.dataSegmentBaseAddress, Memory.dataSegmentBaseAddress);
+        Globals.memory.addObserver(registration.observer);
+        registrations.add(registration);
+        Globals.memory.setWord(LOW, 1);
+        Globals.memory.setWord(Memory.stackPointer, 1);
+        Globals.memory.setWord(Memory.kernelDataBaseAddress, 1);
+        assertEquals(3, registration.notices);
+        Globals.memory.deleteObserver(registration.observer);
+        Globals.memory.setWord(LOW, 1);
+        Globals.memory.setWord(Memory.kernelDataBaseAddress, 1);
+        assertEquals(3, registration.notices);
+    }
+
+    private void register(Random random) throws AddressErrorException {
+        int low = LOW + 4 * random.nextInt((HIGH - LOW) / 4);
+        int words = random.nextBoolean() ? random.nextInt(4) : random.nextInt((HIGH - low) / 4);
+        Registration registration = new Registration(low, low + 4 * words);
+        Globals.memory.addObserver(registration.observer, registration.low, registration.high);
+        registrations.add(registration);
+    }
+
+    // An address just inside or just outside the given range.
+    private static int edge(Registration registration, Random random) {
+        int[] edges = {registration.low - 4, registration.low, registration.high, registration.high + 4};
+        return Math.max(LOW, Math.min(HIGH - 4, edges[random.nextInt(edges.length)]));
+    }
+
+    private static class Registration {
+        private final int low;
+        private final int high;
+        private int notices;
+        private final Observer observer = (source, notice) -> notices++;
+
+        private Registration(int low, int high) {
+            this.low = low;
+            this.high = high;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package mars.mips.hardware;
+
+import mars.Globals;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Observable;
+import java.util.Observer;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks the notices observers are sent of bulk memory accesses.
+ */
+public class MemoryRangeNoticeTest {
+
+    private static final int ADDRESS = Memory.dataBaseAddress + 2;
+    private static final byte[] BYTES = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12};
+
+    private final List<MemoryAccessNotice> byteNotices = new ArrayList<>();
+    private final List<MemoryAccessNotice> rangeNotices = new ArrayList<>();
+    private final Observer byteObserver = (source, notice) -> byteNotices.add(copy(notice));
+    private final RangeAccessObserver rangeObserver = (source, notice) -> rangeNotices.add(copy(notice));
+
+    @BeforeClass
+    public static void initialize() {
+        Globals.initialize(false);
+    }
+
+    @After
+    public void removeObservers() {
+        Globals.memory.deleteObserver(byteObserver);
+        Globals.memory.deleteObserver(rangeObserver);
+    }
+
+    @Test
+    public void bulkWriteIsSentAsBytesOrAsRange() throws Exception {
+        Globals.memory.addObserver(byteObserver);
+        Globals.memory.addObserver(rangeObserver);
+        Globals.memory.set(ADDRESS, BYTES, 0, BYTES.length);
+        assertEquals(BYTES.length, byteNotices.size());
+        for (int i = 0; i < BYTES.length; i++) {
+            MemoryAccessNotice notice = byteNotices.get(i);
+            assertEquals(AccessNotice.WRITE, notice.getAccessType());
+            assertEquals(ADDRESS + i, notice.getAddress());
+            assertEquals(1, notice.getLength());
+            assertEquals(BYTES[i], notice.getValue());
+        }
+        assertEquals(1, rangeNotices.size());
+        assertEquals(ADDRESS, rangeNotices.get(0).getAddress());
+        assertEquals(BYTES.length, rangeNotices.get(0).getLength());
+    }
+
+    @Test
+    public void bytesOutsideObservedRangeAreNotSent() throws Exception {
+        Globals.memory.addObserver(byteObserver, ADDRESS + 2, ADDRESS + 2);
+        Globals.memory.getBytes(ADDRESS, new byte[BYTES.length], 0, BYTES.length);
+        assertEquals(4, byteNotices.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(AccessNotice.READ, byteNotices.get(i).getAccessType());
+            assertEquals(ADDRESS + 2 + i, byteNotices.get(i).getAddress());
+        }
+    }
+
+    // Notices may be reused once delivered, so keep a copy.
+    private static MemoryAccessNotice copy(Object notice) {
+        MemoryAccessNotice access = (MemoryAccessNotice) notice;
+        return new MemoryAccessNotice(access.getAccessType(), access.getAddress(), access.getLength(), access.getValue());
+    }
+}
@@ -0,0 +1,208 @@
+package mars.mips.hardware;
+
+import mars.Globals;
+import mars.util.Binary;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs every load and store method, with every access width, at and around each segment
+ * boundary in the Default, CompactDataAtZero and CompactTextAtZero configurations.  Each
+ * result is checked against a model of the documented behavior: the segment an access
+ * is in is that of its first address, and its bytes are then read or written in address
+ * order without regard to boundaries.
+ */
+public class MemorySegmentBoundaryTest {
+
+    private static final String[] CONFIGURATIONS = {"Default", "CompactDataAtZero", "CompactTextAtZero"};
+    private static final int DATA = 0;
+    private static final int TEXT = 1;
+    private static final int KERNEL_TEXT = 2;
+    private static final int UNMAPPED = 3;
+
+    private static final Access[] STORES = {
+            new Access("setByte", true, 1, 1, null, (memory, address, value) -> memory.setByte(address, value)),
+            new Access("setHalf", true, 2, 2, "store address not aligned on halfword boundary ",
+                    (memory, address, value) -> memory.setHalf(address, value)),
+            new Access("setWord", true, 4, 4, "store address not aligned on word boundary ",
+                    (memory, address, value) -> memory.setWord(address, value)),
+            new Access("setRawWord", true, 4, 4, "store address not aligned on word boundary ",
+                    (memory, address, value) -> memory.setRawWord(address, value)),
+            new Access("set 1", true, 1, 1, null, (memory, address, value) -> memory.set(address, value, 1)),
+            new Access("set 2", true, 2, 1, null, (memory, address, value) -> memory.set(address, value, 2)),
+            new Access("set 4", true, 4, 1, null, (memory, address, value) -> memory.set(address, value, 4)),
+    };
+    private static final Access[] LOADS = {
+            new Access("getByte", false, 1, 1, null, (memory, address, value) -> memory.getByte(address)),
+            new Access("getHalf", false, 2, 2, "fetch address not aligned on halfword boundary ",
+                    (memory, address, value) -> memory.getHalf(address)),
+            new Access("getWord", false, 4, 4, "fetch address not aligned on word boundary ",
+                    (memory, address, value) -> memory.getWord(address)),
+            new Access("getWordNoNotify", false, 4, 4, "fetch address not aligned on word boundary ",
+                    (memory, address, value) -> memory.getWordNoNotify(address)),
+            new Access("getRawWord", false, 4, 4, "address for fetch not aligned on word boundary",
+                    (memory, address, value) -> memory.getRawWord(address)),
+            new Access("get 1", false, 1, 1, null, (memory, address, value) -> memory.get(address, 1)),
+            new Access("get 2", false, 2, 1, null, (memory, address, value) -> memory.get(address, 2)),
+            new Access("get 4", false, 4, 1, null, (memory, address, value) -> memory.get(address, 4)),
+    };
+
+    // Contents of memory written so far, by byte address.  Unwritten bytes are 0.
+    private final HashMap<Integer, Integer> bytes = new HashMap<>();
+
+    @BeforeClass
+    public static void initialize() {
+        Globals.initialize(false);
+    }
+
+    @AfterClass
+    public static void restoreDefaultConfiguration() {
+        MemoryConfigurations.setCurrentConfiguration(MemoryConfigurations.getDefaultConfiguration());
+    }
+
+    @Test
+    public void everyAccessAtEverySegmentBoundary() {
+        Random random = new Random(10);
+        for (String configuration : CONFIGURATIONS) {
+            MemoryConfigurations.setCurrentConfiguration(MemoryConfigurations.getConfigurationByName(configuration));
+            Globals.memory.clear();
+            bytes.clear();
+            for (int address : addressesNearBoundaries()) {
+                for (Access store : STORES) {
+                    check(configuration, store, address, random.nextInt());
+                    for (int nearby = address - 4; nearby != address + 5; nearby++) {
+                        for (Access load : LOADS) {
+                            check(configuration, load, nearby, 0);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Each boundary of each segment, with the five addresses below it and the four above.
+    private static LinkedHashSet<Integer> addressesNearBoundaries() {
+        int[] boundaries = {
+                Memory.dataSegmentBaseAddress, Memory.dataSegmentLimitAddress,
+                Memory.stackLimitAddress + 1, Memory.stackBaseAddress + 1,
+                Memory.textBaseAddress, Memory.textLimitAddress,
+                Memory.memoryMapBaseAddress, Memory.memoryMapLimitAddress,
+                Memory.kernelDataBaseAddress, Memory.kernelDataSegmentLimitAddress,
+                Memory.kernelTextBaseAddress, Memory.kernelTextLimitAddress};
+        LinkedHashSet<Integer> addresses = new LinkedHashSet<>();
+        for (int boundary : boundaries) {
+            for (int address = boundary - 5; address != boundary + 5; address++) {
+                addresses.add(address);
+            }
+        }
+        return addresses;
+    }
+
+    // Which segment an access starting at the address is in.  Segments are tried in
+    // this order where they overlap.
+    private static int segmentOf(int address) {
+        if (address >= Memory.dataSegmentBaseAddress && address < Memory.dataSegmentLimitAddress
+                || address > Memory.stackLimitAddress && address <= Memory.stackBaseAddress) {
+            return DATA;
+        }
+        if (address >= Memory.textBaseAddress && address < Memory.textLimitAddress) {
+            return TEXT;
+        }
+        if (address >= Memory.memoryMapBaseAddress && address < Memory.memoryMapLimitAddress
+                || address >= Memory.kernelDataBaseAddress && address < Memory.kernelDataSegmentLimitAddress) {
+            return DATA;
+        }
+        if (address >= Memory.kernelTextBaseAddress && address < Memory.kernelTextLimitAddress) {
+            return KERNEL_TEXT;
+        }
+        return UNMAPPED;
+    }
+
+    // The message of the exception the access should throw, or null if it should succeed.
+    private static String expectedError(Access access, int address) {
+        if (address % access.alignment != 0) {
+            return access.misaligned + Binary.intToHexString(address);
+        }
+        String message;
+        switch (segmentOf(address)) {
+            case DATA:
+                return null;
+            case TEXT:
+                message = access.store
+                        ? "Cannot write directly to text segment!"
+                        : "Cannot read directly from text segment!";
+                break;
+            case KERNEL_TEXT:
+                message = access.store
+                        ? "DEVELOPER: You must use setStatement() to write to kernel text segment!"
+                        : "DEVELOPER: You must use getStatement() to read from kernel text segment!";
+                break;
+            default:
+                message = (access.store && access.name.equals("setRawWord"))
+                        ? "store address out of range "
+                        : "address out of range ";
+        }
+        return message + Binary.intToHexString(address);
+    }
+
+    // Performs the access and checks its result or exception against the model.  A store
+    // returns the value it replaced, and then updates the model.
+    private void check(String configuration, Access access, int address, int value) {
+        String what = configuration + " " + access.name + " " + Binary.intToHexString(address);
+        String error = expectedError(access, address);
+        int result;
+        try {
+            result = access.method.access(Globals.memory, address, value);
+        } catch (AddressErrorException e) {
+            assertEquals(what, error, e.getMessage());
+            return;
+        }
+        assertEquals(what, null, error);
+        assertEquals(what, Binary.intToHexString(modelValue(address, access.length)),
+                Binary.intToHexString(result));
+        if (access.store) {
+            for (int i = 0; i < access.length; i++) {
+                bytes.put(address + i, (value >>> (8 * i)) & 0xff);
+            }
+        }
+    }
+
+    // Value of the bytes starting at the address, in the default little-endian order.
+    private int modelValue(int address, int length) {
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            value |= bytes.getOrDefault(address + i, 0) << (8 * i);
+        }
+        return value;
+    }
+
+    private interface AccessMethod {
+        int access(Memory memory, int address, int value) throws AddressErrorException;
+    }
+
+    private static final class Access {
+        private final String name;
+        private final boolean store;
+        private final int length;
+        private final int alignment;
+        private final String misaligned;
+        private final AccessMethod method;
+
+        private Access(String name, boolean store, int length, int alignment, String misaligned,
+                       AccessMethod method) {
+            this.name = name;
+            this.store = store;
+            this.length = length;
+            this.alignment = alignment;
+            this.misaligned = misaligned;
+            this.method = method;
+        }
+    }
+}
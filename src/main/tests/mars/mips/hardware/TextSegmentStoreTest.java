@@ -0,0 +1,109 @@
+package mars.mips.hardware;
+
+import mars.Globals;
+import mars.MarsLaunch;
+import mars.Settings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks stores to the text segment with self-modifying code enabled.
+ */
+public class TextSegmentStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void enableSelfModifyingCode() {
+        Globals.initialize(false);
+        Globals.getSettings().setBooleanSettingNonPersistent(Settings.SELF_MODIFYING_CODE_ENABLED, true);
+        Globals.memory.clear();
+    }
+
+    @After
+    public void disableSelfModifyingCode() {
+        Globals.getSettings().setBooleanSettingNonPersistent(Settings.SELF_MODIFYING_CODE_ENABLED, false);
+    }
+
+    @Test
+    public void byteAndHalfwordStoresReplaceOnlyTheirBytes() throws Exception {
+        int address = Memory.textBaseAddress;
+        Globals.memory.setWord(address, 0x24040001);
+        assertEquals(0x01, Globals.memory.set(address, 0x2a, 1));
+        assertEquals(0x2404002a, Globals.memory.getWord(address));
+        assertEquals(0x2404, Globals.memory.set(address + 2, 0x2405, 2));
+        assertEquals(0x2405002a, Globals.memory.getWord(address));
+    }
+
+    @Test
+    public void unalignedStoresAreRejected() {
+        int address = Memory.textBaseAddress;
+        for (int[] store : new int[][]{{1, 4}, {2, 4}, {1, 2}, {3, 2}}) {
+            try {
+                Globals.memory.set(address + store[0], 0, store[1]);
+                fail("store of " + store[1] + " bytes at offset " + store[0]);
+            } catch (AddressErrorException e) {
+                assertTrue(e.getMessage().contains("not aligned"));
+            }
+        }
+    }
+
+    @Test
+    public void programPatchesByteOfInstruction() throws Exception {
+        File source = new File(folder.getRoot(), "patch.asm");
+        Files.write(source.toPath(), String.join("\n",
+                ".text",
+                "main:",
+                "  la $t0, target",
+                "  li $t1, 42",
+                "  sb $t1, 0($t0)",
+                "target:",
+                "  addiu $a0, $zero, 1",
+                "  li $v0, 1",
+                "  syscall").concat("\n").getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(out, true);
+        MarsLaunch.runCommandLine(new String[]{"nc", "smc", source.getPath()},
+                new ByteArrayInputStream(new byte[0]), print, print);
+        assertEquals("42", out.toString().trim());
+    }
+
+    @Test
+    public void copiedInstructionKeepsNegativeOffset() throws Exception {
+        File source = new File(folder.getRoot(), "copy.asm");
+        Files.write(source.toPath(), String.join("\n",
+                ".data",
+                "value: .word 7",
+                "code: .word 0x8d04fffc # lw $a0, -4($t0)",
+                ".text",
+                "main:",
+                "  la $t0, code",
+                "  lw $t1, 0($t0)",
+                "  la $t2, slot",
+                "  sw $t1, 0($t2)",
+                "slot:",
+                "  nop",
+                "  li $v0, 1",
+                "  syscall").concat("\n").getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(out, true);
+        MarsLaunch.runCommandLine(new String[]{"nc", "smc", source.getPath()},
+                new ByteArrayInputStream(new byte[0]), print, print);
+        assertEquals("7", out.toString().trim());
+    }
+}
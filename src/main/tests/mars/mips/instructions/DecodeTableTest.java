@@ -0,0 +1,119 @@
+package mars.mips.instructions;
+
+import mars.Globals;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks that {@link InstructionSet#findByBinaryCode(int)} finds the same instruction
+ * for a machine code word as the linear scan of opcode masks it replaced, and that the
+ * generated {@link DecodeTablePlan} is that of the current basic instructions.
+ */
+public class DecodeTableTest {
+
+    private static InstructionSet instructionSet;
+    private static List<BasicInstruction> basicInstructions;
+    // The previous matcher: a map from opcode match to instruction for each opcode mask,
+    // scanned in order of decreasing number of 1 bits in the mask, then of increasing mask.
+    private static List<Integer> masks;
+    private static List<HashMap<Integer, BasicInstruction>> matchMaps;
+
+    @BeforeClass
+    public static void initialize() {
+        Globals.initialize(false);
+        instructionSet = Globals.instructionSet;
+        basicInstructions = new ArrayList<>();
+        HashMap<Integer, HashMap<Integer, BasicInstruction>> maskMap = new HashMap<>();
+        masks = new ArrayList<>();
+        for (Instruction instruction : instructionSet.getInstructionList()) {
+            if (instruction instanceof BasicInstruction) {
+                BasicInstruction basic = (BasicInstruction) instruction;
+                basicInstructions.add(basic);
+                HashMap<Integer, BasicInstruction> matchMap = maskMap.get(basic.getOpcodeMask());
+                if (matchMap == null) {
+                    matchMap = new HashMap<>();
+                    maskMap.put(basic.getOpcodeMask(), matchMap);
+                    masks.add(basic.getOpcodeMask());
+                }
+                matchMap.put(basic.getOpcodeMatch(), basic);
+            }
+        }
+        masks.sort((mask, other) -> {
+            int d = Integer.bitCount(other) - Integer.bitCount(mask);
+            return (d == 0) ? mask - other : d;
+        });
+        matchMaps = new ArrayList<>();
+        for (int mask : masks) {
+            matchMaps.add(maskMap.get(mask));
+        }
+    }
+
+    @Test
+    public void generatedPlanIsCurrent() {
+        ArrayList<BasicInstruction> basics = instructionSet.basicInstructions();
+        InstructionSet.DecodePlan plan = InstructionSet.planDecodeTable(basics);
+        assertEquals("DecodeTablePlan is out of date; run InstructionTableGenerator",
+                InstructionSet.decodeKey(basics), DecodeTablePlan.INSTRUCTIONS_CRC);
+        assertArrayEquals(plan.fields, DecodeTablePlan.FIELDS);
+        assertArrayEquals(plan.candidates, DecodeTablePlan.CANDIDATES);
+    }
+
+    @Test
+    public void everyOpcodeFieldPattern() {
+        // Every combination of the opcode, rs (fmt), rt and funct fields, with the
+        // shamt and rd fields clear, set and random.
+        Random random = new Random(1);
+        for (int fields = 0; fields < 1 << 22; fields++) {
+            int word = ((fields >>> 16) << 26) | (((fields >>> 11) & 31) << 21)
+                    | (((fields >>> 6) & 31) << 16) | (fields & 63);
+            check(word);
+            check(word | 0x0000FFC0);
+            check(word | (random.nextInt() & 0x0000FFC0));
+        }
+    }
+
+    @Test
+    public void encodingsOfEveryInstruction() {
+        Random random = new Random(2);
+        for (BasicInstruction basic : basicInstructions) {
+            for (int i = 0; i < 1000; i++) {
+                check((random.nextInt() & ~basic.getOpcodeMask()) | basic.getOpcodeMatch());
+            }
+        }
+    }
+
+    @Test
+    public void randomWords() {
+        Random random = new Random(3);
+        for (int i = 0; i < 1000000; i++) {
+            check(random.nextInt());
+        }
+    }
+
+    private static void check(int word) {
+        BasicInstruction expected = linearScan(word);
+        BasicInstruction found = instructionSet.findByBinaryCode(word);
+        if (found != expected) {
+            assertSame(Integer.toHexString(word), expected, found);
+        }
+    }
+
+    private static BasicInstruction linearScan(int word) {
+        for (int i = 0; i < masks.size(); i++) {
+            BasicInstruction found = matchMaps.get(i).get(word & masks.get(i));
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+}
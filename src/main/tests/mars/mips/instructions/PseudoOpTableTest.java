@@ -0,0 +1,43 @@
+package mars.mips.instructions;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that {@link PseudoOpTable} was generated from the PseudoOps.txt in the jar, and
+ * holds what parsing it gives.  If this fails, run {@link InstructionTableGenerator}.
+ */
+public class PseudoOpTableTest {
+
+    @Test
+    public void tableIsGeneratedFromPseudoOps() throws IOException {
+        CRC32 crc = new CRC32();
+        ArrayList<String[]> parsed = new ArrayList<>();
+        try (InputStream is = getClass().getResourceAsStream("/PseudoOps.txt")) {
+            byte[] buffer = new byte[8192];
+            for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                crc.update(buffer, 0, n);
+            }
+        }
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(
+                getClass().getResourceAsStream("/PseudoOps.txt")))) {
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                String[] pseudoOp = InstructionSet.parsePseudoOp(line);
+                if (pseudoOp != null) {
+                    parsed.add(pseudoOp);
+                }
+            }
+        }
+        assertEquals("PseudoOpTable is out of date", crc.getValue(), PseudoOpTable.SOURCE_CRC);
+        assertArrayEquals(parsed.toArray(new String[0][]), PseudoOpTable.PSEUDO_OPS);
+    }
+}
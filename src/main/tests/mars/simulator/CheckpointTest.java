@@ -0,0 +1,125 @@
+package mars.simulator;
+
+import mars.Globals;
+import mars.mips.hardware.Coprocessor0;
+import mars.mips.hardware.Coprocessor1;
+import mars.mips.hardware.Memory;
+import mars.mips.hardware.MemoryConfiguration;
+import mars.mips.hardware.MemoryConfigurations;
+import mars.mips.hardware.RegisterFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that a checkpoint that cannot be restored leaves the machine state, including
+ * the memory configuration, unchanged.
+ */
+public class CheckpointTest {
+
+    private static final String SAVED_CONFIGURATION = "CompactDataAtZero";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private byte[] checkpoint;
+    private MemoryConfiguration current;
+
+    @BeforeClass
+    public static void initialize() {
+        Globals.initialize(false);
+    }
+
+    @Before
+    public void saveCheckpoint() throws Exception {
+        MemoryConfiguration saved = MemoryConfigurations.getConfigurationByName(SAVED_CONFIGURATION);
+        MemoryConfigurations.setCurrentConfiguration(saved);
+        Globals.memory.setWord(Memory.dataBaseAddress, 123);
+        RegisterFile.getUserRegister("$t0").setValue(123);
+        File file = folder.newFile("saved.ckpt");
+        Checkpoint.save(file);
+        checkpoint = Files.readAllBytes(file.toPath());
+
+        current = MemoryConfigurations.getDefaultConfiguration();
+        MemoryConfigurations.setCurrentConfiguration(current);
+        Globals.memory.setWord(Memory.dataBaseAddress, 7);
+        RegisterFile.getUserRegister("$t0").setValue(7);
+    }
+
+    @After
+    public void restoreDefaultConfiguration() {
+        MemoryConfigurations.setCurrentConfiguration(MemoryConfigurations.getDefaultConfiguration());
+    }
+
+    @Test
+    public void restoresSavedState() throws Exception {
+        Checkpoint.restore(write(checkpoint));
+        assertEquals(SAVED_CONFIGURATION, MemoryConfigurations.getCurrentConfiguration().getConfigurationIdentifier());
+        assertEquals(123, Globals.memory.getWord(Memory.dataBaseAddress));
+        assertEquals(123, RegisterFile.getUserRegister("$t0").getValue());
+    }
+
+    @Test
+    public void truncatedCheckpoint() throws Exception {
+        assertNotRestored(Arrays.copyOf(checkpoint, checkpoint.length - 3));
+    }
+
+    @Test
+    public void badPageNumber() throws Exception {
+        byte[] corrupt = checkpoint.clone();
+        ByteBuffer.wrap(corrupt).putInt(firstPageOffset(), -1);
+        assertNotRestored(corrupt);
+    }
+
+    @Test
+    public void badFileDescriptor() throws Exception {
+        // The file table comes last; with no open files it is just a zero count.
+        ByteBuffer corrupt = ByteBuffer.allocate(checkpoint.length + 20);
+        corrupt.put(checkpoint, 0, checkpoint.length - 4);
+        corrupt.putInt(1).putInt(99).putInt(0).putInt(0).putLong(0);
+        assertNotRestored(corrupt.array());
+    }
+
+    private void assertNotRestored(byte[] contents) throws Exception {
+        try {
+            Checkpoint.restore(write(contents));
+            fail("restored a malformed checkpoint");
+        } catch (IOException e) {
+            // expected
+        }
+        assertSame(current, MemoryConfigurations.getCurrentConfiguration());
+        assertEquals(7, Globals.memory.getWord(Memory.dataBaseAddress));
+        assertEquals(7, RegisterFile.getUserRegister("$t0").getValue());
+    }
+
+    private File write(byte[] contents) throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), contents);
+        return file;
+    }
+
+    // Magic, version, configuration name, registers, coprocessor registers and flags,
+    // delayed branch state, then memory: byte order, heap address and page count.
+    private static int firstPageOffset() {
+        return 4 + 4 + 4 + SAVED_CONFIGURATION.getBytes(StandardCharsets.UTF_8).length
+                + 4 * (RegisterFile.getRegisters().length + 3)
+                + 4 + 8 * Coprocessor0.getRegisters().length
+                + 4 + 4 * Coprocessor1.getRegisters().length + 4
+                + 4 + 4
+                + 1 + 4 + 4;
+    }
+}
@@ -0,0 +1,186 @@
+package mars.simulator;
+
+import mars.Globals;
+import mars.MipsProgram;
+import mars.ProcessingException;
+import mars.mips.hardware.AccessNotice;
+import mars.mips.hardware.AddressErrorException;
+import mars.mips.hardware.Memory;
+import mars.mips.hardware.MemoryAccessNotice;
+import mars.mips.hardware.RegisterFile;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Observable;
+import java.util.Observer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a program talking to a memory-mapped device, whose registers the device
+ * changes on the simulation thread, is taken back and forward again to the same state.
+ */
+public class MmioTimeTravelTest {
+
+    private static final int RECEIVER_CONTROL = 0xffff0000;
+    private static final int RECEIVER_DATA = RECEIVER_CONTROL + 4;
+    private static final int TRANSMITTER_CONTROL = RECEIVER_CONTROL + 8;
+    private static final int TRANSMITTER_DATA = RECEIVER_CONTROL + 12;
+    private static final int KEYS = 6;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Device device;
+
+    @BeforeClass
+    public static void initialize() {
+        Globals.initialize(false);
+    }
+
+    @After
+    public void removeDevice() {
+        if (device != null) {
+            Globals.memory.deleteObserver(device);
+        }
+    }
+
+    @Test
+    public void keyboardEchoReplaysToSameState() throws Exception {
+        MipsProgram program = assemble(write("echo.asm",
+                ".data",
+                "buf: .space 8",
+                ".text",
+                "  li $s0, 0xffff0000",
+                "  la $s1, buf",
+                "  li $s2, " + KEYS,
+                "wait:",
+                "  addiu $s3, $s3, 1",
+                "  lw $t0, 0($s0)",
+                "  andi $t0, $t0, 1",
+                "  beqz $t0, wait",
+                "  lw $t1, 4($s0)",
+                "  sb $t1, 0($s1)",
+                "  addiu $s1, $s1, 1",
+                "ready:",
+                "  addiu $s4, $s4, 1",
+                "  lw $t0, 8($s0)",
+                "  andi $t0, $t0, 1",
+                "  beqz $t0, ready",
+                "  sw $t1, 12($s0)",
+                "  addiu $s2, $s2, -1",
+                "  bnez $s2, wait",
+                "  li $v0, 10",
+                "  syscall"));
+        program.enableTimeTravel();
+        device = new Device();
+        Globals.memory.addObserver(device, RECEIVER_CONTROL, TRANSMITTER_DATA);
+        Globals.memory.addObserver(device, Memory.textBaseAddress, Memory.textLimitAddress);
+        Globals.memoryAndRegisters.write(() -> setRawWord(TRANSMITTER_CONTROL, 1));
+
+        RegisterFile.resetRegisters();
+        RegisterFile.initializeProgramCounter(false);
+        program.simulate(-1);
+        int[] finished = state();
+        assertTrue("every key was echoed", device.echoed == KEYS);
+
+        TimeTravel timeTravel = program.getTimeTravel();
+        long end = timeTravel.getEnd();
+        timeTravel.reverseStep();
+        timeTravel.travelTo(end / 2);
+        timeTravel.travelTo(end);
+        assertArrayEquals(finished, state());
+
+        timeTravel.travelTo(0);
+        timeTravel.travelTo(end);
+        assertArrayEquals(finished, state());
+    }
+
+    private File write(String name, String... lines) throws IOException {
+        File file = new File(folder.getRoot(), name);
+        Files.write(file.toPath(), String.join("\n", lines).concat("\n").getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static MipsProgram assemble(File source) throws ProcessingException {
+        MipsProgram program = new MipsProgram();
+        ArrayList<String> files = new ArrayList<>();
+        files.add(source.getPath());
+        program.assemble(program.prepareFilesForAssembly(files, source.getPath(), null), true);
+        return program;
+    }
+
+    // Registers, the program counter, the buffer and the device registers.
+    private static int[] state() throws AddressErrorException {
+        int[] state = new int[32 + 1 + 2 + 4];
+        for (int i = 0; i < 32; i++) {
+            state[i] = RegisterFile.getValue(i);
+        }
+        state[32] = RegisterFile.getProgramCounter();
+        state[33] = Globals.memory.getRawWord(Memory.dataSegmentBaseAddress);
+        state[34] = Globals.memory.getRawWord(Memory.dataSegmentBaseAddress + 4);
+        for (int i = 0; i < 4; i++) {
+            state[35 + i] = Globals.memory.getRawWord(RECEIVER_CONTROL + 4 * i);
+        }
+        return state;
+    }
+
+    private static void setRawWord(int address, int value) {
+        try {
+            Globals.memory.setRawWord(address, value);
+        } catch (AddressErrorException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Keyboard and display like the Keyboard and Display MMIO Simulator tool: it reacts
+     * to the program's accesses on the simulation thread, supplying a key every few
+     * instruction fetches and taking a few fetches to accept each echoed character.
+     */
+    private static class Device implements Observer {
+        private static final int KEY_INTERVAL = 37;
+        private static final int TRANSMIT_DELAY = 5;
+        private int fetches;
+        private int keys;
+        private int delay;
+        private int echoed;
+
+        @Override
+        public void update(Observable memory, Object notice) {
+            MemoryAccessNotice access = (MemoryAccessNotice) notice;
+            if (!access.accessIsFromMIPS()) {
+                return;
+            }
+            int address = access.getAddress();
+            if (address == RECEIVER_DATA && access.getAccessType() == AccessNotice.READ) {
+                Globals.memoryAndRegisters.write(() -> setRawWord(RECEIVER_CONTROL, 0));
+            } else if (address == TRANSMITTER_DATA && access.getAccessType() == AccessNotice.WRITE) {
+                echoed++;
+                delay = TRANSMIT_DELAY;
+                Globals.memoryAndRegisters.write(() -> setRawWord(TRANSMITTER_CONTROL, 0));
+            } else if (address >= Memory.textBaseAddress && address < Memory.textLimitAddress
+                    && access.getAccessType() == AccessNotice.READ) {
+                if (delay > 0 && --delay == 0) {
+                    Globals.memoryAndRegisters.write(() -> setRawWord(TRANSMITTER_CONTROL, 1));
+                }
+                if (++fetches % KEY_INTERVAL == 0 && keys < KEYS) {
+                    int key = 'a' + keys++;
+                    Globals.memoryAndRegisters.write(() -> {
+                        setRawWord(RECEIVER_DATA, key);
+                        setRawWord(RECEIVER_CONTROL, 1);
+                    });
+                }
+            }
+        }
+    }
+}
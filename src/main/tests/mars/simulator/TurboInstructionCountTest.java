@@ -0,0 +1,103 @@
+package mars.simulator;
+
+import mars.MarsLaunch;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the turbo run loop reports the same instruction count, and output, as
+ * the regular run loop.
+ */
+public class TurboInstructionCountTest {
+
+    private static final String HANDLER = String.join("\n",
+            ".ktext 0x80000180",
+            "  mfc0 $k0, $14",
+            "  addiu $k0, $k0, 4",
+            "  mtc0 $k0, $14",
+            "  addiu $s1, $s1, 1",
+            "  eret");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void exceptionHandler() throws IOException {
+        assertSameCount("handler.asm",
+                ".text",
+                "main:",
+                "  li $t0, 0x7fffffff",
+                "  add $t2, $t0, $t0",
+                "  lw $t3, 1($zero)",
+                "  teq $s0, $s0",
+                "  move $a0, $s1",
+                "  li $v0, 1",
+                "  syscall",
+                "  li $v0, 10",
+                "  syscall",
+                HANDLER);
+    }
+
+    @Test
+    public void hotLoopThroughExceptionHandler() throws IOException {
+        assertSameCount("hot.asm",
+                ".text",
+                "main:",
+                "  li $t0, 0x7ff00000",
+                "loop:",
+                "  addiu $s0, $s0, 1",
+                "  addi $t0, $t0, 1000",
+                "  blt $s1, 3, loop",
+                "  move $a0, $s0",
+                "  li $v0, 1",
+                "  syscall",
+                HANDLER);
+    }
+
+    @Test
+    public void fallOffTheEnd() throws IOException {
+        assertSameCount("cliff.asm",
+                ".text",
+                "  li $t0, 5",
+                "  addiu $t0, $t0, 1");
+    }
+
+    @Test
+    public void singleInstructionLoop() throws IOException {
+        assertSameCount("self.asm",
+                ".text",
+                "  li $t0, 100",
+                "self:",
+                "  addiu $t0, $t0, -1",
+                "  bnez $t0, self");
+    }
+
+    private void assertSameCount(String name, String... lines) throws IOException {
+        File source = new File(folder.getRoot(), name);
+        Files.write(source.toPath(), String.join("\n", lines).concat("\n").getBytes(StandardCharsets.UTF_8));
+        for (String delayedBranching : new String[]{"", "db"}) {
+            String regular = run("nc", "ic", delayedBranching, source.getPath());
+            String turbo = run("nc", "ic", "turbo", delayedBranching, source.getPath());
+            assertEquals(delayedBranching, regular, turbo);
+        }
+    }
+
+    private static String run(String... args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream print = new PrintStream(out, true);
+        String[] options = java.util.Arrays.stream(args).filter(arg -> !arg.isEmpty()).toArray(String[]::new);
+        MarsLaunch.runCommandLine(options, new ByteArrayInputStream(new byte[0]), print, print);
+        return out.toString();
+    }
+}